@@ -0,0 +1,101 @@
+#!/usr/bin/env python3
+
+"""
+CPAchecker is a tool for configurable software verification.
+This file is part of CPAchecker.
+
+Copyright (C) 2007-2018  Dirk Beyer
+All rights reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+
+CPAchecker web page:
+  http://cpachecker.sosy-lab.org
+"""
+
+
+import argparse
+import json
+import sys
+
+DESCRIPTION = """
+Compare two result files of JMH micro-benchmarks (as produced by "ant jmh")
+and report benchmarks that became slower or faster.
+"""
+
+
+def parse_args(argv):
+    parser = argparse.ArgumentParser(description=DESCRIPTION)
+    parser.add_argument("old", help="JMH result file (JSON) of the baseline")
+    parser.add_argument("new", help="JMH result file (JSON) to compare")
+    parser.add_argument(
+        "--threshold",
+        type=float,
+        default=10,
+        help="relative change in percent that is reported (default: 10)",
+    )
+    return parser.parse_args(argv)
+
+
+def load_results(filename):
+    with open(filename) as f:
+        results = {}
+        for entry in json.load(f):
+            params = ", ".join(
+                "{}={}".format(k, v) for k, v in sorted(entry.get("params", {}).items())
+            )
+            name = entry["benchmark"] + ("(" + params + ")" if params else "")
+            results[name] = entry
+        return results
+
+
+def main(argv=None):
+    args = parse_args(argv)
+    old_results = load_results(args.old)
+    new_results = load_results(args.new)
+
+    regressions = 0
+    for name in sorted(old_results.keys() & new_results.keys()):
+        old = old_results[name]["primaryMetric"]
+        new = new_results[name]["primaryMetric"]
+        if old["scoreUnit"] != new["scoreUnit"] or not old["score"]:
+            continue
+        change = 100 * (new["score"] - old["score"]) / old["score"]
+        if abs(change) < args.threshold:
+            continue
+
+        # Scores are times per operation (lower is better) or throughput (higher is better).
+        slower = (change > 0) == ("/op" in new["scoreUnit"])
+        regressions += slower
+        print(
+            "{:<8} {:+7.1f}%  {} ({:.3f} -> {:.3f} {})".format(
+                "SLOWER" if slower else "faster",
+                change,
+                name,
+                old["score"],
+                new["score"],
+                new["scoreUnit"],
+            )
+        )
+
+    for name in sorted(old_results.keys() - new_results.keys()):
+        print("missing   {}".format(name))
+    for name in sorted(new_results.keys() - old_results.keys()):
+        print("new       {}".format(name))
+
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
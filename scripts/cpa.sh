@@ -61,6 +61,7 @@ export CLASSPATH="$CLASSPATH:$PATH_TO_CPACHECKER/bin:$PATH_TO_CPACHECKER/cpachec
 # loop over all input parameters and parse them
 declare -a OPTIONS
 JAVA_ASSERTIONS=-ea
+MAIN_CLASS=org.sosy_lab.cpachecker.cmdline.CPAMain
 while [ $# -gt 0 ]; do
 
   case $1 in
@@ -80,9 +81,15 @@ while [ $# -gt 0 ]; do
    "-debug")
        JAVA_VM_ARGUMENTS="$JAVA_VM_ARGUMENTS -Xdebug -Xrunjdwp:transport=dt_socket,server=y,address=5005,suspend=n"
        ;;
+   "-jfr")
+       JAVA_VM_ARGUMENTS="$JAVA_VM_ARGUMENTS -XX:StartFlightRecording=dumponexit=true,filename=cpachecker.jfr"
+       ;;
    "-disable-java-assertions")
        JAVA_ASSERTIONS=-da
        ;;
+   "-server")
+       MAIN_CLASS=org.sosy_lab.cpachecker.cmdline.CPAServer
+       ;;
    "-generateReport")
        echo "Option -generateReport is not necessary anymore. Please open the HTML files produced by CPAchecker in the output directory."
        ;;
@@ -154,6 +161,6 @@ exec "$JAVA" \
     -Xss${JAVA_STACK_SIZE} \
     -Xmx${JAVA_HEAP_SIZE} \
     $JAVA_ASSERTIONS \
-    org.sosy_lab.cpachecker.cmdline.CPAMain \
+    $MAIN_CLASS \
     "${OPTIONS[@]}" \
     $CPACHECKER_ARGUMENTS
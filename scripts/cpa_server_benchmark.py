@@ -0,0 +1,140 @@
+#!/usr/bin/env python3
+
+"""
+CPAchecker is a tool for configurable software verification.
+This file is part of CPAchecker.
+
+Copyright (C) 2007-2018  Dirk Beyer
+All rights reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+
+CPAchecker web page:
+  http://cpachecker.sosy-lab.org
+"""
+
+import argparse
+import os
+import subprocess
+import sys
+import time
+import urllib.request
+
+DESCRIPTION = """
+Compare the throughput of running a batch of verification tasks
+with one CPAchecker process per task (scripts/cpa.sh)
+against submitting them as jobs to a running CPAchecker server (scripts/cpa.sh -server).
+
+The server needs to be started before, e.g., with
+    scripts/cpa.sh -server -heap 4000M
+"""
+
+CPACHECKER_DIR = os.path.join(os.path.dirname(os.path.abspath(__file__)), os.pardir)
+CPA_SH = os.path.join(CPACHECKER_DIR, "scripts", "cpa.sh")
+
+
+def parse_args(argv):
+    parser = argparse.ArgumentParser(
+        description=DESCRIPTION, formatter_class=argparse.RawDescriptionHelpFormatter
+    )
+    parser.add_argument("programs", nargs="+", help="the programs to verify")
+    parser.add_argument(
+        "--config", required=True, help="configuration, e.g., predicateAnalysis"
+    )
+    parser.add_argument("--spec", help="specification file")
+    parser.add_argument("--timelimit", default="60s", help="CPU-time limit per task")
+    parser.add_argument("--port", type=int, default=8123, help="port of the server")
+    parser.add_argument(
+        "--skip-processes",
+        action="store_true",
+        help="only measure the server, not one process per task",
+    )
+    return parser.parse_args(argv)
+
+
+def verdict(output):
+    for line in output.splitlines():
+        if line.startswith("Verification result:"):
+            return line.split(":", 1)[1].split(".", 1)[0].strip()
+    return "ERROR"
+
+
+def run_processes(args):
+    results = []
+    for program in args.programs:
+        cmd = [CPA_SH, "-" + args.config, "-timelimit", args.timelimit, "-noout"]
+        if args.spec:
+            cmd += ["-spec", args.spec]
+        cmd.append(program)
+        proc = subprocess.run(
+            cmd, stdout=subprocess.PIPE, stderr=subprocess.STDOUT, cwd=CPACHECKER_DIR
+        )
+        results.append(verdict(proc.stdout.decode(errors="replace")))
+    return results
+
+
+def run_server(args):
+    url = "http://localhost:{}/run".format(args.port)
+    results = []
+    for program in args.programs:
+        job = [
+            "configuration.file = " + args.config,
+            "analysis.programNames = " + os.path.abspath(program),
+            "limits.time.cpu = " + args.timelimit,
+            "output.disable = true",
+        ]
+        if args.spec:
+            job.append("specification = " + os.path.abspath(args.spec))
+        request = urllib.request.Request(
+            url, data="\n".join(job).encode(), method="POST"
+        )
+        with urllib.request.urlopen(request) as response:
+            results.append(verdict(response.read().decode(errors="replace")))
+    return results
+
+
+def measure(name, function, args):
+    start = time.monotonic()
+    results = function(args)
+    walltime = time.monotonic() - start
+    print(
+        "{:<10} {:4d} tasks in {:8.2f}s, {:6.3f} tasks/s".format(
+            name, len(results), walltime, len(results) / walltime
+        )
+    )
+    return results, walltime
+
+
+def main(argv=None):
+    args = parse_args(argv)
+
+    server_results, server_time = measure("server", run_server, args)
+    if args.skip_processes:
+        return
+
+    process_results, process_time = measure("processes", run_processes, args)
+    print("speedup of server: {:.2f}".format(process_time / server_time))
+
+    for program, r1, r2 in zip(args.programs, process_results, server_results):
+        if r1 != r2:
+            print(
+                "Different result for {}: {} (processes) vs. {} (server)".format(
+                    program, r1, r2
+                ),
+                file=sys.stderr,
+            )
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -29,6 +29,7 @@ import com.google.common.io.MoreFiles;
 import com.google.errorprone.annotations.MustBeClosed;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -38,6 +39,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,6 +52,7 @@ import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.AnonymousClassDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FileASTRequestor;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
@@ -59,6 +63,10 @@ import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.ParseResult;
 import org.sosy_lab.cpachecker.cfa.Parser;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.exceptions.JParserException;
 
 
@@ -67,7 +75,7 @@ import org.sosy_lab.cpachecker.exceptions.JParserException;
  *
  */
 @Options
-class EclipseJavaParser implements Parser {
+class EclipseJavaParser implements Parser, StatisticsProvider {
 
   @Option(secure=true, name ="java.encoding",
       description="use the following encoding for java files")
@@ -102,6 +110,8 @@ class EclipseJavaParser implements Parser {
   private final LogManager logger;
 
   private final Timer parseTimer = new Timer();
+  private final Timer typeHierarchyParseTimer = new Timer();
+  private final Timer methodBodyParseTimer = new Timer();
   private final Timer cfaTimer = new Timer();
 
   private final ImmutableList<Path> javaSourcePaths;
@@ -109,6 +119,7 @@ class EclipseJavaParser implements Parser {
   private final String[] encodings;
 
   private final List<Path> parsedFiles = new ArrayList<>();
+  private int typeHierarchyFileCount = 0;
 
   private static final boolean IGNORE_METHOD_BODY = true;
   private static final boolean PARSE_METHOD_BODY = false;
@@ -192,18 +203,58 @@ class EclipseJavaParser implements Parser {
     return new Scope(mainClassName, typeHierarchy, logger);
   }
 
+  /**
+   * Parse all files in the source path without method bodies. All files are parsed in a single
+   * batch, such that JDT resolves the bindings of all files in one shared environment instead of
+   * setting up a new one (and re-resolving the referenced types) for each file.
+   */
   private List<JavaFileAST> getASTsOfProgram() throws IOException {
-    List<JavaFileAST> astsOfFoundFiles = new ArrayList<>();
-
+    List<Path> foundFiles = new ArrayList<>();
     for (Path directory : javaSourcePaths) {
       try (Stream<Path> files = getJavaFilesInPath(directory)) {
-        for (Path file : files.collect(Collectors.toList())) {
-          CompilationUnit ast = parse(file, IGNORE_METHOD_BODY);
-          astsOfFoundFiles.add(new JavaFileAST(file, ast));
-        }
+        foundFiles.addAll(files.collect(Collectors.toList()));
       }
     }
+    parsedFiles.addAll(foundFiles);
+    typeHierarchyFileCount += foundFiles.size();
+
+    String[] sourceFiles = new String[foundFiles.size()];
+    Map<String, Path> filesByName = new HashMap<>();
+    for (int i = 0; i < sourceFiles.length; i++) {
+      sourceFiles[i] = foundFiles.get(i).normalize().toString();
+      filesByName.put(sourceFiles[i], foundFiles.get(i));
+    }
+    String[] sourceFileEncodings = new String[sourceFiles.length];
+    Arrays.fill(sourceFileEncodings, encoding.name());
+
+    // JDT may report the ASTs in any order, but we want to keep the order of the files
+    Map<Path, CompilationUnit> asts = new HashMap<>();
+    FileASTRequestor requestor =
+        new FileASTRequestor() {
+          @Override
+          public void acceptAST(String pSourceFilePath, CompilationUnit pAst) {
+            asts.put(filesByName.getOrDefault(pSourceFilePath, Paths.get(pSourceFilePath)), pAst);
+          }
+        };
+
+    configureParser(IGNORE_METHOD_BODY);
+    parseTimer.start();
+    typeHierarchyParseTimer.start();
+    try {
+      parser.createASTs(sourceFiles, sourceFileEncodings, new String[0], requestor, null);
+    } finally {
+      typeHierarchyParseTimer.stop();
+      parseTimer.stop();
+    }
 
+    List<JavaFileAST> astsOfFoundFiles = new ArrayList<>(foundFiles.size());
+    for (Path file : foundFiles) {
+      CompilationUnit ast = asts.get(file);
+      if (ast == null) {
+        throw new IOException("Could not parse java file " + file);
+      }
+      astsOfFoundFiles.add(new JavaFileAST(file, ast));
+    }
     return astsOfFoundFiles;
   }
 
@@ -229,13 +280,29 @@ class EclipseJavaParser implements Parser {
     throw new JParserException("Function not yet implemented");
   }
 
+  /**
+   * Parse a single file including its method bodies. This is done lazily for those classes that
+   * are actually referenced from the program while building the CFA.
+   */
   private CompilationUnit parse(Path file) throws IOException {
-    return parse(file, PARSE_METHOD_BODY);
-  }
-
-  private CompilationUnit parse(Path file, boolean ignoreMethodBody) throws IOException {
     parsedFiles.add(file);
+    char[] source = IO.toCharArray(MoreFiles.asCharSource(file, encoding));
 
+    configureParser(PARSE_METHOD_BODY);
+    parseTimer.start();
+    methodBodyParseTimer.start();
+    try {
+      parser.setUnitName(file.normalize().toString());
+      parser.setSource(source);
+      return (CompilationUnit) parser.createAST(null);
+    } finally {
+      methodBodyParseTimer.stop();
+      parseTimer.stop();
+    }
+  }
+
+  /** Set all options of the parser, which are reset by JDT after each parser run. */
+  private void configureParser(boolean ignoreMethodBody) {
     parser.setEnvironment(asStrings(javaClassPaths), asStrings(javaSourcePaths), encodings, false);
     parser.setResolveBindings(true);
     parser.setStatementsRecovery(true);
@@ -246,17 +313,7 @@ class EclipseJavaParser implements Parser {
     Map<String, String> options = JavaCore.getOptions();
     JavaCore.setComplianceOptions(version, options);
     parser.setCompilerOptions(options);
-
-    parseTimer.start();
-
-    try {
-      parser.setUnitName(file.normalize().toString());
-      parser.setSource(IO.toCharArray(MoreFiles.asCharSource(file, encoding)));
-      parser.setIgnoreMethodBodies(ignoreMethodBody);
-      return (CompilationUnit) parser.createAST(null);
-    } finally {
-      parseTimer.stop();
-    }
+    parser.setIgnoreMethodBodies(ignoreMethodBody);
   }
 
   private String[] asStrings(List<Path> files) {
@@ -339,6 +396,35 @@ class EclipseJavaParser implements Parser {
     return cfaTimer;
   }
 
+  @Override
+  public void collectStatistics(Collection<Statistics> pStatsCollection) {
+    pStatsCollection.add(
+        new Statistics() {
+
+          @Override
+          public void printStatistics(
+              PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+            pOut.println(
+                "    Time for parsing type hierarchy:  "
+                    + typeHierarchyParseTimer
+                    + " ("
+                    + typeHierarchyFileCount
+                    + " files)");
+            pOut.println(
+                "    Time for parsing method bodies:   "
+                    + methodBodyParseTimer
+                    + " ("
+                    + methodBodyParseTimer.getNumberOfIntervals()
+                    + " files)");
+          }
+
+          @Override
+          public String getName() {
+            return "";
+          }
+        });
+  }
+
   static final class JavaFileAST {
 
     private final Path file;
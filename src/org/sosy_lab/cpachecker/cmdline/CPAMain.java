@@ -181,7 +181,8 @@ public class CPAMain {
     Thread.interrupted(); // clear interrupted flag
 
     try {
-      printResultAndStatistics(result, outputDirectory, options, reportGenerator, logManager);
+      printResultAndStatistics(
+          result, outputDirectory, options, reportGenerator, logManager, System.out);
     } catch (IOException e) {
       logManager.logUserException(Level.WARNING, e, "Could not write statistics to file");
     }
@@ -238,14 +239,14 @@ public class CPAMain {
   }
 
   @Options
-  private static class MainOptions {
+  static class MainOptions {
     @Option(
       secure = true,
       name = "analysis.programNames",
       //required=true, NOT required because we want to give a nicer user message ourselves
       description = "A String, denoting the programs to be analyzed"
     )
-    private ImmutableList<String> programs = ImmutableList.of();
+    ImmutableList<String> programs = ImmutableList.of();
 
     @Option(secure=true, name="configuration.dumpFile",
         description="Dump the complete configuration to a file.")
@@ -264,10 +265,10 @@ public class CPAMain {
     private boolean printStatistics = false;
 
     @Option(secure=true, name = "pcc.proofgen.doPCC", description = "Generate and dump a proof")
-    private boolean doPCC = false;
+    boolean doPCC = false;
   }
 
-  private static void dumpConfiguration(MainOptions options, Configuration config,
+  static void dumpConfiguration(MainOptions options, Configuration config,
       LogManager logManager) {
     if (options.configurationOutputFile != null) {
       try {
@@ -300,6 +301,20 @@ public class CPAMain {
       Configuration.enableSecureModeGlobally();
     }
 
+    return createConfiguration(cmdLineOptions, secureMode);
+  }
+
+  /**
+   * Read the configuration file and setup the program-wide base paths from a map of options as
+   * produced by {@link CmdLineArguments#processArguments(String[])}.
+   *
+   * @param cmdLineOptions The options, this map will be modified.
+   * @param secureMode Whether only secure options are allowed (secure mode needs to be enabled
+   *     globally by the caller).
+   * @return A Configuration object, the output directory, and the specification properties.
+   */
+  static Config createConfiguration(Map<String, String> cmdLineOptions, boolean secureMode)
+      throws InvalidConfigurationException, InvalidCmdlineArgumentException, IOException {
     // Read property file if present and adjust cmdline options
     Set<SpecificationProperty> properties = handlePropertyFile(cmdLineOptions);
 
@@ -600,17 +615,23 @@ public class CPAMain {
         .build();
   }
 
+  /**
+   * Print the result and the statistics of an analysis and generate the report.
+   *
+   * @param out The stream that should be used instead of the console, usually {@link System#out}.
+   */
   @SuppressWarnings("deprecation")
-  private static void printResultAndStatistics(
+  static void printResultAndStatistics(
       CPAcheckerResult mResult,
       String outputDirectory,
       MainOptions options,
       ReportGenerator reportGenerator,
-      LogManager logManager)
+      LogManager logManager,
+      PrintStream out)
       throws IOException {
 
     // setup output streams
-    PrintStream console = options.printStatistics ? System.out : null;
+    PrintStream console = options.printStatistics ? out : null;
     OutputStream file = null;
     @SuppressWarnings("resource") // not necessary for Closer, it handles this itself
     Closer closer = Closer.create();
@@ -636,7 +657,7 @@ public class CPAMain {
 
       // print result
       if (!options.printStatistics) {
-        stream = makePrintStream(mergeStreams(System.out, file)); // ensure that result is printed to System.out
+        stream = makePrintStream(mergeStreams(out, file)); // ensure that result is printed to out
       }
       mResult.printResult(stream);
 
@@ -672,15 +693,15 @@ public class CPAMain {
 
   private CPAMain() { } // prevent instantiation
 
-  private static class Config {
+  static class Config {
 
-    private final Configuration configuration;
+    final Configuration configuration;
 
-    private final String outputPath;
+    final String outputPath;
 
-    private final Set<SpecificationProperty> properties;
+    final Set<SpecificationProperty> properties;
 
-    public Config(
+    Config(
         Configuration pConfiguration, String pOutputPath, Set<SpecificationProperty> pProperties) {
       configuration = pConfiguration;
       outputPath = pOutputPath;
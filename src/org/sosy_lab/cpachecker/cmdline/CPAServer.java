@@ -0,0 +1,336 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cmdline;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.log.LoggingOptions;
+import org.sosy_lab.cpachecker.cmdline.CPAMain.Config;
+import org.sosy_lab.cpachecker.cmdline.CPAMain.MainOptions;
+import org.sosy_lab.cpachecker.cmdline.CmdLineArguments.InvalidCmdlineArgumentException;
+import org.sosy_lab.cpachecker.core.CPAchecker;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult;
+import org.sosy_lab.cpachecker.core.algorithm.pcc.ProofGenerator;
+import org.sosy_lab.cpachecker.core.counterexample.ReportGenerator;
+import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
+import org.sosy_lab.cpachecker.util.resources.ResourceLimitChecker;
+
+/**
+ * Entry point for running CPAchecker as a long-running verification server.
+ *
+ * <p>In contrast to {@link CPAMain}, which analyzes a single task and terminates, the server keeps
+ * the JVM alive between verification jobs, such that JVM startup, class loading, JIT compilation,
+ * and loading of native solver libraries are paid only once instead of once per task.
+ *
+ * <p>The server listens only on the loopback interface and accepts jobs as HTTP POST requests to
+ * <code>/run</code>. The request body contains the options of the job in the format of a Java
+ * properties file, i.e., the same options that can be given to {@link CPAMain} with
+ * <code>-setprop</code>. The configuration file, the specification, and the programs are given
+ * with the options <code>configuration.file</code>, <code>specification</code>, and <code>
+ * analysis.programNames</code>, respectively. Configuration names such as <code>
+ * predicateAnalysis</code> are resolved as on the command line, and property files are handled
+ * like by {@link CPAMain}. Resource limits are given per job with the usual <code>limits.*</code>
+ * options.
+ *
+ * <p>The response is streamed back while the job progresses: first the status of the job, and
+ * after the analysis the statistics (if <code>statistics.print</code> is set) and the verification
+ * result, exactly as {@link CPAMain} would print them on the console.
+ *
+ * <p>Each job is run in a fresh {@link CPAchecker} instance with its own configuration, logger,
+ * {@link ShutdownManager}, and resource limits. Jobs are executed one after another, because some
+ * components of CPAchecker (e.g., {@link GlobalInfo} and the default converters of {@link
+ * Configuration}) are global, so concurrent jobs would interfere with each other. If more
+ * throughput is needed, several server instances can be started on different ports.
+ */
+public class CPAServer {
+
+  private static final String JOB_PATH = "/run";
+  private static final int DEFAULT_PORT = 8123;
+
+  private final ShutdownManager shutdownManager;
+  private final boolean secureMode;
+
+  /** Single thread on which all jobs are executed, this also serves as the job queue. */
+  private final ExecutorService jobExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setNameFormat("CPAchecker job runner").build());
+
+  private final AtomicInteger jobCounter = new AtomicInteger(0);
+  private final AtomicInteger pendingJobs = new AtomicInteger(0);
+
+  private CPAServer(ShutdownManager pShutdownManager, boolean pSecureMode) {
+    shutdownManager = pShutdownManager;
+    secureMode = pSecureMode;
+  }
+
+  public static void main(String[] args) throws IOException {
+    // CPAchecker uses American English for output,
+    // so make sure numbers are formatted appropriately.
+    Locale.setDefault(Locale.US);
+
+    int port = DEFAULT_PORT;
+    boolean secureMode = false;
+    Iterator<String> argsIt = Arrays.asList(args).iterator();
+    while (argsIt.hasNext()) {
+      String arg = argsIt.next();
+      if (arg.equals("-port") && argsIt.hasNext()) {
+        try {
+          port = Integer.parseInt(argsIt.next());
+        } catch (NumberFormatException e) {
+          throw Output.fatalError("Invalid port number: %s", e.getMessage());
+        }
+      } else if (arg.equals("-secureMode")) {
+        secureMode = true;
+      } else {
+        throw Output.fatalError(
+            "Invalid option %s%nUsage: CPAServer [-port PORT] [-secureMode]", arg);
+      }
+    }
+
+    if (secureMode) {
+      Configuration.enableSecureModeGlobally();
+    }
+
+    final ShutdownManager shutdownManager = ShutdownManager.create();
+    CPAServer server = new CPAServer(shutdownManager, secureMode);
+
+    HttpServer httpServer =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    httpServer.createContext(JOB_PATH, server::handleJobRequest);
+    httpServer.setExecutor(
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("CPAchecker server %d").build()));
+
+    // Abort running jobs when Ctrl+C is pressed.
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  shutdownManager.requestShutdown("The CPAchecker server is shutting down.");
+                  httpServer.stop(0);
+                  server.jobExecutor.shutdownNow();
+                },
+                "Shutdown Hook"));
+
+    httpServer.start();
+    System.out.printf(
+        "CPAchecker %s server listening on %s, send jobs as POST requests to %s%n",
+        CPAchecker.getPlainVersion(), httpServer.getAddress(), JOB_PATH);
+  }
+
+  private void handleJobRequest(HttpExchange exchange) throws IOException {
+    try {
+      if (!exchange.getRequestMethod().equals("POST")) {
+        sendError(exchange, 405, "Jobs need to be submitted with POST.");
+        return;
+      }
+
+      Map<String, String> options;
+      try (InputStream body = exchange.getRequestBody()) {
+        options = readJobOptions(body);
+      } catch (IllegalArgumentException e) {
+        sendError(exchange, 400, "Invalid job description: " + e.getMessage());
+        return;
+      }
+
+      exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+      exchange.sendResponseHeaders(200, 0); // chunked, we stream the output
+      try (PrintStream out = new PrintStream(exchange.getResponseBody(), true, UTF_8.name())) {
+        int jobId = jobCounter.incrementAndGet();
+        out.printf("Job %d queued (%d jobs ahead).%n", jobId, pendingJobs.getAndIncrement());
+
+        Future<?> job = jobExecutor.submit(() -> runJob(jobId, options, out));
+        try {
+          job.get();
+        } catch (InterruptedException e) {
+          job.cancel(true);
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          out.println("Job " + jobId + " failed: " + e.getCause());
+          Throwables.throwIfInstanceOf(e.getCause(), Error.class);
+        } finally {
+          pendingJobs.decrementAndGet();
+        }
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static void sendError(HttpExchange exchange, int code, String msg) throws IOException {
+    byte[] bytes = msg.getBytes(UTF_8);
+    exchange.sendResponseHeaders(code, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static Map<String, String> readJobOptions(InputStream body) throws IOException {
+    Properties properties = new Properties();
+    properties.load(new InputStreamReader(body, UTF_8));
+    Map<String, String> options = Maps.newHashMap(Maps.fromProperties(properties));
+
+    String configFile = options.get(CmdLineArguments.CONFIGURATION_FILE_OPTION);
+    if (configFile != null && Files.notExists(Paths.get(configFile))) {
+      @Nullable Path resolvedConfigFile = CmdLineArguments.resolveConfigFile(configFile);
+      if (resolvedConfigFile == null) {
+        throw new IllegalArgumentException("Configuration file " + configFile + " not found");
+      }
+      options.put(CmdLineArguments.CONFIGURATION_FILE_OPTION, resolvedConfigFile.toString());
+    }
+    if (!options.containsKey("analysis.programNames")) {
+      throw new IllegalArgumentException("No program to analyze given.");
+    }
+    if (options.remove(CmdLineArguments.SECURE_MODE_OPTION) != null) {
+      throw new IllegalArgumentException(
+          "Secure mode cannot be enabled per job, start the server with -secureMode instead.");
+    }
+    return options;
+  }
+
+  /** Run a single job, this method is only called on the job thread. */
+  @SuppressWarnings("resource") // We don't close LogManager
+  @SuppressFBWarnings(
+      value = "DM_GC",
+      justification = "Explicit GC avoids attributing garbage of previous jobs to the next job.")
+  private void runJob(int jobId, Map<String, String> options, PrintStream out) {
+    if (shutdownManager.getNotifier().shouldShutdown()) {
+      out.printf("Job %d not started, server is shutting down.%n", jobId);
+      return;
+    }
+    out.printf("Job %d started.%n", jobId);
+
+    // Each job gets its own shutdown manager such that limits of a job do not affect others,
+    // but a shutdown of the whole server stops the job.
+    final ShutdownManager jobShutdownManager =
+        ShutdownManager.createWithParent(shutdownManager.getNotifier());
+    final ShutdownNotifier jobShutdownNotifier = jobShutdownManager.getNotifier();
+
+    final Config jobConfig;
+    final LoggingOptions logOptions;
+    try {
+      try {
+        jobConfig = CPAMain.createConfiguration(options, secureMode);
+      } catch (InvalidCmdlineArgumentException e) {
+        out.printf("Could not process job options: %s%n", e.getMessage());
+        return;
+      } catch (IOException e) {
+        out.printf("Could not read config file %s%n", e.getMessage());
+        return;
+      }
+      logOptions = new LoggingOptions(jobConfig.configuration);
+    } catch (InvalidConfigurationException e) {
+      out.printf("Invalid configuration: %s%n", e.getMessage());
+      return;
+    }
+    final LogManager logManager = BasicLogManager.create(logOptions);
+    Configuration config = jobConfig.configuration;
+    config.enableLogging(logManager);
+    GlobalInfo.getInstance().storeLogManager(logManager);
+
+    MainOptions mainOptions = new MainOptions();
+    ResourceLimitChecker limits;
+    CPAchecker cpachecker;
+    ProofGenerator proofGenerator = null;
+    ReportGenerator reportGenerator;
+    try {
+      config.inject(mainOptions);
+      if (mainOptions.programs.isEmpty()) {
+        throw new InvalidConfigurationException("Please specify a program to analyze.");
+      }
+      CPAMain.dumpConfiguration(mainOptions, config, logManager);
+
+      limits = ResourceLimitChecker.fromConfiguration(config, logManager, jobShutdownManager);
+      cpachecker = new CPAchecker(config, logManager, jobShutdownManager);
+      if (mainOptions.doPCC) {
+        proofGenerator = new ProofGenerator(config, logManager, jobShutdownNotifier);
+      }
+      reportGenerator =
+          new ReportGenerator(config, logManager, logOptions.getOutputFile(), mainOptions.programs);
+    } catch (InvalidConfigurationException e) {
+      logManager.logUserException(Level.SEVERE, e, "Invalid configuration");
+      out.printf("Invalid configuration: %s%n", e.getMessage());
+      return;
+    }
+
+    limits.start();
+    CPAcheckerResult result;
+    try {
+      result = cpachecker.run(mainOptions.programs, jobConfig.properties);
+      if (proofGenerator != null) {
+        proofGenerator.generateProof(result);
+      }
+    } finally {
+      // Statistics are printed without limits, like in CPAMain.
+      limits.cancel();
+      Thread.interrupted(); // clear interrupted flag
+    }
+
+    try {
+      CPAMain.printResultAndStatistics(
+          result, jobConfig.outputPath, mainOptions, reportGenerator, logManager, out);
+    } catch (IOException e) {
+      logManager.logUserException(Level.WARNING, e, "Could not write statistics to file");
+    }
+    out.printf("Job %d finished.%n", jobId);
+    logManager.flush();
+
+    // Let the next job start with a clean heap.
+    System.gc();
+  }
+}
@@ -34,6 +34,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.logging.Level;
 import org.sosy_lab.common.configuration.Configuration;
@@ -61,6 +62,9 @@ public final class Specification {
   private final Set<SpecificationProperty> properties;
   private final ImmutableListMultimap<Path, Automaton> pathToSpecificationAutomata;
 
+  /** automata that were created by CPAchecker itself and not loaded from a file. */
+  private final ImmutableList<Automaton> additionalAutomata;
+
   public static Specification alwaysSatisfied() {
     return new Specification(ImmutableList.of());
   }
@@ -145,25 +149,50 @@ public final class Specification {
         ImmutableListMultimap.builder();
     multiplePropertiesBuilder.putAll(Paths.get(""), ImmutableList.copyOf(pSpecificationAutomata));
     pathToSpecificationAutomata = multiplePropertiesBuilder.build();
+    additionalAutomata = ImmutableList.of();
   }
 
   private Specification(
       Set<SpecificationProperty> pProperties,
       ImmutableListMultimap<Path, Automaton> pSpecification) {
+    this(pProperties, pSpecification, ImmutableList.of());
+  }
+
+  private Specification(
+      Set<SpecificationProperty> pProperties,
+      ImmutableListMultimap<Path, Automaton> pSpecification,
+      ImmutableList<Automaton> pAdditionalAutomata) {
     properties = ImmutableSet.copyOf(pProperties);
     pathToSpecificationAutomata = pSpecification;
+    additionalAutomata = pAdditionalAutomata;
+  }
+
+  /**
+   * Creates a specification that consists of the properties and automata of this specification
+   * together with the given additional automata, without loading any specification file again.
+   * The additional automata are not associated with any file, so {@link #getSpecFiles()} and
+   * {@link #getPathToSpecificationAutomata()} stay the same.
+   */
+  public Specification withAdditionalAutomata(Iterable<Automaton> pAutomata) {
+    return new Specification(
+        properties,
+        pathToSpecificationAutomata,
+        ImmutableList.<Automaton>builder().addAll(additionalAutomata).addAll(pAutomata).build());
   }
 
   /**
    * This is not public by intention! Only CPABuilder should need to access this method.
    */
   ImmutableList<Automaton> getSpecificationAutomata() {
-    return ImmutableList.copyOf(pathToSpecificationAutomata.values());
+    return ImmutableList.<Automaton>builder()
+        .addAll(pathToSpecificationAutomata.values())
+        .addAll(additionalAutomata)
+        .build();
   }
 
   @Override
   public int hashCode() {
-    return pathToSpecificationAutomata.hashCode();
+    return Objects.hash(pathToSpecificationAutomata, additionalAutomata);
   }
 
   @Override
@@ -175,14 +204,14 @@ public final class Specification {
       return false;
     }
     Specification other = (Specification) obj;
-    return pathToSpecificationAutomata.equals(other.pathToSpecificationAutomata);
+    return pathToSpecificationAutomata.equals(other.pathToSpecificationAutomata)
+        && additionalAutomata.equals(other.additionalAutomata);
   }
 
   @Override
   public String toString() {
     return "Specification"
-        + pathToSpecificationAutomata
-            .values()
+        + getSpecificationAutomata()
             .stream()
             .map(Automaton::getName)
             .collect(joining(", ", "[", "]"));
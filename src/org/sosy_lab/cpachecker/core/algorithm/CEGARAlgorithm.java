@@ -57,6 +57,9 @@ import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.cpa.value.refiner.UnsoundRefiner;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.RefinementFailedException;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents.Event;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents.Phase;
 
 public class CEGARAlgorithm implements Algorithm, StatisticsProvider, ReachedSetUpdater {
 
@@ -297,6 +300,8 @@ public class CEGARAlgorithm implements Algorithm, StatisticsProvider, ReachedSet
     stats.maxReachedSizeBeforeRefinement = Math.max(stats.maxReachedSizeBeforeRefinement, reached.size());
     sizeOfReachedSetBeforeRefinement = reached.size();
 
+    Event refinementEvent = FlightRecorderEvents.begin(Phase.REFINEMENT);
+    refinementEvent.setLocation(reached.getLastState());
     stats.refinementTimer.start();
     boolean refinementResult;
     try {
@@ -307,6 +312,7 @@ public class CEGARAlgorithm implements Algorithm, StatisticsProvider, ReachedSet
       throw e;
     } finally {
       stats.refinementTimer.stop();
+      refinementEvent.setCount(sizeOfReachedSetBeforeRefinement).commit();
     }
 
     logger.log(Level.FINE, "Refinement successful:", refinementResult);
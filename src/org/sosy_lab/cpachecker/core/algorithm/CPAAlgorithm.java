@@ -24,6 +24,7 @@
 package org.sosy_lab.cpachecker.core.algorithm;
 
 import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableList;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -63,10 +64,14 @@ import org.sosy_lab.cpachecker.core.reachedset.PseudoPartitionedReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.cpa.arg.ARGMergeJoinCPAEnabledAnalysis;
+import org.sosy_lab.cpachecker.cpa.arg.ARGStopSep;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.statistics.AbstractStatValue;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents.Event;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents.Phase;
 import org.sosy_lab.cpachecker.util.statistics.StatCounter;
 import org.sosy_lab.cpachecker.util.statistics.StatInt;
 import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
@@ -94,6 +99,7 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
     private int   countBreak        = 0;
 
     private Map<String, AbstractStatValue> reachedSetStatistics = new HashMap<>();
+    private ImmutableList<StatCounter> coverageCheckCounters = ImmutableList.of();
 
     @Override
     public String getName() {
@@ -120,6 +126,9 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
       out.println("Number of times merged:          " + countMerge);
       out.println("Number of times stopped:         " + countStop);
       out.println("Number of times breaked:         " + countBreak);
+      for (StatCounter c : coverageCheckCounters) {
+        w.put(c);
+      }
       out.println();
       out.println("Total time for CPA algorithm:     " + totalTimer + " (Max: " + totalTimer.getMaxTime().formatAs(TimeUnit.SECONDS) + ")");
       out.println("  Time for choose from waitlist:  " + chooseTimer);
@@ -209,6 +218,9 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
     transferRelation = cpa.getTransferRelation();
     mergeOperator = cpa.getMergeOperator();
     stopOperator = cpa.getStopOperator();
+    if (stopOperator instanceof ARGStopSep) {
+      stats.coverageCheckCounters = ((ARGStopSep) stopOperator).getCoverageCheckCounters();
+    }
     precisionAdjustment = cpa.getPrecisionAdjustment();
     this.logger = logger;
     this.shutdownNotifier = pShutdownNotifier;
@@ -330,6 +342,7 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
       }
     }
 
+    Event transferEvent = FlightRecorderEvents.begin(Phase.TRANSFER);
     stats.transferTimer.start();
     Collection<? extends AbstractState> successors;
     try {
@@ -341,6 +354,7 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
     // we could continue analysis on a CPATransferException with the next state from waitlist.
 
     int numSuccessors = successors.size();
+    transferEvent.setLocation(state).setCount(numSuccessors).commit();
     logger.log(Level.FINER, "Current state has", numSuccessors, "successors");
     stats.countSuccessors += numSuccessors;
     stats.maxSuccessors = Math.max(numSuccessors, stats.maxSuccessors);
@@ -351,6 +365,7 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
       logger.log(Level.FINER, "Considering successor of current state");
       logger.log(Level.ALL, "Successor of", state, "\nis", successor);
 
+      Event precisionEvent = FlightRecorderEvents.begin(Phase.PRECISION_ADJUSTMENT);
       stats.precisionTimer.start();
       PrecisionAdjustmentResult precAdjustmentResult;
       try {
@@ -363,6 +378,7 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
         precAdjustmentResult = precAdjustmentOptional.get();
       } finally {
         stats.precisionTimer.stop();
+        precisionEvent.setLocation(successor).commit();
       }
 
       successor = precAdjustmentResult.abstractState();
@@ -370,6 +386,7 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
       Action action = precAdjustmentResult.action();
 
       if (action == Action.BREAK) {
+        Event stopEvent = FlightRecorderEvents.begin(Phase.STOP);
         stats.stopTimer.start();
         boolean stop;
         try {
@@ -377,6 +394,7 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
         } finally {
           stats.stopTimer.stop();
         }
+        stopEvent.setLocation(successor).commit();
 
         if (AbstractStates.isTargetState(successor) && stop) {
           // don't signal BREAK for covered states
@@ -409,6 +427,7 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
       // An optimization, we don't bother merging if we know that the
       // merge operator won't do anything (i.e., it is merge-sep).
       if (mergeOperator != MergeSepOperator.getInstance() && !reached.isEmpty()) {
+        Event mergeEvent = FlightRecorderEvents.begin(Phase.MERGE);
         stats.mergeTimer.start();
         try {
           List<AbstractState> toRemove = new ArrayList<>();
@@ -445,8 +464,10 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
         } finally {
           stats.mergeTimer.stop();
         }
+        mergeEvent.setLocation(successor).setCount(reached.size()).commit();
       }
 
+      Event stopEvent = FlightRecorderEvents.begin(Phase.STOP);
       stats.stopTimer.start();
       boolean stop;
       try {
@@ -454,6 +475,7 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
       } finally {
         stats.stopTimer.stop();
       }
+      stopEvent.setLocation(successor).setCount(reached.size()).commit();
 
       if (stop) {
         logger.log(Level.FINER, "Successor is covered or unreachable, not adding to waitlist");
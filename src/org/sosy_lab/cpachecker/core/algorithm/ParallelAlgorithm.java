@@ -62,10 +62,13 @@ import org.sosy_lab.common.configuration.AnnotatedValue;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.ConfigurationBuilder;
 import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.configuration.TimeSpanOption;
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
@@ -80,6 +83,7 @@ import org.sosy_lab.cpachecker.core.interfaces.conditions.ReachedSetAdjustingCPA
 import org.sosy_lab.cpachecker.core.reachedset.AggregatedReachedSets;
 import org.sosy_lab.cpachecker.core.reachedset.AggregatedReachedSets.AggregatedReachedSetManager;
 import org.sosy_lab.cpachecker.core.reachedset.ForwardingReachedSet;
+import org.sosy_lab.cpachecker.core.reachedset.InvariantChannel.Publisher;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
@@ -109,6 +113,34 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
   @FileOption(FileOption.Type.OPTIONAL_INPUT_FILE)
   private List<AnnotatedValue<Path>> configFiles;
 
+  @Option(
+    secure = true,
+    description =
+        "Maximum number of analyses that run at the same time (0 for no limit)."
+            + " If there are more analyses than this, they share the available cores"
+            + " in time slices and are paused while they wait for a core."
+  )
+  @IntegerOption(min = 0)
+  private int cores = 0;
+
+  @Option(
+    secure = true,
+    description =
+        "Length of the time slices in which analyses share the cores"
+            + " if parallelAlgorithm.cores is smaller than the number of analyses"
+            + " (use milliseconds or specify a unit)."
+  )
+  @TimeSpanOption(codeUnit = TimeUnit.MILLISECONDS, defaultUserUnit = TimeUnit.MILLISECONDS, min = 1)
+  private TimeSpan timeSlice = TimeSpan.ofSeconds(1);
+
+  @Option(
+    secure = true,
+    description =
+        "Give longer time slices to analyses that make progress (shrinking waitlist,"
+            + " refinements) and shorter ones to analyses that do not."
+  )
+  private boolean adaptiveTimeSlices = true;
+
   private static final String SUCCESS_MESSAGE =
       "One of the parallel analyses has finished successfully, cancelling all other runs.";
 
@@ -118,6 +150,7 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
   private final CFA cfa;
   private final Specification specification;
   private final ParallelAlgorithmStatistics stats;
+  private final PortfolioScheduler scheduler;
 
   private ParallelAnalysisResult finalResult = null;
   private CFANode mainEntryNode = null;
@@ -142,6 +175,8 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
     shutdownManager = ShutdownManager.createWithParent(checkNotNull(pShutdownNotifier));
     specification = checkNotNull(pSpecification);
     cfa = checkNotNull(pCfa);
+    scheduler = new PortfolioScheduler(cores, timeSlice, adaptiveTimeSlices);
+    stats.limitedCores = scheduler.isLimited(configFiles.size());
 
     aggregatedReachedSetManager = new AggregatedReachedSetManager();
     aggregatedReachedSetManager.addAggregated(pAggregatedReachedSets);
@@ -176,7 +211,7 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
     }
 
     if (finalResult != null) {
-      forwardingReachedSet.setDelegate(finalResult.getReached());
+      forwardingReachedSet.setDelegate(PortfolioScheduler.unwrap(finalResult.getReached()));
       return finalResult.getStatus();
     }
 
@@ -271,6 +306,8 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
       return () -> ParallelAnalysisResult.absent(singleConfigFileName.toString());
     }
     final ShutdownManager singleShutdownManager = ShutdownManager.createWithParent(shutdownManager.getNotifier());
+    final PortfolioScheduler.Member member =
+        scheduler.newMember(singleShutdownManager.getNotifier());
 
     final LogManager singleLogger = logger.withComponentName("Parallel analysis " + analysisNumber);
     final ResourceLimitChecker singleAnalysisOverallLimit;
@@ -311,7 +348,7 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
       return () -> { throw e; };
     }
 
-    final ReachedSet reached = coreComponents.createReachedSet();
+    final ReachedSet reached = createReachedSet(coreComponents, member);
 
     AtomicBoolean terminated = new AtomicBoolean(false);
     StatisticsEntry statisticsEntry =
@@ -321,8 +358,10 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
             Iterables.getOnlyElement(
                 FluentIterable.from(singleAnalysisOverallLimit.getResourceLimits())
                     .filter(ThreadCpuTimeLimit.class),
-                null), terminated);
-    return () -> {
+                null),
+            member,
+            terminated);
+    Callable<ParallelAnalysisResult> analysis = () -> {
       final Algorithm algorithm;
       final ConfigurableProgramAnalysis cpa;
 
@@ -366,10 +405,29 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
               supplyReached,
               supplyRefinableReached,
               coreComponents,
+              member,
               statisticsEntry);
       terminated.set(true);
       return r;
     };
+    return () -> {
+      member.start();
+      try {
+        return analysis.call();
+      } finally {
+        member.finish();
+      }
+    };
+  }
+
+  private ReachedSet createReachedSet(
+      CoreComponentsFactory pCoreComponents, PortfolioScheduler.Member pMember) {
+    ReachedSet reached = pCoreComponents.createReachedSet();
+    if (scheduler.isLimited(configFiles.size())) {
+      // allow the scheduler to pause the analysis whenever it takes a state from the waitlist
+      reached = PortfolioScheduler.wrap(reached, pMember);
+    }
+    return reached;
   }
 
   private ParallelAnalysisResult runParallelAnalysis(
@@ -381,12 +439,16 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
       final boolean supplyReached,
       final boolean supplyRefinableReached,
       final CoreComponentsFactory coreComponents,
+      final PortfolioScheduler.Member member,
       final StatisticsEntry pStatisticsEntry)
       throws CPAException {
     try {
       AlgorithmStatus status = null;
       ReachedSet currentReached = reached;
       AtomicReference<ReachedSet> oldReached = new AtomicReference<>();
+      // intermediate reached sets are not copied, only their changes are sent to other analyses
+      Publisher publisher = aggregatedReachedSetManager.newPublisher();
+      ForwardingReachedSet trackedReached = publisher.track(currentReached);
 
       if (algorithm instanceof ReachedSetUpdater) {
         ReachedSetUpdater reachedSetUpdater = (ReachedSetUpdater) algorithm;
@@ -395,32 +457,28 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
 
               @Override
               public void updated(ReachedSet pReachedSet) {
-                singleLogger.log(Level.INFO, "Updating reached set provided to other analyses");
-                ReachedSet oldReachedSet = oldReached.get();
-                ReachedSet newReached = coreComponents.createReachedSet();
-                for (AbstractState as : pReachedSet) {
-                  newReached.add(as, pReachedSet.getPrecision(as));
-                  newReached.removeOnlyFromWaitlist(as);
-                }
-                if (oldReachedSet != null) {
-                  aggregatedReachedSetManager.updateReachedSet(oldReachedSet, newReached);
-                } else {
-                  aggregatedReachedSetManager.addReachedSet(newReached);
-                }
-                oldReached.set(newReached);
+                int changedLocations = publisher.publish();
+                singleLogger.log(
+                    Level.INFO,
+                    "Updating states provided to other analyses at",
+                    changedLocations,
+                    "locations");
+                member.reportProgress(pReachedSet);
               }
             });
       }
 
       if (!supplyRefinableReached) {
-        status = algorithm.run(currentReached);
+        status = algorithm.run(trackedReached);
+        currentReached = trackedReached.getDelegate();
       } else {
         boolean stopAnalysis = true;
         do {
 
           // explore statespace fully only if the analysis is sound and no reachable error is found
           while (currentReached.hasWaitingState()) {
-            status = algorithm.run(currentReached);
+            status = algorithm.run(trackedReached);
+            currentReached = trackedReached.getDelegate();
             if (!status.isSound()) {
               break;
             }
@@ -432,6 +490,7 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
           if (status.isSound()
               && !from(currentReached)
                   .anyMatch(or(AbstractStates::isTargetState, AbstractStates::hasAssumptions))) {
+            publisher.retract();
             ReachedSet oldReachedSet = oldReached.get();
             if (oldReachedSet != null) {
               aggregatedReachedSetManager.updateReachedSet(oldReachedSet, currentReached);
@@ -462,6 +521,7 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
 
           if (status.isSound()) {
             singleLogger.log(Level.INFO, "Updating reached set provided to other analyses");
+            publisher.retract();
             ReachedSet oldReachedSet = oldReached.get();
             if (oldReachedSet != null) {
               aggregatedReachedSetManager.updateReachedSet(oldReachedSet, currentReached);
@@ -472,9 +532,11 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
           }
 
           if (!stopAnalysis) {
-            currentReached = coreComponents.createReachedSet();
+            member.reportProgress(currentReached);
+            currentReached = createReachedSet(coreComponents, member);
             pStatisticsEntry.reachedSet.set(currentReached);
             initializeReachedSet(cpa, mainEntryNode, currentReached);
+            trackedReached = publisher.track(currentReached);
           }
         } while (!stopAnalysis);
       }
@@ -485,6 +547,7 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
           && !supplyRefinableReached
           && status.isPrecise()
           && status.isSound()) {
+        publisher.retract();
         aggregatedReachedSetManager.addReachedSet(currentReached);
       }
 
@@ -581,15 +644,21 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
     private final List<StatisticsEntry> allAnalysesStats = Lists.newCopyOnWriteArrayList();
     private int noOfAlgorithmsUsed = 0;
     private String successfulAnalysisName = null;
+    private boolean limitedCores = false;
 
     ParallelAlgorithmStatistics(LogManager pLogger) {
       logger = checkNotNull(pLogger);
     }
 
     public synchronized StatisticsEntry getNewSubStatistics(
-        ReachedSet pReached, String pName, @Nullable ThreadCpuTimeLimit pRLimit, AtomicBoolean pTerminated) {
+        ReachedSet pReached,
+        String pName,
+        @Nullable ThreadCpuTimeLimit pRLimit,
+        PortfolioScheduler.Member pMember,
+        AtomicBoolean pTerminated) {
       Collection<Statistics> subStats = Lists.newCopyOnWriteArrayList();
-      StatisticsEntry entry = new StatisticsEntry(subStats, pReached, pName, pRLimit, pTerminated);
+      StatisticsEntry entry =
+          new StatisticsEntry(subStats, pReached, pName, pRLimit, pMember, pTerminated);
       allAnalysesStats.add(entry);
       return entry;
     }
@@ -622,6 +691,18 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
                   + ": "
                   + subStats.rLimit.getOverallUsedTime().formatAs(TimeUnit.SECONDS));
         }
+        pOut.println(
+            "CPU time used by analysis:        "
+                + subStats.member.getUsedCpuTime().formatAs(TimeUnit.SECONDS));
+        if (limitedCores) {
+          pOut.println(
+              "Number of time slices:            " + subStats.member.getNumberOfTimeSlices());
+          pOut.println(
+              "Time waiting for a core:          " + subStats.member.getWaitingTime());
+          pOut.println(
+              String.format(
+                  "Estimated progress:               %.2f", subStats.member.getProgress()));
+        }
         boolean terminated = subStats.terminated.get();
         if (terminated) {
           Result result = determineAnalysisResult(pResult, subStats.name);
@@ -692,13 +773,22 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
 
     private final @Nullable ThreadCpuTimeLimit rLimit;
 
+    private final PortfolioScheduler.Member member;
+
     private final AtomicBoolean terminated;
 
-    public StatisticsEntry(Collection<Statistics> pSubStatistics, ReachedSet pReachedSet, String pName, @Nullable ThreadCpuTimeLimit pRLimit, AtomicBoolean pTerminated) {
+    public StatisticsEntry(
+        Collection<Statistics> pSubStatistics,
+        ReachedSet pReachedSet,
+        String pName,
+        @Nullable ThreadCpuTimeLimit pRLimit,
+        PortfolioScheduler.Member pMember,
+        AtomicBoolean pTerminated) {
       subStatistics = Objects.requireNonNull(pSubStatistics);
       reachedSet = new AtomicReference<>(Objects.requireNonNull(pReachedSet));
       name = Objects.requireNonNull(pName);
       rLimit = pRLimit;
+      member = Objects.requireNonNull(pMember);
       terminated = Objects.requireNonNull(pTerminated);
     }
 
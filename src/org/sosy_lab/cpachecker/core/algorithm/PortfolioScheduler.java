@@ -0,0 +1,306 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.algorithm;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.ShutdownNotifier.ShutdownRequestListener;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.reachedset.ForwardingReachedSet;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.util.statistics.StatTimer;
+
+/**
+ * Shares a limited number of cores between the analyses of a {@link ParallelAlgorithm}.
+ *
+ * <p>Each analysis runs in its own thread, but only as many analyses as there are cores hold a
+ * core at the same time, all others are paused. An analysis that has used up its time slice gives
+ * its core to the analysis that has been waiting longest, and queues up again. The length of the
+ * time slices depends on the progress of an analysis (shrinking waitlist, refinements), such that
+ * analyses that make progress get a larger share of the CPU.
+ *
+ * <p>Analyses can only be paused at certain points, which is when they take a state from their
+ * waitlist (cf. {@link #wrap(ReachedSet, Member)}) or report progress. Analyses that are shut down
+ * are never paused.
+ */
+class PortfolioScheduler {
+
+  private static final double MIN_TIME_SLICE_FACTOR = 0.5;
+  private static final double MAX_TIME_SLICE_FACTOR = 2.0;
+
+  private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+  private final int cores;
+  private final long timeSliceNanos;
+  private final boolean adaptiveTimeSlices;
+
+  // guarded by this
+  private int freeCores;
+  private final Deque<Member> waiting = new ArrayDeque<>();
+
+  // read without lock in the frequently called checkpoints
+  private volatile boolean hasWaitingMembers = false;
+
+  /**
+   * Create a scheduler.
+   *
+   * @param pCores the maximal number of analyses that run at the same time, or 0 for no limit
+   * @param pTimeSlice the default time slice for analyses
+   * @param pAdaptiveTimeSlices whether time slices are adjusted to the progress of the analyses
+   */
+  PortfolioScheduler(int pCores, TimeSpan pTimeSlice, boolean pAdaptiveTimeSlices) {
+    checkArgument(pCores >= 0);
+    cores = pCores;
+    freeCores = pCores;
+    timeSliceNanos = pTimeSlice.asNanos();
+    adaptiveTimeSlices = pAdaptiveTimeSlices;
+  }
+
+  /** Whether the analyses are restricted to fewer cores than there are analyses. */
+  boolean isLimited(int pNumberOfAnalyses) {
+    return cores > 0 && cores < pNumberOfAnalyses;
+  }
+
+  Member newMember(ShutdownNotifier pShutdownNotifier) {
+    return new Member(pShutdownNotifier);
+  }
+
+  /**
+   * Wrap a reached set such that the given member can be paused whenever it takes a state from
+   * the waitlist.
+   */
+  static ReachedSet wrap(ReachedSet pReached, Member pMember) {
+    return new SchedulingReachedSet(pReached, pMember);
+  }
+
+  /** Remove the wrapper that was added by {@link #wrap(ReachedSet, Member)}, if any. */
+  static ReachedSet unwrap(ReachedSet pReached) {
+    if (pReached instanceof SchedulingReachedSet) {
+      return ((SchedulingReachedSet) pReached).getDelegate();
+    }
+    return pReached;
+  }
+
+  private static class SchedulingReachedSet extends ForwardingReachedSet {
+
+    private final Member member;
+
+    private SchedulingReachedSet(ReachedSet pDelegate, Member pMember) {
+      super(pDelegate);
+      member = pMember;
+    }
+
+    @Override
+    public AbstractState popFromWaitlist() {
+      member.checkpoint(this);
+      return super.popFromWaitlist();
+    }
+  }
+
+  private synchronized void acquire(Member pMember) {
+    if (cores == 0) {
+      pMember.holdsCore = true;
+      return;
+    }
+    if (freeCores > 0 && waiting.isEmpty()) {
+      freeCores--;
+      pMember.holdsCore = true;
+      return;
+    }
+
+    waiting.addLast(pMember);
+    hasWaitingMembers = true;
+    try {
+      while (!pMember.holdsCore && !pMember.shutdownNotifier.shouldShutdown()) {
+        wait();
+      }
+    } catch (InterruptedException e) {
+      // the analysis is cancelled, let it run such that it can terminate
+      Thread.currentThread().interrupt();
+    } finally {
+      if (!pMember.holdsCore) {
+        waiting.remove(pMember);
+        hasWaitingMembers = !waiting.isEmpty();
+      }
+    }
+  }
+
+  private synchronized void release(Member pMember) {
+    if (!pMember.holdsCore) {
+      return;
+    }
+    pMember.holdsCore = false;
+    if (cores == 0) {
+      return;
+    }
+
+    Member next = waiting.pollFirst();
+    hasWaitingMembers = !waiting.isEmpty();
+    if (next != null) {
+      next.holdsCore = true;
+      notifyAll();
+    } else {
+      freeCores++;
+    }
+  }
+
+  private synchronized void wakeUpWaitingMembers() {
+    notifyAll();
+  }
+
+  /** The state of one analysis in the portfolio. */
+  final class Member {
+
+    private final ShutdownNotifier shutdownNotifier;
+    private final ShutdownRequestListener wakeUpOnShutdown = reason -> wakeUpWaitingMembers();
+
+    // guarded by PortfolioScheduler.this
+    private boolean holdsCore = false;
+
+    // only accessed by the thread of the analysis (except for statistics)
+    private long sliceStart;
+    private long sliceLength = timeSliceNanos;
+    private long cpuTimeAtSliceStart;
+    private int waitlistSizeAtSliceStart = -1;
+    private int progressEventsInSlice = 0;
+    private double progress = 0.5;
+
+    private volatile long usedCpuTime = 0;
+    private volatile int slices = 0;
+    private final StatTimer waitingTime = new StatTimer("Time waiting for a core");
+
+    private Member(ShutdownNotifier pShutdownNotifier) {
+      shutdownNotifier = pShutdownNotifier;
+    }
+
+    /** Called by the analysis thread before the analysis starts, may block. */
+    void start() {
+      checkState(!holdsCore);
+      shutdownNotifier.register(wakeUpOnShutdown);
+      waitForCore();
+    }
+
+    /** Called by the analysis thread after the analysis has terminated. */
+    void finish() {
+      endSlice();
+      shutdownNotifier.unregister(wakeUpOnShutdown);
+      release(this);
+    }
+
+    /**
+     * Signal that the analysis has made progress, e.g., by refining its abstraction. This is also
+     * a point at which the analysis may be paused.
+     */
+    void reportProgress(ReachedSet pReached) {
+      progressEventsInSlice++;
+      checkpoint(pReached);
+    }
+
+    /** Called by the analysis thread regularly, pauses the analysis if its time slice is over. */
+    void checkpoint(ReachedSet pReached) {
+      if (System.nanoTime() - sliceStart < sliceLength) {
+        return;
+      }
+      updateProgress(pReached.getWaitlist().size());
+      if (hasWaitingMembers && !shutdownNotifier.shouldShutdown()) {
+        endSlice();
+        release(this);
+        waitForCore();
+      } else {
+        endSlice();
+        beginSlice();
+      }
+    }
+
+    private void waitForCore() {
+      waitingTime.start();
+      try {
+        acquire(this);
+      } finally {
+        waitingTime.stop();
+      }
+      beginSlice();
+    }
+
+    private void beginSlice() {
+      sliceStart = System.nanoTime();
+      cpuTimeAtSliceStart = threadMXBean.getCurrentThreadCpuTime();
+      slices++;
+    }
+
+    private void endSlice() {
+      long cpuTime = threadMXBean.getCurrentThreadCpuTime();
+      if (cpuTime != -1 && cpuTimeAtSliceStart != -1) {
+        usedCpuTime += cpuTime - cpuTimeAtSliceStart;
+      }
+    }
+
+    /**
+     * Update the progress estimate of the analysis with the last time slice and compute the length
+     * of the next time slice from it.
+     */
+    private void updateProgress(int pWaitlistSize) {
+      double sliceProgress = progressEventsInSlice > 0 ? 1 : 0;
+      if (waitlistSizeAtSliceStart > 0 && pWaitlistSize < waitlistSizeAtSliceStart) {
+        sliceProgress =
+            Math.max(
+                sliceProgress,
+                (waitlistSizeAtSliceStart - pWaitlistSize) / (double) waitlistSizeAtSliceStart);
+      }
+      progress = (progress + sliceProgress) / 2;
+      waitlistSizeAtSliceStart = pWaitlistSize;
+      progressEventsInSlice = 0;
+
+      if (adaptiveTimeSlices) {
+        double factor =
+            MIN_TIME_SLICE_FACTOR + (MAX_TIME_SLICE_FACTOR - MIN_TIME_SLICE_FACTOR) * progress;
+        sliceLength = (long) (timeSliceNanos * factor);
+      }
+    }
+
+    TimeSpan getUsedCpuTime() {
+      return TimeSpan.of(usedCpuTime, TimeUnit.NANOSECONDS);
+    }
+
+    int getNumberOfTimeSlices() {
+      return slices;
+    }
+
+    StatTimer getWaitingTime() {
+      return waitingTime;
+    }
+
+    double getProgress() {
+      return progress;
+    }
+  }
+}
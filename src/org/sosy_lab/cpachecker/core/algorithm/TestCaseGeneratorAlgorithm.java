@@ -30,34 +30,27 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.net.URI;
-import java.nio.channels.ClosedByInterruptException;
 import java.nio.charset.Charset;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
-import org.sosy_lab.common.Appender;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.UniqueIdGenerator;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
-import org.sosy_lab.common.io.IO;
 import org.sosy_lab.common.io.PathTemplate;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.CFA;
@@ -92,6 +85,8 @@ import org.sosy_lab.cpachecker.util.SpecificationProperty;
 import org.sosy_lab.cpachecker.util.error.DummyErrorState;
 import org.sosy_lab.cpachecker.util.harness.HarnessExporter;
 import org.sosy_lab.cpachecker.util.testcase.TestCaseExporter;
+import org.sosy_lab.cpachecker.util.testcase.TestSuiteWriter;
+import org.sosy_lab.cpachecker.util.testcase.TestValuesToFormat;
 import org.sosy_lab.cpachecker.util.testcase.XMLTestCaseExport;
 
 @Options(prefix = "testcase")
@@ -100,7 +95,6 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
   private static enum FormatType {
     HARNESS,
     METADATA,
-    PLAIN,
     XML;
   }
 
@@ -144,6 +138,25 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
   )
   private boolean printTestTargetInfoInStats = false;
 
+  @Option(
+    secure = true,
+    name = "writer.queueSize",
+    description =
+        "maximal number of test files that wait for being written in the background;"
+            + " test generation pauses if writing falls behind"
+  )
+  @IntegerOption(min = 1)
+  private int writerQueueSize = 100;
+
+  @Option(
+    secure = true,
+    name = "skipDuplicates",
+    description =
+        "do not export a test case if a test case with the same test vector"
+            + " has already been exported"
+  )
+  private boolean skipDuplicateTests = true;
+
   @Option(secure = true,  description = "when generating tests covering error call stop as soon as generated one test case and report false (only possible in combination with error call property specification")
   private boolean reportCoveredErrorCallAsError = false;
 
@@ -157,7 +170,9 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
   private final Set<CFAEdge> testTargets;
   private final SpecificationProperty specProp;
   private final String producerString;
-  private FileSystem zipFS = null;
+  // 128-bit digests of the exported test vectors, the vectors themselves can be arbitrarily long
+  private final Set<HashCode> exportedTestVectors = new HashSet<>();
+  private TestSuiteWriter testSuiteWriter = null;
 
   public TestCaseGeneratorAlgorithm(
       final Algorithm pAlgorithm,
@@ -229,8 +244,8 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
     }
 
     try {
-      if (isZippedTestCaseWritingEnabled()) {
-        openZipFS();
+      if (areTestsEnabled()) {
+        openTestSuiteWriter();
       }
 
       boolean shouldReturnFalse;
@@ -259,7 +274,7 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
           // may be thrown only be counterexample check, if not will be thrown again in finally
           // block due to respective shutdown notifier call)
           status = status.withPrecise(false);
-          closeZipFS();
+          closeTestSuiteWriter();
         } catch (Exception e2) {
           // precaution always set precision to false, thus last target state not handled in case of
           // exception
@@ -333,9 +348,7 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
       if (uncoveredGoalsAtStart != testTargets.size()) {
         logger.log(Level.SEVERE, TestTargetProvider.getCoverageInfo());
       }
-      closeZipFS();
-
-
+      closeTestSuiteWriter();
     }
 
     return AlgorithmStatus.NO_PROPERTY_CHECKED;
@@ -376,15 +389,28 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
         && specProp.getProperty().equals(CommonCoverageType.COVERAGE_ERROR);
   }
 
-  private void writeTestCaseFiles(final ARGState pTarget) {
+  private void writeTestCaseFiles(final ARGState pTarget) throws InterruptedException {
 
-    // TODO check if this and openZipFS(), closeZipFS() are thread-safe
     if (areTestsEnabled()) {
       CounterexampleInfo cexInfo =
           ARGUtils.tryGetOrCreateCounterexampleInformation(pTarget, cpa, assumptionToEdgeAllocator)
               .get();
       ARGPath targetPath = cexInfo.getTargetPath();
-      Preconditions.checkState(!zipTestCases || zipFS != null);
+      Preconditions.checkState(testSuiteWriter != null);
+
+      // the plain test vector is both the key for duplicates and the content of the value file
+      Optional<String> testVector = Optional.empty();
+      if (skipDuplicateTests || testValueFile != null) {
+        testVector = getTestInputValues(targetPath, cexInfo, TestCaseExporter.LINE_SEPARATED);
+      }
+
+      if (skipDuplicateTests
+          && testVector.isPresent()
+          && !exportedTestVectors.add(
+              Hashing.murmur3_128().hashString(testVector.get(), StandardCharsets.UTF_8))) {
+        logger.log(Level.FINE, "Not exporting test case because its test vector is a duplicate");
+        return;
+      }
 
       if (testHarnessFile != null) {
         writeTestCase(
@@ -392,8 +418,10 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
       }
 
       if (testValueFile != null) {
-        writeTestCase(
-            testValueFile.getPath(id.getFreshId()), targetPath, cexInfo, FormatType.PLAIN);
+        Path testCaseFile = testValueFile.getPath(id.getFreshId());
+        if (testVector.isPresent()) {
+          testSuiteWriter.write(testCaseFile, testVector.get());
+        }
       }
 
       if (testXMLFile != null) {
@@ -410,123 +438,60 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
     }
   }
 
+  /**
+   * Creates the content of the test file on the current thread (because it depends on the ARG,
+   * which is modified later on) and hands it over to {@link #testSuiteWriter} for writing.
+   */
   private void writeTestCase(
       final Path pFile,
       final ARGPath pTargetPath,
       final CounterexampleInfo pCexInfo,
-      final FormatType type) {
+      final FormatType type)
+      throws InterruptedException {
     final ARGState rootState = pTargetPath.getFirstState();
     final Predicate<? super ARGState> relevantStates = Predicates.in(pTargetPath.getStateSet());
     final Predicate<? super Pair<ARGState, ARGState>> relevantEdges =
         Predicates.in(pTargetPath.getStatePairs());
     try {
-      Optional<String> testOutput;
-
-      if (zipTestCases) {
-        Path fileName = pFile.getFileName();
-        Path testFile =
-            zipFS.getPath(fileName != null ? fileName.toString() : id.getFreshId() + "test.txt");
-        try (Writer writer =
-            new OutputStreamWriter(
-                zipFS
-                    .provider()
-                    .newOutputStream(testFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE),
-                Charset.defaultCharset())) {
-          switch (type) {
-            case HARNESS:
-              harnessExporter.writeHarness(
-                  writer, rootState, relevantStates, relevantEdges, pCexInfo);
-              break;
-            case METADATA:
-              XMLTestCaseExport.writeXMLMetadata(writer, cfa, specProp, producerString);
-              break;
-            case PLAIN:
-              testOutput =
-                  TestCaseExporter.writeTestInputNondetValues(
-                      rootState,
-                      relevantStates,
-                      relevantEdges,
-                      pCexInfo,
-                      cfa,
-                      TestCaseExporter.LINE_SEPARATED);
-              if (testOutput.isPresent()) {
-                writer.write(testOutput.get());
-              }
-              break;
-            case XML:
-              testOutput =
-                  TestCaseExporter.writeTestInputNondetValues(
-                      rootState,
-                      relevantStates,
-                      relevantEdges,
-                      pCexInfo,
-                      cfa,
-                      XMLTestCaseExport.XML_TEST_CASE);
-              if (testOutput.isPresent()) {
-                writer.write(testOutput.get());
-              }
-              break;
-            default:
-              throw new AssertionError("Unknown test case format.");
-          }
-        }
-      } else {
-        Object content = null;
-
-        switch (type) {
-          case HARNESS:
-            content =
-                (Appender)
-                    appendable ->
-                        harnessExporter.writeHarness(
-                            appendable, rootState, relevantStates, relevantEdges, pCexInfo);
-            break;
-          case METADATA:
-            content =
-                (Appender)
-                    appendable ->
-                        XMLTestCaseExport.writeXMLMetadata(
-                            appendable, cfa, specProp, producerString);
-            break;
-          case PLAIN:
-            testOutput =
-                TestCaseExporter.writeTestInputNondetValues(
-                    rootState,
-                    relevantStates,
-                    relevantEdges,
-                    pCexInfo,
-                    cfa,
-                    TestCaseExporter.LINE_SEPARATED);
-
-            if (testOutput.isPresent()) {
-              content = (Appender) appendable -> appendable.append(testOutput.get());
-            }
-            break;
-          case XML:
-            testOutput =
-                TestCaseExporter.writeTestInputNondetValues(
-                    rootState,
-                    relevantStates,
-                    relevantEdges,
-                    pCexInfo,
-                    cfa,
-                    XMLTestCaseExport.XML_TEST_CASE);
-            if (testOutput.isPresent()) {
-              content = (Appender) appendable -> appendable.append(testOutput.get());
-            }
-            break;
-          default:
-            throw new AssertionError("Unknown test case format.");
-        }
-        if (content != null) {
-          IO.writeFile(pFile, Charset.defaultCharset(), content);
-        }
+      Optional<String> content;
+      StringBuilder output = new StringBuilder();
+
+      switch (type) {
+        case HARNESS:
+          harnessExporter.writeHarness(output, rootState, relevantStates, relevantEdges, pCexInfo);
+          content = Optional.of(output.toString());
+          break;
+        case METADATA:
+          XMLTestCaseExport.writeXMLMetadata(output, cfa, specProp, producerString);
+          content = Optional.of(output.toString());
+          break;
+        case XML:
+          content = getTestInputValues(pTargetPath, pCexInfo, XMLTestCaseExport.XML_TEST_CASE);
+          break;
+        default:
+          throw new AssertionError("Unknown test case format.");
+      }
+      if (content.isPresent()) {
+        testSuiteWriter.write(pFile, content.get());
       }
     } catch (IOException e) {
       logger.logUserException(Level.WARNING, e, "Could not write test case to file");
     }
   }
 
+  private Optional<String> getTestInputValues(
+      final ARGPath pTargetPath,
+      final CounterexampleInfo pCexInfo,
+      final TestValuesToFormat pFormat) {
+    return TestCaseExporter.writeTestInputNondetValues(
+        pTargetPath.getFirstState(),
+        Predicates.in(pTargetPath.getStateSet()),
+        Predicates.in(pTargetPath.getStatePairs()),
+        pCexInfo,
+        cfa,
+        pFormat);
+  }
+
   private boolean areTestsEnabled() {
     return testValueFile != null || testHarnessFile != null || testXMLFile != null;
   }
@@ -535,31 +500,25 @@ public class TestCaseGeneratorAlgorithm implements Algorithm, StatisticsProvider
     return zipTestCases && areTestsEnabled();
   }
 
-  private void openZipFS() throws IOException {
-    Map<String, String> env = new HashMap<>(1);
-    env.put("create", "true");
-
-    Preconditions.checkNotNull(testCaseZip);
-    // create parent directories if do not exist
-    Path parent = testCaseZip.getParent();
-    if (parent != null) {
-      Files.createDirectories(parent);
+  private void openTestSuiteWriter() throws IOException {
+    if (testSuiteWriter != null) {
+      return;
+    }
+    if (zipTestCases) {
+      Preconditions.checkNotNull(testCaseZip);
+      testSuiteWriter =
+          TestSuiteWriter.forZipFile(
+              testCaseZip, writerQueueSize, Charset.defaultCharset(), logger);
+    } else {
+      testSuiteWriter = TestSuiteWriter.forFiles(writerQueueSize, Charset.defaultCharset(), logger);
     }
-
-    zipFS =
-        FileSystems.newFileSystem(URI.create("jar:" + testCaseZip.toUri().toString()), env, null);
   }
 
-  private void closeZipFS() {
-    if (zipFS != null && zipFS.isOpen()) {
-      try {
-        zipFS.close();
-      } catch (ClosedByInterruptException e1) {
-        // nothing needs to be done, is closed anyway
-      } catch (IOException e) {
-        logger.logException(Level.SEVERE, e, "Problem while handling zip file with test cass");
-      }
-      zipFS = null;
+  /** Waits until all queued test files are written. */
+  private void closeTestSuiteWriter() {
+    if (testSuiteWriter != null) {
+      testSuiteWriter.close();
+      testSuiteWriter = null;
     }
   }
 
@@ -48,6 +48,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalInt;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
@@ -63,6 +64,7 @@ import org.sosy_lab.common.ShutdownNotifier.ShutdownRequestListener;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
 import org.sosy_lab.common.configuration.FileOption.Type;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -167,6 +169,28 @@ abstract class AbstractBMCAlgorithm
   )
   private boolean usePropertyDirection = false;
 
+  @Option(
+    secure = true,
+    description =
+        "Number of threads that check the inductive step for different candidate invariants"
+            + " concurrently, each with its own step-case analysis and solver environment."
+            + " With more than one thread, the inductive step of a candidate is checked while"
+            + " the base case of the remaining candidates is still being checked."
+            + " Cannot be combined with bmc.usePropertyDirection."
+  )
+  @IntegerOption(min = 1)
+  private int parallelInductionThreads = 1;
+
+  @Option(
+    secure = true,
+    description =
+        "Maximal number of groups into which the target locations are split for the bounded"
+            + " model check. The groups are checked concurrently, each on its own solver"
+            + " context, and the first reachable group is used for the counterexample."
+  )
+  @IntegerOption(min = 1)
+  private int parallelTargetGroups = 1;
+
   protected final BMCStatistics stats;
   private final Algorithm algorithm;
   private final ConfigurableProgramAnalysis cpa;
@@ -174,6 +198,10 @@ abstract class AbstractBMCAlgorithm
   private final @Nullable ConfigurableProgramAnalysis stepCaseCPA;
   private final @Nullable Algorithm stepCaseAlgorithm;
 
+
+  /** The checker for groups of target states, only available during {@link #run(ReachedSet)}. */
+  private @Nullable ParallelTargetChecker parallelTargetChecker = null;
+
   protected final InvariantGenerator invariantGenerator;
   private final InvariantGeneratorHeadStart invariantGeneratorHeadStart;
 
@@ -183,6 +211,7 @@ abstract class AbstractBMCAlgorithm
   private final Solver solver;
 
   protected final LogManager logger;
+  private final Configuration config;
   private final ReachedSetFactory reachedSetFactory;
   private final CFA cfa;
   private final Specification specification;
@@ -221,6 +250,7 @@ abstract class AbstractBMCAlgorithm
     algorithm = pAlgorithm;
     cpa = pCPA;
     logger = pLogger;
+    config = pConfig;
     reachedSetFactory = pReachedSetFactory;
     cfa = pCFA;
     specification = checkNotNull(pSpecification);
@@ -242,6 +272,14 @@ abstract class AbstractBMCAlgorithm
       stepCaseCPA = builder.buildCPAs(cfa, pSpecification, new AggregatedReachedSets());
       stepCaseAlgorithm =
           CPAAlgorithm.create(stepCaseCPA, stepCaseLogger, pConfig, pShutdownManager.getNotifier());
+
+      if (parallelInductionThreads > 1 && usePropertyDirection) {
+        logger.log(
+            Level.WARNING,
+            "Checking the inductive step in parallel is not supported together with",
+            "property-directed candidates, using a single thread.");
+        parallelInductionThreads = 1;
+      }
     } else {
       stepCaseCPA = null;
       stepCaseAlgorithm = null;
@@ -348,7 +386,10 @@ abstract class AbstractBMCAlgorithm
     try (ProverEnvironmentWithFallback prover =
             new ProverEnvironmentWithFallback(solver, ProverOptions.GENERATE_MODELS);
         @SuppressWarnings("resource")
-            KInductionProver kInductionProver = createInductionProver()) {
+            KInductionProver kInductionProver = createInductionProver();
+        ParallelInductionChecker parallelInductionChecker = createParallelInductionChecker();
+        ParallelTargetChecker targetChecker = createParallelTargetChecker()) {
+      parallelTargetChecker = targetChecker;
       invariantGeneratorHeadStart.waitForInvariantGenerator();
 
       do {
@@ -373,6 +414,16 @@ abstract class AbstractBMCAlgorithm
           return AlgorithmStatus.SOUND_AND_PRECISE;
         }
 
+        // If the inductive steps are checked in parallel,
+        // start checking them as soon as the base case of a candidate holds
+        boolean checkStepCasesConcurrently = parallelInductionChecker != null && status.isSound();
+        Predicate<CandidateInvariant> isApplicable = Predicates.alwaysFalse();
+        if (checkStepCasesConcurrently) {
+          Set<Object> checkedKeys = getCheckedKeys(reachedSet);
+          isApplicable = getCandidateApplicabilityPredicate(reachedSet, checkedKeys);
+          parallelInductionChecker.startRound(getK(), checkedKeys);
+        }
+
         // Perform a bounded model check on each candidate invariant
         Iterator<CandidateInvariant> candidateInvariantIterator = candidateGenerator.iterator();
         while (candidateInvariantIterator.hasNext()) {
@@ -386,6 +437,8 @@ abstract class AbstractBMCAlgorithm
               return AlgorithmStatus.UNSOUND_AND_PRECISE;
             }
             candidateInvariantIterator.remove();
+          } else if (checkStepCasesConcurrently && isApplicable.apply(candidateInvariant)) {
+            parallelInductionChecker.submit(candidateInvariant);
           }
 
           if (invariantGenerator.isProgramSafe()) {
@@ -416,8 +469,17 @@ abstract class AbstractBMCAlgorithm
                 ctiBlockingClauses.clear();
               }
             }
-            sound =
-                checkStepCase(reachedSet, candidateGenerator, kInductionProver, ctiBlockingClauses);
+            if (checkStepCasesConcurrently) {
+              sound = parallelInductionChecker.awaitResults(candidateGenerator);
+            } else {
+              sound =
+                  checkStepCase(
+                      reachedSet, candidateGenerator, kInductionProver, ctiBlockingClauses);
+            }
+          } else if (checkStepCasesConcurrently) {
+            // the inductive steps are not needed, but keep what was already confirmed
+            parallelInductionChecker.cancelQueuedChecks();
+            parallelInductionChecker.awaitResults(candidateGenerator);
           }
           if (invariantGenerator.isProgramSafe()
               || (sound && !candidateGenerator.produceMoreCandidates())) {
@@ -431,6 +493,8 @@ abstract class AbstractBMCAlgorithm
         }
       }
       while (status.isSound() && adjustConditions());
+    } finally {
+      parallelTargetChecker = null;
     }
 
     return AlgorithmStatus.UNSOUND_AND_PRECISE;
@@ -443,7 +507,7 @@ abstract class AbstractBMCAlgorithm
       Set<Obligation> pCtiBlockingClauses)
       throws InterruptedException, CPAException, SolverException {
 
-    final int k = CPAs.retrieveCPA(cpa, LoopIterationBounding.class).getMaxLoopIterations();
+    final int k = getK();
 
     Set<Object> checkedKeys = getCheckedKeys(reachedSet);
     Predicate<CandidateInvariant> isApplicable =
@@ -537,6 +601,15 @@ abstract class AbstractBMCAlgorithm
     return sound;
   }
 
+  /**
+   * Gets the current bound of the loop unrollings.
+   *
+   * @return the current bound of the loop unrollings.
+   */
+  private int getK() {
+    return CPAs.retrieveCPA(cpa, LoopIterationBounding.class).getMaxLoopIterations();
+  }
+
   /**
    * Gets all keys of loop-iteration reporting states that were reached by unrolling.
    *
@@ -599,6 +672,17 @@ abstract class AbstractBMCAlgorithm
       ProverEnvironmentWithFallback pProver,
       CandidateInvariant pCandidateInvariant)
       throws CPATransferException, InterruptedException, SolverException {
+    if (parallelTargetChecker != null
+        && pCandidateInvariant == TargetLocationCandidateInvariant.INSTANCE
+        && pReachedSet instanceof ReachedSet) {
+      List<List<AbstractState>> groups =
+          ParallelTargetChecker.groupByLocation(
+              pCandidateInvariant.filterApplicable(pReachedSet), parallelTargetGroups);
+      if (groups.size() > 1) {
+        return boundedModelCheckInGroups((ReachedSet) pReachedSet, pProver, groups);
+      }
+    }
+
     BooleanFormula program = bfmgr.not(pCandidateInvariant.getAssertion(pReachedSet, fmgr, pmgr));
     logger.log(Level.INFO, "Starting satisfiability check...");
     stats.satCheck.start();
@@ -621,6 +705,45 @@ abstract class AbstractBMCAlgorithm
     return safe;
   }
 
+  /**
+   * Checks the reachability of the given groups of target states concurrently. If a group is
+   * reachable, its formula is pushed onto the given prover for creating the counterexample. The
+   * prover is not asked again whether the group is reachable, because creating the counterexample
+   * requires a satisfiability check anyway.
+   *
+   * @return whether all target states are unreachable.
+   */
+  private boolean boundedModelCheckInGroups(
+      ReachedSet pReachedSet,
+      ProverEnvironmentWithFallback pProver,
+      List<List<AbstractState>> pGroups)
+      throws CPATransferException, InterruptedException, SolverException {
+    List<BooleanFormula> groupFormulas = new ArrayList<>(pGroups.size());
+    for (List<AbstractState> group : pGroups) {
+      groupFormulas.add(BMCHelper.createFormulaFor(group, bfmgr));
+    }
+    logger.log(
+        Level.INFO, "Starting satisfiability check of", pGroups.size(), "groups of target states...");
+    stats.satCheck.start();
+    OptionalInt reachableGroup;
+    try {
+      reachableGroup = parallelTargetChecker.findReachableGroup(groupFormulas, fmgr);
+    } finally {
+      stats.satCheck.stop();
+    }
+
+    if (!reachableGroup.isPresent()) {
+      TargetLocationCandidateInvariant.INSTANCE.assumeTruth(pReachedSet);
+      return true;
+    }
+
+    BooleanFormula program = groupFormulas.get(reachableGroup.getAsInt());
+    pProver.push(program);
+    analyzeCounterexample(program, pReachedSet, pProver);
+    pProver.pop();
+    return false;
+  }
+
   private boolean refineCtiBlockingClauses(
       ReachedSet pReachedSet,
       ProverEnvironmentWithFallback pProver,
@@ -800,6 +923,75 @@ abstract class AbstractBMCAlgorithm
         : null;
   }
 
+  /**
+   * Creates the checker for the inductive steps, if they are checked in parallel. Every worker
+   * thread needs its own step-case analysis, because the solver environment of a PredicateCPA must
+   * not be used concurrently. The analyses are created for each run with their own shutdown
+   * manager, such that the checker can stop them when it is closed without affecting later runs.
+   */
+  private @Nullable ParallelInductionChecker createParallelInductionChecker()
+      throws CPAException {
+    if (!induction || parallelInductionThreads <= 1) {
+      return null;
+    }
+    ShutdownManager parallelShutdownManager = ShutdownManager.createWithParent(shutdownNotifier);
+    ShutdownNotifier parallelInductionNotifier = parallelShutdownManager.getNotifier();
+    List<ConfigurableProgramAnalysis> workerCPAs = new ArrayList<>(parallelInductionThreads);
+    List<KInductionProver> provers = new ArrayList<>(parallelInductionThreads);
+    boolean created = false;
+    try {
+      for (int i = 0; i < parallelInductionThreads; i++) {
+        LogManager workerLogger = logger.withComponentName("InductionStepCase" + i);
+        CPABuilder workerBuilder =
+            new CPABuilder(config, workerLogger, parallelInductionNotifier, reachedSetFactory);
+        ConfigurableProgramAnalysis workerCPA =
+            workerBuilder.buildCPAs(cfa, specification, new AggregatedReachedSets());
+        workerCPAs.add(workerCPA);
+        // the statistics of the workers are not reported, because their timers overlap
+        provers.add(
+            new KInductionProver(
+                cfa,
+                logger,
+                CPAAlgorithm.create(workerCPA, workerLogger, config, parallelInductionNotifier),
+                workerCPA,
+                invariantGenerator,
+                new BMCStatistics(),
+                reachedSetFactory,
+                parallelInductionNotifier,
+                getLoopHeads(),
+                false));
+      }
+      created = true;
+    } catch (InvalidConfigurationException e) {
+      // the same configuration was already used for the step-case analysis of the algorithm
+      throw new CPAException("Could not create the step-case analyses: " + e.getMessage(), e);
+    } finally {
+      if (!created) {
+        provers.forEach(KInductionProver::close);
+        workerCPAs.forEach(workerCPA -> CPAs.closeCpaIfPossible(workerCPA, logger));
+      }
+    }
+    return new ParallelInductionChecker(
+        provers, workerCPAs, parallelShutdownManager, confirmedCandidates, stats, logger);
+  }
+
+  /**
+   * Creates the checker for groups of target states, if they are checked in parallel. The checker
+   * is created for each run, because it cannot be used anymore after it found a reachable group.
+   */
+  private @Nullable ParallelTargetChecker createParallelTargetChecker() throws CPAException {
+    if (parallelTargetGroups <= 1) {
+      return null;
+    }
+    try {
+      return ParallelTargetChecker.create(
+          parallelTargetGroups, config, logger, shutdownNotifier, stats);
+    } catch (InvalidConfigurationException e) {
+      // the same configuration was already used for the solver of the analysis
+      throw new CPAException("Could not create the solvers: " + e.getMessage(), e);
+    }
+  }
+
   /**
    * Gets the potential target locations.
    *
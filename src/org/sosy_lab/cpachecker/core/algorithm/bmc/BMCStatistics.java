@@ -39,6 +39,12 @@ public class BMCStatistics implements Statistics {
   final Timer inductionPreparation = new Timer();
   final Timer inductionCheck = new Timer();
 
+  int parallelTargetChecks = 0;
+
+  final Timer parallelInductionCheck = new Timer();
+  int parallelInductionChecks = 0;
+  int parallelInductionConfirmations = 0;
+
   @Override
   public void printStatistics(PrintStream out, Result pResult, UnmodifiableReachedSet pReached) {
     if (bmcPreparation.getNumberOfIntervals() > 0) {
@@ -47,6 +53,9 @@ public class BMCStatistics implements Statistics {
     if (satCheck.getNumberOfIntervals() > 0) {
       out.println("Time for final sat check:            " + satCheck);
     }
+    if (parallelTargetChecks > 0) {
+      out.println("Number of parallel target checks:    " + parallelTargetChecks);
+    }
     if (errorPathCreation.getNumberOfIntervals() > 0) {
       out.println("Time for error path creation:        " + errorPathCreation);
     }
@@ -57,6 +66,15 @@ public class BMCStatistics implements Statistics {
       out.println("Time for induction formula creation: " + inductionPreparation);
       out.println("Time for induction check:            " + inductionCheck);
     }
+    if (parallelInductionCheck.getNumberOfIntervals() > 0) {
+      double seconds = parallelInductionCheck.getSumTime().asMillis() / 1000.0;
+      out.println("Time for parallel induction checks:  " + parallelInductionCheck);
+      out.println(
+          String.format(
+              "Number of parallel induction checks: %d (%.2f per second)",
+              parallelInductionChecks, seconds > 0 ? parallelInductionChecks / seconds : 0.0));
+      out.println("Number of candidates confirmed:      " + parallelInductionConfirmations);
+    }
   }
 
   @Override
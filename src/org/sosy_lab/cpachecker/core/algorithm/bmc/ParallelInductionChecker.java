@@ -0,0 +1,281 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.algorithm.bmc;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.CandidateInvariant;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.CandidateInvariantCombination;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.TargetLocationCandidateInvariant;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.exceptions.CPAException;
+import org.sosy_lab.cpachecker.util.CPAs;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/**
+ * Checks the inductive step of k-induction for several candidate invariants concurrently.
+ *
+ * <p>Each worker thread uses its own {@link KInductionProver} with an independent step-case
+ * analysis and solver environment. Candidates can be submitted as soon as their base case has been
+ * checked, so the base case of the remaining candidates and the inductive steps are checked at the
+ * same time. Every candidate that is confirmed is immediately added to the shared set of confirmed
+ * candidates and assumed by all checks that start afterwards.
+ */
+final class ParallelInductionChecker implements AutoCloseable {
+
+  private final LogManager logger;
+
+  private final ShutdownManager shutdownManager;
+
+  private final ListeningExecutorService executor;
+
+  private final List<KInductionProver> provers;
+
+  private final List<ConfigurableProgramAnalysis> cpas;
+
+  private final BlockingQueue<KInductionProver> idleProvers;
+
+  private final Set<CandidateInvariant> confirmedCandidates;
+
+  private final BMCStatistics stats;
+
+  private final Queue<Check> pendingChecks = new ArrayDeque<>();
+
+  private int k = -1;
+
+  private Set<Object> checkedKeys = Collections.emptySet();
+
+  /**
+   * Creates a checker that distributes the checks among the given provers.
+   *
+   * @param pProvers the provers, one per worker thread. They must not share a solver environment.
+   * @param pCPAs the step-case analyses of the provers, which are closed together with the
+   *     checker.
+   * @param pShutdownManager the shutdown manager the provers were created with, which must not be
+   *     used for anything else. It is used to cancel running checks whose results were not
+   *     collected when the checker is closed.
+   * @param pConfirmedCandidates the thread-safe set of confirmed candidates that is shared with the
+   *     caller.
+   * @param pStats the statistics to report the checks to.
+   * @param pLogger the logger.
+   */
+  ParallelInductionChecker(
+      List<KInductionProver> pProvers,
+      List<ConfigurableProgramAnalysis> pCPAs,
+      ShutdownManager pShutdownManager,
+      Set<CandidateInvariant> pConfirmedCandidates,
+      BMCStatistics pStats,
+      LogManager pLogger) {
+    checkState(!pProvers.isEmpty());
+    provers = pProvers;
+    cpas = pCPAs;
+    idleProvers = new LinkedBlockingQueue<>(pProvers);
+    shutdownManager = pShutdownManager;
+    confirmedCandidates = pConfirmedCandidates;
+    stats = pStats;
+    logger = pLogger;
+    executor =
+        listeningDecorator(
+            Executors.newFixedThreadPool(
+                pProvers.size(),
+                new ThreadFactoryBuilder()
+                    .setNameFormat("k-induction step case %d")
+                    .setDaemon(true)
+                    .build()));
+  }
+
+  /**
+   * Starts a new round of checks for the given k. All checks of the previous round must have been
+   * collected with {@link #awaitResults(CandidateGenerator)}.
+   *
+   * @param pK the k value to use in the checks.
+   * @param pCheckedKeys the keys of loop-iteration reporting states that were checked by BMC.
+   */
+  void startRound(int pK, Set<Object> pCheckedKeys) {
+    checkState(pendingChecks.isEmpty(), "results of previous round not collected");
+    k = pK;
+    checkedKeys = ImmutableSet.copyOf(pCheckedKeys);
+    stats.parallelInductionCheck.start();
+  }
+
+  /**
+   * Schedules the inductive step of the given candidate. The base case of the candidate must
+   * already have been checked successfully.
+   */
+  void submit(CandidateInvariant pCandidate) {
+    checkState(k >= 0, "no round started");
+    pendingChecks.add(new Check(pCandidate));
+  }
+
+  /** Cancels all checks of the current round that did not start yet. */
+  void cancelQueuedChecks() {
+    for (Check check : pendingChecks) {
+      check.future.cancel(false);
+    }
+  }
+
+  /**
+   * Waits for all checks of the current round and reports the confirmed candidates to the given
+   * candidate generator. A check that failed is repeated if other candidates were confirmed after
+   * it had started, because they may be sufficient to make the candidate inductive.
+   *
+   * @param pCandidateGenerator the candidate generator.
+   * @return {@code true} if every checked candidate was confirmed or the safety property itself was
+   *     confirmed, {@code false} otherwise.
+   */
+  boolean awaitResults(CandidateGenerator pCandidateGenerator)
+      throws CPAException, InterruptedException, SolverException {
+    checkState(k >= 0, "no round started");
+    List<CandidateInvariant> failed = new ArrayList<>();
+    boolean safetyPropertyConfirmed = false;
+    try {
+      while (!pendingChecks.isEmpty()) {
+        Check check = pendingChecks.peek();
+        boolean confirmed;
+        try {
+          confirmed = check.future.get();
+        } catch (CancellationException e) {
+          pendingChecks.remove();
+          continue;
+        } catch (ExecutionException e) {
+          cancelQueuedChecks();
+          Throwable cause = e.getCause();
+          Throwables.throwIfInstanceOf(cause, CPAException.class);
+          Throwables.throwIfInstanceOf(cause, InterruptedException.class);
+          Throwables.throwIfInstanceOf(cause, SolverException.class);
+          Throwables.throwIfUnchecked(cause);
+          throw new UnexpectedCheckedException("k-induction step case", cause);
+        }
+        pendingChecks.remove();
+        stats.parallelInductionChecks++;
+
+        if (confirmed) {
+          stats.parallelInductionConfirmations++;
+          pCandidateGenerator.confirmCandidates(
+              CandidateInvariantCombination.getConjunctiveParts(check.candidate));
+          if (check.candidate == TargetLocationCandidateInvariant.INSTANCE) {
+            safetyPropertyConfirmed = true;
+            cancelQueuedChecks();
+          }
+        } else if (!safetyPropertyConfirmed
+            && confirmedCandidates.size() > check.assumedCandidates) {
+          logger.log(
+              Level.FINEST, "Repeating induction check with new invariants for", check.candidate);
+          pendingChecks.add(new Check(check.candidate));
+        } else {
+          failed.add(check.candidate);
+        }
+      }
+    } finally {
+      cancelQueuedChecks();
+      pendingChecks.clear();
+      stats.parallelInductionCheck.stop();
+      k = -1;
+    }
+    return safetyPropertyConfirmed || failed.isEmpty();
+  }
+
+  private boolean checkInductiveStep(Check pCheck)
+      throws CPAException, InterruptedException, SolverException {
+    KInductionProver prover = idleProvers.take();
+    try {
+      // copy the shared set so that all conjunctive parts are taken from the same snapshot
+      Set<CandidateInvariant> assumptions = ImmutableSet.copyOf(confirmedCandidates);
+      pCheck.assumedCandidates = assumptions.size();
+      boolean confirmed =
+          prover
+              .check(
+                  Iterables.concat(assumptions, Collections.singleton(pCheck.candidate)),
+                  k,
+                  pCheck.candidate,
+                  checkedKeys)
+              .isSuccessful();
+      if (confirmed) {
+        Iterables.addAll(
+            confirmedCandidates, CandidateInvariantCombination.getConjunctiveParts(pCheck.candidate));
+      }
+      return confirmed;
+    } finally {
+      idleProvers.add(prover);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (k >= 0) {
+      // the algorithm returned early without collecting the results of the round
+      stats.parallelInductionCheck.stop();
+      k = -1;
+    }
+    if (!pendingChecks.isEmpty()) {
+      // the results are not needed anymore, do not wait for the solvers
+      shutdownManager.requestShutdown("k-induction finished");
+    }
+    executor.shutdownNow();
+    if (MoreExecutors.shutdownAndAwaitTermination(executor, 10, TimeUnit.SECONDS)) {
+      provers.forEach(KInductionProver::close);
+      cpas.forEach(cpa -> CPAs.closeCpaIfPossible(cpa, logger));
+    } else {
+      logger.log(Level.WARNING, "Could not stop all threads checking k-induction step cases");
+    }
+  }
+
+  private final class Check {
+
+    private final CandidateInvariant candidate;
+
+    private final ListenableFuture<Boolean> future;
+
+    private volatile int assumedCandidates = Integer.MAX_VALUE;
+
+    private Check(CandidateInvariant pCandidate) {
+      candidate = pCandidate;
+      future = executor.submit(() -> checkInductiveStep(this));
+    }
+  }
+}
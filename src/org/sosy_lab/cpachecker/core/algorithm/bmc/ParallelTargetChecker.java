@@ -0,0 +1,244 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.algorithm.bmc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MultimapBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.predicates.smt.FormulaManagerView;
+import org.sosy_lab.cpachecker.util.predicates.smt.Solver;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/**
+ * Checks the reachability of several groups of target states concurrently.
+ *
+ * <p>Each worker thread uses its own solver context, because a solver context must not be used
+ * by several threads at the same time. The formulas are transferred to the workers as SMT-LIB
+ * strings. The first group that turns out to be reachable is reported without waiting for the
+ * other groups, such that a counterexample can be created as early as possible. The checks of the
+ * other groups are then stopped by shutting down the solvers of the workers, thus a checker cannot
+ * be used anymore after it found a reachable group.
+ */
+final class ParallelTargetChecker implements AutoCloseable {
+
+  private final LogManager logger;
+
+  private final ShutdownManager shutdownManager;
+
+  private final ListeningExecutorService executor;
+
+  private final List<Solver> solvers;
+
+  private final BlockingQueue<Solver> idleSolvers;
+
+  private final BMCStatistics stats;
+
+  private boolean foundReachableGroup = false;
+
+  private ParallelTargetChecker(
+      List<Solver> pSolvers,
+      ShutdownManager pShutdownManager,
+      BMCStatistics pStats,
+      LogManager pLogger) {
+    solvers = pSolvers;
+    idleSolvers = new LinkedBlockingQueue<>(pSolvers);
+    shutdownManager = pShutdownManager;
+    stats = pStats;
+    logger = pLogger;
+    executor =
+        listeningDecorator(
+            Executors.newFixedThreadPool(
+                pSolvers.size(),
+                new ThreadFactoryBuilder()
+                    .setNameFormat("BMC target check %d")
+                    .setDaemon(true)
+                    .build()));
+  }
+
+  /**
+   * Creates a checker with the given number of worker threads, each with its own solver context.
+   *
+   * @param pThreads the number of worker threads.
+   * @param pConfig the configuration for the solvers.
+   * @param pLogger the logger.
+   * @param pShutdownNotifier the shutdown notifier of the analysis.
+   * @param pStats the statistics to report the checks to.
+   * @return a checker that must be closed after use.
+   */
+  static ParallelTargetChecker create(
+      int pThreads,
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier,
+      BMCStatistics pStats)
+      throws InvalidConfigurationException {
+    checkArgument(pThreads > 0);
+    ShutdownManager shutdownManager = ShutdownManager.createWithParent(pShutdownNotifier);
+    List<Solver> solvers = new ArrayList<>(pThreads);
+    try {
+      for (int i = 0; i < pThreads; i++) {
+        solvers.add(Solver.create(pConfig, pLogger, shutdownManager.getNotifier()));
+      }
+    } catch (InvalidConfigurationException | RuntimeException e) {
+      solvers.forEach(Solver::close);
+      throw e;
+    }
+    return new ParallelTargetChecker(solvers, shutdownManager, pStats, pLogger);
+  }
+
+  /**
+   * Splits the given target states into at most the given number of groups. All target states at
+   * the same location are put into the same group, and the locations are distributed such that
+   * the groups have similar sizes.
+   *
+   * @param pTargetStates the target states.
+   * @param pMaxGroups the maximal number of groups.
+   * @return the groups of target states, none of them empty.
+   */
+  static List<List<AbstractState>> groupByLocation(
+      Iterable<AbstractState> pTargetStates, int pMaxGroups) {
+    ListMultimap<CFANode, AbstractState> statesByLocation =
+        MultimapBuilder.linkedHashKeys().arrayListValues().build();
+    for (AbstractState targetState : pTargetStates) {
+      statesByLocation.put(AbstractStates.extractLocation(targetState), targetState);
+    }
+
+    List<Collection<AbstractState>> locationGroups =
+        new ArrayList<>(statesByLocation.asMap().values());
+    // largest first, each into the currently smallest group
+    locationGroups.sort(Comparator.comparingInt(Collection<AbstractState>::size).reversed());
+    int groupCount = Math.min(pMaxGroups, locationGroups.size());
+    List<List<AbstractState>> groups = new ArrayList<>(groupCount);
+    for (int i = 0; i < groupCount; i++) {
+      groups.add(new ArrayList<>());
+    }
+    for (Collection<AbstractState> locationGroup : locationGroups) {
+      groups.stream().min(Comparator.comparingInt(List::size)).get().addAll(locationGroup);
+    }
+    return groups;
+  }
+
+  /**
+   * Checks the satisfiability of the given formulas concurrently and returns as soon as one of
+   * them is found to be satisfiable.
+   *
+   * @param pGroupFormulas the formulas encoding the reachability of each group of target states.
+   * @param pFmgr the formula manager the formulas were created with.
+   * @return the index of a satisfiable formula, or an empty value if all formulas are
+   *     unsatisfiable.
+   */
+  OptionalInt findReachableGroup(List<BooleanFormula> pGroupFormulas, FormulaManagerView pFmgr)
+      throws InterruptedException, SolverException {
+    checkState(!foundReachableGroup, "solvers were shut down after finding a reachable group");
+    List<ListenableFuture<OptionalInt>> futures = new ArrayList<>(pGroupFormulas.size());
+    try {
+      for (int i = 0; i < pGroupFormulas.size(); i++) {
+        // dumping uses the solver context of the caller, so it has to happen in this thread
+        String formula = pFmgr.dumpFormula(pGroupFormulas.get(i)).toString();
+        int group = i;
+        futures.add(
+            executor.submit(
+                () -> isUnsat(formula) ? OptionalInt.empty() : OptionalInt.of(group)));
+      }
+
+      for (ListenableFuture<OptionalInt> future : Futures.inCompletionOrder(futures)) {
+        OptionalInt result;
+        try {
+          result = future.get();
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          Throwables.throwIfInstanceOf(cause, InterruptedException.class);
+          Throwables.throwIfInstanceOf(cause, SolverException.class);
+          Throwables.throwIfUnchecked(cause);
+          throw new UnexpectedCheckedException("BMC target check", cause);
+        }
+        stats.parallelTargetChecks++;
+        if (result.isPresent()) {
+          // stop the solvers that still check other groups
+          foundReachableGroup = true;
+          shutdownManager.requestShutdown("reachable group of target states found");
+          return result;
+        }
+      }
+      return OptionalInt.empty();
+
+    } finally {
+      // the other groups are not needed anymore
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  private boolean isUnsat(String pFormula) throws InterruptedException, SolverException {
+    Solver solver = idleSolvers.take();
+    try (ProverEnvironment prover = solver.newProverEnvironment()) {
+      prover.push(solver.getFormulaManager().parse(pFormula));
+      return prover.isUnsat();
+    } finally {
+      idleSolvers.add(solver);
+    }
+  }
+
+  @Override
+  public void close() {
+    // checks that are still running are not needed anymore
+    shutdownManager.requestShutdown("BMC finished");
+    executor.shutdownNow();
+    if (MoreExecutors.shutdownAndAwaitTermination(executor, 10, TimeUnit.SECONDS)) {
+      solvers.forEach(Solver::close);
+    } else {
+      logger.log(Level.WARNING, "Could not stop all threads checking BMC target states");
+    }
+  }
+}
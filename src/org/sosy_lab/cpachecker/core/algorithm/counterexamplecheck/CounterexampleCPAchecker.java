@@ -28,6 +28,7 @@ import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
 import static org.sosy_lab.cpachecker.util.AbstractStates.extractLocations;
 
 import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import java.io.IOException;
@@ -66,6 +67,8 @@ import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
 import org.sosy_lab.cpachecker.cpa.arg.ARGUtils;
 import org.sosy_lab.cpachecker.cpa.arg.witnessexport.WitnessExporter;
+import org.sosy_lab.cpachecker.cpa.automaton.ARGToAutomatonConverter;
+import org.sosy_lab.cpachecker.cpa.automaton.Automaton;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.CounterexampleAnalysisFailed;
 import org.sosy_lab.cpachecker.util.CPAs;
@@ -113,10 +116,28 @@ public class CounterexampleCPAchecker implements CounterexampleChecker {
   )
   private boolean provideCEXInfoFromCEXCheck = false;
 
+  @Option(
+    secure = true,
+    name = "inMemoryAutomaton",
+    description =
+        "build an automaton that matches exactly the edges of the error path directly from "
+            + "the ARG, instead of exporting the path as violation witness and parsing it again. "
+            + "This check is stricter: the witness does not restrict edges that it does not "
+            + "match, while this automaton stops the check on every edge that is not on the path. "
+            + "The already loaded specification automata are reused "
+            + "and no path file is written in this case."
+  )
+  private boolean useInMemoryPathAutomaton = false;
+
   private final Function<ARGState, Optional<CounterexampleInfo>> getCounterexampleInfo;
 
   private WitnessExporter witnessExporter;
 
+  private final LogManager checkLogger;
+
+  /** configuration of the counterexample check, loaded lazily and reused for all checks */
+  private @Nullable Configuration checkConfig = null;
+
   public CounterexampleCPAchecker(
       Configuration config,
       Specification pSpecification,
@@ -133,6 +154,7 @@ public class CounterexampleCPAchecker implements CounterexampleChecker {
     this.cfa = pCfa;
     getCounterexampleInfo = Objects.requireNonNull(pGetCounterexampleInfo);
     this.witnessExporter = new WitnessExporter(config, logger, specification, cfa);
+    checkLogger = logger.withComponentName("CounterexampleCheck");
   }
 
   @Override
@@ -140,6 +162,20 @@ public class CounterexampleCPAchecker implements CounterexampleChecker {
       ARGState pErrorState, Set<ARGState> pErrorPathStates)
       throws CPAException, InterruptedException {
 
+    if (useInMemoryPathAutomaton) {
+      Automaton pathAutomaton =
+          ARGToAutomatonConverter.getPathAutomaton(
+              pRootState,
+              pErrorPathStates,
+              "CounterexampleToCheck",
+              getCounterexampleInfo.apply(pErrorState).orElse(null));
+      return checkCounterexample(
+          pRootState,
+          pErrorState,
+          pErrorPathStates,
+          specification.withAdditionalAutomata(ImmutableList.of(pathAutomaton)));
+    }
+
     try {
       if (specFile != null) {
         return checkCounterexample(pRootState, pErrorState, pErrorPathStates, specFile);
@@ -173,33 +209,61 @@ public class CounterexampleCPAchecker implements CounterexampleChecker {
           getCounterexampleInfo.apply(pErrorState).orElse(null));
     }
 
-    // We assume only one initial node for an analysis, even for mutli-threaded tasks.
-    CFANode entryNode = Iterables.getOnlyElement(extractLocations(pRootState));
-    LogManager lLogger = logger.withComponentName("CounterexampleCheck");
-
+    Specification lSpecification;
     try {
+      lSpecification =
+          Specification.fromFiles(
+              specification.getProperties(),
+              Iterables.concat(specification.getSpecFiles(), Collections.singleton(automatonFile)),
+              cfa,
+              getCheckConfiguration(),
+              checkLogger);
+    } catch (InvalidConfigurationException e) {
+      throw new CounterexampleAnalysisFailed(
+          "Invalid configuration in counterexample-check config: " + e.getMessage(), e);
+    } catch (IOException e) {
+      throw new CounterexampleAnalysisFailed(e.getMessage(), e);
+    }
+    return checkCounterexample(pRootState, pErrorState, pErrorPathStates, lSpecification);
+  }
+
+  /**
+   * Load the configuration for the counterexample check. It only depends on the configuration
+   * file and on options of the main analysis, thus it is loaded once and reused for every check.
+   */
+  private Configuration getCheckConfiguration() throws InvalidConfigurationException, IOException {
+    if (checkConfig == null) {
       ConfigurationBuilder lConfigBuilder = Configuration.builder().loadFromFile(configFile);
 
       for (String option : OVERWRITE_OPTIONS) {
         lConfigBuilder.copyOptionFromIfPresent(config, option);
       }
 
-      Configuration lConfig = lConfigBuilder.build();
+      checkConfig = lConfigBuilder.build();
+    }
+    return checkConfig;
+  }
+
+  private boolean checkCounterexample(
+      ARGState pRootState,
+      ARGState pErrorState,
+      Set<ARGState> pErrorPathStates,
+      Specification pSpecification)
+      throws CPAException, InterruptedException {
+
+    // We assume only one initial node for an analysis, even for mutli-threaded tasks.
+    CFANode entryNode = Iterables.getOnlyElement(extractLocations(pRootState));
+
+    try {
+      Configuration lConfig = getCheckConfiguration();
       ShutdownManager lShutdownManager = ShutdownManager.createWithParent(shutdownNotifier);
-      ResourceLimitChecker.fromConfiguration(lConfig, lLogger, lShutdownManager).start();
+      ResourceLimitChecker.fromConfiguration(lConfig, checkLogger, lShutdownManager).start();
 
-      Specification lSpecification =
-          Specification.fromFiles(
-              specification.getProperties(),
-              Iterables.concat(specification.getSpecFiles(), Collections.singleton(automatonFile)),
-              cfa,
-              lConfig,
-              lLogger);
       CoreComponentsFactory factory =
           new CoreComponentsFactory(
-              lConfig, lLogger, lShutdownManager.getNotifier(), new AggregatedReachedSets());
-      ConfigurableProgramAnalysis lCpas = factory.createCPA(cfa, lSpecification);
-      Algorithm lAlgorithm = factory.createAlgorithm(lCpas, cfa, lSpecification);
+              lConfig, checkLogger, lShutdownManager.getNotifier(), new AggregatedReachedSets());
+      ConfigurableProgramAnalysis lCpas = factory.createCPA(cfa, pSpecification);
+      Algorithm lAlgorithm = factory.createAlgorithm(lCpas, cfa, pSpecification);
       ReachedSet lReached = factory.createReachedSet();
       lReached.add(
           lCpas.getInitialState(entryNode, StateSpacePartition.getDefaultPartition()),
@@ -208,8 +272,8 @@ public class CounterexampleCPAchecker implements CounterexampleChecker {
       lAlgorithm.run(lReached);
 
       lShutdownManager.requestShutdown("Analysis terminated");
-      CPAs.closeCpaIfPossible(lCpas, lLogger);
-      CPAs.closeIfPossible(lAlgorithm, lLogger);
+      CPAs.closeCpaIfPossible(lCpas, checkLogger);
+      CPAs.closeIfPossible(lAlgorithm, checkLogger);
 
       if (provideCEXInfoFromCEXCheck) {
         AbstractState target = from(lReached).firstMatch(IS_TARGET_STATE).orNull();
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.reachedset.LocationMappedReachedSet;
@@ -38,7 +39,7 @@ import org.sosy_lab.cpachecker.cpa.callstack.CallstackStateEqualsWrapper;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 
 public class LazyLocationMapping {
-  private final UnmodifiableReachedSet reachedSet;
+  private final @Nullable UnmodifiableReachedSet reachedSet;
 
   private final AtomicReference<Multimap<CFANode, AbstractState>> statesByLocationRef
       = new AtomicReference<>();
@@ -47,6 +48,15 @@ public class LazyLocationMapping {
     this.reachedSet = Objects.requireNonNull(pReachedSet);
   }
 
+  /**
+   * Create a mapping for states that are already grouped by location. The given multimap is not
+   * copied, so later changes to it are visible through this mapping.
+   */
+  public LazyLocationMapping(Multimap<CFANode, AbstractState> pStatesByLocation) {
+    this.reachedSet = null;
+    statesByLocationRef.set(Objects.requireNonNull(pStatesByLocation));
+  }
+
   public Iterable<AbstractState> get(
       CFANode pLocation,
       Optional<CallstackStateEqualsWrapper> callstackInformation) {
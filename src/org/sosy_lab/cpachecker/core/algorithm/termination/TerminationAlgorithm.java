@@ -50,8 +50,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
@@ -81,7 +83,6 @@ import org.sosy_lab.cpachecker.cfa.model.c.CAssumeEdge;
 import org.sosy_lab.cpachecker.cfa.model.c.CDeclarationEdge;
 import org.sosy_lab.cpachecker.cfa.model.c.CFunctionEntryNode;
 import org.sosy_lab.cpachecker.cfa.types.c.CPointerType;
-import org.sosy_lab.cpachecker.core.CPAcheckerResult;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
 import org.sosy_lab.cpachecker.core.Specification;
 import org.sosy_lab.cpachecker.core.algorithm.Algorithm;
@@ -165,6 +166,15 @@ public class TerminationAlgorithm implements Algorithm, AutoCloseable, Statistic
   @Option(secure = true, description = "enable to also analyze whether recursive calls terminate")
   private boolean considerRecursion = false;
 
+  @Option(
+    secure = true,
+    description =
+        "maximal number of safety analysis runs for a loop before its analysis is deferred "
+            + "until all other loops were analyzed, 0 to analyze each loop completely at once"
+  )
+  @IntegerOption(min = 0)
+  private int safetyAnalysisRunsBeforeDeferral = 0;
+
   private final TerminationStatistics statistics;
 
   private final LogManager logger;
@@ -320,22 +330,48 @@ public class TerminationAlgorithm implements Algorithm, AutoCloseable, Statistic
       allLoops.addAll(allRecursions);
     }
 
-    for (Loop loop : allLoops) {
+    // A loop whose analysis needs many safety analysis runs is deferred (once) to the end,
+    // such that a non-terminating loop later in the list is found early.
+    Deque<Loop> loopsToAnalyze = new ArrayDeque<>(allLoops);
+    Map<Loop, LoopProgress> deferredLoops = new HashMap<>();
+
+    while (!loopsToAnalyze.isEmpty()) {
+      Loop loop = loopsToAnalyze.poll();
       shutdownNotifier.shutdownIfNecessary();
-      statistics.analysisOfLoopStarted(loop);
+      LoopProgress progress = deferredLoops.remove(loop);
+      if (progress == null) {
+        progress = new LoopProgress();
+        statistics.analysisOfLoopStarted(loop);
+      } else {
+        statistics.analysisOfLoopResumed(loop);
+      }
 
       if (considerRecursion) {
         setExplicitAbstractionNodes(ImmutableSet.of());
       }
       resetReachedSet(pReachedSet, initialLocation);
-      CPAcheckerResult.Result loopTermiantion =
-          prooveLoopTermination(pReachedSet, loop, initialLocation);
+      Optional<Result> loopTermiantion =
+          prooveLoopTermination(
+              pReachedSet,
+              loop,
+              initialLocation,
+              progress,
+              progress.wasDeferred ? 0 : safetyAnalysisRunsBeforeDeferral);
+
+      if (!loopTermiantion.isPresent()) {
+        logger.logf(FINE, "Deferring analysis of %s.", loop);
+        progress.wasDeferred = true;
+        deferredLoops.put(loop, progress);
+        loopsToAnalyze.add(loop);
+        statistics.analysisOfLoopDeferred(loop);
+        continue;
+      }
 
-      if (loopTermiantion == Result.FALSE) {
+      if (loopTermiantion.get() == Result.FALSE) {
         logger.logf(Level.FINE, "Proved non-termination of %s.", loop);
         return AlgorithmStatus.UNSOUND_AND_PRECISE;
 
-      } else if (loopTermiantion != Result.TRUE) {
+      } else if (loopTermiantion.get() != Result.TRUE) {
         logger.logf(FINE, "Could not prove (non-)termination of %s.", loop);
         status = status.withSound(false);
       }
@@ -355,17 +391,38 @@ public class TerminationAlgorithm implements Algorithm, AutoCloseable, Statistic
     return status;
   }
 
-  private Result prooveLoopTermination(ReachedSet pReachedSet, Loop pLoop, CFANode initialLocation)
+  /** Progress of the analysis of a loop, such that a deferred analysis can be resumed. */
+  private static class LoopProgress {
+    private final Set<RankingRelation> rankingRelations = new HashSet<>();
+    private int totalRepeatedRankingFunctions = 0;
+    private int repeatedRankingFunctionsSinceSuccessfulIteration = 0;
+    private boolean wasDeferred = false;
+  }
+
+  /**
+   * Tries to prove (non-)termination of the given loop.
+   *
+   * @param pMaxSafetyAnalysisRuns the number of safety analysis runs after which the analysis of
+   *     the loop is interrupted, or 0 for no limit
+   * @return the result, or an empty optional if the analysis was interrupted and can be resumed
+   *     with the same <code>pProgress</code>
+   */
+  private Optional<Result> prooveLoopTermination(
+      ReachedSet pReachedSet,
+      Loop pLoop,
+      CFANode initialLocation,
+      LoopProgress pProgress,
+      int pMaxSafetyAnalysisRuns)
       throws CPAEnabledAnalysisPropertyViolationException, CPAException, InterruptedException {
 
     logger.logf(Level.FINE, "Prooving (non)-termination of %s", pLoop);
-    Set<RankingRelation> rankingRelations = Sets.newHashSet();
-    int totalRepeatedRankingFunctions = 0;
-    int repeatedRankingFunctionsSinceSuccessfulIteration = 0;
+    Set<RankingRelation> rankingRelations = pProgress.rankingRelations;
+    int safetyAnalysisRuns = 0;
 
-    // Pass current loop and relevant variables to TerminationCPA.
+    // Pass current loop, relevant variables and known ranking relations to TerminationCPA.
     Set<CVariableDeclaration> relevantVariables = getRelevantVariables(pLoop);
     terminationInformation.setProcessedLoop(pLoop, relevantVariables);
+    rankingRelations.forEach(terminationInformation::addRankingRelation);
 
     if (considerRecursion) {
       setExplicitAbstractionNodes(pLoop);
@@ -374,6 +431,10 @@ public class TerminationAlgorithm implements Algorithm, AutoCloseable, Statistic
     Result result = Result.TRUE;
     while (pReachedSet.hasWaitingState() && result != Result.FALSE) {
       shutdownNotifier.shutdownIfNecessary();
+      if (pMaxSafetyAnalysisRuns > 0 && safetyAnalysisRuns >= pMaxSafetyAnalysisRuns) {
+        return Optional.empty();
+      }
+      safetyAnalysisRuns++;
       statistics.safetyAnalysisStarted(pLoop);
       AlgorithmStatus status = safetyAlgorithm.run(pReachedSet);
       terminationInformation.resetCfa();
@@ -421,24 +482,25 @@ public class TerminationAlgorithm implements Algorithm, AutoCloseable, Statistic
             addInvariantsToAggregatedReachedSet(loopHeadState, rankingRelation);
             // a ranking relation was synthesized and the reached set was reseted
             result = Result.TRUE;
-            repeatedRankingFunctionsSinceSuccessfulIteration = 0;
+            pProgress.repeatedRankingFunctionsSinceSuccessfulIteration = 0;
 
           } else {
-            totalRepeatedRankingFunctions++;
-            repeatedRankingFunctionsSinceSuccessfulIteration++;
+            pProgress.totalRepeatedRankingFunctions++;
+            pProgress.repeatedRankingFunctionsSinceSuccessfulIteration++;
             logger.logf(WARNING, "Repeated ranking relation %s for %s", rankingRelation, pLoop);
 
             // Do not use the first reached target state again and again
             // if we cannot synthesis new termination arguments from it.
-            if (repeatedRankingFunctionsSinceSuccessfulIteration
+            if (pProgress.repeatedRankingFunctionsSinceSuccessfulIteration
                 > maxRepeatedRankingFunctionsPerLoop / 5) {
               removeTargetState(pReachedSet, targetState);
               result = Result.UNKNOWN;
 
-            } else if (totalRepeatedRankingFunctions >= maxRepeatedRankingFunctionsPerLoop) {
+            } else if (pProgress.totalRepeatedRankingFunctions
+                >= maxRepeatedRankingFunctionsPerLoop) {
               // stop analysis for this loop because there is no progress
               removeTargetState(pReachedSet, targetState);
-              return Result.UNKNOWN;
+              return Optional.of(Result.UNKNOWN);
 
             } else {
               // Prepare reached set for next iteration.
@@ -461,18 +523,18 @@ public class TerminationAlgorithm implements Algorithm, AutoCloseable, Statistic
 
     if (useCexImpreciseHeuristic && result == Result.FALSE) {
       if (allRelevantVarsArePointers(relevantVariables)) {
-        return Result.UNKNOWN;
+        return Optional.of(Result.UNKNOWN);
       } else {
         for (CFAEdge edge : pLoop.getOutgoingEdges()) {
           if (edge instanceof CAssumeEdge
               && possiblyNotEqualsNullPointer(((CAssumeEdge) edge).getExpression())) {
-            return Result.UNKNOWN;
+            return Optional.of(Result.UNKNOWN);
           }
         }
       }
     }
 
-    return result;
+    return Optional.of(result);
   }
 
   private boolean allRelevantVarsArePointers(final Set<CVariableDeclaration> pRelevantVariables) {
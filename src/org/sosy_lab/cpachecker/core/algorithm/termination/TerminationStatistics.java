@@ -60,6 +60,7 @@ import java.nio.file.Paths;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -147,6 +148,11 @@ public class TerminationStatistics implements Statistics {
 
   private final Timer loopTime = new Timer();
 
+  /** time for the analysis of each loop, summed over all its parts if it was deferred. */
+  private final Map<Loop, TimeSpan> timePerLoop = Maps.newConcurrentMap();
+
+  private @Nullable Loop currentLoop = null;
+
   private final Timer recursionTime = new Timer();
 
   private final Timer safetyAnalysisTime = new Timer();
@@ -169,6 +175,8 @@ public class TerminationStatistics implements Statistics {
 
   private final AtomicInteger maxLassosPerIteration = new AtomicInteger();
 
+  private final AtomicInteger deferredLoopAnalyses = new AtomicInteger();
+
   private final AtomicInteger lassosCurrentIteration = new AtomicInteger();
 
   private final Multimap<Loop, TerminationArgument> terminationArguments =
@@ -205,18 +213,31 @@ public class TerminationStatistics implements Statistics {
     totalTime.stop();
     safetyAnalysisTime.stopIfRunning();
     lassoTime.stopIfRunning();
-    loopTime.stopIfRunning();
+    if (loopTime.isRunning()) {
+      stopLoopTime();
+    }
   }
 
   void analysisOfLoopStarted(Loop pLoop) {
     boolean newLoop = analysedLoops.add(pLoop);
     checkState(newLoop);
-    loopTime.start();
+    startLoopTime(pLoop);
+  }
+
+  void analysisOfLoopDeferred(Loop pLoop) {
+    deferredLoopAnalyses.incrementAndGet();
+    analysisOfLoopFinished(pLoop);
+  }
+
+  void analysisOfLoopResumed(Loop pLoop) {
+    checkState(analysedLoops.contains(pLoop));
+    startLoopTime(pLoop);
   }
 
   void analysisOfLoopFinished(Loop pLoop) {
     checkState(analysedLoops.contains(pLoop));
-    loopTime.stop();
+    checkState(pLoop.equals(currentLoop));
+    stopLoopTime();
     recursionTime.stopIfRunning();
     safetyAnalysisTime.stopIfRunning();
     lassoTime.stopIfRunning();
@@ -225,6 +246,17 @@ public class TerminationStatistics implements Statistics {
     lassoTerminationTime.stopIfRunning();
   }
 
+  private void startLoopTime(Loop pLoop) {
+    currentLoop = pLoop;
+    loopTime.start();
+  }
+
+  private void stopLoopTime() {
+    loopTime.stop();
+    timePerLoop.merge(currentLoop, loopTime.getLengthOfLastInterval(), TimeSpan::sum);
+    currentLoop = null;
+  }
+
   void analysisOfRecursionStarted() {
     recursionTime.start();
   }
@@ -328,11 +360,19 @@ public class TerminationStatistics implements Statistics {
     pOut.println(
         "Number of analysed loops:                               "
             + valueWithPercentage(loops, totalLoops));
-    pOut.println("Total time for loop analysis:                       " + loopTime);
     pOut.println(
-        "  Avg time per loop analysis:                       " + format(loopTime.getAvgTime()));
-    pOut.println(
-        "  Max time per loop analysis:                       " + format(loopTime.getMaxTime()));
+        "Number of deferred loop analyses:                   "
+            + format(deferredLoopAnalyses.get()));
+    pOut.println("Total time for loop analysis:                       " + loopTime);
+    // deferred loops are analysed in several parts, so we cannot use the intervals of loopTime
+    TimeSpan avgTimePerLoop =
+        timePerLoop.isEmpty()
+            ? TimeSpan.empty()
+            : loopTime.getSumTime().divide(timePerLoop.size());
+    TimeSpan maxTimePerLoop =
+        timePerLoop.isEmpty() ? TimeSpan.empty() : Collections.max(timePerLoop.values());
+    pOut.println("  Avg time per loop analysis:                       " + format(avgTimePerLoop));
+    pOut.println("  Max time per loop analysis:                       " + format(maxTimePerLoop));
     pOut.println();
 
     int safetyAnalysisRuns =
@@ -0,0 +1,60 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.interfaces;
+
+/**
+ * Sub-interface for {@link AbstractState}s that can provide a cheap necessary condition for being
+ * covered by another state. This allows stop operators to skip most of the coverage checks that
+ * would fail anyway, without doing the real (and potentially expensive) check.
+ *
+ * <p>The fingerprint is a bit set encoded as a long. It needs to be monotone with respect to the
+ * coverage relation of the stop operator of the CPA: if this state is covered by another state,
+ * then all bits that are set in the fingerprint of the other state need to be set in the
+ * fingerprint of this state, too. Examples are a bloom filter of the set of tracked variables for
+ * analyses where a state is covered only by states that track a subset of its variables, or a
+ * single bit derived from some component that needs to be equal for covering.
+ *
+ * <p>The fingerprint must not change as long as the state is in the reached set.
+ */
+public interface AbstractStateWithCoverageFingerprint extends AbstractState {
+
+  /** Return the fingerprint of this state as described in the documentation of this interface. */
+  long getCoverageFingerprint();
+
+  /**
+   * Check whether a state with the first fingerprint may be covered by a state with the second
+   * fingerprint. If this method returns false, the first state is definitely not covered.
+   */
+  static boolean mayBeCoveredBy(long pFingerprint, long pCoveringFingerprint) {
+    return (pCoveringFingerprint & ~pFingerprint) == 0;
+  }
+
+  /**
+   * Return a fingerprint that has exactly one bit set, which is derived from the given hash code.
+   * Useful for states that can be covered only by states with an equal component.
+   */
+  static long singleBitFingerprint(int pHashCode) {
+    return 1L << (pHashCode & (Long.SIZE - 1));
+  }
+}
@@ -37,13 +37,20 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class AggregatedReachedSets {
   protected final Set<UnmodifiableReachedSet> reachedSets;
+  protected final InvariantChannel invariantChannel;
 
   public AggregatedReachedSets() {
-    reachedSets = Collections.emptySet();
+    this(Collections.emptySet());
   }
 
   public AggregatedReachedSets(Set<UnmodifiableReachedSet> pReachedSets) {
+    this(pReachedSets, new InvariantChannel());
+  }
+
+  private AggregatedReachedSets(
+      Set<UnmodifiableReachedSet> pReachedSets, InvariantChannel pInvariantChannel) {
     reachedSets = checkNotNull(pReachedSets);
+    invariantChannel = checkNotNull(pInvariantChannel);
   }
 
   public Set<UnmodifiableReachedSet> snapShot() {
@@ -52,13 +59,23 @@ public class AggregatedReachedSets {
     }
   }
 
+  /**
+   * Get the channel over which concurrently running analyses publish their states incrementally,
+   * in addition to the reached sets in {@link #snapShot()}.
+   */
+  public InvariantChannel getInvariantChannel() {
+    return invariantChannel;
+  }
+
   private static class AggregatedThreadedReachedSets extends AggregatedReachedSets {
     private final ReentrantReadWriteLock lock;
     private final List<AggregatedThreadedReachedSets> otherAggregators = new ArrayList<>();
 
     private AggregatedThreadedReachedSets(
-        final ReentrantReadWriteLock pLock, Set<UnmodifiableReachedSet> pReachedSets) {
-      super(pReachedSets);
+        final ReentrantReadWriteLock pLock,
+        Set<UnmodifiableReachedSet> pReachedSets,
+        InvariantChannel pInvariantChannel) {
+      super(pReachedSets, pInvariantChannel);
       lock = pLock;
     }
 
@@ -84,9 +101,10 @@ public class AggregatedReachedSets {
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     private final AggregatedThreadedReachedSets reachedView;
     private final Set<UnmodifiableReachedSet> reachedSets = ConcurrentHashMap.newKeySet();
+    private final InvariantChannel invariantChannel = new InvariantChannel();
 
     public AggregatedReachedSetManager() {
-      reachedView = new AggregatedThreadedReachedSets(lock, reachedSets);
+      reachedView = new AggregatedThreadedReachedSets(lock, reachedSets, invariantChannel);
     }
 
     public void addReachedSet(UnmodifiableReachedSet reached) {
@@ -109,6 +127,15 @@ public class AggregatedReachedSets {
       }
     }
 
+    /**
+     * Create a publisher for an analysis whose reached set is still changing. Other than with
+     * {@link #addReachedSet(UnmodifiableReachedSet)}, the reached set does not need to be copied,
+     * and only the changed parts are provided to other analyses.
+     */
+    public InvariantChannel.Publisher newPublisher() {
+      return invariantChannel.newPublisher();
+    }
+
     public AggregatedReachedSets asView() {
       return reachedView;
     }
@@ -123,6 +150,7 @@ public class AggregatedReachedSets {
         } else {
           reachedSets.addAll(pAggregatedReachedSets.reachedSets);
         }
+        invariantChannel.connect(pAggregatedReachedSets.invariantChannel);
 
       } finally {
         lock.writeLock().unlock();
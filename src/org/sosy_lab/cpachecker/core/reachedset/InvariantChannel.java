@@ -0,0 +1,338 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.reachedset;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.Pair;
+
+/**
+ * Channel for exchanging the reached states of analyses that run concurrently, e.g., in a
+ * parallel portfolio, with the invariant suppliers of other analyses.
+ *
+ * <p>Instead of handing out a full copy of a reached set whenever it changes, each analysis
+ * publishes its states grouped by location through its own {@link Publisher}, and only those
+ * locations whose states have changed since the last publication are sent. The publisher records
+ * these changes while the reached set is modified. Consumers
+ * {@link #subscribe() subscribe} to the channel and poll the changes they have not seen yet.
+ * The channel only keeps the latest states for each pair of publisher and location, so its size
+ * is bounded by the size of the published reached sets.
+ *
+ * <p>All methods of this class are thread-safe.
+ */
+public class InvariantChannel {
+
+  private final List<InvariantChannel> upstreamChannels = new CopyOnWriteArrayList<>();
+
+  // guarded by this
+  private final Map<Pair<Publisher, CFANode>, Long> versions = new HashMap<>();
+  private final NavigableMap<Long, Update> changes = new TreeMap<>();
+  private long version = 0;
+
+  /** Create a new publisher for one analysis that sends its states over this channel. */
+  public Publisher newPublisher() {
+    return new Publisher(this);
+  }
+
+  /**
+   * Create a new subscription that receives all states that are currently in this channel and
+   * all states that are published later, including those of connected upstream channels.
+   */
+  public Subscription subscribe() {
+    return new Subscription(this);
+  }
+
+  /**
+   * Make all states published over the given channel visible to the subscribers of this channel.
+   */
+  void connect(InvariantChannel pUpstream) {
+    checkNotNull(pUpstream);
+    if (pUpstream != this) {
+      upstreamChannels.add(pUpstream);
+    }
+  }
+
+  private synchronized void put(
+      Publisher pPublisher, Map<CFANode, ImmutableList<AbstractState>> pStatesByLocation) {
+    for (Map.Entry<CFANode, ImmutableList<AbstractState>> entry : pStatesByLocation.entrySet()) {
+      long newVersion = ++version;
+      Long oldVersion = versions.put(Pair.of(pPublisher, entry.getKey()), newVersion);
+      if (oldVersion != null) {
+        changes.remove(oldVersion);
+      }
+      changes.put(newVersion, new Update(pPublisher, entry.getKey(), entry.getValue()));
+    }
+  }
+
+  /** Add all changes after the given version to the list and return the newest version. */
+  private synchronized long poll(long pSinceVersion, List<Update> pResult) {
+    pResult.addAll(changes.tailMap(pSinceVersion, false).values());
+    return version;
+  }
+
+  private void collectChannels(Set<InvariantChannel> pResult) {
+    if (pResult.add(this)) {
+      for (InvariantChannel upstream : upstreamChannels) {
+        upstream.collectChannels(pResult);
+      }
+    }
+  }
+
+  /** The current states of one publisher at one location. */
+  public static final class Update {
+
+    private final Publisher source;
+    private final CFANode location;
+    private final ImmutableList<AbstractState> states;
+
+    private Update(Publisher pSource, CFANode pLocation, ImmutableList<AbstractState> pStates) {
+      source = pSource;
+      location = pLocation;
+      states = pStates;
+    }
+
+    public Publisher getSource() {
+      return source;
+    }
+
+    public CFANode getLocation() {
+      return location;
+    }
+
+    /**
+     * The states of the publisher at the location, which replace all states received before for
+     * this publisher and location. An empty list means that the publisher no longer provides
+     * states for this location.
+     */
+    public ImmutableList<AbstractState> getStates() {
+      return states;
+    }
+
+    @Override
+    public String toString() {
+      return location + ": " + states.size() + " states";
+    }
+  }
+
+  /**
+   * Sends the states of one analysis over the channel. Each analysis should use its own
+   * publisher.
+   *
+   * <p>The publisher does not look at the whole reached set for finding the changes. Instead, the
+   * reached set is wrapped by {@link #track(ReachedSet)}, and each added or removed state is
+   * recorded for its locations. Thus the cost of {@link #publish()} depends only on the locations
+   * that have changed since the last publication.
+   */
+  public static final class Publisher {
+
+    private final InvariantChannel channel;
+
+    // guarded by this
+    private final Map<CFANode, Set<AbstractState>> statesByLocation = new HashMap<>();
+    private final Set<CFANode> changedLocations = new LinkedHashSet<>();
+    private final Set<CFANode> publishedLocations = new HashSet<>();
+
+    private Publisher(InvariantChannel pChannel) {
+      channel = pChannel;
+    }
+
+    /**
+     * Return a view of the given reached set that records all changes for the next call to
+     * {@link #publish()}. The analysis needs to modify the reached set only through this view.
+     * The states of a reached set that was tracked before are replaced by the states of the given
+     * reached set. If the analysis replaces the delegate of the view, the changes are recorded,
+     * too.
+     */
+    public synchronized ForwardingReachedSet track(ReachedSet pReachedSet) {
+      checkNotNull(pReachedSet);
+      changedLocations.addAll(statesByLocation.keySet());
+      statesByLocation.clear();
+      for (AbstractState state : pReachedSet) {
+        stateAdded(state);
+      }
+      return new TrackingReachedSet(pReachedSet, this);
+    }
+
+    /**
+     * Send the states at all locations that have changed since the last publication, replacing
+     * what was published before by this publisher for these locations.
+     *
+     * @return the number of locations for which an update was sent
+     */
+    public synchronized int publish() {
+      Map<CFANode, ImmutableList<AbstractState>> changed = new LinkedHashMap<>();
+      for (CFANode location : changedLocations) {
+        Set<AbstractState> states = statesByLocation.get(location);
+        if (states != null) {
+          changed.put(location, ImmutableList.copyOf(states));
+          publishedLocations.add(location);
+        } else if (publishedLocations.remove(location)) {
+          changed.put(location, ImmutableList.of());
+        }
+      }
+      changedLocations.clear();
+      channel.put(this, changed);
+      return changed.size();
+    }
+
+    /**
+     * Withdraw all states that were published by this publisher. A later call to {@link
+     * #publish()} sends all states of the tracked reached set again.
+     */
+    public synchronized void retract() {
+      Map<CFANode, ImmutableList<AbstractState>> changed = new LinkedHashMap<>();
+      for (CFANode location : publishedLocations) {
+        changed.put(location, ImmutableList.of());
+      }
+      publishedLocations.clear();
+      changedLocations.addAll(statesByLocation.keySet());
+      channel.put(this, changed);
+    }
+
+    private synchronized void stateAdded(AbstractState pState) {
+      for (CFANode location : AbstractStates.extractLocations(pState)) {
+        statesByLocation.computeIfAbsent(location, l -> new LinkedHashSet<>()).add(pState);
+        changedLocations.add(location);
+      }
+    }
+
+    private synchronized void stateRemoved(AbstractState pState) {
+      for (CFANode location : AbstractStates.extractLocations(pState)) {
+        Set<AbstractState> states = statesByLocation.get(location);
+        if (states != null && states.remove(pState)) {
+          if (states.isEmpty()) {
+            statesByLocation.remove(location);
+          }
+          changedLocations.add(location);
+        }
+      }
+    }
+  }
+
+  /** Reached set that informs a {@link Publisher} about all added and removed states. */
+  private static class TrackingReachedSet extends ForwardingReachedSet {
+
+    private final Publisher publisher;
+
+    private TrackingReachedSet(ReachedSet pDelegate, Publisher pPublisher) {
+      super(pDelegate);
+      publisher = pPublisher;
+    }
+
+    @Override
+    public void setDelegate(ReachedSet pDelegate) {
+      checkNotNull(pDelegate);
+      for (AbstractState state : getDelegate()) {
+        publisher.stateRemoved(state);
+      }
+      super.setDelegate(pDelegate);
+      for (AbstractState state : pDelegate) {
+        publisher.stateAdded(state);
+      }
+    }
+
+    @Override
+    public void add(AbstractState pState, Precision pPrecision) {
+      super.add(pState, pPrecision);
+      publisher.stateAdded(pState);
+    }
+
+    @Override
+    public void addAll(Iterable<Pair<AbstractState, Precision>> pToAdd) {
+      for (Pair<AbstractState, Precision> pair : pToAdd) {
+        add(pair.getFirst(), pair.getSecond());
+      }
+    }
+
+    @Override
+    public void remove(AbstractState pState) {
+      super.remove(pState);
+      publisher.stateRemoved(pState);
+    }
+
+    @Override
+    public void removeAll(Iterable<? extends AbstractState> pToRemove) {
+      // the given states might be a view of this reached set
+      List<AbstractState> toRemove = ImmutableList.copyOf(pToRemove);
+      super.removeAll(toRemove);
+      for (AbstractState state : toRemove) {
+        publisher.stateRemoved(state);
+      }
+    }
+
+    @Override
+    public void clear() {
+      for (AbstractState state : getDelegate()) {
+        publisher.stateRemoved(state);
+      }
+      super.clear();
+    }
+  }
+
+  /**
+   * Receives the changes of a channel and its upstream channels. A subscription is meant to be
+   * used by a single consumer.
+   */
+  public static final class Subscription {
+
+    private final InvariantChannel channel;
+    private final Map<InvariantChannel, Long> seenVersions = new HashMap<>();
+
+    private Subscription(InvariantChannel pChannel) {
+      channel = pChannel;
+    }
+
+    /**
+     * Return all updates that were published since the last call of this method. The first call
+     * returns the current states of all publishers. For each pair of publisher and location only
+     * the latest update is returned.
+     */
+    public synchronized List<Update> poll() {
+      Set<InvariantChannel> channels = new LinkedHashSet<>();
+      channel.collectChannels(channels);
+
+      List<Update> result = new ArrayList<>();
+      for (InvariantChannel c : channels) {
+        seenVersions.put(c, c.poll(seenVersions.getOrDefault(c, 0L), result));
+      }
+      return result;
+    }
+  }
+}
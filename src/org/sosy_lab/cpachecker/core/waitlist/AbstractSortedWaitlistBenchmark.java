@@ -0,0 +1,123 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.waitlist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.TraversalMethod;
+
+/**
+ * Micro-benchmark for adding states to and popping states from an {@link AbstractSortedWaitlist}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AbstractSortedWaitlistBenchmark {
+
+  /** Number of states that are added to the waitlist. */
+  @Param({"100", "10000"})
+  int size;
+
+  /** Number of different sort keys of the states. */
+  @Param({"1", "10", "1000"})
+  int keys;
+
+  @Param({"DFS", "BFS"})
+  TraversalMethod secondaryStrategy;
+
+  private List<KeyState> states;
+
+  private static final class KeyState implements AbstractState {
+    private final int key;
+
+    private KeyState(int pKey) {
+      key = pKey;
+    }
+  }
+
+  private static final class KeySortedWaitlist extends AbstractSortedWaitlist<Integer> {
+
+    private KeySortedWaitlist(WaitlistFactory pSecondaryStrategy) {
+      super(pSecondaryStrategy);
+    }
+
+    @Override
+    protected Integer getSortKey(AbstractState pState) {
+      return ((KeyState) pState).key;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(0);
+    states = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      states.add(new KeyState(random.nextInt(keys)));
+    }
+  }
+
+  @Benchmark
+  public int addAndPopAll() {
+    Waitlist waitlist = new KeySortedWaitlist(secondaryStrategy);
+    for (KeyState state : states) {
+      waitlist.add(state);
+    }
+    int sum = 0;
+    while (!waitlist.isEmpty()) {
+      sum += ((KeyState) waitlist.pop()).key;
+    }
+    return sum;
+  }
+
+  /** Pop one state and add two states, as during the exploration of a branching program. */
+  @Benchmark
+  public int interleavedAddAndPop() {
+    Waitlist waitlist = new KeySortedWaitlist(secondaryStrategy);
+    waitlist.add(states.get(0));
+    int sum = 0;
+    for (int i = 1; i + 1 < size; i += 2) {
+      sum += ((KeyState) waitlist.pop()).key;
+      waitlist.add(states.get(i));
+      waitlist.add(states.get(i + 1));
+    }
+    return sum;
+  }
+}
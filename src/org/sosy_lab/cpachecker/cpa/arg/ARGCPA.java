@@ -98,6 +98,15 @@ public class ARGCPA extends AbstractSingleWrapperCPA
               + "is subsumed by the second wrapped state (and the parents are not yet subsumed).")
   private boolean mergeOnWrappedSubsumption = false;
 
+  @Option(
+      secure = true,
+      description =
+          "Skip coverage checks that cannot succeed according to the coverage fingerprints "
+              + "of the wrapped states, before calling the wrapped stop operator. "
+              + "This is only sound if the stop operators of all CPAs whose states provide "
+              + "a fingerprint are at least as strict as the fingerprint (the default ones are).")
+  private boolean useCoverageFingerprints = false;
+
   private final LogManager logger;
 
   private final ARGStatistics stats;
@@ -144,7 +153,8 @@ public class ARGCPA extends AbstractSingleWrapperCPA
         getWrappedCpa().getStopOperator(),
         logger,
         inCPAEnabledAnalysis,
-        keepCoveredStatesInReached);
+        keepCoveredStatesInReached,
+        useCoverageFingerprints);
   }
 
   @Override
@@ -184,6 +194,7 @@ public class ARGCPA extends AbstractSingleWrapperCPA
       // Info: this case is one of the reasons to first collect our own statistics
       // and afterwards call super.collectStatistics().
       pStatsCollection.add(stats);
+      pStatsCollection.add(stats.getExportStatistics());
     }
     super.collectStatistics(pStatsCollection);
   }
@@ -79,6 +79,10 @@ public class ARGState extends AbstractSingleWrapperState
   // If this is a target state, we may store additional information here.
   private transient CounterexampleInfo counterexample;
 
+  // lazily computed by getCoverageFingerprint()
+  private transient long coverageFingerprint;
+  private transient boolean hasCoverageFingerprint = false;
+
   private static final UniqueIdGenerator idGenerator = new UniqueIdGenerator();
 
   public ARGState(@Nullable AbstractState pWrappedState, @Nullable ARGState pParentElement) {
@@ -89,6 +93,19 @@ public class ARGState extends AbstractSingleWrapperState
     }
   }
 
+  /**
+   * Return the combined coverage fingerprint of the wrapped states (cf. {@link
+   * AbstractStates#getCoverageFingerprint(AbstractState)}). The value is computed only once, so
+   * this may be called often, e.g., for every coverage check against this state.
+   */
+  long getCoverageFingerprint() {
+    if (!hasCoverageFingerprint) {
+      coverageFingerprint = AbstractStates.getCoverageFingerprint(getWrappedState());
+      hasCoverageFingerprint = true;
+    }
+    return coverageFingerprint;
+  }
+
   // parent & child relations
 
   /**
@@ -35,6 +35,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.SetMultimap;
 import com.google.common.io.MoreFiles;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.Writer;
@@ -46,22 +47,34 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.Appender;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.configuration.TimeSpanOption;
 import org.sosy_lab.common.io.IO;
 import org.sosy_lab.common.io.PathTemplate;
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
@@ -83,6 +96,7 @@ import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.cwriter.ARGToCTranslator;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
 
 @Options(prefix="cpa.arg")
 public class ARGStatistics implements Statistics {
@@ -181,6 +195,35 @@ public class ARGStatistics implements Statistics {
       description = "export all automata into one zip-file, depends on 'automaton.export=true'")
   private boolean exportAutomatonZipped = true;
 
+  @Option(
+      secure = true,
+      name = "export.threads",
+      description =
+          "number of threads for exporting the ARG-related output files after the analysis. "
+              + "With more than one thread, the files are written concurrently.")
+  @IntegerOption(min = 1)
+  private int exportThreads = 1;
+
+  @Option(
+      secure = true,
+      name = "export.inBackground",
+      description =
+          "write the ARG-related output files after the analysis in the background, "
+              + "such that the result and the statistics are printed without waiting for them. "
+              + "The proof witness uses the solver of the analysis and is always written first. "
+              + "CPAchecker waits for the export before it terminates.")
+  private boolean exportInBackground = false;
+
+  @Option(
+      secure = true,
+      name = "export.timeLimit",
+      description =
+          "time limit for writing the ARG-related output files concurrently or in the "
+              + "background, after which unfinished files are abandoned "
+              + "(use seconds or specify a unit; 0 for infinite)")
+  @TimeSpanOption(codeUnit = TimeUnit.NANOSECONDS, defaultUserUnit = TimeUnit.SECONDS, min = 0)
+  private TimeSpan exportTimeLimit = TimeSpan.ofNanos(0);
+
   protected final ConfigurableProgramAnalysis cpa;
 
   private final CEXExportOptions counterexampleOptions;
@@ -194,6 +237,44 @@ public class ARGStatistics implements Statistics {
   private ARGToAutomatonConverter argToAutomatonSplitter;
   protected final LogManager logger;
 
+  // for exports that write to the same file for each partition of the state space
+  private final Object sharedOutputFileLock = new Object();
+
+  /** time for writing each kind of output file, summed over all partitions and iterations. */
+  private final Map<String, TimeSpan> exportTimes =
+      Collections.synchronizedMap(new LinkedHashMap<>());
+
+  /** number of exports that were started concurrently and are not finished yet. */
+  private final AtomicInteger runningExports = new AtomicInteger();
+
+  /**
+   * The output files are written after the statistics of this class are printed, so the times
+   * for writing them are printed by a separate object.
+   */
+  private final Statistics exportStatistics =
+      new Statistics() {
+
+        @Override
+        public String getName() {
+          return "ARG export";
+        }
+
+        @Override
+        public void printStatistics(
+            PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+          StatisticsWriter writer = StatisticsWriter.writingStatisticsTo(pOut);
+          synchronized (exportTimes) {
+            for (Map.Entry<String, TimeSpan> time : exportTimes.entrySet()) {
+              writer.put(
+                  "Time for exporting " + time.getKey(),
+                  time.getValue().formatAs(TimeUnit.SECONDS));
+            }
+          }
+          writer.putIf(
+              runningExports.get() > 0, "Exports still running in background", runningExports);
+        }
+      };
+
   public ARGStatistics(
       Configuration config,
       LogManager pLogger,
@@ -293,6 +374,14 @@ public class ARGStatistics implements Statistics {
   @Override
   public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {}
 
+  /**
+   * Get the statistics with the time for writing each output file. They need to be printed after
+   * {@link #writeOutputFiles(Result, UnmodifiableReachedSet)} was called.
+   */
+  public Statistics getExportStatistics() {
+    return exportStatistics;
+  }
+
   @Override
   public void writeOutputFiles(Result pResult, UnmodifiableReachedSet pReached) {
     if ((counterexampleOptions.disabledCompletely()
@@ -312,16 +401,97 @@ public class ARGStatistics implements Statistics {
       }
     }
 
+    boolean concurrently = exportThreads > 1 || exportInBackground;
+    List<Pair<String, Runnable>> exports = new ArrayList<>();
     if (exportARG) {
-      exportARG(pReached, counterexamples, pResult);
+      exportARG(pReached, counterexamples, pResult, exports, concurrently);
     }
 
     if (translateARG) {
-      try (Writer writer = IO.openOutputFile(argCFile, Charset.defaultCharset())) {
-        writer.write(argToCExporter.translateARG((ARGState) pReached.getFirstState(), true));
-      } catch (IOException | CPAException e) {
-        logger.logUserException(Level.WARNING, e, "Could not write C translation of ARG to file");
+      final ARGState rootState = (ARGState) pReached.getFirstState();
+      exports.add(
+          Pair.of(
+              "C translation of ARG",
+              () -> {
+                try (Writer writer = IO.openOutputFile(argCFile, Charset.defaultCharset())) {
+                  writer.write(argToCExporter.translateARG(rootState, true));
+                } catch (IOException | CPAException e) {
+                  logger.logUserException(
+                      Level.WARNING, e, "Could not write C translation of ARG to file");
+                }
+              }));
+    }
+
+    // The analysis is finished, so the ARG is not modified anymore
+    // and the exports can safely read it concurrently.
+    if (concurrently) {
+      runExportsConcurrently(exports);
+    } else {
+      runExports(exports);
+    }
+  }
+
+  private void runExports(List<Pair<String, Runnable>> pExports) {
+    for (Pair<String, Runnable> export : pExports) {
+      runExport(export.getFirst(), export.getSecond());
+    }
+  }
+
+  private void runExport(String pName, Runnable pExport) {
+    Timer timer = new Timer();
+    timer.start();
+    try {
+      pExport.run();
+    } finally {
+      timer.stop();
+      exportTimes.merge(pName, timer.getLengthOfLastInterval(), TimeSpan::sum);
+    }
+  }
+
+  private void runExportsConcurrently(List<Pair<String, Runnable>> pExports) {
+    // Worker threads are daemon threads such that they do not prevent termination
+    // after the time limit has been reached, the thread waiting for them is not.
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            exportThreads,
+            new ThreadFactoryBuilder().setNameFormat("ARG export %d").setDaemon(true).build());
+    for (Pair<String, Runnable> export : pExports) {
+      String name = export.getFirst();
+      runningExports.incrementAndGet();
+      executor.execute(
+          () -> {
+            try {
+              runExport(name, export.getSecond());
+            } catch (RuntimeException e) {
+              logger.logException(Level.WARNING, e, "Could not export " + name);
+            } finally {
+              runningExports.decrementAndGet();
+            }
+          });
+    }
+    executor.shutdown();
+
+    if (exportInBackground) {
+      new Thread(() -> awaitExports(executor), "ARG export").start();
+    } else {
+      awaitExports(executor);
+    }
+  }
+
+  private void awaitExports(ExecutorService pExecutor) {
+    try {
+      long timeLimit = exportTimeLimit.isEmpty() ? Long.MAX_VALUE : exportTimeLimit.asNanos();
+      if (!pExecutor.awaitTermination(timeLimit, TimeUnit.NANOSECONDS)) {
+        logger.log(
+            Level.WARNING,
+            "Writing the ARG-related output files did not finish within",
+            exportTimeLimit.formatAs(TimeUnit.SECONDS) + ",",
+            "some files may be missing or incomplete.");
+        pExecutor.shutdownNow();
       }
+    } catch (InterruptedException e) {
+      pExecutor.shutdownNow();
+      Thread.currentThread().interrupt();
     }
   }
 
@@ -344,10 +514,19 @@ public class ARGStatistics implements Statistics {
     return Paths.get(prefix + "-" + partitionKey + extension);
   }
 
+  /**
+   * Create the exports of the ARG (one for each output file), which can then be run in any order.
+   * Exports that need the solver of the analysis are run immediately instead.
+   *
+   * @param pConcurrently whether the exports will be run concurrently to each other or to the
+   *     rest of CPAchecker, in which case they must not use the solver of the analysis
+   */
   private void exportARG(
       UnmodifiableReachedSet pReached,
       final Map<ARGState, CounterexampleInfo> counterexamples,
-      Result pResult) {
+      Result pResult,
+      List<Pair<String, Runnable>> pExports,
+      boolean pConcurrently) {
     final Set<Pair<ARGState, ARGState>> allTargetPathEdges = new HashSet<>();
     for (CounterexampleInfo cex : counterexamples.values()) {
       allTargetPathEdges.addAll(cex.getTargetPath().getStatePairs());
@@ -365,7 +544,7 @@ public class ARGStatistics implements Statistics {
         : Collections.singleton(AbstractStates.extractStateByType(pReached.getFirstState(), ARGState.class));
 
     for (ARGState rootState: rootStates) {
-      exportARG0(rootState, Predicates.in(allTargetPathEdges), pResult);
+      exportARG0(rootState, Predicates.in(allTargetPathEdges), pResult, pExports, pConcurrently);
     }
   }
 
@@ -373,96 +552,168 @@ public class ARGStatistics implements Statistics {
   private void exportARG0(
       final ARGState rootState,
       final Predicate<Pair<ARGState, ARGState>> isTargetPathEdge,
-      Result pResult) {
+      Result pResult,
+      List<Pair<String, Runnable>> pExports,
+      boolean pConcurrently) {
     SetMultimap<ARGState, ARGState> relevantSuccessorRelation =
         ARGUtils.projectARG(rootState, ARGState::getChildren, ARGUtils.RELEVANT_STATE);
     Function<ARGState, Collection<ARGState>> relevantSuccessorFunction = Functions.forMap(relevantSuccessorRelation.asMap(), ImmutableSet.<ARGState>of());
 
     if (proofWitness != null && pResult != Result.FALSE) {
-      try {
-        Path witnessFile = adjustPathNameForPartitioning(rootState, proofWitness);
-        Appender content = pAppendable -> argWitnessExporter.writeProofWitness(pAppendable, rootState, Predicates.alwaysTrue(),
-            Predicates.alwaysTrue());
-        if (!compressWitness) {
-          IO.writeFile(witnessFile, StandardCharsets.UTF_8, content);
-        } else {
-          witnessFile = witnessFile.resolveSibling(witnessFile.getFileName() + ".gz");
-          IO.writeGZIPFile(witnessFile, StandardCharsets.UTF_8, content);
-        }
-      } catch (IOException e) {
-        logger.logUserException(Level.WARNING, e, "Could not write ARG to file");
+      // The proof witness contains formulas of the analysis, and the solver that owns them
+      // must not be used concurrently, so this export runs here on the calling thread.
+      runExport(
+          "proof witness",
+          () -> {
+            try {
+              Path witnessFile = adjustPathNameForPartitioning(rootState, proofWitness);
+              Appender content =
+                  pAppendable ->
+                      argWitnessExporter.writeProofWitness(
+                          pAppendable,
+                          rootState,
+                          Predicates.alwaysTrue(),
+                          Predicates.alwaysTrue());
+              if (!compressWitness) {
+                IO.writeFile(witnessFile, StandardCharsets.UTF_8, content);
+              } else {
+                witnessFile = witnessFile.resolveSibling(witnessFile.getFileName() + ".gz");
+                IO.writeGZIPFile(witnessFile, StandardCharsets.UTF_8, content);
+              }
+            } catch (IOException e) {
+              logger.logUserException(Level.WARNING, e, "Could not write ARG to file");
+            }
+          });
+    }
+
+    // The labels of some states are created from formulas, e.g., for predicate abstractions,
+    // so they are created here on the calling thread if the graphs are written concurrently.
+    Function<ARGState, String> stateLabels = ARGState::toDOTLabel;
+    if (pConcurrently
+        && (argFile != null || simplifiedArgFile != null || refinementGraphWriter != null)) {
+      Map<ARGState, String> labels = new HashMap<>();
+      for (ARGState state : rootState.getSubgraph()) {
+        labels.put(state, state.toDOTLabel());
       }
+      stateLabels = Functions.forMap(labels);
     }
+    final Function<ARGState, String> dotLabels = stateLabels;
 
     if (argFile != null) {
-      try (Writer w =
-          IO.openOutputFile(
-              adjustPathNameForPartitioning(rootState, argFile), Charset.defaultCharset())) {
-        ARGToDotWriter.write(
-            w, rootState, ARGState::getChildren, Predicates.alwaysTrue(), isTargetPathEdge);
-      } catch (IOException e) {
-        logger.logUserException(Level.WARNING, e, "Could not write ARG to file");
-      }
+      pExports.add(
+          Pair.of(
+              "ARG",
+              () -> {
+                try (Writer w =
+                    IO.openOutputFile(
+                        adjustPathNameForPartitioning(rootState, argFile),
+                        Charset.defaultCharset())) {
+                  ARGToDotWriter.write(
+                      w,
+                      rootState,
+                      ARGState::getChildren,
+                      Predicates.alwaysTrue(),
+                      isTargetPathEdge,
+                      dotLabels);
+                } catch (IOException e) {
+                  logger.logUserException(Level.WARNING, e, "Could not write ARG to file");
+                }
+              }));
     }
 
     if (pixelGraphicFile != null) {
-      try {
-        Path adjustedBitmapFileName = adjustPathNameForPartitioning(rootState, pixelGraphicFile);
-        argToBitmapExporter.write(rootState, adjustedBitmapFileName);
-      } catch (IOException | InvalidConfigurationException e) {
-        logger.logUserException(Level.WARNING, e, "Could not write ARG bitmap to file");
-      }
+      pExports.add(
+          Pair.of(
+              "ARG pixel graphic",
+              () -> {
+                try {
+                  Path adjustedBitmapFileName =
+                      adjustPathNameForPartitioning(rootState, pixelGraphicFile);
+                  argToBitmapExporter.write(rootState, adjustedBitmapFileName);
+                } catch (IOException | InvalidConfigurationException e) {
+                  logger.logUserException(Level.WARNING, e, "Could not write ARG bitmap to file");
+                }
+              }));
     }
 
     if (simplifiedArgFile != null) {
-      try (Writer w =
-          IO.openOutputFile(
-              adjustPathNameForPartitioning(rootState, simplifiedArgFile),
-              Charset.defaultCharset())) {
-        ARGToDotWriter.write(w, rootState,
-            relevantSuccessorFunction,
-            Predicates.alwaysTrue(),
-            Predicates.alwaysFalse());
-      } catch (IOException e) {
-        logger.logUserException(Level.WARNING, e, "Could not write ARG to file");
-      }
+      pExports.add(
+          Pair.of(
+              "simplified ARG",
+              () -> {
+                try (Writer w =
+                    IO.openOutputFile(
+                        adjustPathNameForPartitioning(rootState, simplifiedArgFile),
+                        Charset.defaultCharset())) {
+                  ARGToDotWriter.write(
+                      w,
+                      rootState,
+                      relevantSuccessorFunction,
+                      Predicates.alwaysTrue(),
+                      Predicates.alwaysFalse(),
+                      dotLabels);
+                } catch (IOException e) {
+                  logger.logUserException(Level.WARNING, e, "Could not write ARG to file");
+                }
+              }));
     }
 
     assert (refinementGraphUnderlyingWriter == null) == (refinementGraphWriter == null);
     if (refinementGraphUnderlyingWriter != null) {
-      try (Writer w = refinementGraphUnderlyingWriter) { // for auto-closing
-        // TODO: Support for partitioned state spaces
-        refinementGraphWriter.writeSubgraph(rootState,
-            relevantSuccessorFunction,
-            Predicates.alwaysTrue(),
-            Predicates.alwaysFalse());
-        refinementGraphWriter.finish();
-
-      } catch (IOException e) {
-        logger.logUserException(Level.WARNING, e, "Could not write refinement graph to file");
-      }
+      pExports.add(
+          Pair.of(
+              "refinement graph",
+              () -> {
+                synchronized (sharedOutputFileLock) {
+                  try (Writer w = refinementGraphUnderlyingWriter) { // for auto-closing
+                    // TODO: Support for partitioned state spaces
+                    refinementGraphWriter.writeSubgraph(
+                        rootState,
+                        relevantSuccessorFunction,
+                        Predicates.alwaysTrue(),
+                        Predicates.alwaysFalse(),
+                        dotLabels);
+                    refinementGraphWriter.finish();
+
+                  } catch (IOException e) {
+                    logger.logUserException(
+                        Level.WARNING, e, "Could not write refinement graph to file");
+                  }
+                }
+              }));
     }
 
     if (exportAutomaton && (automatonSpcFile != null || automatonSpcDotFile != null)) {
-      try {
-        if (exportAutomatonZipped && automatonSpcZipFile != null) {
-          Files.deleteIfExists(automatonSpcZipFile);
-        }
-        final int baseId = -1; // id for the exported 'complete' automaton
-        writeAutomaton(baseId, argToAutomatonSplitter.getAutomaton(rootState, true));
-      } catch (IOException io) {
-        logger.logUserException(Level.WARNING, io, "Could not write ARG to automata to file");
+      pExports.add(
+          Pair.of(
+              "ARG as automata",
+              () -> {
+                synchronized (sharedOutputFileLock) {
+                  exportAutomata(rootState);
+                }
+              }));
+    }
+  }
+
+  private void exportAutomata(ARGState rootState) {
+    try {
+      if (exportAutomatonZipped && automatonSpcZipFile != null) {
+        Files.deleteIfExists(automatonSpcZipFile);
       }
-      try {
-        int counterId = 0; // id for each exported 'partial' automata, distinct from 'baseId'
-        for (Automaton automaton : argToAutomatonSplitter.getAutomata(rootState)) {
-          counterId++;
-          writeAutomaton(counterId, automaton);
-        }
-        logger.log(Level.INFO, "Number of exported automata after splitting:", counterId);
-      } catch (IOException io) {
-        logger.logUserException(Level.WARNING, io, "Could not write ARG to automata to file");
+      final int baseId = -1; // id for the exported 'complete' automaton
+      writeAutomaton(baseId, argToAutomatonSplitter.getAutomaton(rootState, true));
+    } catch (IOException io) {
+      logger.logUserException(Level.WARNING, io, "Could not write ARG to automata to file");
+    }
+    try {
+      int counterId = 0; // id for each exported 'partial' automata, distinct from 'baseId'
+      for (Automaton automaton : argToAutomatonSplitter.getAutomata(rootState)) {
+        counterId++;
+        writeAutomaton(counterId, automaton);
       }
+      logger.log(Level.INFO, "Number of exported automata after splitting:", counterId);
+    } catch (IOException io) {
+      logger.logUserException(Level.WARNING, io, "Could not write ARG to automata to file");
     }
   }
 
@@ -535,7 +786,15 @@ public class ARGStatistics implements Statistics {
 
   public void printIterationStatistics(UnmodifiableReachedSet pReached) {
     if (dumpArgInEachCpaIteration) {
-      exportARG(pReached, getAllCounterexamples(pReached), CPAcheckerResult.Result.UNKNOWN);
+      // the analysis continues afterwards, so export synchronously
+      List<Pair<String, Runnable>> exports = new ArrayList<>();
+      exportARG(
+          pReached,
+          getAllCounterexamples(pReached),
+          CPAcheckerResult.Result.UNKNOWN,
+          exports,
+          false);
+      runExports(exports);
     }
   }
 }
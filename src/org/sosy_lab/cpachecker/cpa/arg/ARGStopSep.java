@@ -23,33 +23,51 @@
  */
 package org.sosy_lab.cpachecker.cpa.arg;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.logging.Level;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithCoverageFingerprint;
 import org.sosy_lab.cpachecker.core.interfaces.ForcedCoveringStopOperator;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
 
 public class ARGStopSep implements StopOperator, ForcedCoveringStopOperator {
 
   private final boolean keepCoveredStatesInReached;
   private final boolean inCPAEnabledAnalysis;
+  private final boolean useCoverageFingerprints;
   private final StopOperator wrappedStop;
   private final LogManager logger;
 
+  private final StatCounter coverageChecks = new StatCounter("Number of coverage checks");
+  private final StatCounter fingerprintRejections =
+      new StatCounter("  Rejected by coverage fingerprint");
+
   public ARGStopSep(
       StopOperator pWrappedStop,
       LogManager pLogger,
       boolean pInCPAEnabledAnalysis,
       boolean pKeepCoveredStatesInReached) {
+    this(pWrappedStop, pLogger, pInCPAEnabledAnalysis, pKeepCoveredStatesInReached, false);
+  }
+
+  public ARGStopSep(
+      StopOperator pWrappedStop,
+      LogManager pLogger,
+      boolean pInCPAEnabledAnalysis,
+      boolean pKeepCoveredStatesInReached,
+      boolean pUseCoverageFingerprints) {
     wrappedStop = pWrappedStop;
     logger = pLogger;
     keepCoveredStatesInReached = pKeepCoveredStatesInReached;
     inCPAEnabledAnalysis = pInCPAEnabledAnalysis;
+    useCoverageFingerprints = pUseCoverageFingerprints;
   }
 
   @Override
@@ -144,6 +162,14 @@ public class ARGStopSep implements StopOperator, ForcedCoveringStopOperator {
       return false;
     }
 
+    coverageChecks.inc();
+    if (useCoverageFingerprints
+        && !AbstractStateWithCoverageFingerprint.mayBeCoveredBy(
+            pElement.getCoverageFingerprint(), pReachedState.getCoverageFingerprint())) {
+      fingerprintRejections.inc();
+      return false;
+    }
+
     AbstractState wrappedState = pElement.getWrappedState();
     AbstractState wrappedReachedState = pReachedState.getWrappedState();
 
@@ -155,6 +181,14 @@ public class ARGStopSep implements StopOperator, ForcedCoveringStopOperator {
     return stop;
   }
 
+  /** Return counters for the coverage checks done by this operator, for statistics output. */
+  public ImmutableList<StatCounter> getCoverageCheckCounters() {
+    if (useCoverageFingerprints) {
+      return ImmutableList.of(coverageChecks, fingerprintRejections);
+    }
+    return ImmutableList.of(coverageChecks);
+  }
+
   @Override
   public boolean isForcedCoveringPossible(AbstractState pElement, AbstractState pReachedState, Precision pPrecision) throws CPAException, InterruptedException {
     if (!(wrappedStop instanceof ForcedCoveringStopOperator)) {
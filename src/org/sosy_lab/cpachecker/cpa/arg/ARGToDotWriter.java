@@ -69,12 +69,32 @@ public class ARGToDotWriter {
       final Predicate<? super ARGState> displayedElements,
       final Predicate<? super Pair<ARGState, ARGState>> highlightEdge)
       throws IOException {
+    write(sb, rootState, successorFunction, displayedElements, highlightEdge, ARGState::toDOTLabel);
+  }
+
+  /**
+   * Create String with ARG in the DOT format of Graphviz.
+   * @param sb Where to write the ARG into.
+   * @param rootState the root element of the ARG
+   * @param successorFunction A function giving all successors of an ARGState. Only states reachable from root by iteratively applying this function will be dumped.
+   * @param displayedElements A predicate for selecting states that should be displayed. States which are only reachable via non-displayed states are ignored, too.
+   * @param highlightEdge Which edges to highlight in the graph?
+   * @param stateLabels The labels of the states, in addition to their ids and locations.
+   */
+  public static void write(Appendable sb,
+      final ARGState rootState,
+      final Function<? super ARGState, ? extends Iterable<ARGState>> successorFunction,
+      final Predicate<? super ARGState> displayedElements,
+      final Predicate<? super Pair<ARGState, ARGState>> highlightEdge,
+      final Function<? super ARGState, String> stateLabels)
+      throws IOException {
 
     ARGToDotWriter toDotWriter = new ARGToDotWriter(sb);
     toDotWriter.writeSubgraph(rootState,
         successorFunction,
         displayedElements,
-        highlightEdge);
+        highlightEdge,
+        stateLabels);
     toDotWriter.finish();
   }
 
@@ -91,7 +111,7 @@ public class ARGToDotWriter {
       if (state.isDestroyed()) {
         continue;
       }
-      sb.append(determineNode(state));
+      sb.append(determineNode(state, state.toDOTLabel()));
       sb.append(determineStateHint(state));
       for (ARGState child: state.getChildren()) {
         sb.append(determineEdge(Predicates.alwaysFalse(), state, child));
@@ -149,6 +169,24 @@ public class ARGToDotWriter {
       final Function<? super ARGState, ? extends Iterable<ARGState>> successorFunction,
       final Predicate<? super ARGState> displayedElements,
       final Predicate<? super Pair<ARGState, ARGState>> highlightEdge) throws IOException {
+    writeSubgraph(
+        rootState, successorFunction, displayedElements, highlightEdge, ARGState::toDOTLabel);
+  }
+
+  /**
+   * Create String with ARG in the DOT format of Graphviz.
+   * Only the states and edges are written, no surrounding graph definition.
+   * @param rootState the root element of the ARG
+   * @param successorFunction A function giving all successors of an ARGState. Only states reachable from root by iteratively applying this function will be dumped.
+   * @param displayedElements A predicate for selecting states that should be displayed. States which are only reachable via non-displayed states are ignored, too.
+   * @param highlightEdge Which edges to highlight in the graph?
+   * @param stateLabels The labels of the states, in addition to their ids and locations.
+   */
+  void writeSubgraph(final ARGState rootState,
+      final Function<? super ARGState, ? extends Iterable<ARGState>> successorFunction,
+      final Predicate<? super ARGState> displayedElements,
+      final Predicate<? super Pair<ARGState, ARGState>> highlightEdge,
+      final Function<? super ARGState, String> stateLabels) throws IOException {
 
     Deque<ARGState> worklist = new ArrayDeque<>();
     Set<ARGState> processed = new HashSet<>();
@@ -165,7 +203,7 @@ public class ARGToDotWriter {
         continue;
       }
 
-      sb.append(determineNode(currentElement));
+      sb.append(determineNode(currentElement, stateLabels.apply(currentElement)));
       sb.append(determineStateHint(currentElement));
 
       for (ARGState covered : currentElement.getCoveredByThis()) {
@@ -310,7 +348,7 @@ public class ARGToDotWriter {
     return builder.toString();
   }
 
-  private static String determineNode(final ARGState currentElement) {
+  private static String determineNode(final ARGState currentElement, final String stateLabel) {
     final StringBuilder builder = new StringBuilder();
     builder.append(currentElement.getStateId());
     builder.append(" [");
@@ -318,12 +356,12 @@ public class ARGToDotWriter {
     if (color != null) {
       builder.append("fillcolor=\"").append(color).append("\" ");
     }
-    builder.append("label=\"").append(determineLabel(currentElement)).append("\" ");
+    builder.append("label=\"").append(determineLabel(currentElement, stateLabel)).append("\" ");
     builder.append("id=\"").append(currentElement.getStateId()).append("\"]\n");
     return builder.toString();
   }
 
-  private static String determineLabel(ARGState currentElement) {
+  private static String determineLabel(ARGState currentElement, String stateLabel) {
     StringBuilder builder = new StringBuilder();
 
     builder.append(currentElement.getStateId());
@@ -342,7 +380,7 @@ public class ARGToDotWriter {
     }
 
     builder.append(
-        DOTBuilder.escapeGraphvizLabel(currentElement.toDOTLabel(), "\\\\n"));
+        DOTBuilder.escapeGraphvizLabel(stateLabel, "\\\\n"));
 
     return builder.toString().trim();
   }
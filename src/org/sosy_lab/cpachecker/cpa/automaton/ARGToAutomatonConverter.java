@@ -38,6 +38,7 @@ import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Ordering;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -58,15 +59,20 @@ import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.DummyCFAEdge;
 import org.sosy_lab.cpachecker.cfa.ast.AExpression;
+import org.sosy_lab.cpachecker.cfa.ast.AExpressionStatement;
 import org.sosy_lab.cpachecker.cfa.ast.c.CBinaryExpressionBuilder;
 import org.sosy_lab.cpachecker.cfa.ast.c.CExpression;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.cfa.model.FunctionCallEdge;
+import org.sosy_lab.cpachecker.core.counterexample.CFAEdgeWithAssumptions;
+import org.sosy_lab.cpachecker.core.counterexample.CounterexampleInfo;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithAssumptions;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
 import org.sosy_lab.cpachecker.cpa.arg.ARGUtils;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonExpression.StringExpression;
 import org.sosy_lab.cpachecker.cpa.callstack.CallstackState;
 import org.sosy_lab.cpachecker.cpa.smg.util.PersistentSet;
 import org.sosy_lab.cpachecker.exceptions.UnrecognizedCodeException;
@@ -302,6 +308,132 @@ public class ARGToAutomatonConverter {
     return new AutomatonBoolExpr.Negation(otherwise);
   }
 
+  /**
+   * Build an automaton that matches exactly the edges along the given path, without writing and
+   * re-parsing it. If there is a target state, it is signaled as an error state in the automaton.
+   *
+   * <p>The states and transitions are built like in {@link ARGUtils#producePathAutomaton(
+   * Appendable, ARGState, Set, String, CounterexampleInfo)}: each state matches the raw statements
+   * of the edges to its successors on the path and stops on every other edge. In contrast to that
+   * method, the intermediate states for the edges of a dynamic multi edge also stop on every other
+   * edge, so the automaton accepts only the exact sequence of edges of the path.
+   *
+   * <p>This is stricter than a violation witness, which does not restrict the edges that none of
+   * its transitions matches.
+   *
+   * @param pRootState The root of the ARG
+   * @param pPathStates The states along the path
+   * @param pName the name the automaton should have
+   * @param pCounterExample Given to add the exact variable assignment values as assumptions to the
+   *     automaton, may be null
+   */
+  public static Automaton getPathAutomaton(
+      ARGState pRootState,
+      Set<ARGState> pPathStates,
+      String pName,
+      @Nullable CounterexampleInfo pCounterExample) {
+
+    Multimap<ARGState, CFAEdgeWithAssumptions> valueMap = ImmutableMultimap.of();
+    if (pCounterExample != null && pCounterExample.isPreciseCounterExample()) {
+      valueMap = pCounterExample.getExactVariableValues();
+    }
+
+    AutomatonTransition stop =
+        new AutomatonTransition(
+            AutomatonBoolExpr.TRUE,
+            ImmutableList.of(),
+            ImmutableList.of(),
+            AutomatonInternalState.BOTTOM);
+    List<AutomatonInternalState> states = new ArrayList<>();
+    int multiEdgeCount = 0; // unique suffix for the intermediate states of multi edges
+
+    for (ARGState s : Ordering.natural().immutableSortedCopy(pPathStates)) {
+      List<AutomatonTransition> transitions = new ArrayList<>();
+
+      for (ARGState child : uncover(s.getChildren())) {
+        if (!pPathStates.contains(child)) {
+          continue;
+        }
+        List<CFAEdge> allEdges = s.getEdgesToChild(child);
+        if (allEdges.isEmpty()) {
+          // this is a missing edge, e.g., caused by SSCCPA
+          allEdges =
+              ImmutableList.of(
+                  new DummyCFAEdge(
+                      AbstractStates.extractLocation(s), AbstractStates.extractLocation(child)));
+        }
+
+        // a dynamic multi edge is matched by a chain of intermediate states
+        if (allEdges.size() > 1) {
+          multiEdgeCount++;
+        }
+        List<AutomatonTransition> current = transitions;
+        String currentName = null;
+        for (int i = 0; i < allEdges.size() - 1; i++) {
+          String intermediateName = id(child) + "_" + i + "_" + multiEdgeCount;
+          current.add(
+              new AutomatonTransition(
+                  new AutomatonBoolExpr.MatchCFAEdgeExact(allEdges.get(i).getRawStatement()),
+                  ImmutableList.of(),
+                  ImmutableList.of(),
+                  ImmutableList.of(),
+                  intermediateName));
+          if (currentName != null) {
+            current.add(stop);
+            states.add(new AutomatonInternalState(currentName, current));
+          }
+          currentName = intermediateName;
+          current = new ArrayList<>();
+        }
+
+        CFAEdge edge = Iterables.getLast(allEdges);
+        AutomatonBoolExpr match = new AutomatonBoolExpr.MatchCFAEdgeExact(edge.getRawStatement());
+        if (child.isTarget()) {
+          current.add(
+              new AutomatonTransition(
+                  match,
+                  ImmutableList.of(),
+                  ImmutableList.of(),
+                  ImmutableList.of(),
+                  AutomatonInternalState.ERROR,
+                  new StringExpression("")));
+        } else {
+          current.add(
+              new AutomatonTransition(
+                  match,
+                  ImmutableList.of(),
+                  getAssumptions(valueMap, s, edge),
+                  ImmutableList.of(),
+                  id(child)));
+        }
+        if (currentName != null) {
+          current.add(stop);
+          states.add(new AutomatonInternalState(currentName, current));
+        }
+      }
+      transitions.add(stop);
+      states.add(new AutomatonInternalState(id(s), transitions));
+    }
+
+    try {
+      return new Automaton(pName, Collections.emptyMap(), states, id(pRootState));
+    } catch (InvalidAutomatonException e) {
+      throw new AssertionError("Automaton built in code should be valid.", e);
+    }
+  }
+
+  private static List<AExpression> getAssumptions(
+      Multimap<ARGState, CFAEdgeWithAssumptions> pValueMap, ARGState pState, CFAEdge pEdge) {
+    Iterable<CFAEdgeWithAssumptions> assumptions =
+        Iterables.filter(pValueMap.get(pState), a -> a.getCFAEdge().equals(pEdge));
+    if (Iterables.isEmpty(assumptions)) {
+      return ImmutableList.of();
+    }
+    return from(Iterables.getOnlyElement(assumptions).getExpStmts())
+        .<AExpression>transform(AExpressionStatement::getExpression)
+        .toList();
+  }
+
   @Deprecated // unmaintained?
   private Iterable<Automaton> getGlobalConditionSplitAutomata(
       ARGState root, BranchExportStrategy branchExportStrategy) {
@@ -0,0 +1,181 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.automaton;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.cfa.ast.FileLocation;
+import org.sosy_lab.cpachecker.cfa.model.BlankEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithLocation;
+import org.sosy_lab.cpachecker.core.interfaces.Property;
+import org.sosy_lab.cpachecker.core.interfaces.Targetable;
+import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+
+public class ARGToAutomatonConverterTest {
+
+  private CFANode[] nodes;
+
+  private ARGState root;
+  private ARGState afterFirstEdge;
+  private ARGState afterMultiEdge;
+  private ARGState error;
+
+  @Before
+  public void setUp() {
+    nodes = new CFANode[6];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = new CFANode("main");
+    }
+    // node 2 is only passed by the multi edge from node 1 to node 3
+    edge(0, 1, "x = 1;");
+    edge(1, 2, "y = 2;");
+    edge(2, 3, "z = 3;");
+    edge(3, 4, "error();");
+    edge(0, 5, "x = 5;");
+
+    root = state(0, null, false);
+    afterFirstEdge = state(1, root, false);
+    state(5, root, false); // not on the path
+    afterMultiEdge = state(3, afterFirstEdge, false);
+    error = state(4, afterMultiEdge, true);
+  }
+
+  private void edge(int from, int to, String statement) {
+    CFAEdge edge = new BlankEdge(statement, FileLocation.DUMMY, nodes[from], nodes[to], statement);
+    nodes[from].addLeavingEdge(edge);
+    nodes[to].addEnteringEdge(edge);
+  }
+
+  private ARGState state(int node, ARGState parent, boolean isTarget) {
+    return new ARGState(new LocationTestState(nodes[node], isTarget), parent);
+  }
+
+  private static String id(ARGState state) {
+    return "S" + state.getStateId() + "_N" + AbstractStates.extractLocation(state).getNodeNumber();
+  }
+
+  private static AutomatonInternalState getState(Automaton automaton, String name) {
+    for (AutomatonInternalState state : automaton.getStates()) {
+      if (state.getName().equals(name)) {
+        return state;
+      }
+    }
+    throw new AssertionError("Automaton has no state " + name);
+  }
+
+  /** Check that the state has a transition for the edge and a transition to STOP. */
+  private static void assertTransitions(
+      AutomatonInternalState state, String statement, AutomatonInternalState successor) {
+    List<AutomatonTransition> transitions = state.getTransitions();
+    assertThat(transitions).hasSize(2);
+    assertThat(transitions.get(0).getTrigger())
+        .isEqualTo(new AutomatonBoolExpr.MatchCFAEdgeExact(statement));
+    assertThat(transitions.get(0).getFollowState()).isSameAs(successor);
+    assertStop(transitions.get(1));
+  }
+
+  private static void assertStop(AutomatonTransition transition) {
+    assertThat(transition.getTrigger()).isEqualTo(AutomatonBoolExpr.TRUE);
+    assertThat(transition.getFollowState()).isSameAs(AutomatonInternalState.BOTTOM);
+  }
+
+  private static class LocationTestState implements AbstractStateWithLocation, Targetable {
+
+    private final CFANode location;
+    private final boolean isTarget;
+
+    LocationTestState(CFANode pLocation, boolean pIsTarget) {
+      location = pLocation;
+      isTarget = pIsTarget;
+    }
+
+    @Override
+    public CFANode getLocationNode() {
+      return location;
+    }
+
+    @Override
+    public Iterable<CFANode> getLocationNodes() {
+      return ImmutableSet.of(location);
+    }
+
+    @Override
+    public Iterable<CFAEdge> getOutgoingEdges() {
+      return CFAUtils.leavingEdges(location);
+    }
+
+    @Override
+    public Iterable<CFAEdge> getIngoingEdges() {
+      return CFAUtils.enteringEdges(location);
+    }
+
+    @Override
+    public boolean isTarget() {
+      return isTarget;
+    }
+
+    @Override
+    public Set<Property> getViolatedProperties() {
+      return ImmutableSet.of();
+    }
+  }
+
+  @Test
+  public void testPathAutomaton() {
+    Automaton automaton =
+        ARGToAutomatonConverter.getPathAutomaton(
+            root, ImmutableSet.of(root, afterFirstEdge, afterMultiEdge, error), "path", null);
+
+    // one state per ARG state on the path, and one intermediate state for the multi edge
+    String intermediate = id(afterMultiEdge) + "_0_1";
+    assertThat(automaton.getInitialState().getName()).isEqualTo(id(root));
+    assertThat(Lists.transform(automaton.getStates(), AutomatonInternalState::getName))
+        .containsExactly(
+            id(root), intermediate, id(afterFirstEdge), id(afterMultiEdge), id(error))
+        .inOrder();
+
+    assertTransitions(
+        getState(automaton, id(root)), "x = 1;", getState(automaton, id(afterFirstEdge)));
+    assertTransitions(
+        getState(automaton, id(afterFirstEdge)), "y = 2;", getState(automaton, intermediate));
+    assertTransitions(
+        getState(automaton, intermediate), "z = 3;", getState(automaton, id(afterMultiEdge)));
+    assertTransitions(
+        getState(automaton, id(afterMultiEdge)), "error();", AutomatonInternalState.ERROR);
+
+    List<AutomatonTransition> errorTransitions = getState(automaton, id(error)).getTransitions();
+    assertThat(errorTransitions).hasSize(1);
+    assertStop(errorTransitions.get(0));
+  }
+}
@@ -40,6 +40,7 @@ import java.util.Set;
 import org.sosy_lab.cpachecker.cfa.ast.AExpression;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractQueryableState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithAssumptions;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithCoverageFingerprint;
 import org.sosy_lab.cpachecker.core.interfaces.Graphable;
 import org.sosy_lab.cpachecker.core.interfaces.Property;
 import org.sosy_lab.cpachecker.core.interfaces.Targetable;
@@ -53,7 +54,9 @@ import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
  * This class combines a AutomatonInternal State with a variable Configuration.
  * Instances of this class are passed to the CPAchecker as AbstractState.
  */
-public class AutomatonState implements AbstractQueryableState, Targetable, Serializable, AbstractStateWithAssumptions, Graphable {
+public class AutomatonState
+    implements AbstractQueryableState, Targetable, Serializable, AbstractStateWithAssumptions,
+        AbstractStateWithCoverageFingerprint, Graphable {
 
   private static final long serialVersionUID = -4665039439114057346L;
   private static final String AutomatonAnalysisNamePrefix = "AutomatonAnalysis_";
@@ -84,6 +87,12 @@ public class AutomatonState implements AbstractQueryableState, Targetable, Seria
     public String toString() {
       return "AutomatonState.TOP";
     }
+
+    @Override
+    public long getCoverageFingerprint() {
+      // TOP covers every state
+      return 0;
+    }
   }
 
   static class BOTTOM extends AutomatonState {
@@ -237,6 +246,14 @@ public class AutomatonState implements AbstractQueryableState, Targetable, Seria
     return true;
   }
 
+  @Override
+  public long getCoverageFingerprint() {
+    // except for TOP, states are only covered by equal states,
+    // which have the same internal state
+    return AbstractStateWithCoverageFingerprint.singleBitFingerprint(
+        internalState == null ? 0 : internalState.hashCode());
+  }
+
   @Override
   public int hashCode() {
     // Important: we cannot use vars.hashCode(), because the hash code of a map
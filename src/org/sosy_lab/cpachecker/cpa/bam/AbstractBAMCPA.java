@@ -183,6 +183,7 @@ public abstract class AbstractBAMCPA extends AbstractSingleWrapperCPA {
         : "exporting ARGs should only be done at this place, when using BAM.";
     pStatsCollection.add(stats);
     pStatsCollection.add(argStats);
+    pStatsCollection.add(argStats.getExportStatistics());
     pStatsCollection.add(exporter);
     pStatsCollection.add(getData().getCache());
     super.collectStatistics(pStatsCollection);
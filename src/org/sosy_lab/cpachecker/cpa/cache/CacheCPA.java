@@ -24,8 +24,12 @@
 package org.sosy_lab.cpachecker.cpa.cache;
 
 import com.google.common.collect.ImmutableList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.defaults.AutomaticCPAFactory;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractDomain;
@@ -35,7 +39,10 @@ import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
 import org.sosy_lab.cpachecker.core.interfaces.MergeOperator;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustment;
+import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustmentResult;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
 import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
 import org.sosy_lab.cpachecker.core.interfaces.TransferRelation;
 import org.sosy_lab.cpachecker.core.interfaces.WrapperCPA;
@@ -43,8 +50,10 @@ import org.sosy_lab.cpachecker.core.interfaces.WrapperCPA;
 /*
  * CAUTION: The cache for precision adjustment is only correct for CPAs that do
  * _NOT_ depend on the reached set when performing prec.
+ *
+ * All caches are bounded and thread-safe (cf. CacheOptions).
  */
-public class CacheCPA implements ConfigurableProgramAnalysis, WrapperCPA {
+public class CacheCPA implements ConfigurableProgramAnalysis, WrapperCPA, StatisticsProvider {
 
   private final ConfigurableProgramAnalysis mCachedCPA;
   private final Map<CFANode, AbstractState> mInitialStatesCache;
@@ -52,18 +61,37 @@ public class CacheCPA implements ConfigurableProgramAnalysis, WrapperCPA {
   private final CacheTransferRelation mCacheTransferRelation;
   private final CachePrecisionAdjustment mCachePrecisionAdjustment;
   private final CacheMergeOperator mCacheMergeOperator;
+  private final CacheStatistics mStats;
 
   public static CPAFactory factory() {
     return AutomaticCPAFactory.forType(CacheCPA.class);
   }
 
-  public CacheCPA(ConfigurableProgramAnalysis pCachedCPA) {
+  public CacheCPA(ConfigurableProgramAnalysis pCachedCPA, Configuration pConfig)
+      throws InvalidConfigurationException {
+    CacheOptions options = new CacheOptions(pConfig);
+    OperatorCache<Collection<? extends AbstractState>> successorsCache =
+        new OperatorCache<>(options, Collection::size, successors -> successors);
+    OperatorCache<AbstractState> mergeCache =
+        new OperatorCache<>(options, state -> 1, ImmutableList::of);
+    OperatorCache<Optional<PrecisionAdjustmentResult>> precCache =
+        new OperatorCache<>(
+            options,
+            result -> 1,
+            result ->
+                result.isPresent()
+                    ? ImmutableList.of(result.get().abstractState())
+                    : ImmutableList.of());
+
     mCachedCPA = pCachedCPA;
-    mInitialStatesCache = new HashMap<>();
-    mInitialPrecisionsCache = new HashMap<>();
-    mCacheTransferRelation = new CacheTransferRelation(mCachedCPA.getTransferRelation());
-    mCachePrecisionAdjustment = new CachePrecisionAdjustment(mCachedCPA.getPrecisionAdjustment());
-    mCacheMergeOperator = new CacheMergeOperator(mCachedCPA.getMergeOperator());
+    mInitialStatesCache = new ConcurrentHashMap<>();
+    mInitialPrecisionsCache = new ConcurrentHashMap<>();
+    mStats = new CacheStatistics(successorsCache, mergeCache, precCache);
+    mCacheTransferRelation =
+        new CacheTransferRelation(mCachedCPA.getTransferRelation(), successorsCache, mStats);
+    mCachePrecisionAdjustment =
+        new CachePrecisionAdjustment(mCachedCPA.getPrecisionAdjustment(), precCache, mStats);
+    mCacheMergeOperator = new CacheMergeOperator(mCachedCPA.getMergeOperator(), mergeCache, mStats);
   }
 
   @Override
@@ -131,6 +159,14 @@ public class CacheCPA implements ConfigurableProgramAnalysis, WrapperCPA {
     return null;
   }
 
+  @Override
+  public void collectStatistics(Collection<Statistics> pStatsCollection) {
+    pStatsCollection.add(mStats);
+    if (mCachedCPA instanceof StatisticsProvider) {
+      ((StatisticsProvider) mCachedCPA).collectStatistics(pStatsCollection);
+    }
+  }
+
   @Override
   public ImmutableList<ConfigurableProgramAnalysis> getWrappedCPAs() {
     return ImmutableList.of(mCachedCPA);
@@ -23,47 +23,42 @@
  */
 package org.sosy_lab.cpachecker.cpa.cache;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.MergeOperator;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
+import org.sosy_lab.cpachecker.util.Pair;
 
 public class CacheMergeOperator implements MergeOperator {
 
   private final MergeOperator mCachedMergeOperator;
-  private final Map<Precision, Map<AbstractState, Map<AbstractState, AbstractState>>> mCache;
+  private final OperatorCache<AbstractState> mCache;
+  private final CacheStatistics mStats;
 
-  public CacheMergeOperator(MergeOperator pCachedMergeOperator) {
+  CacheMergeOperator(
+      MergeOperator pCachedMergeOperator,
+      OperatorCache<AbstractState> pCache,
+      CacheStatistics pStats) {
     mCachedMergeOperator = pCachedMergeOperator;
-    mCache = new HashMap<>();
+    mCache = pCache;
+    mStats = pStats;
   }
 
   @Override
   public AbstractState merge(AbstractState pElement1,
       AbstractState pElement2, Precision pPrecision) throws CPAException, InterruptedException {
 
-    Map<AbstractState, Map<AbstractState, AbstractState>> lCache1 = mCache.get(pPrecision);
-
-    if (lCache1 == null) {
-      lCache1 = new HashMap<>();
-      mCache.put(pPrecision, lCache1);
-    }
-
-    Map<AbstractState, AbstractState> lCache2 = lCache1.get(pElement2);
-
-    if (lCache2 == null) {
-      lCache2 = new HashMap<>();
-      lCache1.put(pElement2, lCache2);
-    }
-
-    AbstractState lMergedElement = lCache2.get(pElement1);
+    // pElement2 is the state from the reached set, it is the key of the cache
+    // such that entries can be dropped when it is removed from the reached set
+    Pair<AbstractState, Precision> lArguments = Pair.of(pElement1, pPrecision);
+    AbstractState lMergedElement = mCache.get(pElement2, lArguments);
 
     if (lMergedElement == null) {
       lMergedElement = mCachedMergeOperator.merge(pElement1, pElement2, pPrecision);
-      lCache2.put(pElement1, lMergedElement);
+      mCache.put(pElement2, lArguments, lMergedElement);
+      mStats.mergeMisses.inc();
+    } else {
+      mStats.mergeHits.inc();
     }
 
     return lMergedElement;
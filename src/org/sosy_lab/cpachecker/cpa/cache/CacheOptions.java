@@ -0,0 +1,63 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.cache;
+
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+
+@Options(prefix = "cpa.cache")
+class CacheOptions {
+
+  @Option(
+      secure = true,
+      description =
+          "maximum size of each cache of the CacheCPA (transfer relation, merge, and precision"
+              + " adjustment); the size of a cached transfer is the number of its successors."
+              + " With weak keys, this is the maximum number of cached abstract states.")
+  @IntegerOption(min = 1)
+  private long maximumSize = 100000;
+
+  @Option(
+      secure = true,
+      description =
+          "reference abstract states in the caches only weakly and compare them by identity,"
+              + " such that cache entries are dropped as soon as a state is not used anymore,"
+              + " e.g., because it was removed from the reached set")
+  private boolean weakKeys = false;
+
+  CacheOptions(Configuration pConfig) throws InvalidConfigurationException {
+    pConfig.inject(this);
+  }
+
+  long getMaximumSize() {
+    return maximumSize;
+  }
+
+  boolean useWeakKeys() {
+    return weakKeys;
+  }
+}
@@ -23,9 +23,8 @@
  */
 package org.sosy_lab.cpachecker.cpa.cache;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import com.google.common.base.Function;
+import java.util.Optional;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustment;
@@ -33,9 +32,6 @@ import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustmentResult;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 
-import com.google.common.base.Function;
-import java.util.Optional;
-
 /*
  * CAUTION: The cache for precision adjustment is only correct for CPAs that do
  * _NOT_ depend on the reached set when performing prec.
@@ -43,13 +39,16 @@ import java.util.Optional;
 public class CachePrecisionAdjustment implements PrecisionAdjustment {
 
   private final PrecisionAdjustment mCachedPrecisionAdjustment;
+  private final OperatorCache<Optional<PrecisionAdjustmentResult>> mCache;
+  private final CacheStatistics mStats;
 
-  private final Map<Precision, Map<AbstractState, Optional<PrecisionAdjustmentResult>>> mCache;
-
-  public CachePrecisionAdjustment(PrecisionAdjustment pCachedPrecisionAdjustment) {
+  CachePrecisionAdjustment(
+      PrecisionAdjustment pCachedPrecisionAdjustment,
+      OperatorCache<Optional<PrecisionAdjustmentResult>> pCache,
+      CacheStatistics pStats) {
     mCachedPrecisionAdjustment = pCachedPrecisionAdjustment;
-    //mCache = new HashMap<AbstractState, Map<Precision, Triple<AbstractState, Precision, Action>>>();
-    mCache = new HashMap<>();
+    mCache = pCache;
+    mStats = pStats;
   }
 
   @Override
@@ -59,19 +58,15 @@ public class CachePrecisionAdjustment implements PrecisionAdjustment {
       Function<AbstractState, AbstractState> projection,
       AbstractState fullState) throws CPAException, InterruptedException {
 
-    Map<AbstractState, Optional<PrecisionAdjustmentResult>> lCache = mCache.get(pPrecision);
-
-    if (lCache == null) {
-      lCache = new HashMap<>();
-      mCache.put(pPrecision, lCache);
-    }
-
-    Optional<PrecisionAdjustmentResult> lResult = lCache.get(pElement);
+    Optional<PrecisionAdjustmentResult> lResult = mCache.get(pElement, pPrecision);
 
     if (lResult == null) {
       lResult = mCachedPrecisionAdjustment.prec(
               pElement, pPrecision, pElements, projection, fullState);
-      lCache.put(pElement, lResult);
+      mCache.put(pElement, pPrecision, lResult);
+      mStats.precMisses.inc();
+    } else {
+      mStats.precHits.inc();
     }
 
     return lResult;
@@ -0,0 +1,108 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.cache;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdgeType;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsUtils;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/** Hit and miss counters of the caches of {@link CacheCPA}, all counters are thread-safe. */
+class CacheStatistics implements Statistics {
+
+  final Map<CFAEdgeType, StatCounter> transferHits = new EnumMap<>(CFAEdgeType.class);
+  final Map<CFAEdgeType, StatCounter> transferMisses = new EnumMap<>(CFAEdgeType.class);
+  final StatCounter mergeHits = new StatCounter("Merge cache hits");
+  final StatCounter mergeMisses = new StatCounter("Merge cache misses");
+  final StatCounter precHits = new StatCounter("Precision adjustment cache hits");
+  final StatCounter precMisses = new StatCounter("Precision adjustment cache misses");
+
+  private final OperatorCache<?> transferCache;
+  private final OperatorCache<?> mergeCache;
+  private final OperatorCache<?> precCache;
+
+  CacheStatistics(
+      OperatorCache<?> pTransferCache, OperatorCache<?> pMergeCache, OperatorCache<?> pPrecCache) {
+    transferCache = pTransferCache;
+    mergeCache = pMergeCache;
+    precCache = pPrecCache;
+    // fill the maps completely in advance, such that they are never modified concurrently
+    for (CFAEdgeType type : CFAEdgeType.values()) {
+      transferHits.put(type, new StatCounter(type + " hits"));
+      transferMisses.put(type, new StatCounter(type + " misses"));
+    }
+  }
+
+  @Override
+  public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+    long hits = 0;
+    long misses = 0;
+    for (CFAEdgeType type : CFAEdgeType.values()) {
+      hits += transferHits.get(type).getValue();
+      misses += transferMisses.get(type).getValue();
+    }
+
+    StatisticsWriter writer = StatisticsWriter.writingStatisticsTo(pOut);
+    writer
+        .put("Transfer cache hit rate", formatHitRate(hits, misses))
+        .beginLevel();
+    for (CFAEdgeType type : CFAEdgeType.values()) {
+      long typeHits = transferHits.get(type).getValue();
+      long typeMisses = transferMisses.get(type).getValue();
+      writer.putIf(typeHits + typeMisses > 0, type.toString(), formatHitRate(typeHits, typeMisses));
+    }
+    writer
+        .endLevel()
+        .put("Transfer cache size", transferCache.size())
+        .put("Transfer cache evictions", transferCache.getEvictionCount())
+        .put(
+            "Merge cache hit rate",
+            formatHitRate(mergeHits.getValue(), mergeMisses.getValue()))
+        .put("Merge cache size", mergeCache.size())
+        .put("Merge cache evictions", mergeCache.getEvictionCount())
+        .put(
+            "Precision adjustment cache hit rate",
+            formatHitRate(precHits.getValue(), precMisses.getValue()))
+        .put("Precision adjustment cache size", precCache.size())
+        .put("Precision adjustment cache evictions", precCache.getEvictionCount());
+  }
+
+  private static String formatHitRate(long hits, long misses) {
+    long total = hits + misses;
+    return String.format(
+        "%d hits, %d misses (%s)",
+        hits, misses, total == 0 ? "-" : StatisticsUtils.toPercent(hits, total));
+  }
+
+  @Override
+  public String getName() {
+    return "CacheCPA";
+  }
+}
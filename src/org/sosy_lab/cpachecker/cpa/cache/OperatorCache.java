@@ -0,0 +1,131 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Iterables;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.util.Pair;
+
+/**
+ * Thread-safe and bounded memoization table for the results of an operator of a CPA, indexed by
+ * an abstract state and further arguments of the operator (e.g., precision and CFA edge).
+ *
+ * <p>With strong keys, states are compared with {@link Object#equals(Object)}, and the table
+ * evicts entries when the sum of the weights of all cached results exceeds the maximum size. With
+ * weak keys, states are compared by identity and all entries for a state are removed as soon as
+ * the state is garbage collected, e.g., after it was removed from the reached set. In this case
+ * the maximum size limits the number of cached states. Results that contain their key state
+ * itself (e.g., a merge that returns the state from the reached set) are not cached with weak
+ * keys, because they would keep the key reachable and the entry would never be dropped.
+ */
+final class OperatorCache<V> {
+
+  private final @Nullable Cache<Pair<AbstractState, Object>, V> strongCache;
+  private final @Nullable Cache<AbstractState, ConcurrentMap<Object, V>> weakCache;
+  private final Function<V, Iterable<? extends AbstractState>> referencedStates;
+
+  /**
+   * @param pWeigher the weight of a result for the maximum size with strong keys
+   * @param pReferencedStates the abstract states contained in a result
+   */
+  OperatorCache(
+      CacheOptions pOptions,
+      ToIntFunction<V> pWeigher,
+      Function<V, Iterable<? extends AbstractState>> pReferencedStates) {
+    referencedStates = pReferencedStates;
+    if (pOptions.useWeakKeys()) {
+      strongCache = null;
+      weakCache =
+          CacheBuilder.newBuilder()
+              .weakKeys()
+              .maximumSize(pOptions.getMaximumSize())
+              .recordStats()
+              .build();
+    } else {
+      strongCache =
+          CacheBuilder.newBuilder()
+              .maximumWeight(pOptions.getMaximumSize())
+              .<Pair<AbstractState, Object>, V>weigher(
+                  (key, value) -> Math.max(1, pWeigher.applyAsInt(value)))
+              .recordStats()
+              .build();
+      weakCache = null;
+    }
+  }
+
+  /** Return the cached result for the given arguments, or null if it is not cached. */
+  @Nullable
+  V get(AbstractState pState, Object pArguments) {
+    if (strongCache != null) {
+      return strongCache.getIfPresent(Pair.of(pState, pArguments));
+    }
+    ConcurrentMap<Object, V> results = weakCache.getIfPresent(pState);
+    return results == null ? null : results.get(pArguments);
+  }
+
+  void put(AbstractState pState, Object pArguments, V pResult) {
+    if (strongCache != null) {
+      strongCache.put(Pair.of(pState, pArguments), pResult);
+    } else {
+      if (Iterables.any(referencedStates.apply(pResult), state -> state == pState)) {
+        return;
+      }
+      ConcurrentMap<Object, V> results = weakCache.asMap().get(pState);
+      if (results == null) {
+        ConcurrentMap<Object, V> newResults = new ConcurrentHashMap<>();
+        results = weakCache.asMap().putIfAbsent(pState, newResults);
+        if (results == null) {
+          results = newResults;
+        }
+      }
+      results.put(pArguments, pResult);
+    }
+  }
+
+  /** Remove entries of garbage-collected states, which is otherwise done lazily. */
+  void cleanUp() {
+    if (strongCache != null) {
+      strongCache.cleanUp();
+    } else {
+      weakCache.cleanUp();
+    }
+  }
+
+  long size() {
+    return strongCache != null ? strongCache.size() : weakCache.size();
+  }
+
+  long getEvictionCount() {
+    CacheStats stats = strongCache != null ? strongCache.stats() : weakCache.stats();
+    return stats.evictionCount();
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.cache;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.lang.ref.WeakReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+
+public class OperatorCacheTest {
+
+  private static class DummyState implements AbstractState {}
+
+  private OperatorCache<AbstractState> cache;
+
+  @Before
+  public void setUp() throws InvalidConfigurationException {
+    Configuration config = Configuration.builder().setOption("cpa.cache.weakKeys", "true").build();
+    cache = new OperatorCache<>(new CacheOptions(config), state -> 1, ImmutableList::of);
+  }
+
+  @Test
+  public void testResultReferencingKeyIsNotCached() {
+    AbstractState key = new DummyState();
+    cache.put(key, "args", key);
+    assertThat(cache.get(key, "args")).isNull();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testEntryIsDroppedWithKey() throws InterruptedException {
+    AbstractState result = new DummyState();
+    WeakReference<AbstractState> keyReference = putEntryForNewKey(result);
+    assertThat(cache.size()).isEqualTo(1);
+
+    for (int i = 0; i < 100 && keyReference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertThat(keyReference.get()).isNull();
+
+    cache.cleanUp();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  /** Cache a result for a key that is not referenced anywhere else after this method. */
+  private WeakReference<AbstractState> putEntryForNewKey(AbstractState pResult) {
+    AbstractState key = new DummyState();
+    cache.put(key, "args", pResult);
+    assertThat(cache.get(key, "args")).isSameAs(pResult);
+    return new WeakReference<>(key);
+  }
+}
@@ -226,6 +226,8 @@ public class ConstraintsCPA
 
   @Override
   public void close() {
+    // the prover that the constraints solver keeps for reuse belongs to the solver context
+    constraintsSolver.close();
     solver.close();
   }
 }
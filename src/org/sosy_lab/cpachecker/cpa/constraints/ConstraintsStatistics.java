@@ -23,6 +23,8 @@
  */
 package org.sosy_lab.cpachecker.cpa.constraints;
 
+import static org.sosy_lab.cpachecker.util.statistics.StatisticsUtils.toPercent;
+
 import java.io.PrintStream;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
@@ -55,6 +57,11 @@ public class ConstraintsStatistics implements Statistics {
       new StatTimer(StatKind.SUM, "Time for model re-use attempts");
   public final StatTimer timeForSatCheck = new StatTimer(StatKind.SUM, "Time for SMT check");
   public final StatCounter modelReuseSuccesses = new StatCounter("Successful model re-uses");
+  public final StatCounter proverCreations =
+      new StatCounter("Number of created prover environments");
+  public final StatCounter proverReuses = new StatCounter("Number of prover re-uses");
+  public final StatInt reusedProverFormulas =
+      new StatInt(StatKind.SUM, "Formulas kept on prover stack");
 
   public StatCounter cacheLookups = new StatCounter("Cache lookups");
   public StatTimer directCacheLookupTime = new StatTimer(StatKind.SUM, "Direct cache lookup time");
@@ -103,6 +110,14 @@ public class ConstraintsStatistics implements Statistics {
         .putIfUpdatedAtLeastOnce(timeForDefinitesComputation)
         .endLevel()
         .putIfUpdatedAtLeastOnce(modelReuseSuccesses)
+        .putIfUpdatedAtLeastOnce(proverCreations)
+        .putIfUpdatedAtLeastOnce(proverReuses)
+        .putIf(
+            proverReuses.getUpdateCount() > 0,
+            "Prover re-use rate",
+            toPercent(
+                proverReuses.getValue(), proverReuses.getValue() + proverCreations.getValue()))
+        .putIfUpdatedAtLeastOnce(reusedProverFormulas)
         .spacer() // Direct constraints solver cache
         .putIf(cacheLookups.getUpdateCount() > 0, cacheLookups)
         .putIf(cacheLookups.getUpdateCount() > 0, directCacheHits)
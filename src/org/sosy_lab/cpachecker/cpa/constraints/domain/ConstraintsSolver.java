@@ -65,7 +65,7 @@ import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 import org.sosy_lab.java_smt.api.SolverException;
 
 @Options(prefix = "cpa.constraints")
-public class ConstraintsSolver {
+public class ConstraintsSolver implements AutoCloseable {
 
   @Option(
     secure = true,
@@ -101,9 +101,21 @@ public class ConstraintsSolver {
       name = "useLastModel")
   private boolean useLastModel = true;
 
+  @Option(
+      secure = true,
+      description =
+          "Keep the prover environment between SAT checks and only pop and push the constraints"
+              + " that differ from the previous check",
+      name = "reuseProver")
+  private boolean reuseProver = true;
+
   private ConstraintsCache cache;
   private Solver solver;
   private ProverEnvironment prover;
+
+  /** Formulas on the stack of {@link #prover}, with one push for each formula. */
+  private final List<BooleanFormula> proverStack = new ArrayList<>();
+
   private FormulaManagerView formulaManager;
   private BooleanFormulaManagerView booleanFormulaManager;
 
@@ -168,6 +180,7 @@ public class ConstraintsSolver {
       return false;
     }
 
+    boolean keepProver = false;
     try {
       stats.timeForSolving.start();
 
@@ -186,10 +199,8 @@ public class ConstraintsSolver {
         pConstraints.setModel(res.getModelAssignment());
 
       } else {
-        prover = solver.newProverEnvironment(ProverOptions.GENERATE_MODELS);
-        BooleanFormula definitesAndConstraints =
-            combineWithDefinites(constraintsAsFormulas, pConstraints);
-        prover.push(definitesAndConstraints);
+        prepareProver(getProverFormulas(pConstraints, relevantConstraints, pFunctionName));
+        boolean modelPushed = false;
 
         ImmutableList<ValueAssignment> newModelAsAssignment;
         ImmutableList<ValueAssignment> modelAsAssignment = pConstraints.getModel();
@@ -205,6 +216,7 @@ public class ConstraintsSolver {
                     .collect(booleanFormulaManager.toConjunction());
             modelFormula = createLiteralLabel(literalForModel, modelFormula);
             prover.push(modelFormula);
+            modelPushed = true;
             unsat = prover.isUnsatWithAssumptions(
                 ImmutableList.of(literalForModel));
             if (!unsat) {
@@ -247,23 +259,82 @@ public class ConstraintsSolver {
 
           cache.addUnsat(constraintsAsFormulas);
         }
+
+        if (modelPushed) {
+          prover.pop();
+        }
       }
 
+      keepProver = reuseProver;
       return unsat;
 
     } finally {
-      closeProver();
+      if (!keepProver) {
+        // the prover stack is unknown after an exception
+        closeProver();
+      }
       stats.timeForSolving.stop();
     }
   }
 
-  private BooleanFormula combineWithDefinites(
-      Collection<BooleanFormula> pConstraintsAsFormulas,
-      ConstraintsState pConstraints) {
+  /**
+   * Returns the formulas of the relevant constraints in the order in which they were added to the
+   * state, followed by the definite assignments. Successors along a path usually only append
+   * constraints, so this order keeps a long common prefix with the stack of the prover.
+   */
+  private List<BooleanFormula> getProverFormulas(
+      ConstraintsState pConstraints, Set<Constraint> pRelevantConstraints, String pFunctionName)
+      throws UnrecognizedCodeException, InterruptedException {
+    Collection<Constraint> orderedConstraints;
+    if (pRelevantConstraints == pConstraints) {
+      orderedConstraints = pConstraints;
+    } else {
+      orderedConstraints = new ArrayList<>(pRelevantConstraints.size());
+      for (Constraint c : pConstraints) {
+        if (pRelevantConstraints.contains(c)) {
+          orderedConstraints.add(c);
+        }
+      }
+    }
 
-    BooleanFormula singleConstraintFormula = booleanFormulaManager.and(pConstraintsAsFormulas);
-    BooleanFormula definites = getDefAssignmentsFormula(pConstraints);
-    return booleanFormulaManager.and(definites, singleConstraintFormula);
+    List<BooleanFormula> formulas =
+        new ArrayList<>(getFullFormula(orderedConstraints, pFunctionName));
+    formulas.add(getDefAssignmentsFormula(pConstraints));
+    return formulas;
+  }
+
+  /**
+   * Prepares the prover such that exactly the given formulas are asserted, one per level of its
+   * stack. If the current prover shares a prefix with the given formulas, only the remaining
+   * levels are popped and pushed. Otherwise a fresh prover is created.
+   */
+  private void prepareProver(List<BooleanFormula> pFormulas) throws InterruptedException {
+    int commonPrefix = 0;
+    if (prover != null) {
+      int maxPrefix = Math.min(pFormulas.size(), proverStack.size());
+      while (commonPrefix < maxPrefix
+          && proverStack.get(commonPrefix).equals(pFormulas.get(commonPrefix))) {
+        commonPrefix++;
+      }
+    }
+
+    if (commonPrefix == 0) {
+      closeProver();
+      prover = solver.newProverEnvironment(ProverOptions.GENERATE_MODELS);
+      stats.proverCreations.inc();
+    } else {
+      stats.proverReuses.inc();
+      stats.reusedProverFormulas.setNextValue(commonPrefix);
+      while (proverStack.size() > commonPrefix) {
+        prover.pop();
+        proverStack.remove(proverStack.size() - 1);
+      }
+    }
+
+    for (BooleanFormula f : pFormulas.subList(commonPrefix, pFormulas.size())) {
+      prover.push(f);
+      proverStack.add(f);
+    }
   }
 
   private BooleanFormula getDefAssignmentsFormula(ConstraintsState pConstraints) {
@@ -318,10 +389,17 @@ public class ConstraintsSolver {
     return relevantConstraints;
   }
 
+  /** Closes the prover environment that is kept for reuse, if there is one. */
+  @Override
+  public void close() {
+    closeProver();
+  }
+
   private void closeProver() {
     if (prover != null) {
       prover.close();
       prover = null;
+      proverStack.clear();
     }
   }
 
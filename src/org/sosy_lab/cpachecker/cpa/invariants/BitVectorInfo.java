@@ -45,12 +45,24 @@ public class BitVectorInfo implements TypeInfo {
 
   private final BigInteger maxValue;
 
+  private final boolean fitsInLong;
+
+  private final long minLongValue;
+
+  private final long maxLongValue;
+
+  private final BitVectorInterval range;
+
   private BitVectorInfo(int pSize, boolean pSigned) {
     Preconditions.checkArgument(pSize >= 0, "bit vector size must not be negative");
     size = pSize;
     signed = pSigned;
     minValue = !signed ? BigInteger.ZERO : BigInteger.valueOf(2).pow(size - 1).negate();
     maxValue = !signed ? BigInteger.valueOf(2).pow(size).subtract(BigInteger.ONE) : BigInteger.valueOf(2).pow(size - 1).subtract(BigInteger.ONE);
+    fitsInLong = minValue.bitLength() < Long.SIZE && maxValue.bitLength() < Long.SIZE;
+    minLongValue = minValue.longValue();
+    maxLongValue = maxValue.longValue();
+    range = BitVectorInterval.of(this, minValue, maxValue);
   }
 
   public int getSize() {
@@ -72,8 +84,33 @@ public class BitVectorInfo implements TypeInfo {
     return maxValue;
   }
 
+  /**
+   * Return whether all values of the bit vector can be represented as long,
+   * which is the case for all signed bit vectors with up to 64 bits
+   * and for all unsigned bit vectors with up to 63 bits.
+   */
+  public boolean fitsInLong() {
+    return fitsInLong;
+  }
+
+  /**
+   * Return the minimum value as long (may only be called if {@link #fitsInLong()} returns true).
+   */
+  public long getMinLongValue() {
+    Preconditions.checkState(fitsInLong);
+    return minLongValue;
+  }
+
+  /**
+   * Return the maximum value as long (may only be called if {@link #fitsInLong()} returns true).
+   */
+  public long getMaxLongValue() {
+    Preconditions.checkState(fitsInLong);
+    return maxLongValue;
+  }
+
   public BitVectorInterval getRange() {
-    return BitVectorInterval.of(this, minValue, maxValue);
+    return range;
   }
 
   @Override
@@ -31,7 +31,7 @@ import com.google.common.base.Preconditions;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * This class represents simple convex ranges of BigIntegers.
@@ -40,18 +40,38 @@ import java.util.Objects;
  * to be included in the range.
  *
  * All instances of this class are immutable.
+ *
+ * If the bit vector fits into a long (cf. {@link BitVectorInfo#fitsInLong()}),
+ * the bounds are stored as primitive longs and the operations on them do not
+ * allocate; the BigInteger representation of the bounds is only created on
+ * demand.
  */
 public class BitVectorInterval implements BitVectorType {
 
   /**
-   * The lower bound of the interval.
+   * The lower bound of the interval, lazily created if the bounds are stored as longs.
+   */
+  private @Nullable BigInteger lowerBound;
+
+  /**
+   * The upper bound of the interval, lazily created if the bounds are stored as longs.
+   */
+  private @Nullable BigInteger upperBound;
+
+  /**
+   * The lower bound of the interval, only valid if {@link #hasLongBounds} is true.
+   */
+  private final long lower;
+
+  /**
+   * The upper bound of the interval, only valid if {@link #hasLongBounds} is true.
    */
-  private final BigInteger lowerBound;
+  private final long upper;
 
   /**
-   * The upper bound of the interval.
+   * Whether the bounds are stored as longs.
    */
-  private final BigInteger upperBound;
+  private final boolean hasLongBounds;
 
   /**
    * Size and signedness.
@@ -78,6 +98,28 @@ public class BitVectorInterval implements BitVectorType {
     info = pInfo;
     lowerBound = pLowerBound;
     upperBound = pUpperBound;
+    hasLongBounds = pInfo.fitsInLong();
+    lower = pLowerBound.longValue();
+    upper = pUpperBound.longValue();
+  }
+
+  /**
+   * Creates a new interval from the given lower bound to the given upper bound
+   * for a bit vector that fits into a long.
+   *
+   * @param pLowerBound the lower bound of the interval.
+   * @param pUpperBound the upper bound of the interval.
+   */
+  private BitVectorInterval(BitVectorInfo pInfo, long pLowerBound, long pUpperBound) {
+    checkArgument(pInfo.fitsInLong(), "bit vector does not fit into a long");
+    checkArgument(pLowerBound <= pUpperBound, "lower endpoint greater than upper end point");
+    checkArgument(pLowerBound >= pInfo.getMinLongValue(), "lower bound must fit the bit vector");
+    checkArgument(pUpperBound <= pInfo.getMaxLongValue(), "upper bound must fit the bit vector");
+
+    info = pInfo;
+    hasLongBounds = true;
+    lower = pLowerBound;
+    upper = pUpperBound;
   }
 
   /**
@@ -94,14 +136,48 @@ public class BitVectorInterval implements BitVectorType {
    * Return lower bound (may only be called if {@link #hasLowerBound()} returns true.
    */
   public BigInteger getLowerBound() {
-    return lowerBound;
+    BigInteger result = lowerBound;
+    if (result == null) {
+      result = BigInteger.valueOf(lower);
+      lowerBound = result;
+    }
+    return result;
   }
 
   /**
    * Return upper bound (may only be called if {@link #hasUpperBound()} returns true.
    */
   public BigInteger getUpperBound() {
-    return upperBound;
+    BigInteger result = upperBound;
+    if (result == null) {
+      result = BigInteger.valueOf(upper);
+      upperBound = result;
+    }
+    return result;
+  }
+
+  /**
+   * Return whether the bounds are available as longs
+   * with {@link #getLongLowerBound()} and {@link #getLongUpperBound()}.
+   */
+  public boolean hasLongBounds() {
+    return hasLongBounds;
+  }
+
+  /**
+   * Return lower bound as long (may only be called if {@link #hasLongBounds()} returns true).
+   */
+  public long getLongLowerBound() {
+    checkState(hasLongBounds);
+    return lower;
+  }
+
+  /**
+   * Return upper bound as long (may only be called if {@link #hasLongBounds()} returns true).
+   */
+  public long getLongUpperBound() {
+    checkState(hasLongBounds);
+    return upper;
   }
 
   /**
@@ -135,26 +211,36 @@ public class BitVectorInterval implements BitVectorType {
     if (pOther.isSingleton() || contains(pOther)) {
       return pOther;
     }
+    if (hasLongBounds) {
+      return new BitVectorInterval(
+          info, Math.max(lower, pOther.lower), Math.min(upper, pOther.upper));
+    }
     // The lower bound of this interval is a candidate for the new lower bound
     // The lower bound of the other interval is a candidate as well
     // The new lower bound is the maximum of both lower bounds.
-    BigInteger newLowerBound = this.lowerBound.max(pOther.getLowerBound());
+    BigInteger newLowerBound = getLowerBound().max(pOther.getLowerBound());
 
     // The upper bound of this interval is a candidate for the new lower bound
     // The upper bound of the other interval is a candidate as well
     // The new upper bound is the minimum of both upper bounds.
-    BigInteger newUpperBound = this.upperBound.min(pOther.getUpperBound());
+    BigInteger newUpperBound = getUpperBound().min(pOther.getUpperBound());
 
     return new BitVectorInterval(info, newLowerBound, newUpperBound);
   }
 
   public BitVectorInterval getNegativePart() {
     Preconditions.checkArgument(containsNegative(), "This interval has no negative part.");
-    return BitVectorInterval.of(info, lowerBound, BigInteger.valueOf(-1).min(upperBound));
+    if (hasLongBounds) {
+      return new BitVectorInterval(info, lower, Math.min(-1, upper));
+    }
+    return BitVectorInterval.of(info, lowerBound, BigInteger.ONE.negate().min(upperBound));
   }
 
   public BitVectorInterval getPositivePart() {
     Preconditions.checkArgument(containsPositive(), "This interval has no positive part.");
+    if (hasLongBounds) {
+      return new BitVectorInterval(info, Math.max(1, lower), upper);
+    }
     return BitVectorInterval.of(info, BigInteger.ONE.max(lowerBound), upperBound);
   }
 
@@ -180,6 +266,9 @@ public class BitVectorInterval implements BitVectorType {
    * positive value, <code>false</code> otherwise.
    */
   public boolean containsPositive() {
+    if (hasLongBounds) {
+      return upper > 0;
+    }
     return upperBound.signum() == 1;
   }
 
@@ -189,6 +278,9 @@ public class BitVectorInterval implements BitVectorType {
    * <code>false</code> otherwise.
    */
   public boolean containsZero() {
+    if (hasLongBounds) {
+      return upper >= 0 && lower <= 0;
+    }
     return upperBound.signum() >= 0
         && lowerBound.signum() <= 0;
   }
@@ -199,16 +291,34 @@ public class BitVectorInterval implements BitVectorType {
    * <code>false</code> otherwise.
    */
   public boolean contains(BigInteger pValue) {
+    if (hasLongBounds) {
+      return pValue.bitLength() < Long.SIZE && contains(pValue.longValue());
+    }
     return upperBound.compareTo(pValue) >= 0
         && lowerBound.compareTo(pValue) <= 0;
   }
 
+  /**
+   * Checks if this interval contains the given value.
+   * @return <code>true</code> if this interval contains the given value,
+   * <code>false</code> otherwise.
+   */
+  public boolean contains(long pValue) {
+    if (hasLongBounds) {
+      return upper >= pValue && lower <= pValue;
+    }
+    return contains(BigInteger.valueOf(pValue));
+  }
+
   /**
    * Checks if this interval contains at least one negative value.
    * @return <code>true</code> if this interval contains at least one
    * negative value, <code>false</code> otherwise.
    */
   public boolean containsNegative() {
+    if (hasLongBounds) {
+      return lower < 0;
+    }
     return lowerBound.signum() == -1;
   }
 
@@ -219,7 +329,7 @@ public class BitVectorInterval implements BitVectorType {
    * @return The upper bound minus the lower bound plus one.
    */
   public BigInteger size() {
-    return upperBound.subtract(lowerBound).add(BigInteger.ONE);
+    return getUpperBound().subtract(getLowerBound()).add(BigInteger.ONE);
   }
 
   /**
@@ -231,6 +341,9 @@ public class BitVectorInterval implements BitVectorType {
    * single value, <code>false</code> otherwise.
    */
   public boolean isSingleton() {
+    if (hasLongBounds) {
+      return lower == upper;
+    }
     return lowerBound.equals(upperBound);
   }
 
@@ -245,8 +358,14 @@ public class BitVectorInterval implements BitVectorType {
    * @return the mathematical negation of this interval.
    */
   public BitVectorInterval negate(boolean pAllowSignedWrapAround, OverflowEventHandler pOverflowEventHandler) {
-    BigInteger newLowerBound = upperBound.negate();
-    BigInteger newUpperBound = lowerBound.negate();
+    if (hasLongBounds
+        && lower != Long.MIN_VALUE
+        && -upper >= info.getMinLongValue()
+        && -lower <= info.getMaxLongValue()) {
+      return new BitVectorInterval(info, -upper, -lower);
+    }
+    BigInteger newLowerBound = getUpperBound().negate();
+    BigInteger newUpperBound = getLowerBound().negate();
 
     boolean lbExceedsBelow = newLowerBound.compareTo(info.getMinValue()) < 0;
     boolean lbExceedsAbove = !lbExceedsBelow && newLowerBound.compareTo(info.getMaxValue()) > 0;
@@ -307,6 +426,28 @@ public class BitVectorInterval implements BitVectorType {
     return BitVectorInterval.singleton(pInfo, value);
   }
 
+  /**
+   * Same as {@link #cast(BitVectorInfo, BigInteger, BigInteger, boolean, OverflowEventHandler)},
+   * but without allocation if the bounds fit into the bit vector.
+   */
+  public static BitVectorInterval cast(BitVectorInfo pInfo,
+      long pLowerBound,
+      long pUpperBound,
+      boolean pAllowSignedWrapAround,
+      OverflowEventHandler pOverflowEventHandler) {
+    if (pInfo.fitsInLong()
+        && pLowerBound >= pInfo.getMinLongValue()
+        && pUpperBound <= pInfo.getMaxLongValue()) {
+      return of(pInfo, pLowerBound, pUpperBound);
+    }
+    return cast(
+        pInfo,
+        BigInteger.valueOf(pLowerBound),
+        BigInteger.valueOf(pUpperBound),
+        pAllowSignedWrapAround,
+        pOverflowEventHandler);
+  }
+
   public static BitVectorInterval cast(BitVectorInfo pInfo,
       BigInteger pLowerBound,
       BigInteger pUpperBound,
@@ -386,6 +527,12 @@ public class BitVectorInterval implements BitVectorType {
    * allowed by the bit vector size.
    */
   public BitVectorInterval extendToMaxValue() {
+    if (hasLongBounds) {
+      if (upper == info.getMaxLongValue()) {
+        return this;
+      }
+      return new BitVectorInterval(info, lower, info.getMaxLongValue());
+    }
     if (upperBound.equals(info.getMaxValue())) {
       return this;
     }
@@ -400,6 +547,12 @@ public class BitVectorInterval implements BitVectorType {
    * allowed by the bit vector size.
    */
   public BitVectorInterval extendToMinValue() {
+    if (hasLongBounds) {
+      if (lower == info.getMinLongValue()) {
+        return this;
+      }
+      return new BitVectorInterval(info, info.getMinLongValue(), upper);
+    }
     if (lowerBound.equals(info.getMinValue())) {
       return this;
     }
@@ -415,17 +568,28 @@ public class BitVectorInterval implements BitVectorType {
     }
 
     BitVectorInterval other = (BitVectorInterval) pObj;
-    return Objects.equals(this.lowerBound, other.lowerBound)
-        && Objects.equals(this.upperBound, other.upperBound);
+    if (hasLongBounds && other.hasLongBounds) {
+      return lower == other.lower && upper == other.upper;
+    }
+    return getLowerBound().equals(other.getLowerBound())
+        && getUpperBound().equals(other.getUpperBound());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(lowerBound, upperBound);
+    // needs to be independent of the representation of the bounds
+    long lowerHash =
+        hasLongBounds || lowerBound.bitLength() < Long.SIZE ? lower : lowerBound.hashCode();
+    long upperHash =
+        hasLongBounds || upperBound.bitLength() < Long.SIZE ? upper : upperBound.hashCode();
+    return 31 * Long.hashCode(lowerHash) + Long.hashCode(upperHash);
   }
 
   @Override
   public String toString() {
+    if (hasLongBounds) {
+      return "[" + lower + ", " + upper + "]";
+    }
     return "[" + lowerBound + ", " + upperBound + "]";
   }
 
@@ -442,9 +606,12 @@ public class BitVectorInterval implements BitVectorType {
     if (pOther == null) {
       return false;
     }
+    if (hasLongBounds && pOther.hasLongBounds) {
+      return lower <= pOther.lower && upper >= pOther.upper;
+    }
 
-    return this.lowerBound.compareTo(pOther.lowerBound) <= 0
-        && this.upperBound.compareTo(pOther.upperBound) >= 0;
+    return getLowerBound().compareTo(pOther.getLowerBound()) <= 0
+        && getUpperBound().compareTo(pOther.getUpperBound()) >= 0;
   }
 
   /**
@@ -460,8 +627,12 @@ public class BitVectorInterval implements BitVectorType {
   public boolean touches(BitVectorInterval pOther) {
     if (pOther == null) { return false; }
     if (intersectsWith(pOther)) { return true; }
-    return pOther.upperBound.add(BigInteger.ONE).equals(this.lowerBound)
-        || this.upperBound.add(BigInteger.ONE).equals(pOther.lowerBound);
+    if (hasLongBounds && pOther.hasLongBounds) {
+      // no overflow, because the intervals do not intersect
+      return pOther.upper + 1 == lower || upper + 1 == pOther.lower;
+    }
+    return pOther.getUpperBound().add(BigInteger.ONE).equals(getLowerBound())
+        || getUpperBound().add(BigInteger.ONE).equals(pOther.getLowerBound());
   }
 
   /**
@@ -475,8 +646,11 @@ public class BitVectorInterval implements BitVectorType {
 
     // this is [a, b]; other is [c, d]
     // result is true if a <= d and b >= c
-    boolean aLessThanOrEqB = this.lowerBound.compareTo(other.upperBound) <= 0;
-    boolean bGreaterThanOrEqC = this.upperBound.compareTo(other.lowerBound) >= 0;
+    if (hasLongBounds && other.hasLongBounds) {
+      return lower <= other.upper && upper >= other.lower;
+    }
+    boolean aLessThanOrEqB = getLowerBound().compareTo(other.getUpperBound()) <= 0;
+    boolean bGreaterThanOrEqC = getUpperBound().compareTo(other.getLowerBound()) >= 0;
     return aLessThanOrEqB && bGreaterThanOrEqC;
   }
 
@@ -544,6 +718,10 @@ public class BitVectorInterval implements BitVectorType {
     return new BitVectorInterval(pInfo, pI, pI);
   }
 
+  public static BitVectorInterval singleton(BitVectorInfo pInfo, long pI) {
+    return of(pInfo, pI, pI);
+  }
+
   public static BitVectorInterval greaterOrEqual(BitVectorInfo pInfo, BigInteger pI) {
     return singleton(pInfo, pI).extendToMaxValue();
   }
@@ -556,24 +734,32 @@ public class BitVectorInterval implements BitVectorType {
     return new BitVectorInterval(pInfo, pLowerBound, pUpperBound);
   }
 
+  public static BitVectorInterval of(BitVectorInfo pInfo, long pLowerBound, long pUpperBound) {
+    if (!pInfo.fitsInLong()) {
+      return new BitVectorInterval(
+          pInfo, BigInteger.valueOf(pLowerBound), BigInteger.valueOf(pUpperBound));
+    }
+    return new BitVectorInterval(pInfo, pLowerBound, pUpperBound);
+  }
+
   /**
    * Create the smallest interval that contains two given intervals;
    */
   public static BitVectorInterval span(BitVectorInterval a, BitVectorInterval b) {
     a.checkBitVectorCompatibilityWith(b);
-    BigInteger lower;
-    if (a.lowerBound == null || b.lowerBound == null) {
-      lower = null;
-    } else {
-      lower = a.lowerBound.min(b.lowerBound);
-    }
-
-    BigInteger upper;
-    if (a.upperBound == null || b.upperBound == null) {
-      upper = null;
-    } else {
-      upper = a.upperBound.max(b.upperBound);
+    if (a.hasLongBounds) {
+      long lower = Math.min(a.lower, b.lower);
+      long upper = Math.max(a.upper, b.upper);
+      if (lower == a.lower && upper == a.upper) {
+        return a;
+      } else if (lower == b.lower && upper == b.upper) {
+        return b;
+      } else {
+        return new BitVectorInterval(a.info, lower, upper);
+      }
     }
+    BigInteger lower = a.lowerBound.min(b.lowerBound);
+    BigInteger upper = a.upperBound.max(b.upperBound);
 
     if (lower == a.lowerBound && upper == a.upperBound) {
       return a;
@@ -377,6 +377,25 @@ public class CompoundBitVectorInterval implements CompoundIntegralInterval, BitV
     if (!pInterval.hasUpperBound() && hasUpperBound()) {
       return false;
     }
+    if (pInterval.hasLongBounds() && info.fitsInLong()) {
+      long lb = pInterval.getLongLowerBound();
+      long ub = pInterval.getLongUpperBound();
+      int leftInclusive = 0;
+      int rightExclusive = this.intervals.length;
+      while (leftInclusive < rightExclusive) {
+        int index = IntMath.mean(leftInclusive, rightExclusive);
+        BitVectorInterval intervalAtIndex = this.intervals[index];
+        if (intervalAtIndex.getLongLowerBound() <= lb) { // Interval at index starts before interval
+          if (intervalAtIndex.getLongUpperBound() >= ub) { // Interval at index ends after interval
+            return true;
+          }
+          leftInclusive = index + 1;
+        } else { // Interval at index starts after interval
+          rightExclusive = index;
+        }
+      }
+      return false;
+    }
     boolean hasLowerBound = pInterval.hasLowerBound();
     boolean hasUpperBound = pInterval.hasUpperBound();
     BigInteger lb = hasLowerBound ? pInterval.getLowerBound() : null;
@@ -432,6 +451,33 @@ public class CompoundBitVectorInterval implements CompoundIntegralInterval, BitV
     return index == 0 ? -1 : -index;
   }
 
+  /**
+   * Same as {@link #intervalIndexOf(BigInteger)},
+   * but may only be called if the bit vector fits into a long.
+   */
+  private int intervalIndexOf(long value) {
+    if (isBottom()) {
+      return -1;
+    }
+    int leftInclusive = 0;
+    int rightExclusive = this.intervals.length;
+    int index = rightExclusive / 2;
+    while (leftInclusive < rightExclusive) {
+      BitVectorInterval intervalAtIndex = this.intervals[index];
+      if (intervalAtIndex.getLongLowerBound() <= value) { // Interval at index starts before the value
+        if (intervalAtIndex.getLongUpperBound() >= value) { // Interval at index ends after the value
+          return index;
+        }
+        // Interval at index ends before the value
+        leftInclusive = index + 1;
+      } else { // Interval at index starts after the value
+        rightExclusive = index;
+      }
+      index = IntMath.mean(leftInclusive, rightExclusive);
+    }
+    return index == 0 ? -1 : -index;
+  }
+
   /**
    * Checks if the given big integer value is contained in this state.
    * @param pValue the value to check for.
@@ -459,6 +505,9 @@ public class CompoundBitVectorInterval implements CompoundIntegralInterval, BitV
    */
   public boolean contains(long pValue) {
     if (isBottom()) { return false; }
+    if (info.fitsInLong()) {
+      return intervalIndexOf(pValue) >= 0;
+    }
     BigInteger value = BigInteger.valueOf(pValue);
     return intervalIndexOf(value) >= 0;
   }
@@ -0,0 +1,105 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.invariants;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Micro-benchmark for the arithmetic operations of {@link CompoundBitVectorInterval}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompoundBitVectorIntervalBenchmark {
+
+  private static final BitVectorInfo INT = BitVectorInfo.from(32, true);
+
+  /** Number of disjoint intervals in each operand. */
+  @Param({"1", "10"})
+  int intervals;
+
+  private CompoundBitVectorInterval left;
+  private CompoundBitVectorInterval right;
+
+  @Setup
+  public void setUp() {
+    left = createCompound(0, 100);
+    right = createCompound(-50, 7);
+  }
+
+  private CompoundBitVectorInterval createCompound(long pStart, long pDistance) {
+    CompoundBitVectorInterval result = CompoundBitVectorInterval.bottom(INT);
+    for (int i = 0; i < intervals; i++) {
+      long lowerBound = pStart + 2 * i * pDistance;
+      result =
+          result.unionWith(
+              BitVectorInterval.of(
+                  INT, BigInteger.valueOf(lowerBound), BigInteger.valueOf(lowerBound + pDistance)));
+    }
+    return result;
+  }
+
+  @Benchmark
+  public CompoundBitVectorInterval add() {
+    return left.add(right, false, OverflowEventHandler.EMPTY);
+  }
+
+  @Benchmark
+  public CompoundBitVectorInterval addWithWrapAround() {
+    return left.add(right, true, OverflowEventHandler.EMPTY);
+  }
+
+  @Benchmark
+  public CompoundBitVectorInterval multiply() {
+    return left.multiply(right, false, OverflowEventHandler.EMPTY);
+  }
+
+  @Benchmark
+  public CompoundBitVectorInterval divide() {
+    return left.divide(right, false, OverflowEventHandler.EMPTY);
+  }
+
+  @Benchmark
+  public CompoundBitVectorInterval union() {
+    return left.unionWith(right);
+  }
+
+  @Benchmark
+  public CompoundBitVectorInterval intersect() {
+    return left.intersectWith(right);
+  }
+}
@@ -65,6 +65,18 @@ public enum IIIOperatorFactory {
         if (pOperand2.isTop()) {
           return pOperand2;
         }
+        if (pOperand1.hasLongBounds()) {
+          try {
+            return BitVectorInterval.cast(
+                pOperand1.getTypeInfo(),
+                Math.addExact(pOperand1.getLongLowerBound(), pOperand2.getLongLowerBound()),
+                Math.addExact(pOperand1.getLongUpperBound(), pOperand2.getLongUpperBound()),
+                pAllowSignedWrapAround,
+                pOverflowEventHandler);
+          } catch (ArithmeticException e) {
+            // overflow of long, use BigInteger instead
+          }
+        }
         if (pOperand2.isSingleton()) {
           return ISIOperatorFactory.INSTANCE
               .getAdd(pAllowSignedWrapAround, pOverflowEventHandler)
@@ -338,6 +350,26 @@ public enum IIIOperatorFactory {
          * At most one bound of each interval can be infinite and neither
          * of the intervals is a singleton at this point.
          */
+        if (pFirstOperand.hasLongBounds()) {
+          try {
+            long lb = pFirstOperand.getLongLowerBound();
+            long ub = pFirstOperand.getLongUpperBound();
+            long otherLb = pSecondOperand.getLongLowerBound();
+            long otherUb = pSecondOperand.getLongUpperBound();
+            long lbLb = Math.multiplyExact(lb, otherLb);
+            long lbUb = Math.multiplyExact(lb, otherUb);
+            long ubLb = Math.multiplyExact(ub, otherLb);
+            long ubUb = Math.multiplyExact(ub, otherUb);
+            return BitVectorInterval.cast(
+                pFirstOperand.getTypeInfo(),
+                Math.min(Math.min(lbLb, lbUb), Math.min(ubLb, ubUb)),
+                Math.max(Math.max(lbLb, lbUb), Math.max(ubLb, ubUb)),
+                pAllowSignedWrapAround,
+                pOverflowEventHandler);
+          } catch (ArithmeticException e) {
+            // overflow of long, use BigInteger instead
+          }
+        }
         BigInteger pLowerBound = pSecondOperand.getLowerBound();
         BigInteger pUpperBound = pSecondOperand.getUpperBound();
 
@@ -41,6 +41,10 @@ public class IIIOperatorTest {
 
   private static final BitVectorInfo INT = BitVectorInfo.from(32, true);
 
+  private static final BitVectorInfo LONG = BitVectorInfo.from(64, true);
+
+  private static final BitVectorInfo ULONG = BitVectorInfo.from(64, false);
+
   private static final Operator<BitVectorInterval, BitVectorInterval, BitVectorInterval> ADD
     = IIIOperatorFactory.INSTANCE.getAdd(true, OverflowEventHandler.EMPTY);
 
@@ -60,6 +64,33 @@ public class IIIOperatorTest {
     assertEquals(one, ADD.apply(zero, one));
   }
 
+  @Test
+  public void testAddOverflowOfLong() {
+    BitVectorInterval maxValue = BitVectorInterval.singleton(LONG, Long.MAX_VALUE);
+    BitVectorInterval zeroToOne = BitVectorInterval.of(LONG, 0, 1);
+    assertEquals(
+        BitVectorInterval.of(LONG, Long.MIN_VALUE, Long.MIN_VALUE),
+        ADD.apply(maxValue, BitVectorInterval.singleton(LONG, 1)));
+    assertEquals(LONG.getRange(), ADD.apply(maxValue, zeroToOne));
+    assertEquals(
+        BitVectorInterval.of(ULONG, BigInteger.valueOf(Long.MAX_VALUE), ULONG.getMaxValue()),
+        ADD.apply(
+            BitVectorInterval.of(ULONG, Long.MAX_VALUE, Long.MAX_VALUE),
+            BitVectorInterval.of(
+                ULONG, BigInteger.ZERO, BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE))));
+  }
+
+  @Test
+  public void testRepresentationIndependence() {
+    BitVectorInterval asLong = BitVectorInterval.of(INT, -5, 7);
+    BitVectorInterval asBigInteger = BitVectorInterval.of(ULONG, BigInteger.ZERO, BigInteger.TEN);
+    assertEquals(BitVectorInterval.of(INT, 0, 10), asBigInteger);
+    assertEquals(BitVectorInterval.of(INT, 0, 10).hashCode(), asBigInteger.hashCode());
+    assertEquals(BigInteger.valueOf(-5), asLong.getLowerBound());
+    assertEquals(BitVectorInterval.of(INT, BigInteger.valueOf(-5), BigInteger.valueOf(7)), asLong);
+    assertEquals(BitVectorInterval.of(INT, -7, 5), asLong.negate(false, OverflowEventHandler.EMPTY));
+  }
+
   @Test
   public void testModulo() {
     BigInteger scalarFour = BigInteger.valueOf(4);
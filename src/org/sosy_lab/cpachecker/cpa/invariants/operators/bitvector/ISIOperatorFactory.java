@@ -57,9 +57,22 @@ public enum ISIOperatorFactory {
       @Override
       public BitVectorInterval apply(BitVectorInterval pFirstOperand, BigInteger pSecondOperand) {
         // Avoid creating a new object by checking easy special cases
-        if (pFirstOperand.isTop() || pSecondOperand.equals(BigInteger.ZERO)) {
+        if (pFirstOperand.isTop() || pSecondOperand.signum() == 0) {
           return pFirstOperand;
         }
+        if (pFirstOperand.hasLongBounds() && pSecondOperand.bitLength() < Long.SIZE) {
+          long value = pSecondOperand.longValue();
+          try {
+            return BitVectorInterval.cast(
+                pFirstOperand.getTypeInfo(),
+                Math.addExact(pFirstOperand.getLongLowerBound(), value),
+                Math.addExact(pFirstOperand.getLongUpperBound(), value),
+                pAllowSignedWrapAround,
+                pOverflowEventHandler);
+          } catch (ArithmeticException e) {
+            // overflow of long, use BigInteger instead
+          }
+        }
         BigInteger lowerBound = pFirstOperand.getLowerBound().add(pSecondOperand);
         BigInteger upperBound = pFirstOperand.getUpperBound().add(pSecondOperand);
         return BitVectorInterval.cast(
@@ -129,6 +142,19 @@ public enum ISIOperatorFactory {
          * Infinite bounds stay infinite, finite bounds are multiplied with
          * the factor.
          */
+        if (pFirstOperand.hasLongBounds() && pSecondOperand.bitLength() < Long.SIZE) {
+          long value = pSecondOperand.longValue();
+          try {
+            return BitVectorInterval.cast(
+                pFirstOperand.getTypeInfo(),
+                Math.multiplyExact(pFirstOperand.getLongLowerBound(), value),
+                Math.multiplyExact(pFirstOperand.getLongUpperBound(), value),
+                pAllowSignedWrapAround,
+                pOverflowEventHandler);
+          } catch (ArithmeticException e) {
+            // overflow of long, use BigInteger instead
+          }
+        }
         BigInteger lowerBound = pFirstOperand.getLowerBound().multiply(pSecondOperand);
         BigInteger upperBound = pFirstOperand.getUpperBound().multiply(pSecondOperand);
         return BitVectorInterval.cast(
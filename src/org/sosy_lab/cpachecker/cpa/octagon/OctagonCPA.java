@@ -44,6 +44,8 @@ import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
 import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
 import org.sosy_lab.cpachecker.core.interfaces.TransferRelation;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
+import org.sosy_lab.cpachecker.util.octagon.JavaOctagonFloatManager;
+import org.sosy_lab.cpachecker.util.octagon.JavaOctagonIntManager;
 import org.sosy_lab.cpachecker.util.octagon.OctagonFloatManager;
 import org.sosy_lab.cpachecker.util.octagon.OctagonIntManager;
 import org.sosy_lab.cpachecker.util.octagon.OctagonManager;
@@ -64,6 +66,11 @@ public final class OctagonCPA implements ConfigurableProgramAnalysis {
       description="this option determines which initial precision should be used")
   private String precisionType = "STATIC_FULL";
 
+  @Option(secure=true, description="use the octagon implementation in Java instead of the native"
+      + " octagon library, which avoids the overhead of native calls and closes octagons"
+      + " incrementally")
+  private boolean javaImplementation = false;
+
   private final AbstractDomain abstractDomain;
   private final TransferRelation transferRelation;
   private final MergeOperator mergeOperator;
@@ -85,7 +92,13 @@ public final class OctagonCPA implements ConfigurableProgramAnalysis {
     logger = log;
     OctagonDomain octagonDomain = new OctagonDomain(logger);
 
-    if (octagonLibrary.equals("FLOAT")) {
+    if (javaImplementation) {
+      if (octagonLibrary.equals("FLOAT")) {
+        octagonManager = new JavaOctagonFloatManager(logger);
+      } else {
+        octagonManager = new JavaOctagonIntManager(logger);
+      }
+    } else if (octagonLibrary.equals("FLOAT")) {
       octagonManager = new OctagonFloatManager();
     } else {
       octagonManager = new OctagonIntManager();
@@ -150,6 +150,11 @@ public class PolicyIterationManager {
       + "let other CPAs use the output of LPI.")
   private boolean delayAbstractionUntilStrengthen = false;
 
+  @Option(secure=true, description="During abstraction, keep the relevant constraints asserted "
+      + "between consecutive templates that share them, and linearize them only once per "
+      + "abstraction.")
+  private boolean shareTemplateConstraints = false;
+
   private final FormulaManagerView fmgr;
   private final CFA cfa;
   private final PathFormulaManager pfmgr;
@@ -650,6 +655,8 @@ public class PolicyIterationManager {
           result = optEnvironment.check();
         } finally {
           statistics.optTimer.stop();
+          statistics.addOptimizationTime(
+              stateWithUpdates.getNode(), statistics.optTimer.getLengthOfLastInterval());
         }
         if (result == OptStatus.UNSAT) {
           shutdownNotifier.shutdownIfNecessary();
@@ -830,6 +837,11 @@ public class PolicyIterationManager {
 
     final Map<Template, PolicyBound> abstraction = new HashMap<>();
 
+    // With shareTemplateConstraints, the stack consists of the start constraints,
+    // the sliced constraints for the current template, and its objective.
+    final Map<Set<BooleanFormula>, BooleanFormula> annotatedSlices = new HashMap<>();
+    Set<BooleanFormula> assertedSlice = null;
+
     try (OptimizationProverEnvironment optEnvironment = newOptProver()) {
 
       optEnvironment.push();
@@ -837,8 +849,10 @@ public class PolicyIterationManager {
       optEnvironment.push();
 
       for (Template template : precision.getTemplatesForNode(node)) {
-        optEnvironment.pop();
-        optEnvironment.push();
+        if (!shareTemplateConstraints) {
+          optEnvironment.pop();
+          optEnvironment.push();
+        }
 
         // Optimize for the template subject to the
         // constraints introduced by {@code p}.
@@ -877,12 +891,19 @@ public class PolicyIterationManager {
             lemmas, startConstraintLemmas, objectiveVars);
         BooleanFormula f = bfmgr.and(slicedConstraint);
 
-        // Linearize & add choice variables.
-        statistics.linearizationTimer.start();
-        BooleanFormula annotatedFormula = linearizationManager.annotateDisjunctions(
-            linearizationManager.linearize(f)
-        );
-        statistics.linearizationTimer.stop();
+        BooleanFormula annotatedFormula =
+            shareTemplateConstraints ? annotatedSlices.get(slicedConstraint) : null;
+        if (annotatedFormula == null) {
+          // Linearize & add choice variables.
+          statistics.linearizationTimer.start();
+          annotatedFormula = linearizationManager.annotateDisjunctions(
+              linearizationManager.linearize(f)
+          );
+          statistics.linearizationTimer.stop();
+          if (shareTemplateConstraints) {
+            annotatedSlices.put(slicedConstraint, annotatedFormula);
+          }
+        }
 
         // Skip updates if the edge does not have any variables mentioned in the
         // template.
@@ -897,7 +918,26 @@ public class PolicyIterationManager {
           abstraction.put(template, bound);
         }
 
-        optEnvironment.addConstraint(annotatedFormula);
+        if (!shareTemplateConstraints) {
+          optEnvironment.addConstraint(annotatedFormula);
+
+        } else if (slicedConstraint.equals(assertedSlice)) {
+          statistics.sharedTemplateConstraints++;
+
+          // Only replace the objective of the previous template.
+          optEnvironment.pop();
+          optEnvironment.push();
+
+        } else {
+          if (assertedSlice != null) {
+            optEnvironment.pop();
+            optEnvironment.pop();
+            optEnvironment.push();
+          }
+          optEnvironment.addConstraint(annotatedFormula);
+          optEnvironment.push();
+          assertedSlice = slicedConstraint;
+        }
 
         int handle = optEnvironment.maximize(objective);
 
@@ -907,6 +947,7 @@ public class PolicyIterationManager {
           status = optEnvironment.check();
         } finally {
           statistics.optTimer.stop();
+          statistics.addOptimizationTime(node, statistics.optTimer.getLengthOfLastInterval());
         }
 
         switch (status) {
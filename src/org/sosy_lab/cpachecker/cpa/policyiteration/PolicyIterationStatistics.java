@@ -5,9 +5,15 @@ import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset;
 import java.io.PrintStream;
 import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
@@ -33,6 +39,9 @@ public class PolicyIterationStatistics implements Statistics {
 
   final Timer getBoundTimer = new Timer();
 
+  private final Map<CFANode, TimeSpan> optTimePerNode = new HashMap<>();
+  int sharedTemplateConstraints = 0;
+
   private final CFA cfa;
 
   private BigInteger wideningTemplatesGenerated = BigInteger.ZERO;
@@ -49,6 +58,12 @@ public class PolicyIterationStatistics implements Statistics {
     printTimer(out, valueDeterminationTimer, "value determination");
     printTimer(out, abstractionTimer, "abstraction");
     printTimer(out, optTimer, "optimization (OPT-SMT)");
+    printOptTimePerNode(out);
+    if (sharedTemplateConstraints > 0) {
+      // only happens with cpa.lpi.shareTemplateConstraints
+      out.printf("Number of templates re-using asserted constraints: %d%n",
+          sharedTemplateConstraints);
+    }
 
     printTimer(out, checkSATTimer, "checking bad states (SMT)");
 
@@ -71,6 +86,24 @@ public class PolicyIterationStatistics implements Statistics {
     printTimer(out, linearizationTimer, "formula linearization");
   }
 
+  void addOptimizationTime(CFANode pNode, TimeSpan pTime) {
+    optTimePerNode.merge(pNode, pTime, TimeSpan::sum);
+  }
+
+  private void printOptTimePerNode(PrintStream out) {
+    if (optTimePerNode.isEmpty()) {
+      return;
+    }
+    Entry<CFANode, TimeSpan> max =
+        Collections.max(optTimePerNode.entrySet(), Entry.comparingByValue());
+    out.printf("Max time spent in optimization on a given node: %s, for node: %s%n",
+        max.getValue().formatAs(TimeUnit.SECONDS), max.getKey());
+    out.printf("Avg time spent in optimization per node: %s%n",
+        TimeSpan.sum(optTimePerNode.values())
+            .divide(optTimePerNode.size())
+            .formatAs(TimeUnit.SECONDS));
+  }
+
   private void printStats(PrintStream out, UpdateStats<?> stats, String description) {
     out.printf("Max number of %s: %d, for object: %s%n",
         description, stats.max, stats.maxObject);
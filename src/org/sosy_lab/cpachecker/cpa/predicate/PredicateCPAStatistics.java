@@ -309,6 +309,7 @@ class PredicateCPAStatistics implements Statistics {
     out.println("Number of SMT sat checks:          " + solver.satChecks);
     out.println("  trivial:                         " + solver.trivialSatChecks);
     out.println("  cached:                          " + solver.cachedSatChecks);
+    solver.printFormulaCacheStatistics(out);
     out.println();
     out.println("Max ABE block size:                       " + statistics.blockSize.getMaxValue());
     put(out, 0, statistics.blockSize);
@@ -30,6 +30,7 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Iterables;
@@ -37,9 +38,12 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.Sets;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.interfaces.AdjustablePrecision;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
@@ -127,6 +131,18 @@ public final class PredicatePrecision implements AdjustablePrecision {
   private final ImmutableSetMultimap<String, AbstractionPredicate> mFunctionPredicates;
   private final ImmutableSet<AbstractionPredicate> mGlobalPredicates;
 
+  /** The highest instance of each location that has location-instance-specific predicates. */
+  private final ImmutableMap<CFANode, Integer> mMaxLocationInstances;
+
+  /**
+   * Cache for {@link #getPredicates(CFANode, int)}, filled lazily. For each location, the list
+   * contains at index i the predicates for the i-th instance of this location, and as last element
+   * the predicates for all higher instances. As instances of this class are immutable, the cache
+   * never needs to be invalidated, a modified precision starts with an empty cache.
+   */
+  private final ConcurrentMap<CFANode, ImmutableList<ImmutableSet<AbstractionPredicate>>>
+      predicatesPerLocationCache = new ConcurrentHashMap<>();
+
   private static final PredicatePrecision EMPTY =
       new PredicatePrecision(
           ImmutableList.<Map.Entry<LocationInstance, AbstractionPredicate>>of(),
@@ -194,13 +210,16 @@ public final class PredicatePrecision implements AdjustablePrecision {
     Multimap<LocationInstance, AbstractionPredicate> locationInstancePredicates =
         MultimapBuilder.treeKeys().arrayListValues().build();
     putAll(pLocationInstancePredicates, locationInstancePredicates);
+    Map<CFANode, Integer> maxLocationInstances = new HashMap<>();
     for (LocationInstance location : locationInstancePredicates.keySet()) {
+      maxLocationInstances.merge(location.getLocation(), location.getInstance(), Math::max);
       locationInstancePredicates.putAll(location, mLocalPredicates.get(location.getLocation()));
       locationInstancePredicates.putAll(
           location, mFunctionPredicates.get(location.getFunctionName()));
       locationInstancePredicates.putAll(location, mGlobalPredicates);
     }
     mLocationInstancePredicates = ImmutableSetMultimap.copyOf(locationInstancePredicates);
+    mMaxLocationInstances = ImmutableMap.copyOf(maxLocationInstances);
   }
 
   private static <K, V> void putAll(Iterable<Map.Entry<K, V>> entries, Multimap<K, V> map) {
@@ -283,11 +302,35 @@ public final class PredicatePrecision implements AdjustablePrecision {
 
   /**
    * Return all predicates for one specific location in this precision.
+   * Repeated calls for the same location return the same set object
+   * and do not need to allocate anything.
    * @param loc A CFA location.
    * @param locInstance How often this location has appeared in the current path.
    */
   public final ImmutableSet<AbstractionPredicate> getPredicates(CFANode loc, int locInstance) {
-    return getPredicates(new LocationInstance(loc, locInstance));
+    if (locInstance < 0) {
+      return getPredicates(new LocationInstance(loc, locInstance)); // throws exception
+    }
+    if (mLocationInstancePredicates.isEmpty()
+        && mLocalPredicates.isEmpty()
+        && mFunctionPredicates.isEmpty()) {
+      // no need to fill the cache, e.g., for the empty precision that is shared between analyses
+      return mGlobalPredicates;
+    }
+    ImmutableList<ImmutableSet<AbstractionPredicate>> predicatesPerInstance =
+        predicatesPerLocationCache.computeIfAbsent(loc, this::computePredicatesPerInstance);
+    return predicatesPerInstance.get(Math.min(locInstance, predicatesPerInstance.size() - 1));
+  }
+
+  private ImmutableList<ImmutableSet<AbstractionPredicate>> computePredicatesPerInstance(
+      CFANode loc) {
+    int maxInstance = mMaxLocationInstances.getOrDefault(loc, -1);
+    ImmutableList.Builder<ImmutableSet<AbstractionPredicate>> result =
+        ImmutableList.builderWithExpectedSize(maxInstance + 2);
+    for (int i = 0; i <= maxInstance + 1; i++) {
+      result.add(getPredicates(new LocationInstance(loc, i)));
+    }
+    return result.build();
   }
 
   /**
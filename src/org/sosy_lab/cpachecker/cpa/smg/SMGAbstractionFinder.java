@@ -24,6 +24,7 @@
 package org.sosy_lab.cpachecker.cpa.smg;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -60,8 +61,21 @@ public abstract class SMGAbstractionFinder {
     return traverse(pSmg, pSMGState, ImmutableSet.of());
   }
 
-  public abstract Set<SMGAbstractionCandidate> traverse(
+  public Set<SMGAbstractionCandidate> traverse(
       CLangSMG pSmg, UnmodifiableSMGState pSMGState, Set<SMGAbstractionBlock> abstractionBlocks)
+      throws SMGInconsistentException {
+    return traverse(pSmg, pSMGState, abstractionBlocks, pSmg.getHeapObjects());
+  }
+
+  /**
+   * Search for abstraction candidates whose sequences start at one of the given heap objects.
+   * Sequences may still continue through any other object of the SMG.
+   */
+  public abstract Set<SMGAbstractionCandidate> traverse(
+      CLangSMG pSmg,
+      UnmodifiableSMGState pSMGState,
+      Set<SMGAbstractionBlock> abstractionBlocks,
+      Collection<SMGObject> pStartObjects)
       throws SMGInconsistentException;
 
   protected boolean isSubSmgSeperate(
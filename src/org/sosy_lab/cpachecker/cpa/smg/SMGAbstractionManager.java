@@ -23,18 +23,40 @@
  */
 package org.sosy_lab.cpachecker.cpa.smg;
 
+import com.google.common.collect.Collections2;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cpa.smg.graphs.CLangSMG;
+import org.sosy_lab.cpachecker.cpa.smg.graphs.edge.SMGEdgeHasValue;
+import org.sosy_lab.cpachecker.cpa.smg.graphs.object.SMGObject;
 import org.sosy_lab.cpachecker.cpa.smg.graphs.object.dll.SMGDoublyLinkedListFinder;
 import org.sosy_lab.cpachecker.cpa.smg.graphs.object.sll.SMGSingleLinkedListFinder;
+import org.sosy_lab.cpachecker.cpa.smg.graphs.value.SMGValue;
+import org.sosy_lab.cpachecker.cpa.smg.util.PersistentSet;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer;
+import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer.TimerWrapper;
 
 public class SMGAbstractionManager {
 
+  public static final ThreadSafeTimerContainer candidateSearchTimer =
+      new ThreadSafeTimerContainer("Time for searching abstraction candidates");
+  public static final StatCounter fullCandidateSearches =
+      new StatCounter("Number of searches in the whole heap");
+  public static final StatCounter incrementalCandidateSearches =
+      new StatCounter("Number of searches in changed parts of the heap");
+
   private final LogManager logger;
   private final CLangSMG smg;
   private final SMGState smgState;
@@ -44,41 +66,120 @@ public class SMGAbstractionManager {
   private final SMGDoublyLinkedListFinder dllCandidateFinder;
   private final SMGSingleLinkedListFinder sllCandidateFinder;
 
+  /**
+   * Whether to search only around the objects changed since the last abstraction with the same
+   * {@link #abstractionKey} that did not find any candidates. All other heap objects can not be
+   * the start of a new candidate, because nothing reachable from them changed.
+   */
+  private final boolean searchChangedObjectsOnly;
+
+  private final ImmutableList<Object> abstractionKey;
+
   public SMGAbstractionManager(LogManager pLogger, CLangSMG pSMG, SMGState pSMGstate) {
-    smg = pSMG;
-    smgState = pSMGstate;
-    logger = pLogger;
-    blocks = ImmutableSet.of();
-    dllCandidateFinder = new SMGDoublyLinkedListFinder();
-    sllCandidateFinder = new SMGSingleLinkedListFinder();
+    this(pLogger, pSMG, pSMGstate, ImmutableSet.of());
   }
 
   public SMGAbstractionManager(LogManager pLogger, CLangSMG pSMG, SMGState pSMGstate,
       Set<SMGAbstractionBlock> pBlocks) {
-    smg = pSMG;
-    smgState = pSMGstate;
-    logger = pLogger;
-    blocks = pBlocks;
-    dllCandidateFinder = new SMGDoublyLinkedListFinder();
-    sllCandidateFinder = new SMGSingleLinkedListFinder();
+    this(pLogger, pSMG, pSMGstate, pBlocks, 2, 2, 3);
   }
 
   public SMGAbstractionManager(LogManager pLogger, CLangSMG pSMG, SMGState pSMGstate,
       Set<SMGAbstractionBlock> pBlocks, int equalSeq, int entailSeq, int incSeq) {
+    this(pLogger, pSMG, pSMGstate, pBlocks, equalSeq, entailSeq, incSeq, false);
+  }
+
+  public SMGAbstractionManager(
+      LogManager pLogger,
+      CLangSMG pSMG,
+      SMGState pSMGstate,
+      Set<SMGAbstractionBlock> pBlocks,
+      int equalSeq,
+      int entailSeq,
+      int incSeq,
+      boolean pSearchChangedObjectsOnly) {
     smg = pSMG;
     smgState = pSMGstate;
     logger = pLogger;
     blocks = pBlocks;
     dllCandidateFinder = new SMGDoublyLinkedListFinder(equalSeq, entailSeq, incSeq);
     sllCandidateFinder = new SMGSingleLinkedListFinder(equalSeq, entailSeq, incSeq);
+    searchChangedObjectsOnly = pSearchChangedObjectsOnly;
+    abstractionKey =
+        ImmutableList.of(ImmutableSet.copyOf(pBlocks), equalSeq, entailSeq, incSeq);
   }
 
   private boolean hasCandidates() throws SMGInconsistentException {
 
-    abstractionCandidates.addAll(dllCandidateFinder.traverse(smg, smgState, blocks));
-    abstractionCandidates.addAll(sllCandidateFinder.traverse(smg, smgState, blocks));
+    TimerWrapper timer = candidateSearchTimer.getNewTimer();
+    timer.start();
+    try {
+      Collection<SMGObject> startObjects = getStartObjects();
+      abstractionCandidates.addAll(
+          dllCandidateFinder.traverse(smg, smgState, blocks, startObjects));
+      abstractionCandidates.addAll(
+          sllCandidateFinder.traverse(smg, smgState, blocks, startObjects));
+    } finally {
+      timer.stop();
+    }
 
-    return (!abstractionCandidates.isEmpty());
+    if (abstractionCandidates.isEmpty()) {
+      if (searchChangedObjectsOnly) {
+        smg.resetChangesSinceAbstraction(abstractionKey);
+      }
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the heap objects that may start a new abstraction candidate: either all heap objects,
+   * or, if the changes since the last unsuccessful search are known, all heap objects from which
+   * a changed object or value is reachable.
+   */
+  private Collection<SMGObject> getStartObjects() {
+    if (searchChangedObjectsOnly) {
+      PersistentSet<SMGObject> changedObjects =
+          smg.getObjectsChangedSinceAbstraction(abstractionKey);
+      PersistentSet<SMGValue> changedValues = smg.getValuesChangedSinceAbstraction(abstractionKey);
+      if (changedObjects != null && changedValues != null) {
+        incrementalCandidateSearches.inc();
+        Set<SMGObject> affected = getObjectsReachingChanges(changedObjects, changedValues);
+        return Collections2.filter(smg.getHeapObjects(), affected::contains);
+      }
+    }
+    fullCandidateSearches.inc();
+    return smg.getHeapObjects();
+  }
+
+  private Set<SMGObject> getObjectsReachingChanges(
+      PersistentSet<SMGObject> pChangedObjects, PersistentSet<SMGValue> pChangedValues) {
+    Set<SMGObject> affected = new HashSet<>(pChangedObjects.asSet());
+    Multimap<SMGObject, SMGObject> predecessors = HashMultimap.create();
+    for (SMGEdgeHasValue edge : smg.getHVEdges()) {
+      SMGValue value = edge.getValue();
+      if (pChangedValues.contains(value)) {
+        affected.add(edge.getObject());
+      }
+      if (smg.isPointer(value)) {
+        predecessors.put(smg.getPointer(value).getObject(), edge.getObject());
+      }
+    }
+    for (SMGValue value : pChangedValues) {
+      if (smg.isPointer(value)) {
+        affected.add(smg.getPointer(value).getObject());
+      }
+    }
+
+    Deque<SMGObject> waitlist = new ArrayDeque<>(affected);
+    while (!waitlist.isEmpty()) {
+      for (SMGObject predecessor : predecessors.get(waitlist.pop())) {
+        if (affected.add(predecessor)) {
+          waitlist.push(predecessor);
+        }
+      }
+    }
+    return affected;
   }
 
   private SMGAbstractionCandidate getBestCandidate() {
@@ -23,6 +23,7 @@
  */
 package org.sosy_lab.cpachecker.cpa.smg;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import java.util.Set;
 import org.junit.Assert;
@@ -92,4 +93,48 @@ public class SMGAbstractionManagerTest {
     SMGObject segment = pt.getObject();
     Assert.assertTrue(segment.isAbstract());
   }
+
+  @Test
+  public void testExecuteIncrementally()
+      throws SMGInconsistentException, InvalidConfigurationException {
+    SMGState dummyState =
+        new SMGState(
+            LogManager.createTestLogManager(),
+            MachineModel.LINUX32,
+            new SMGOptions(Configuration.defaultConfiguration()));
+    Assert.assertTrue(createIncrementalManager(dummyState).execute());
+    Assert.assertFalse(createIncrementalManager(dummyState).execute());
+
+    long incrementalSearches = SMGAbstractionManager.incrementalCandidateSearches.getValue();
+    Assert.assertFalse(createIncrementalManager(dummyState).execute());
+    Assert.assertEquals(
+        incrementalSearches + 1, SMGAbstractionManager.incrementalCandidateSearches.getValue());
+
+    // prepend concrete nodes to the abstracted list, they have to be found again
+    SMGRegion globalVar = smg.getObjectForVisibleVariable("pointer");
+    SMGEdgeHasValue globalHv =
+        Iterables.getOnlyElement(smg.getHVEdges(SMGEdgeHasValueFilter.objectFilter(globalVar)));
+    smg.removeHasValueEdge(globalHv);
+    SMGValue next = globalHv.getValue();
+    for (int i = 0; i < 5; i++) {
+      SMGRegion node = new SMGRegion(128, "new node " + i);
+      smg.addHeapObject(node);
+      smg.addHasValueEdge(new SMGEdgeHasValue(CPointerType.POINTER_TO_VOID, 64, node, next));
+      next = SMGKnownSymValue.of();
+      smg.addValue(next);
+      smg.addPointsToEdge(new SMGEdgePointsTo(next, node, 0));
+    }
+    smg.addHasValueEdge(
+        new SMGEdgeHasValue(globalHv.getType(), globalHv.getOffset(), globalVar, next));
+
+    Assert.assertTrue(createIncrementalManager(dummyState).execute());
+    Set<SMGEdgeHasValue> hvs = smg.getHVEdges(SMGEdgeHasValueFilter.objectFilter(globalVar));
+    SMGObject segment = smg.getPointer(Iterables.getOnlyElement(hvs).getValue()).getObject();
+    Assert.assertTrue(segment.isAbstract());
+  }
+
+  private SMGAbstractionManager createIncrementalManager(SMGState pState) {
+    return new SMGAbstractionManager(
+        LogManager.createTestLogManager(), smg, pState, ImmutableSet.of(), 2, 2, 3, true);
+  }
 }
@@ -159,6 +159,13 @@ public class SMGOptions {
       description = "with this option enabled, heap abstraction will be enabled.")
   private boolean enableHeapAbstraction = false;
 
+  @Option(
+      secure = true,
+      description =
+          "with this option enabled, heap abstraction only searches for new candidates in the "
+              + "part of the heap that changed since the previous heap abstraction.")
+  private boolean incrementalHeapAbstraction = false;
+
   @Option(
       secure = true,
       name = "memoryErrors",
@@ -287,6 +294,10 @@ public class SMGOptions {
     return enableHeapAbstraction;
   }
 
+  public boolean isIncrementalHeapAbstraction() {
+    return incrementalHeapAbstraction;
+  }
+
   public boolean isMemoryErrorTarget() {
     return memoryErrors;
   }
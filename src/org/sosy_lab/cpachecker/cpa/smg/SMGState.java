@@ -1356,7 +1356,15 @@ public class SMGState implements UnmodifiableSMGState, AbstractQueryableState, G
     }
 
     if (options.isHeapAbstractionEnabled()) {
-      SMGJoin join = new SMGJoin(heap, reachedState.getHeap(), this, reachedState);
+      // the join compares stack frames pairwise and is incomparable for different functions
+      UnmodifiableCLangSMG reachedHeap = reachedState.getHeap();
+      if (heap.getStackFrames().size() == reachedHeap.getStackFrames().size()
+          && heap.getStackFramesHash() != reachedHeap.getStackFramesHash()) {
+        SMGIsLessOrEqual.shapeMismatches.inc();
+        return false;
+      }
+
+      SMGJoin join = new SMGJoin(heap, reachedHeap, this, reachedState);
 
       if (!join.isDefined()) {
         return false;
@@ -1849,6 +1857,7 @@ public class SMGState implements UnmodifiableSMGState, AbstractQueryableState, G
           heap.replaceValue(pKey, symValue);
         }
         explicitValues.put(pKey, pValue);
+        heap.markValueChanged(pKey);
         return symValue;
       }
 
@@ -1856,12 +1865,14 @@ public class SMGState implements UnmodifiableSMGState, AbstractQueryableState, G
     }
 
     explicitValues.put(pKey, pValue);
+    heap.markValueChanged(pKey);
     return null;
   }
 
   @Deprecated // unused
   public void clearExplicit(SMGKnownSymbolicValue pKey) {
     explicitValues.remove(pKey);
+    heap.markValueChanged(pKey);
   }
 
   @Override
@@ -1941,7 +1952,16 @@ public class SMGState implements UnmodifiableSMGState, AbstractQueryableState, G
    * @throws SMGInconsistentException Join lead to inconsistent smg.
    */
   public void executeHeapAbstraction() throws SMGInconsistentException {
-    SMGAbstractionManager manager = new SMGAbstractionManager(logger, heap, this);
+    SMGAbstractionManager manager =
+        new SMGAbstractionManager(
+            logger,
+            heap,
+            this,
+            ImmutableSet.of(),
+            2,
+            2,
+            3,
+            options.isIncrementalHeapAbstraction());
     manager.execute();
     performConsistencyCheck(SMGRuntimeCheck.HALF);
   }
@@ -1951,7 +1971,9 @@ public class SMGState implements UnmodifiableSMGState, AbstractQueryableState, G
     final SMGAbstractionManager manager;
     boolean usesHeapInterpolation = true; // TODO do we need this flag?
     if (usesHeapInterpolation) {
-      manager = new SMGAbstractionManager(logger, heap, this, blocks, 2, 2, 2);
+      manager =
+          new SMGAbstractionManager(
+              logger, heap, this, blocks, 2, 2, 2, options.isIncrementalHeapAbstraction());
     } else {
       manager = new SMGAbstractionManager(logger, heap, this, blocks);
     }
@@ -1978,7 +2000,9 @@ public class SMGState implements UnmodifiableSMGState, AbstractQueryableState, G
 
   public SMGAbstractionCandidate executeHeapAbstractionOneStep(Set<SMGAbstractionBlock> pResult)
       throws SMGInconsistentException {
-    SMGAbstractionManager manager = new SMGAbstractionManager(logger, heap, this, pResult, 2, 2, 2);
+    SMGAbstractionManager manager =
+        new SMGAbstractionManager(
+            logger, heap, this, pResult, 2, 2, 2, options.isIncrementalHeapAbstraction());
     SMGAbstractionCandidate result = manager.executeOneStep();
     performConsistencyCheck(SMGRuntimeCheck.HALF);
     return result;
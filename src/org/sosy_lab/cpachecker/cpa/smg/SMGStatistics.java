@@ -38,6 +38,10 @@ public class SMGStatistics implements Statistics {
     put(pOut, 1, SMGIsLessOrEqual.globalsTimer);
     put(pOut, 1, SMGIsLessOrEqual.stackTimer);
     put(pOut, 1, SMGIsLessOrEqual.heapTimer);
+    put(pOut, 1, SMGIsLessOrEqual.shapeMismatches);
+    put(pOut, 0, SMGAbstractionManager.candidateSearchTimer);
+    put(pOut, 1, SMGAbstractionManager.fullCandidateSearches);
+    put(pOut, 1, SMGAbstractionManager.incrementalCandidateSearches);
   }
 
   @Override
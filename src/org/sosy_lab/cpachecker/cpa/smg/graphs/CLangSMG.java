@@ -88,6 +88,15 @@ public class CLangSMG extends SMG implements UnmodifiableCLangSMG {
    */
   private PersistentMap<String, SMGRegion> global_objects;
 
+  /**
+   * Sum of the hash codes of all {@link #heap_objects}, updated whenever a heap object is added or
+   * removed. Equal sets of heap objects have equal hashes.
+   */
+  private int heapObjectsHash;
+
+  /** Hash of the sequence of function names on the {@link #stack_objects}. */
+  private int stackFramesHash = 1;
+
   /** logger is always NULL, except for JUnit-tests */
   private static LogManager logger = null;
 
@@ -165,6 +174,7 @@ public class CLangSMG extends SMG implements UnmodifiableCLangSMG {
     global_objects = PathCopyingPersistentTreeMap.of();
     heap_objects = PersistentSet.of();
     heap_objects = heap_objects.addAndCopy(SMGNullObject.INSTANCE);
+    heapObjectsHash = SMGNullObject.INSTANCE.hashCode();
   }
 
   /**
@@ -180,6 +190,8 @@ public class CLangSMG extends SMG implements UnmodifiableCLangSMG {
     stack_objects = pHeap.stack_objects;
     heap_objects = pHeap.heap_objects;
     global_objects = pHeap.global_objects;
+    heapObjectsHash = pHeap.heapObjectsHash;
+    stackFramesHash = pHeap.stackFramesHash;
   }
 
   @Override
@@ -201,7 +213,10 @@ public class CLangSMG extends SMG implements UnmodifiableCLangSMG {
     if (CLangSMG.performChecks() && heap_objects.contains(pObject)) {
       throw new IllegalArgumentException("Heap object already in the SMG: [" + pObject + "]");
     }
-    heap_objects = heap_objects.addAndCopy(pObject);
+    if (!heap_objects.contains(pObject)) {
+      heap_objects = heap_objects.addAndCopy(pObject);
+      heapObjectsHash += pObject.hashCode();
+    }
     addObject(pObject);
   }
 
@@ -271,6 +286,7 @@ public class CLangSMG extends SMG implements UnmodifiableCLangSMG {
       super.addObject(newFrame.getReturnObject());
     }
     stack_objects = stack_objects.pushAndCopy(newFrame);
+    stackFramesHash = computeStackFramesHash(stack_objects);
   }
 
   /**
@@ -286,6 +302,7 @@ public class CLangSMG extends SMG implements UnmodifiableCLangSMG {
   public void dropStackFrame() {
     CLangStackFrame frame = stack_objects.peek();
     stack_objects = stack_objects.popAndCopy();
+    stackFramesHash = computeStackFramesHash(stack_objects);
     for (SMGObject object : frame.getAllObjects()) {
       removeObjectAndEdges(object);
     }
@@ -524,6 +541,34 @@ public class CLangSMG extends SMG implements UnmodifiableCLangSMG {
     return heap_objects.contains(object);
   }
 
+  /**
+   * Constant.
+   *
+   * @return a hash of the set of heap objects, maintained while heap objects are added or removed.
+   */
+  @Override
+  public int getHeapObjectsHash() {
+    return heapObjectsHash;
+  }
+
+  /**
+   * Constant.
+   *
+   * @return a hash of the sequence of function names on the stack.
+   */
+  @Override
+  public int getStackFramesHash() {
+    return stackFramesHash;
+  }
+
+  private static int computeStackFramesHash(PersistentStack<CLangStackFrame> pStack) {
+    int hash = 1;
+    for (CLangStackFrame frame : pStack) {
+      hash = 31 * hash + frame.getFunctionDeclaration().getOrigName().hashCode();
+    }
+    return hash;
+  }
+
   /**
    * Constant.
    *
@@ -568,7 +613,10 @@ public class CLangSMG extends SMG implements UnmodifiableCLangSMG {
   }
 
   final public void removeHeapObjectAndEdges(SMGObject pObject) {
-    heap_objects = heap_objects.removeAndCopy(pObject);
+    if (heap_objects.contains(pObject)) {
+      heap_objects = heap_objects.removeAndCopy(pObject);
+      heapObjectsHash -= pObject.hashCode();
+    }
     removeObjectAndEdges(pObject);
   }
 
@@ -880,9 +928,11 @@ public class CLangSMG extends SMG implements UnmodifiableCLangSMG {
       }
     }
     stack_objects = newStack;
+    stackFramesHash = computeStackFramesHash(stack_objects);
 
     /*May not remove null object.*/
     heap_objects = heap_objects.addAndCopy(SMGNullObject.INSTANCE);
+    heapObjectsHash = SMGNullObject.INSTANCE.hashCode();
   }
 
   @Override
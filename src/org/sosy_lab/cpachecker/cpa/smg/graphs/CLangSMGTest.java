@@ -134,6 +134,32 @@ public class CLangSMGTest {
     assertThat(heap_objs).hasSize(3);
   }
 
+  @Test
+  public void CLangSMGshapeHashTest() {
+    CLangSMG smg1 = getNewCLangSMG64();
+    CLangSMG smg2 = getNewCLangSMG64();
+    SMGRegion obj1 = new SMGRegion(64, "label");
+    SMGRegion obj2 = new SMGRegion(64, "label");
+
+    smg1.addHeapObject(obj1);
+    smg2.addHeapObject(obj1);
+    assertThat(smg1.getHeapObjectsHash()).isEqualTo(smg2.getHeapObjectsHash());
+
+    smg1.addHeapObject(obj2);
+    CLangSMG smg1Copy = smg1.copyOf();
+    assertThat(smg1Copy.getHeapObjectsHash()).isEqualTo(smg1.getHeapObjectsHash());
+    smg1.removeHeapObjectAndEdges(obj2);
+    assertThat(smg1.getHeapObjectsHash()).isEqualTo(smg2.getHeapObjectsHash());
+
+    smg1.addStackFrame(sf.getFunctionDeclaration());
+    assertThat(smg1.getStackFramesHash()).isNotEqualTo(smg2.getStackFramesHash());
+    smg2.addStackFrame(sf.getFunctionDeclaration());
+    assertThat(smg1.getStackFramesHash()).isEqualTo(smg2.getStackFramesHash());
+    smg1.dropStackFrame();
+    smg2.dropStackFrame();
+    assertThat(smg1.getStackFramesHash()).isEqualTo(getNewCLangSMG64().getStackFramesHash());
+  }
+
   @Test(expected=IllegalArgumentException.class)
   public void CLangSMGaddHeapObjectTwiceTest() {
     CLangSMG smg = getNewCLangSMG64();
@@ -65,6 +65,15 @@ public class SMG implements UnmodifiableSMG {
   private final PredRelation pathPredicate = new PredRelation();
   private PredRelation errorPredicate = new PredRelation();
 
+  /**
+   * Objects and values modified since the last heap abstraction that found no more candidates for
+   * {@link #abstractionKey}. Both are null if there was no such abstraction, i.e., if the whole
+   * heap has to be searched for candidates.
+   */
+  private @Nullable PersistentSet<SMGObject> changedObjects = null;
+
+  private @Nullable PersistentSet<SMGValue> changedValues = null;
+  private @Nullable Object abstractionKey = null;
 
   private final MachineModel machine_model;
 
@@ -109,6 +118,9 @@ public class SMG implements UnmodifiableSMG {
     externalObjectAllocation = pHeap.externalObjectAllocation;
     objects = pHeap.objects;
     values = pHeap.values;
+    changedObjects = pHeap.changedObjects;
+    changedValues = pHeap.changedValues;
+    abstractionKey = pHeap.abstractionKey;
   }
 
   @Override
@@ -165,6 +177,7 @@ public class SMG implements UnmodifiableSMG {
    */
   public final void removeValue(final SMGValue pValue) {
     Preconditions.checkArgument(!pValue.isZero(), "Can not remove NULL from SMG");
+    markValueChanged(pValue);
     values = values.removeAndCopy(pValue);
     neq = neq.removeValueAndCopy(pValue);
     pathPredicate.removeValue(pValue);
@@ -180,6 +193,7 @@ public class SMG implements UnmodifiableSMG {
    */
   @VisibleForTesting
   final public void removeObject(final SMGObject pObj) {
+    markObjectChanged(pObj);
     objects = objects.removeAndCopy(pObj);
     validObjects = validObjects.removeAndCopy(pObj);
     externalObjectAllocation = externalObjectAllocation.removeAndCopy(pObj);
@@ -195,6 +209,18 @@ public class SMG implements UnmodifiableSMG {
   final public void removeObjectAndEdges(final SMGObject pObj) {
     Preconditions.checkArgument(pObj != SMGNullObject.INSTANCE, "Can not remove NULL from SMG");
     removeObject(pObj);
+    if (changedValues != null) {
+      // the targets of removed pointers and the holders of removed addresses change as well
+      for (SMGEdgeHasValue edge : getHVEdges(SMGEdgeHasValueFilter.objectFilter(pObj))) {
+        markValueChanged(edge.getValue());
+        if (isPointer(edge.getValue())) {
+          markObjectChanged(getPointer(edge.getValue()).getObject());
+        }
+      }
+      for (SMGEdgePointsTo edge : getPtEdges(SMGEdgePointsToFilter.targetObjectFilter(pObj))) {
+        markValueChanged(edge.getValue());
+      }
+    }
     hv_edges = hv_edges.removeAllEdgesOfObjectAndCopy(pObj);
     pt_edges = pt_edges.removeAllEdgesOfObjectAndCopy(pObj);
 
@@ -225,6 +251,7 @@ public class SMG implements UnmodifiableSMG {
    */
   final public void addObject(final SMGObject pObj, final boolean pValidity, final boolean pExternal) {
     objects = objects.addAndCopy(pObj);
+    markObjectChanged(pObj);
     setValidity(pObj, pValidity);
     setExternallyAllocatedFlag(pObj, pExternal);
   }
@@ -250,6 +277,8 @@ public class SMG implements UnmodifiableSMG {
   final public void addPointsToEdge(SMGEdgePointsTo pEdge) {
     Preconditions.checkArgument(values.contains(pEdge.getValue()), "adding an edge without source");
     pt_edges = pt_edges.addAndCopy(pEdge);
+    markObjectChanged(pEdge.getObject());
+    markValueChanged(pEdge.getValue());
   }
 
   /**
@@ -262,6 +291,8 @@ public class SMG implements UnmodifiableSMG {
   final public void addHasValueEdge(SMGEdgeHasValue pEdge) {
     Preconditions.checkArgument(values.contains(pEdge.getValue()), "adding edge without target");
     hv_edges = hv_edges.addEdgeAndCopy(pEdge);
+    markObjectChanged(pEdge.getObject());
+    markValueChanged(pEdge.getValue());
   }
 
   /**
@@ -273,6 +304,8 @@ public class SMG implements UnmodifiableSMG {
    */
   final public void removeHasValueEdge(SMGEdgeHasValue pEdge) {
     hv_edges = hv_edges.removeEdgeAndCopy(pEdge);
+    markObjectChanged(pEdge.getObject());
+    markValueChanged(pEdge.getValue());
   }
 
   /**
@@ -284,6 +317,10 @@ public class SMG implements UnmodifiableSMG {
    */
   public final void removePointsToEdge(SMGValue pValue) {
     Preconditions.checkArgument(!pValue.isZero(), "Can not remove NULL from SMG");
+    if (changedObjects != null && pt_edges.containsEdgeWithValue(pValue)) {
+      markObjectChanged(pt_edges.getEdgeWithValue(pValue).getObject());
+    }
+    markValueChanged(pValue);
     pt_edges = pt_edges.removeEdgeWithValueAndCopy(pValue);
   }
 
@@ -299,6 +336,7 @@ public class SMG implements UnmodifiableSMG {
    */
   public void setValidity(SMGObject pObject, boolean pValidity) {
     Preconditions.checkArgument(objects.contains(pObject), "Object [" + pObject + "] not in SMG");
+    markObjectChanged(pObject);
     if (pValidity) {
       validObjects = validObjects.addAndCopy(pObject);
     } else {
@@ -328,6 +366,61 @@ public class SMG implements UnmodifiableSMG {
   /** Adds a neq relation between two values to the SMG Keeps consistency: no */
   public void addNeqRelation(SMGValue pV1, SMGValue pV2) {
     neq = neq.addRelationAndCopy(pV1, pV2);
+    markValueChanged(pV1);
+    markValueChanged(pV2);
+  }
+
+  /**
+   * Records that some information about the given object changed, such that heap abstraction has
+   * to search for candidates around it again.
+   */
+  private void markObjectChanged(SMGObject pObject) {
+    if (changedObjects != null) {
+      changedObjects = changedObjects.addAndCopy(pObject);
+    }
+  }
+
+  /**
+   * Records that some information about the given value changed (e.g., a relation or an explicit
+   * value in the surrounding state), such that heap abstraction has to search for candidates
+   * around the objects holding or pointed to by this value again.
+   */
+  public void markValueChanged(SMGValue pValue) {
+    if (changedValues != null) {
+      changedValues = changedValues.addAndCopy(pValue);
+    }
+  }
+
+  /**
+   * Starts tracking changes, after a heap abstraction configured by pKey did not find any more
+   * candidates in this SMG.
+   */
+  public void resetChangesSinceAbstraction(Object pKey) {
+    changedObjects = PersistentSet.of();
+    changedValues = PersistentSet.of();
+    abstractionKey = Preconditions.checkNotNull(pKey);
+  }
+
+  private void forgetChangesSinceAbstraction() {
+    changedObjects = null;
+    changedValues = null;
+    abstractionKey = null;
+  }
+
+  /**
+   * Returns the objects modified since the last heap abstraction configured by pKey that did not
+   * find any more candidates, or null if unknown.
+   */
+  public @Nullable PersistentSet<SMGObject> getObjectsChangedSinceAbstraction(Object pKey) {
+    return pKey.equals(abstractionKey) ? changedObjects : null;
+  }
+
+  /**
+   * Returns the values modified since the last heap abstraction configured by pKey that did not
+   * find any more candidates, or null if unknown.
+   */
+  public @Nullable PersistentSet<SMGValue> getValuesChangedSinceAbstraction(Object pKey) {
+    return pKey.equals(abstractionKey) ? changedValues : null;
   }
 
   @Override
@@ -563,6 +656,7 @@ public class SMG implements UnmodifiableSMG {
         !old.isZero(), "cannot replace ZERO (%s) with other value (%s)", old, fresh);
 
     addValue(fresh);
+    markValueChanged(fresh);
 
     neq = neq.replaceValueAndCopy(fresh, old);
     pathPredicate.replace(fresh, old);
@@ -604,6 +698,7 @@ public class SMG implements UnmodifiableSMG {
     pt_edges = new SMGPointsToMap();
     neq = new NeqRelation();
     pathPredicate.clear();
+    forgetChangesSinceAbstraction();
     initializeNullAddress();
   }
 
@@ -615,6 +710,7 @@ public class SMG implements UnmodifiableSMG {
   public void clearObjects() {
     objects = PersistentSet.of();
     validObjects = PersistentSet.of();
+    forgetChangesSinceAbstraction();
     initializeNullObject();
   }
 
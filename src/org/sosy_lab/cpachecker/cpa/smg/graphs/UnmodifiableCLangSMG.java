@@ -59,6 +59,18 @@ public interface UnmodifiableCLangSMG extends UnmodifiableSMG {
 
   boolean isHeapObject(SMGObject object);
 
+  /**
+   * Returns a hash of the set of heap objects. SMGs with different hashes have different sets of
+   * heap objects.
+   */
+  int getHeapObjectsHash();
+
+  /**
+   * Returns a hash of the function names on the stack. SMGs with different hashes have different
+   * call stacks.
+   */
+  int getStackFramesHash();
+
   PersistentMap<String, SMGRegion> getGlobalObjects();
 
   boolean isGlobal(SMGObject object);
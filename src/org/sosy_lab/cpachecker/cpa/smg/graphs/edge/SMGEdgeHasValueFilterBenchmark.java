@@ -0,0 +1,110 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.smg.graphs.edge;
+
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sosy_lab.cpachecker.cpa.smg.graphs.SMGHasValueEdgeSet;
+import org.sosy_lab.cpachecker.cpa.smg.graphs.SMGHasValueEdges;
+import org.sosy_lab.cpachecker.cpa.smg.graphs.object.SMGObject;
+import org.sosy_lab.cpachecker.cpa.smg.graphs.object.SMGRegion;
+import org.sosy_lab.cpachecker.cpa.smg.graphs.value.SMGKnownSymValue;
+import org.sosy_lab.cpachecker.cpa.smg.graphs.value.SMGValue;
+
+/**
+ * Micro-benchmark for filtering the has-value edges of an SMG with {@link SMGEdgeHasValueFilter},
+ * as done for every read of a field.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SMGEdgeHasValueFilterBenchmark {
+
+  private static final int FIELD_SIZE = 32;
+
+  /** Number of objects in the SMG. */
+  @Param({"10", "1000"})
+  int objects;
+
+  /** Number of fields (has-value edges) per object. */
+  @Param({"1", "16"})
+  int fields;
+
+  private SMGHasValueEdges edges;
+  private SMGObject object;
+  private SMGValue value;
+
+  @Setup
+  public void setUp() {
+    List<SMGObject> regions = new ArrayList<>();
+    SMGHasValueEdgeSet edgeSet = new SMGHasValueEdgeSet();
+    for (int i = 0; i < objects; i++) {
+      SMGRegion region = new SMGRegion(fields * FIELD_SIZE, "object" + i);
+      regions.add(region);
+      for (int j = 0; j < fields; j++) {
+        edgeSet =
+            edgeSet.addEdgeAndCopy(
+                new SMGEdgeHasValue(
+                    FIELD_SIZE, j * FIELD_SIZE, region, SMGKnownSymValue.valueOf(i * fields + j)));
+      }
+    }
+    edges = edgeSet;
+    object = regions.get(objects / 2);
+    value = SMGKnownSymValue.valueOf(objects * fields / 2);
+  }
+
+  @Benchmark
+  public SMGEdgeHasValue readField() {
+    return Iterables.getOnlyElement(
+        SMGEdgeHasValueFilter.objectFilter(object)
+            .filterAtOffset((fields - 1) * FIELD_SIZE)
+            .filter(edges));
+  }
+
+  @Benchmark
+  public int allFieldsOfObject() {
+    return Iterables.size(SMGEdgeHasValueFilter.objectFilter(object).filter(edges));
+  }
+
+  @Benchmark
+  public int edgesWithValue() {
+    return Iterables.size(SMGEdgeHasValueFilter.valueFilter(value).filter(edges));
+  }
+}
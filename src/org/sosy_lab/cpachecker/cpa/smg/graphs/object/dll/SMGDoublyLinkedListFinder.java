@@ -25,6 +25,7 @@ package org.sosy_lab.cpachecker.cpa.smg.graphs.object.dll;
 
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Iterables;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -65,11 +66,14 @@ public class SMGDoublyLinkedListFinder extends SMGAbstractionFinder {
 
   @Override
   public Set<SMGAbstractionCandidate> traverse(
-      CLangSMG pSmg, UnmodifiableSMGState pSMGState, Set<SMGAbstractionBlock> pAbstractionBlocks)
+      CLangSMG pSmg,
+      UnmodifiableSMGState pSMGState,
+      Set<SMGAbstractionBlock> pAbstractionBlocks,
+      Collection<SMGObject> pStartObjects)
       throws SMGInconsistentException {
     SMGJoinDllProgress progress = new SMGJoinDllProgress();
 
-    for (SMGObject object : pSmg.getHeapObjects()) {
+    for (SMGObject object : pStartObjects) {
       startTraversal(object, pSmg, pSMGState, progress);
     }
 
@@ -37,6 +37,7 @@ import org.sosy_lab.cpachecker.cpa.smg.graphs.edge.SMGEdgePointsTo;
 import org.sosy_lab.cpachecker.cpa.smg.graphs.object.SMGObject;
 import org.sosy_lab.cpachecker.cpa.smg.graphs.object.SMGRegion;
 import org.sosy_lab.cpachecker.cpa.smg.graphs.value.SMGValue;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
 import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer;
 import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer.TimerWrapper;
 
@@ -54,6 +55,8 @@ public class SMGIsLessOrEqual {
       new ThreadSafeTimerContainer("Time for joining stacks");
   public static final ThreadSafeTimerContainer heapTimer =
       new ThreadSafeTimerContainer("Time for joining heaps");
+  public static final StatCounter shapeMismatches =
+      new StatCounter("Number of SMGs with different shape signatures");
 
   private SMGIsLessOrEqual() {} // Utility class.
 
@@ -82,6 +85,13 @@ public class SMGIsLessOrEqual {
         return false;
       }
 
+      // the checks below require identical heap objects and function names on the stack,
+      // comparing their hashes first avoids matching the fields of obviously different SMGs
+      if (!haveEqualShapeSignature(pSMG1, pSMG2)) {
+        shapeMismatches.inc();
+        return false;
+      }
+
       TimerWrapper gt = globalsTimer.getNewTimer();
       gt.start();
       try {
@@ -119,6 +129,16 @@ public class SMGIsLessOrEqual {
     }
   }
 
+  /**
+   * Compares the hashes of the heap objects and of the stack frames of two SMGs. Different
+   * hashes imply different heap objects or a different call stack, equal hashes imply nothing.
+   */
+  public static boolean haveEqualShapeSignature(
+      UnmodifiableCLangSMG pSMG1, UnmodifiableCLangSMG pSMG2) {
+    return pSMG1.getHeapObjectsHash() == pSMG2.getHeapObjectsHash()
+        && pSMG1.getStackFramesHash() == pSMG2.getStackFramesHash();
+  }
+
   /** returns whether globals variables are "maybe LEQ" or "definitely not LEQ". */
   private static boolean maybeGlobalsLessOrEqual(
       UnmodifiableCLangSMG pSMG1, UnmodifiableCLangSMG pSMG2) {
@@ -0,0 +1,121 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.threading;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Over-approximation of the memory that is accessed by a set of CFA edges: the shared variables
+ * (by their qualified name) that are read or written, and whether there might be an access to
+ * unknown memory, e.g., via a pointer dereference.
+ */
+final class MemoryAccessFootprint {
+
+  static final MemoryAccessFootprint EMPTY =
+      new MemoryAccessFootprint(ImmutableSet.of(), ImmutableSet.of(), false);
+
+  private final ImmutableSet<String> reads;
+  private final ImmutableSet<String> writes;
+  private final boolean accessesUnknownMemory;
+
+  private MemoryAccessFootprint(
+      ImmutableSet<String> pReads, ImmutableSet<String> pWrites, boolean pAccessesUnknownMemory) {
+    reads = pReads;
+    writes = pWrites;
+    accessesUnknownMemory = pAccessesUnknownMemory;
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  boolean accessesUnknownMemory() {
+    return accessesUnknownMemory;
+  }
+
+  private boolean accessesAnyMemory() {
+    return accessesUnknownMemory || !reads.isEmpty() || !writes.isEmpty();
+  }
+
+  /**
+   * Check whether both footprints might access the same memory location and at least one of the
+   * accesses is a write. An access to unknown memory conflicts with every other access.
+   */
+  boolean conflictsWith(MemoryAccessFootprint pOther) {
+    if ((accessesUnknownMemory && pOther.accessesAnyMemory())
+        || (pOther.accessesUnknownMemory && accessesAnyMemory())) {
+      return true;
+    }
+    return !Collections.disjoint(writes, pOther.writes)
+        || !Collections.disjoint(writes, pOther.reads)
+        || !Collections.disjoint(reads, pOther.writes);
+  }
+
+  @Override
+  public String toString() {
+    return "reads " + reads + ", writes " + writes + (accessesUnknownMemory ? ", unknown" : "");
+  }
+
+  static final class Builder {
+
+    private final Set<String> reads = new HashSet<>();
+    private final Set<String> writes = new HashSet<>();
+    private boolean accessesUnknownMemory = false;
+
+    private Builder() {}
+
+    Builder addRead(String pVariable) {
+      reads.add(pVariable);
+      return this;
+    }
+
+    Builder addWrite(String pVariable) {
+      writes.add(pVariable);
+      return this;
+    }
+
+    Builder setAccessesUnknownMemory() {
+      accessesUnknownMemory = true;
+      return this;
+    }
+
+    Builder addAll(MemoryAccessFootprint pFootprint) {
+      reads.addAll(pFootprint.reads);
+      writes.addAll(pFootprint.writes);
+      accessesUnknownMemory |= pFootprint.accessesUnknownMemory;
+      return this;
+    }
+
+    MemoryAccessFootprint build() {
+      if (!accessesUnknownMemory && reads.isEmpty() && writes.isEmpty()) {
+        return EMPTY;
+      }
+      return new MemoryAccessFootprint(
+          ImmutableSet.copyOf(reads), ImmutableSet.copyOf(writes), accessesUnknownMemory);
+    }
+  }
+}
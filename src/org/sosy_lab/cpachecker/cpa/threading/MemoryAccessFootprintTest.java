@@ -0,0 +1,114 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.threading;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+public class MemoryAccessFootprintTest {
+
+  private static MemoryAccessFootprint reads(String... pVariables) {
+    MemoryAccessFootprint.Builder builder = MemoryAccessFootprint.builder();
+    for (String variable : pVariables) {
+      builder.addRead(variable);
+    }
+    return builder.build();
+  }
+
+  private static MemoryAccessFootprint writes(String... pVariables) {
+    MemoryAccessFootprint.Builder builder = MemoryAccessFootprint.builder();
+    for (String variable : pVariables) {
+      builder.addWrite(variable);
+    }
+    return builder.build();
+  }
+
+  private static MemoryAccessFootprint unknown() {
+    return MemoryAccessFootprint.builder().setAccessesUnknownMemory().build();
+  }
+
+  private static void assertConflict(MemoryAccessFootprint pA, MemoryAccessFootprint pB) {
+    assertThat(pA.conflictsWith(pB)).isTrue();
+    assertThat(pB.conflictsWith(pA)).isTrue();
+  }
+
+  private static void assertNoConflict(MemoryAccessFootprint pA, MemoryAccessFootprint pB) {
+    assertThat(pA.conflictsWith(pB)).isFalse();
+    assertThat(pB.conflictsWith(pA)).isFalse();
+  }
+
+  @Test
+  public void testReadsDoNotConflict() {
+    assertNoConflict(reads("x"), reads("x"));
+    assertNoConflict(reads("x", "y"), reads("y", "z"));
+  }
+
+  @Test
+  public void testWriteConflictsWithRead() {
+    assertConflict(writes("x"), reads("x"));
+    assertConflict(writes("x"), reads("y", "x"));
+  }
+
+  @Test
+  public void testWriteConflictsWithWrite() {
+    assertConflict(writes("x"), writes("x"));
+  }
+
+  @Test
+  public void testDifferentVariablesDoNotConflict() {
+    assertNoConflict(writes("x"), writes("y"));
+    assertNoConflict(writes("x"), reads("y"));
+  }
+
+  @Test
+  public void testUnknownMemoryConflictsWithEveryAccess() {
+    assertConflict(unknown(), reads("x"));
+    assertConflict(unknown(), writes("x"));
+    assertConflict(unknown(), unknown());
+  }
+
+  @Test
+  public void testEmptyFootprintDoesNotConflict() {
+    assertThat(MemoryAccessFootprint.builder().build()).isSameAs(MemoryAccessFootprint.EMPTY);
+    assertNoConflict(MemoryAccessFootprint.EMPTY, MemoryAccessFootprint.EMPTY);
+    assertNoConflict(MemoryAccessFootprint.EMPTY, writes("x"));
+    assertNoConflict(MemoryAccessFootprint.EMPTY, unknown());
+  }
+
+  @Test
+  public void testAddAll() {
+    MemoryAccessFootprint combined =
+        MemoryAccessFootprint.builder().addAll(reads("x")).addAll(writes("y")).build();
+    assertConflict(combined, writes("x"));
+    assertConflict(combined, reads("y"));
+    assertNoConflict(combined, reads("x"));
+    assertThat(combined.accessesUnknownMemory()).isFalse();
+
+    MemoryAccessFootprint withUnknown =
+        MemoryAccessFootprint.builder().addAll(combined).addAll(unknown()).build();
+    assertThat(withUnknown.accessesUnknownMemory()).isTrue();
+    assertConflict(withUnknown, reads("z"));
+  }
+}
@@ -0,0 +1,624 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.threading;
+
+import static org.sosy_lab.cpachecker.util.statistics.StatisticsUtils.toPercent;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Ordering;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.ast.AExpression;
+import org.sosy_lab.cpachecker.cfa.ast.AFunctionCall;
+import org.sosy_lab.cpachecker.cfa.ast.AIdExpression;
+import org.sosy_lab.cpachecker.cfa.ast.AStatement;
+import org.sosy_lab.cpachecker.cfa.ast.c.CArraySubscriptExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CBinaryExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CCastExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CComplexCastExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.c.CDesignatedInitializer;
+import org.sosy_lab.cpachecker.cfa.ast.c.CExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CExpressionAssignmentStatement;
+import org.sosy_lab.cpachecker.cfa.ast.c.CExpressionStatement;
+import org.sosy_lab.cpachecker.cfa.ast.c.CFieldReference;
+import org.sosy_lab.cpachecker.cfa.ast.c.CFunctionCall;
+import org.sosy_lab.cpachecker.cfa.ast.c.CFunctionCallAssignmentStatement;
+import org.sosy_lab.cpachecker.cfa.ast.c.CFunctionCallExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CFunctionCallStatement;
+import org.sosy_lab.cpachecker.cfa.ast.c.CIdExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CInitializer;
+import org.sosy_lab.cpachecker.cfa.ast.c.CInitializerExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CInitializerList;
+import org.sosy_lab.cpachecker.cfa.ast.c.CParameterDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.c.CPointerExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CRightHandSideVisitor;
+import org.sosy_lab.cpachecker.cfa.ast.c.CSimpleDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.c.CStatement;
+import org.sosy_lab.cpachecker.cfa.ast.c.CUnaryExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CUnaryExpression.UnaryOperator;
+import org.sosy_lab.cpachecker.cfa.ast.c.CVariableDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.c.DefaultCExpressionVisitor;
+import org.sosy_lab.cpachecker.cfa.model.AStatementEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.model.CFATerminationNode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionCallEdge;
+import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionReturnEdge;
+import org.sosy_lab.cpachecker.cfa.model.FunctionSummaryEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CAssumeEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CDeclarationEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CFunctionCallEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CFunctionEntryNode;
+import org.sosy_lab.cpachecker.cfa.model.c.CFunctionSummaryEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CReturnStatementEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CStatementEdge;
+import org.sosy_lab.cpachecker.cfa.types.c.CArrayType;
+import org.sosy_lab.cpachecker.cfa.types.c.CPointerType;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.cpa.callstack.CallstackState;
+import org.sosy_lab.cpachecker.exceptions.NoException;
+import org.sosy_lab.cpachecker.exceptions.UnrecognizedCodeException;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+
+/**
+ * Partial-order reduction for the {@link ThreadingTransferRelation}.
+ *
+ * <p>In each state, we search for a thread whose enabled edges are independent of all edges that
+ * the other threads can still execute, i.e., their {@link MemoryAccessFootprint}s do not
+ * conflict. The enabled edges of such a thread form a persistent set, thus it is sufficient to
+ * explore only this thread and to skip the successors of all other threads in this state.
+ *
+ * <p>To avoid that a thread is ignored forever (cycle proviso), only edges that lead forward in
+ * the reverse postorder of the CFA can be part of a persistent set. Edges for thread management,
+ * atomic sections, program termination and calls to unknown functions are never reduced.
+ */
+final class PartialOrderReduction implements Statistics {
+
+  private static final String NONDET_FUNCTION_PREFIX = "__VERIFIER_nondet_";
+
+  /** external functions that neither access the program's memory nor create threads. */
+  private static final ImmutableSet<String> FUNCTIONS_WITHOUT_MEMORY_ACCESS =
+      ImmutableSet.of("__VERIFIER_assume", "__VERIFIER_error", "__assert_fail", "abort", "exit");
+
+  private final CFA cfa;
+
+  /** qualified names of all variables whose address is taken, or NULL if unknown. */
+  private final @Nullable Set<String> addressedVariables;
+
+  /** cache elements, edges and their content never change. */
+  private final Map<CFAEdge, MemoryAccessFootprint> edgeFootprints = new HashMap<>();
+
+  /** cache for the footprint of all edges that are reachable from a node. */
+  private final Map<CFANode, MemoryAccessFootprint> reachableFootprints = new HashMap<>();
+
+  /** the transfer relation is called once per edge, so we remember the last decision. */
+  private @Nullable ThreadingState lastState = null;
+
+  private @Nullable String lastSelectedThread = null;
+
+  private final StatCounter examinedStates = new StatCounter("Number of examined states");
+  private final StatCounter reducedStates =
+      new StatCounter("Number of states with a persistent set");
+  private final StatCounter exploredTransitions =
+      new StatCounter("Number of explored thread transitions");
+  private final StatCounter prunedTransitions =
+      new StatCounter("Number of pruned thread transitions");
+
+  PartialOrderReduction(CFA pCfa) {
+    cfa = pCfa;
+    if (pCfa.getVarClassification().isPresent()) {
+      addressedVariables = pCfa.getVarClassification().get().getAddressedVariables();
+    } else {
+      // without information about addressed variables, every variable might be shared.
+      addressedVariables = null;
+    }
+  }
+
+  /**
+   * Check whether the successors of the active thread need to be computed in the given state,
+   * or whether they can be skipped, because another thread forms a persistent set.
+   */
+  boolean isExplored(ThreadingState pState, String pActiveThread)
+      throws UnrecognizedCodeException {
+    if (!pState.equals(lastState)) {
+      lastSelectedThread = selectThread(pState);
+      lastState = pState;
+      examinedStates.inc();
+      if (lastSelectedThread != null) {
+        reducedStates.inc();
+      }
+    }
+
+    if (lastSelectedThread == null || lastSelectedThread.equals(pActiveThread)) {
+      exploredTransitions.inc();
+      return true;
+    } else {
+      prunedTransitions.inc();
+      return false;
+    }
+  }
+
+  /**
+   * Return the first thread (in a deterministic order) whose enabled edges form a persistent set,
+   * or NULL if all threads need to be explored.
+   */
+  private @Nullable String selectThread(ThreadingState pState) throws UnrecognizedCodeException {
+    int runnableThreads = 0;
+    for (String id : pState.getThreadIds()) {
+      if (pState.getThreadLocation(id).getLocationNode().getNumLeavingEdges() > 0) {
+        runnableThreads++;
+      }
+    }
+    if (runnableThreads < 2) {
+      return null; // nothing to reduce
+    }
+
+    Map<String, MemoryAccessFootprint> futureFootprints = new HashMap<>();
+    for (String candidate : Ordering.natural().sortedCopy(pState.getThreadIds())) {
+      MemoryAccessFootprint next = getFootprintOfEnabledEdges(pState, candidate);
+      if (next == null) {
+        continue;
+      }
+      boolean isIndependent = true;
+      for (String other : pState.getThreadIds()) {
+        if (!other.equals(candidate)) {
+          MemoryAccessFootprint future = futureFootprints.get(other);
+          if (future == null) {
+            future = getFutureFootprint(pState, other);
+            futureFootprints.put(other, future);
+          }
+          if (next.conflictsWith(future)) {
+            isIndependent = false;
+            break;
+          }
+        }
+      }
+      if (isIndependent) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Return the footprint of all enabled edges of the thread, or NULL if one of them must not be
+   * part of a persistent set.
+   */
+  private @Nullable MemoryAccessFootprint getFootprintOfEnabledEdges(
+      ThreadingState pState, String pThread) {
+    MemoryAccessFootprint.Builder builder = MemoryAccessFootprint.builder();
+    boolean hasEdges = false;
+    for (CFAEdge edge : pState.getThreadLocation(pThread).getOutgoingEdges()) {
+      if (!isReducible(edge)) {
+        return null;
+      }
+      builder.addAll(getFootprint(edge));
+      hasEdges = true;
+    }
+    return hasEdges ? builder.build() : null;
+  }
+
+  /** check whether the edge is allowed to be part of a persistent set. */
+  private boolean isReducible(CFAEdge pEdge) {
+    if (pEdge.getSuccessor() instanceof CFATerminationNode
+        || pEdge.getSuccessor() == cfa.getMainFunction().getExitNode()) {
+      // the whole program terminates after this edge
+      return false;
+    }
+
+    switch (pEdge.getEdgeType()) {
+      case FunctionCallEdge:
+        // cloning changes the function-name -> we use 'startsWith'.
+        return !pEdge
+            .getSuccessor()
+            .getFunctionName()
+            .startsWith(ThreadingTransferRelation.VERIFIER_ATOMIC);
+      case FunctionReturnEdge:
+        return !pEdge
+            .getPredecessor()
+            .getFunctionName()
+            .startsWith(ThreadingTransferRelation.VERIFIER_ATOMIC);
+      case StatementEdge:
+        AStatement statement = ((AStatementEdge) pEdge).getStatement();
+        if (statement instanceof AFunctionCall) {
+          // thread management, termination, or unknown behavior
+          String functionName = getFunctionName((AFunctionCall) statement);
+          if (functionName == null || !functionName.startsWith(NONDET_FUNCTION_PREFIX)) {
+            return false;
+          }
+        }
+        break;
+      default:
+        // check for loops below
+    }
+
+    // backwards edges in the reverse postorder close a loop
+    return pEdge.getSuccessor().getReversePostorderId()
+        < pEdge.getPredecessor().getReversePostorderId();
+  }
+
+  private static @Nullable String getFunctionName(AFunctionCall pCall) {
+    AExpression functionNameExp = pCall.getFunctionCallExpression().getFunctionNameExpression();
+    if (functionNameExp instanceof AIdExpression) {
+      return ((AIdExpression) functionNameExp).getName();
+    }
+    return null;
+  }
+
+  /**
+   * Return the footprint of all edges the thread might execute in the future, i.e., the edges
+   * reachable from its current location and from the return sites of its callstack.
+   */
+  private MemoryAccessFootprint getFutureFootprint(ThreadingState pState, String pThread)
+      throws UnrecognizedCodeException {
+    MemoryAccessFootprint.Builder builder = MemoryAccessFootprint.builder();
+    builder.addAll(getReachableFootprint(pState.getThreadLocation(pThread).getLocationNode()));
+
+    CallstackState callstack = (CallstackState) pState.getThreadCallstack(pThread);
+    while (callstack.getPreviousState() != null) {
+      FunctionSummaryEdge summaryEdge = callstack.getCallNode().getLeavingSummaryEdge();
+      if (summaryEdge != null) {
+        builder.addAll(getFootprint(summaryEdge));
+        builder.addAll(getReachableFootprint(summaryEdge.getSuccessor()));
+      } else {
+        FunctionEntryNode caller =
+            cfa.getFunctionHead(callstack.getPreviousState().getCurrentFunction());
+        if (caller == null) {
+          return builder.setAccessesUnknownMemory().build();
+        }
+        builder.addAll(getReachableFootprint(caller));
+      }
+      callstack = callstack.getPreviousState();
+    }
+    return builder.build();
+  }
+
+  /**
+   * Return the footprint of all edges that are reachable from the node, including called
+   * functions and threads created on the way, but excluding the return to the caller.
+   */
+  private MemoryAccessFootprint getReachableFootprint(CFANode pNode)
+      throws UnrecognizedCodeException {
+    MemoryAccessFootprint footprint = reachableFootprints.get(pNode);
+    if (footprint != null) {
+      return footprint;
+    }
+
+    MemoryAccessFootprint.Builder builder = MemoryAccessFootprint.builder();
+    Set<CFANode> reached = new HashSet<>();
+    Deque<CFANode> waitlist = new ArrayDeque<>();
+    reached.add(pNode);
+    waitlist.push(pNode);
+    while (!waitlist.isEmpty()) {
+      CFANode node = waitlist.pop();
+      for (CFAEdge edge : CFAUtils.leavingEdges(node)) {
+        if (edge instanceof FunctionReturnEdge) {
+          continue; // handled at the call site or by the callstack
+        }
+        builder.addAll(getFootprint(edge));
+        if (reached.add(edge.getSuccessor())) {
+          waitlist.push(edge.getSuccessor());
+        }
+        if (edge instanceof FunctionCallEdge) {
+          FunctionSummaryEdge summaryEdge = ((FunctionCallEdge) edge).getSummaryEdge();
+          builder.addAll(getFootprint(summaryEdge));
+          if (reached.add(summaryEdge.getSuccessor())) {
+            waitlist.push(summaryEdge.getSuccessor());
+          }
+        }
+        Optional<String> createdThread = ThreadingTransferRelation.getCreatedThreadFunction(edge);
+        if (createdThread.isPresent()) {
+          // for cloned functions, the original function has the same footprint
+          FunctionEntryNode entry = cfa.getFunctionHead(createdThread.get());
+          if (entry == null) {
+            builder.setAccessesUnknownMemory();
+          } else if (reached.add(entry)) {
+            waitlist.push(entry);
+          }
+        }
+      }
+    }
+
+    footprint = builder.build();
+    reachableFootprints.put(pNode, footprint);
+    return footprint;
+  }
+
+  private MemoryAccessFootprint getFootprint(CFAEdge pEdge) {
+    MemoryAccessFootprint footprint = edgeFootprints.get(pEdge);
+    if (footprint == null) {
+      FootprintCollector collector = new FootprintCollector();
+      collector.collect(pEdge);
+      footprint = collector.builder.build();
+      edgeFootprints.put(pEdge, footprint);
+    }
+    return footprint;
+  }
+
+  /**
+   * Global variables, variables whose address is taken, and arrays can be accessed by several
+   * threads. All other variables are local to their thread.
+   */
+  private boolean isShared(@Nullable CSimpleDeclaration pDecl) {
+    if (!(pDecl instanceof CVariableDeclaration || pDecl instanceof CParameterDeclaration)) {
+      return false;
+    }
+    if (pDecl instanceof CVariableDeclaration && ((CVariableDeclaration) pDecl).isGlobal()) {
+      return true;
+    }
+    if (pDecl.getType().getCanonicalType() instanceof CArrayType) {
+      return true;
+    }
+    return addressedVariables == null || addressedVariables.contains(pDecl.getQualifiedName());
+  }
+
+  private static boolean isPointer(CExpression pExp) {
+    return pExp.getExpressionType().getCanonicalType() instanceof CPointerType;
+  }
+
+  /** collects the footprint of a single edge. */
+  private class FootprintCollector extends DefaultCExpressionVisitor<Void, NoException>
+      implements CRightHandSideVisitor<Void, NoException> {
+
+    private final MemoryAccessFootprint.Builder builder = MemoryAccessFootprint.builder();
+
+    private void collect(CFAEdge pEdge) {
+      switch (pEdge.getEdgeType()) {
+        case BlankEdge:
+          break;
+        case AssumeEdge:
+          ((CAssumeEdge) pEdge).getExpression().accept(this);
+          break;
+        case StatementEdge:
+          collectStatement(((CStatementEdge) pEdge).getStatement());
+          break;
+        case DeclarationEdge:
+          collectDeclaration(((CDeclarationEdge) pEdge).getDeclaration());
+          break;
+        case ReturnStatementEdge:
+          // the return variable is local to the function
+          if (((CReturnStatementEdge) pEdge).getExpression().isPresent()) {
+            ((CReturnStatementEdge) pEdge).getExpression().get().accept(this);
+          }
+          break;
+        case FunctionCallEdge:
+          for (CExpression argument : ((CFunctionCallEdge) pEdge).getArguments()) {
+            argument.accept(this);
+          }
+          for (CParameterDeclaration param :
+              ((CFunctionEntryNode) pEdge.getSuccessor()).getFunctionParameters()) {
+            if (isShared(param)) {
+              builder.addWrite(param.getQualifiedName());
+            }
+          }
+          break;
+        case FunctionReturnEdge:
+          collectReturnedValue(((FunctionReturnEdge) pEdge).getSummaryEdge());
+          break;
+        case CallToReturnEdge:
+          collectReturnedValue((FunctionSummaryEdge) pEdge);
+          break;
+        default:
+          builder.setAccessesUnknownMemory();
+      }
+    }
+
+    private void collectReturnedValue(FunctionSummaryEdge pSummaryEdge) {
+      CFunctionCall call = ((CFunctionSummaryEdge) pSummaryEdge).getExpression();
+      if (call instanceof CFunctionCallAssignmentStatement) {
+        collectWrite(((CFunctionCallAssignmentStatement) call).getLeftHandSide());
+      }
+    }
+
+    private void collectStatement(CStatement pStatement) {
+      if (pStatement instanceof CExpressionAssignmentStatement) {
+        CExpressionAssignmentStatement assignment = (CExpressionAssignmentStatement) pStatement;
+        collectWrite(assignment.getLeftHandSide());
+        assignment.getRightHandSide().accept(this);
+      } else if (pStatement instanceof CFunctionCallAssignmentStatement) {
+        CFunctionCallAssignmentStatement assignment =
+            (CFunctionCallAssignmentStatement) pStatement;
+        collectWrite(assignment.getLeftHandSide());
+        assignment.getRightHandSide().accept(this);
+      } else if (pStatement instanceof CFunctionCallStatement) {
+        ((CFunctionCallStatement) pStatement).getFunctionCallExpression().accept(this);
+      } else if (pStatement instanceof CExpressionStatement) {
+        ((CExpressionStatement) pStatement).getExpression().accept(this);
+      } else {
+        builder.setAccessesUnknownMemory();
+      }
+    }
+
+    private void collectDeclaration(CDeclaration pDecl) {
+      if (pDecl instanceof CVariableDeclaration) {
+        CVariableDeclaration decl = (CVariableDeclaration) pDecl;
+        if (isShared(decl)) {
+          builder.addWrite(decl.getQualifiedName());
+        }
+        collectInitializer(decl.getInitializer());
+      }
+    }
+
+    private void collectInitializer(@Nullable CInitializer pInitializer) {
+      if (pInitializer instanceof CInitializerExpression) {
+        ((CInitializerExpression) pInitializer).getExpression().accept(this);
+      } else if (pInitializer instanceof CInitializerList) {
+        for (CInitializer initializer : ((CInitializerList) pInitializer).getInitializers()) {
+          collectInitializer(initializer);
+        }
+      } else if (pInitializer instanceof CDesignatedInitializer) {
+        collectInitializer(((CDesignatedInitializer) pInitializer).getRightHandSide());
+      }
+    }
+
+    /** collect the memory written by an assignment to the given left-hand side. */
+    private void collectWrite(CExpression pLhs) {
+      if (pLhs instanceof CIdExpression) {
+        CSimpleDeclaration decl = ((CIdExpression) pLhs).getDeclaration();
+        if (isShared(decl)) {
+          builder.addWrite(decl.getQualifiedName());
+        }
+      } else if (pLhs instanceof CFieldReference
+          && !((CFieldReference) pLhs).isPointerDereference()) {
+        collectWrite(((CFieldReference) pLhs).getFieldOwner());
+      } else if (pLhs instanceof CArraySubscriptExpression
+          && !isPointer(((CArraySubscriptExpression) pLhs).getArrayExpression())) {
+        collectWrite(((CArraySubscriptExpression) pLhs).getArrayExpression());
+        ((CArraySubscriptExpression) pLhs).getSubscriptExpression().accept(this);
+      } else {
+        builder.setAccessesUnknownMemory();
+        pLhs.accept(this);
+      }
+    }
+
+    @Override
+    public Void visit(CIdExpression pE) {
+      CSimpleDeclaration decl = pE.getDeclaration();
+      if (isShared(decl)) {
+        builder.addRead(decl.getQualifiedName());
+      }
+      return null;
+    }
+
+    @Override
+    public Void visit(CArraySubscriptExpression pE) {
+      if (isPointer(pE.getArrayExpression())) {
+        builder.setAccessesUnknownMemory();
+      }
+      pE.getArrayExpression().accept(this);
+      pE.getSubscriptExpression().accept(this);
+      return null;
+    }
+
+    @Override
+    public Void visit(CBinaryExpression pE) {
+      pE.getOperand1().accept(this);
+      pE.getOperand2().accept(this);
+      return null;
+    }
+
+    @Override
+    public Void visit(CCastExpression pE) {
+      return pE.getOperand().accept(this);
+    }
+
+    @Override
+    public Void visit(CComplexCastExpression pE) {
+      return pE.getOperand().accept(this);
+    }
+
+    @Override
+    public Void visit(CFieldReference pE) {
+      if (pE.isPointerDereference()) {
+        builder.setAccessesUnknownMemory();
+      }
+      return pE.getFieldOwner().accept(this);
+    }
+
+    @Override
+    public Void visit(CUnaryExpression pE) {
+      return pE.getOperand().accept(this);
+    }
+
+    @Override
+    public Void visit(CPointerExpression pE) {
+      builder.setAccessesUnknownMemory();
+      return pE.getOperand().accept(this);
+    }
+
+    @Override
+    public Void visit(CFunctionCallExpression pE) {
+      // calls to defined functions are FunctionCallEdges, here we only see external functions.
+      CExpression functionNameExp = pE.getFunctionNameExpression();
+      String functionName =
+          functionNameExp instanceof CIdExpression
+              ? ((CIdExpression) functionNameExp).getName()
+              : null;
+      if (functionName != null
+          && ThreadingTransferRelation.THREAD_FUNCTIONS.contains(functionName)) {
+        // thread management is handled by the ThreadingState,
+        // only the thread-id of a created thread is written.
+        for (CExpression param : pE.getParameterExpressions()) {
+          if (param instanceof CUnaryExpression
+              && ((CUnaryExpression) param).getOperator() == UnaryOperator.AMPER) {
+            collectWrite(((CUnaryExpression) param).getOperand());
+          } else {
+            param.accept(this);
+          }
+        }
+        return null;
+      }
+
+      if (functionName == null
+          || !(functionName.startsWith(NONDET_FUNCTION_PREFIX)
+              || FUNCTIONS_WITHOUT_MEMORY_ACCESS.contains(functionName))) {
+        builder.setAccessesUnknownMemory();
+      }
+      for (CExpression param : pE.getParameterExpressions()) {
+        param.accept(this);
+      }
+      return null;
+    }
+
+    @Override
+    protected Void visitDefault(CExpression pExp) {
+      // all further expressions only access local data, e.g. IntegerLiteralExpression.
+      return null;
+    }
+  }
+
+  @Override
+  public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+    put(pOut, 0, examinedStates);
+    put(pOut, 0, reducedStates);
+    put(pOut, 0, exploredTransitions);
+    put(pOut, 0, prunedTransitions);
+    long transitions = exploredTransitions.getValue() + prunedTransitions.getValue();
+    if (transitions > 0) {
+      put(
+          pOut,
+          0,
+          "Reduction ratio of thread transitions",
+          toPercent(prunedTransitions.getValue(), transitions));
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "Partial-Order Reduction";
+  }
+}
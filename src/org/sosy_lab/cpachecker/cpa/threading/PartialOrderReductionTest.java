@@ -0,0 +1,157 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.threading;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.io.TempFile;
+import org.sosy_lab.common.io.TempFile.DeleteOnCloseFile;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.test.CPATestRunner;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+import org.sosy_lab.cpachecker.util.test.TestResults;
+
+/**
+ * Check that {@link PartialOrderReduction} does not change the verdict of the analysis, but
+ * actually prunes some thread transitions and thus explores fewer states.
+ */
+public class PartialOrderReductionTest {
+
+  private static final Pattern PRUNED_TRANSITIONS =
+      Pattern.compile("Number of pruned thread transitions:\\s*(\\d+)");
+
+  /**
+   * Both threads first execute some independent local steps, the reader then checks the value
+   * that the writer stores into a shared variable.
+   */
+  private static List<String> program(int pCheckedValue) {
+    return ImmutableList.of(
+        "typedef unsigned long int pthread_t;",
+        "extern int pthread_create(pthread_t *thread, void *attr,",
+        "                          void *(*func)(void *), void *arg);",
+        "extern int pthread_join(pthread_t thread, void **result);",
+        "extern void __VERIFIER_error(void);",
+        "",
+        "int shared = 0;",
+        "",
+        "void *writer(void *arg) {",
+        "  int a = 1;",
+        "  int b = a + 1;",
+        "  shared = b;",
+        "  return 0;",
+        "}",
+        "",
+        "void *reader(void *arg) {",
+        "  int c = 3;",
+        "  int d = c + 1;",
+        "  if (shared == " + pCheckedValue + ") {",
+        "    __VERIFIER_error();",
+        "  }",
+        "  return 0;",
+        "}",
+        "",
+        "int main() {",
+        "  pthread_t t1, t2;",
+        "  pthread_create(&t1, 0, &writer, 0);",
+        "  pthread_create(&t2, 0, &reader, 0);",
+        "  pthread_join(t1, 0);",
+        "  pthread_join(t2, 0);",
+        "  return 0;",
+        "}");
+  }
+
+  private static TestResults run(List<String> pProgram, boolean pUsePartialOrderReduction)
+      throws Exception {
+    try (DeleteOnCloseFile programFile =
+        TempFile.builder().prefix("test").suffix(".c").createDeleteOnClose()) {
+      Files.write(programFile.toPath(), pProgram);
+
+      Configuration config =
+          TestDataTools.configurationForTest()
+              .loadFromFile("config/valueAnalysis-concurrency.properties")
+              .setOption("specification", "config/specification/default.spc")
+              // explore the whole state space, such that the reached sets are comparable
+              .setOption("analysis.stopAfterError", "false")
+              .setOption(
+                  "cpa.threading.usePartialOrderReduction",
+                  Boolean.toString(pUsePartialOrderReduction))
+              .setOption(
+                  "cpa.threading.useLocalAccessLocks", Boolean.toString(!pUsePartialOrderReduction))
+              .build();
+      return CPATestRunner.run(config, programFile.toPath().toString());
+    }
+  }
+
+  private static long getPrunedTransitions(TestResults pResults) {
+    ByteArrayOutputStream statistics = new ByteArrayOutputStream();
+    try (PrintStream out = new PrintStream(statistics, true, "UTF-8")) {
+      pResults.getCheckerResult().printStatistics(out);
+    } catch (UnsupportedEncodingException e) {
+      throw new AssertionError(e);
+    }
+    Matcher matcher =
+        PRUNED_TRANSITIONS.matcher(new String(statistics.toByteArray(), StandardCharsets.UTF_8));
+    assertThat(matcher.find()).isTrue();
+    return Long.parseLong(matcher.group(1));
+  }
+
+  private static int countThreadingStates(TestResults pResults) {
+    return AbstractStates.projectToType(
+            pResults.getCheckerResult().getReached(), ThreadingState.class)
+        .size();
+  }
+
+  private static void checkVerdict(List<String> pProgram, Result pExpected) throws Exception {
+    TestResults withoutReduction = run(pProgram, false);
+    withoutReduction.assertIs(pExpected);
+
+    TestResults withReduction = run(pProgram, true);
+    withReduction.assertIs(pExpected);
+    assertThat(getPrunedTransitions(withReduction)).isGreaterThan(0L);
+    assertThat(countThreadingStates(withReduction))
+        .isLessThan(countThreadingStates(withoutReduction));
+  }
+
+  @Test
+  public void testSafeProgram() throws Exception {
+    checkVerdict(program(3), Result.TRUE);
+  }
+
+  @Test
+  public void testUnsafeProgram() throws Exception {
+    checkVerdict(program(2), Result.FALSE);
+  }
+}
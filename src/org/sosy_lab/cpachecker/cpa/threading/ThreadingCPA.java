@@ -24,6 +24,7 @@
 package org.sosy_lab.cpachecker.cpa.threading;
 
 import com.google.common.base.Preconditions;
+import java.util.Collection;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.log.LogManager;
@@ -34,8 +35,10 @@ import org.sosy_lab.cpachecker.core.defaults.AutomaticCPAFactory;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.CPAFactory;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
 
-public class ThreadingCPA extends AbstractCPA {
+public class ThreadingCPA extends AbstractCPA implements StatisticsProvider {
 
   public static CPAFactory factory() {
     return AutomaticCPAFactory.forType(ThreadingCPA.class);
@@ -54,4 +57,9 @@ public class ThreadingCPA extends AbstractCPA {
     return ((ThreadingTransferRelation) getTransferRelation())
         .addNewThread(new ThreadingState(), mainThread, ThreadingState.MIN_THREAD_NUM, mainThread);
   }
+
+  @Override
+  public void collectStatistics(Collection<Statistics> pStatsCollection) {
+    ((ThreadingTransferRelation) getTransferRelation()).collectStatistics(pStatsCollection);
+  }
 }
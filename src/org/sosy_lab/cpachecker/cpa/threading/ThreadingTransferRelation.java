@@ -65,6 +65,7 @@ import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
 import org.sosy_lab.cpachecker.cpa.automaton.AutomatonState;
 import org.sosy_lab.cpachecker.cpa.automaton.AutomatonVariable;
 import org.sosy_lab.cpachecker.cpa.callstack.CallstackCPA;
@@ -110,19 +111,28 @@ public final class ThreadingTransferRelation extends SingleEdgeTransferRelation
   )
   private boolean useAllPossibleClones = false;
 
+  @Option(
+    description =
+        "use partial-order reduction: explore only one thread in a state, if its next edges "
+            + "are independent of all edges the other threads can still execute. "
+            + "This subsumes local access locks, which need to be disabled.",
+    secure = true
+  )
+  private boolean usePartialOrderReduction = false;
+
   public static final String THREAD_START = "pthread_create";
   public static final String THREAD_JOIN = "pthread_join";
   private static final String THREAD_EXIT = "pthread_exit";
   private static final String THREAD_MUTEX_LOCK = "pthread_mutex_lock";
   private static final String THREAD_MUTEX_UNLOCK = "pthread_mutex_unlock";
-  private static final String VERIFIER_ATOMIC = "__VERIFIER_atomic_";
+  static final String VERIFIER_ATOMIC = "__VERIFIER_atomic_";
   private static final String VERIFIER_ATOMIC_BEGIN = "__VERIFIER_atomic_begin";
   private static final String VERIFIER_ATOMIC_END = "__VERIFIER_atomic_end";
   private static final String ATOMIC_LOCK = "__CPAchecker_atomic_lock__";
   private static final String LOCAL_ACCESS_LOCK = "__CPAchecker_local_access_lock__";
   private static final String THREAD_ID_SEPARATOR = "__CPAchecker__";
 
-  private static final ImmutableSet<String> THREAD_FUNCTIONS = ImmutableSet.of(
+  static final ImmutableSet<String> THREAD_FUNCTIONS = ImmutableSet.of(
       THREAD_START, THREAD_MUTEX_LOCK, THREAD_MUTEX_UNLOCK, THREAD_JOIN, THREAD_EXIT,
       VERIFIER_ATOMIC_BEGIN, VERIFIER_ATOMIC_END);
 
@@ -132,6 +142,7 @@ public final class ThreadingTransferRelation extends SingleEdgeTransferRelation
   private final ConfigurableProgramAnalysis locationCPA;
 
   private final GlobalAccessChecker globalAccessChecker = new GlobalAccessChecker();
+  private final @Nullable PartialOrderReduction partialOrderReduction;
 
   public ThreadingTransferRelation(Configuration pConfig, CFA pCfa, LogManager pLogger)
       throws InvalidConfigurationException {
@@ -140,6 +151,23 @@ public final class ThreadingTransferRelation extends SingleEdgeTransferRelation
     locationCPA = LocationCPA.create(pCfa, pConfig);
     callstackCPA = new CallstackCPA(pConfig, pLogger);
     logger = new LogManagerWithoutDuplicates(pLogger);
+
+    if (usePartialOrderReduction) {
+      if (useLocalAccessLocks) {
+        throw new InvalidConfigurationException(
+            "Partial-order reduction cannot be combined with local access locks, "
+                + "please set cpa.threading.useLocalAccessLocks=false.");
+      }
+      partialOrderReduction = new PartialOrderReduction(pCfa);
+    } else {
+      partialOrderReduction = null;
+    }
+  }
+
+  void collectStatistics(Collection<Statistics> pStatsCollection) {
+    if (partialOrderReduction != null) {
+      pStatsCollection.add(partialOrderReduction);
+    }
   }
 
   @Override
@@ -163,6 +191,13 @@ public final class ThreadingTransferRelation extends SingleEdgeTransferRelation
       return Collections.emptySet();
     }
 
+    // check if another thread forms a persistent set and the active thread can be skipped
+    if (partialOrderReduction != null
+        && !threadingState.hasLock(ATOMIC_LOCK)
+        && !partialOrderReduction.isExplored(threadingState, activeThread)) {
+      return Collections.emptySet();
+    }
+
     // check if a local-access-lock allows to avoid exploration of some threads
     if (useLocalAccessLocks) {
       threadingState = handleLocalAccessLock(cfaEdge, threadingState, activeThread);
@@ -51,6 +51,7 @@ import org.sosy_lab.cpachecker.cfa.types.c.CSimpleType;
 import org.sosy_lab.cpachecker.cfa.types.c.CType;
 import org.sosy_lab.cpachecker.core.defaults.LatticeAbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractQueryableState;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithCoverageFingerprint;
 import org.sosy_lab.cpachecker.core.interfaces.FormulaReportingState;
 import org.sosy_lab.cpachecker.core.interfaces.Graphable;
 import org.sosy_lab.cpachecker.core.interfaces.PseudoPartitionable;
@@ -77,7 +78,8 @@ import org.sosy_lab.java_smt.api.FormulaType.FloatingPointType;
 public class ValueAnalysisState
     implements AbstractQueryableState, FormulaReportingState,
         ForgetfulState<ValueAnalysisInformation>, Serializable, Graphable,
-        LatticeAbstractState<ValueAnalysisState>, PseudoPartitionable {
+        LatticeAbstractState<ValueAnalysisState>, PseudoPartitionable,
+        AbstractStateWithCoverageFingerprint {
 
   private static final long serialVersionUID = -3152134511524554358L;
 
@@ -403,6 +405,21 @@ public class ValueAnalysisState
     return true;
   }
 
+  /**
+   * The fingerprint is a bloom filter of the tracked memory locations, because a state can only be
+   * covered by states that track a subset of its memory locations (cf. {@link
+   * #isLessOrEqual(ValueAnalysisState)}).
+   */
+  @Override
+  public long getCoverageFingerprint() {
+    long fingerprint = 0;
+    for (MemoryLocation memoryLocation : constantsMap.keySet()) {
+      fingerprint |=
+          AbstractStateWithCoverageFingerprint.singleBitFingerprint(memoryLocation.hashCode());
+    }
+    return fingerprint;
+  }
+
   @Override
   public boolean equals(Object other) {
     if (this == other) {
@@ -0,0 +1,92 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.value;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sosy_lab.cpachecker.cfa.types.MachineModel;
+import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
+import org.sosy_lab.cpachecker.cpa.value.type.NumericValue;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+
+/**
+ * Micro-benchmark for the merge and stop operations of {@link ValueAnalysisState}, which are
+ * based on its persistent map of constants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueAnalysisStateBenchmark {
+
+  /** Number of tracked variables. */
+  @Param({"10", "100", "10000"})
+  int size;
+
+  /** Number of variables that have a different value in the second state. */
+  @Param({"0", "1", "10"})
+  int modified;
+
+  private ValueAnalysisState state;
+  private ValueAnalysisState otherState;
+
+  @Setup
+  public void setUp() {
+    state = new ValueAnalysisState(MachineModel.LINUX64);
+    for (int i = 0; i < size; i++) {
+      state.assignConstant(variable(i), new NumericValue(i), CNumericTypes.INT);
+    }
+
+    otherState = ValueAnalysisState.copyOf(state);
+    for (int i = 0; i < modified; i++) {
+      otherState.assignConstant(variable(i % size), new NumericValue(-i - 1), CNumericTypes.INT);
+    }
+  }
+
+  private static MemoryLocation variable(int i) {
+    return MemoryLocation.valueOf("main", "x" + i);
+  }
+
+  @Benchmark
+  public ValueAnalysisState join() {
+    return otherState.join(state);
+  }
+
+  @Benchmark
+  public boolean isLessOrEqual() {
+    return otherState.isLessOrEqual(state);
+  }
+}
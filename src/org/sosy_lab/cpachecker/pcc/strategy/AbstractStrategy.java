@@ -23,7 +23,11 @@
  */
 package org.sosy_lab.cpachecker.pcc.strategy;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.NotSerializableException;
@@ -38,6 +42,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.logging.Level;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 import org.sosy_lab.common.configuration.Configuration;
@@ -56,6 +61,7 @@ import org.sosy_lab.cpachecker.exceptions.ValidationConfigurationConstructionFai
 import org.sosy_lab.cpachecker.pcc.util.ProofStatesInfoCollector;
 import org.sosy_lab.cpachecker.pcc.util.ValidationConfigurationBuilder;
 import org.sosy_lab.cpachecker.util.Triple;
+import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer;
 
 @Options(prefix="pcc")
 public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvider {
@@ -63,6 +69,16 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
   public static final String CONFIG_ZIPENTRY_NAME = "Config";
   public static final String PROOF_ZIPENTRY_NAME = "Proof";
   public static final String ADDITIONAL_PROOFINFO_ZIPENTRY_NAME = "Additional";
+  public static final String FORMAT_ZIPENTRY_NAME = "Format";
+
+  /**
+   * Version of the layout of the proof file. Proofs without {@link #FORMAT_ZIPENTRY_NAME} entry
+   * were written before versioning was introduced and have version 1. Version 2 stores the
+   * partitions of partitioned proofs in separate entries that can be decoded independently.
+   */
+  public static final int PROOF_FORMAT_VERSION = 2;
+
+  private static final int UNVERSIONED_PROOF_FORMAT = 1;
 
   private final Configuration config;
   protected LogManager logger;
@@ -145,6 +161,14 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
           o.flush();
           zos.closeEntry();
         }
+
+        // written last such that readers of the old format still find the proof as first entry
+        ze = new ZipEntry(FORMAT_ZIPENTRY_NAME);
+        zos.putNextEntry(ze);
+        DataOutputStream formatOut = new DataOutputStream(zos);
+        formatOut.writeInt(PROOF_FORMAT_VERSION);
+        formatOut.flush();
+        zos.closeEntry();
       } catch (NotSerializableException eS) {
         logger.log(Level.SEVERE, "Proof cannot be written. Class " + eS.getMessage()
             + " does not implement Serializable interface");
@@ -168,11 +192,42 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
 
   @Override
   public void readProof() throws IOException, ClassNotFoundException, InvalidConfigurationException {
-    Triple<InputStream, ZipInputStream, ObjectInputStream> proofStream = openProofStream();
-    readProofFromStream(proofStream.getThird());
-    proofStream.getThird().close();
-    proofStream.getSecond().close();
-    proofStream.getFirst().close();
+    stats.readTimer.start();
+    try {
+      Triple<InputStream, ZipInputStream, ObjectInputStream> proofStream = openProofStream();
+      readProofFromStream(proofStream.getThird());
+      proofStream.getThird().close();
+      proofStream.getSecond().close();
+      proofStream.getFirst().close();
+    } finally {
+      stats.readTimer.stop();
+    }
+  }
+
+  /**
+   * Determine the version of the layout of the proof file that should be read.
+   *
+   * @throws IOException if the proof file cannot be read or has a version that is not supported
+   */
+  protected int readProofFormatVersion() throws IOException {
+    try (ZipFile zipFile = new ZipFile(proofFile.toFile())) {
+      ZipEntry entry = zipFile.getEntry(FORMAT_ZIPENTRY_NAME);
+      if (entry == null) {
+        return UNVERSIONED_PROOF_FORMAT;
+      }
+      try (DataInputStream in = new DataInputStream(zipFile.getInputStream(entry))) {
+        int version = in.readInt();
+        if (version > PROOF_FORMAT_VERSION) {
+          throw new IOException(
+              "Proof was written in format version "
+                  + version
+                  + ", but only versions up to "
+                  + PROOF_FORMAT_VERSION
+                  + " are supported.");
+        }
+        return version;
+      }
+    }
   }
 
   /**
@@ -198,18 +253,45 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
     return Triple.of(fis, zis, new ObjectInputStream(zis));
   }
 
-  public Triple<InputStream, ZipInputStream, ObjectInputStream> openAdditionalProofStream(final int index)
-      throws IOException {
-    if (index < 0) { throw new IllegalArgumentException("Not a valid index. Indices must be at least zero."); }
-    InputStream fis = Files.newInputStream(proofFile);
-    ZipInputStream zis = new ZipInputStream(fis);
-    ZipEntry entry = null;
-    for (int i = 0; i <= 1 + index; i++) {
-      entry = zis.getNextEntry();
+  /**
+   * Open the additional proof information with the given index for reading. The entry is accessed
+   * directly, i.e., neither the proof nor the preceding additional entries need to be decompressed,
+   * and several entries can be read concurrently from different threads. Closing the returned
+   * stream releases all resources.
+   */
+  public ObjectInputStream openAdditionalProofStream(final int index) throws IOException {
+    checkArgument(index >= 0, "Not a valid index. Indices must be at least zero.");
+    ZipFile zipFile = new ZipFile(proofFile.toFile());
+    try {
+      ZipEntry entry = zipFile.getEntry(ADDITIONAL_PROOFINFO_ZIPENTRY_NAME + index);
+      if (entry == null) {
+        throw new IOException("Proof does not contain additional information " + index);
+      }
+      return new ZipEntryObjectInputStream(zipFile, entry);
+    } catch (IOException e) {
+      zipFile.close();
+      throw e;
     }
+  }
 
-    assert entry.getName().equals("ADDITIONAL_PROOFINFO_ZIPENTRY_NAME " + index);
-    return Triple.of(fis, zis, new ObjectInputStream(zis));
+  /** An {@link ObjectInputStream} for a single entry that closes its {@link ZipFile} on close. */
+  private static class ZipEntryObjectInputStream extends ObjectInputStream {
+
+    private final ZipFile zipFile;
+
+    private ZipEntryObjectInputStream(ZipFile pZipFile, ZipEntry pEntry) throws IOException {
+      super(pZipFile.getInputStream(pEntry));
+      zipFile = pZipFile;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        zipFile.close();
+      }
+    }
   }
 
   protected abstract void readProofFromStream(ObjectInputStream in) throws ClassNotFoundException, InvalidConfigurationException, IOException;
@@ -236,6 +318,10 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
     protected Timer transferTimer = new Timer();
     protected Timer stopTimer = new Timer();
     protected Timer preparationTimer = new Timer();
+    protected Timer readTimer = new Timer();
+    // partitions may be decoded by several threads while the proof is already being checked
+    protected final ThreadSafeTimerContainer partitionDecodeTimer =
+        new ThreadSafeTimerContainer("Time for decoding partitions");
     protected Timer propertyCheckingTimer = new Timer();
 
     protected int countIterations = 0;
@@ -259,6 +345,14 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
       return preparationTimer;
     }
 
+    public Timer getReadTimer() {
+      return readTimer;
+    }
+
+    public ThreadSafeTimerContainer getPartitionDecodeTimer() {
+      return partitionDecodeTimer;
+    }
+
     public Timer getStopTimer() {
       return stopTimer;
     }
@@ -281,6 +375,12 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
       out.println();
       out.println("Number of proof elements:                     " + proofSize);
       out.println();
+      out.println("  Time for reading proof:                         " + readTimer);
+      if (partitionDecodeTimer.getNumberOfIntervals() > 0) {
+        out.println(
+            "  Time for decoding partitions in parallel:       "
+                + partitionDecodeTimer.prettyFormat());
+      }
       out.println("  Time for preparing proof for checking:          " + preparationTimer);
       out.println("  Time for abstract successor checks:     " + transferTimer + " (Calls: "
           + transferTimer.getNumberOfIntervals() + ")");
@@ -33,7 +33,13 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownNotifier;
@@ -49,6 +55,8 @@ import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.cpa.PropertyChecker.PropertyCheckerCPA;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
+import org.sosy_lab.cpachecker.pcc.strategy.parallel.ParallelPartitionChecker;
+import org.sosy_lab.cpachecker.pcc.strategy.parallel.io.ParallelPartitionReader;
 import org.sosy_lab.cpachecker.pcc.strategy.partitioning.PartitionChecker;
 import org.sosy_lab.cpachecker.pcc.strategy.partitioning.PartitioningIOHelper;
 import org.sosy_lab.cpachecker.pcc.strategy.partitioning.PartitioningUtils;
@@ -60,6 +68,14 @@ public class PartitionedReachedSetStrategy extends AbstractStrategy {
   private final PropertyCheckerCPA cpa;
   private final ShutdownNotifier shutdownNotifier;
 
+  /**
+   * Whether the partitions still need to be read from the proof file. If the proof file contains
+   * independent partitions and several threads are available, partitions are decoded concurrently
+   * while they are checked instead of reading the complete proof before checking.
+   */
+  private boolean readPartitionsDuringCheck = false;
+  private int nextPartitionToWrite;
+
   public PartitionedReachedSetStrategy(
       final Configuration pConfig,
       final LogManager pLogger,
@@ -86,33 +102,15 @@ public class PartitionedReachedSetStrategy extends AbstractStrategy {
     AbstractState initialState = pReachedSet.popFromWaitlist();
     Precision initPrec = pReachedSet.getPrecision(initialState);
 
-    PartitioningCheckingHelper checkInfo = new PartitioningCheckingHelper() {
-
-      @Override
-      public int getCurrentCertificateSize() {
-        return 0;
-      }
-
-      @Override
-      public void abortCheckingPreparation() {
-        checkResult.set(false);
-      }
-    };
-    PartitionChecker checker =
-        new PartitionChecker(initPrec, cpa.getStopOperator(), cpa.getTransferRelation(), ioHelper, checkInfo,
-            shutdownNotifier, logger);
-
-    for (int i = 0; i < ioHelper.getNumPartitions() && checkResult.get(); i++) {
-      checker.checkPartition(i);
-      checker.addCertificatePartsToCertificate(certificate);
-      checker.clearPartitionElementsSavedForInspection();
+    if (readPartitionsDuringCheck) {
+      checkPartitionsWhileReading(
+          checkResult, partitionNodes, inOtherPartition, certificate, initPrec);
+    } else {
+      checkPartitions(checkResult, partitionNodes, inOtherPartition, certificate, initPrec);
     }
 
     if (!checkResult.get()) { return false; }
 
-    checker.addPartitionElements(partitionNodes);
-    checker.addElementsCheckedInOtherPartitions(inOtherPartition);
-
     logger
         .log(Level.INFO,
             "Add initial state to elements for which it will be checked if they are covered by partition nodes of certificate.");
@@ -142,6 +140,109 @@ public class PartitionedReachedSetStrategy extends AbstractStrategy {
     return true;
   }
 
+  private void checkPartitions(
+      final AtomicBoolean checkResult,
+      final Multimap<CFANode, AbstractState> partitionNodes,
+      final Collection<AbstractState> inOtherPartition,
+      final Collection<AbstractState> certificate,
+      final Precision initPrec) {
+
+    PartitioningCheckingHelper checkInfo = new PartitioningCheckingHelper() {
+
+      @Override
+      public int getCurrentCertificateSize() {
+        return 0;
+      }
+
+      @Override
+      public void abortCheckingPreparation() {
+        checkResult.set(false);
+      }
+    };
+    PartitionChecker checker =
+        new PartitionChecker(initPrec, cpa.getStopOperator(), cpa.getTransferRelation(), ioHelper, checkInfo,
+            shutdownNotifier, logger);
+
+    for (int i = 0; i < ioHelper.getNumPartitions() && checkResult.get(); i++) {
+      checker.checkPartition(i);
+      checker.addCertificatePartsToCertificate(certificate);
+      checker.clearPartitionElementsSavedForInspection();
+    }
+
+    if (checkResult.get()) {
+      checker.addPartitionElements(partitionNodes);
+      checker.addElementsCheckedInOtherPartitions(inOtherPartition);
+    }
+  }
+
+  /**
+   * Decode the partitions from the proof file on some threads and check each partition on other
+   * threads as soon as it has been decoded.
+   */
+  private void checkPartitionsWhileReading(
+      final AtomicBoolean checkResult,
+      final Multimap<CFANode, AbstractState> partitionNodes,
+      final Collection<AbstractState> inOtherPartition,
+      final Collection<AbstractState> certificate,
+      final Precision initPrec)
+      throws InterruptedException {
+    final int numPartitions = ioHelper.getNumPartitions();
+    final int numReaders = Math.max(1, numThreads / 2);
+    final int numCheckers = Math.max(1, numThreads - numReaders);
+    final Semaphore partitionsRead = new Semaphore(0);
+    final Semaphore partitionsChecked = new Semaphore(0);
+    final AtomicInteger nextPartitionToRead = new AtomicInteger(0);
+    final AtomicInteger nextPartitionToCheck = new AtomicInteger(0);
+    final AtomicInteger partitionsAcquiredForChecking = new AtomicInteger(0);
+    final Lock lock = new ReentrantLock();
+
+    logger.log(
+        Level.INFO,
+        "Read and check partitions with",
+        numReaders,
+        "reader and",
+        numCheckers,
+        "checker threads");
+    ExecutorService executor = Executors.newFixedThreadPool(numReaders + numCheckers);
+    try {
+      for (int i = 0; i < numReaders; i++) {
+        executor.execute(
+            new ParallelPartitionReader(
+                checkResult,
+                partitionsRead,
+                partitionsChecked,
+                nextPartitionToRead,
+                this,
+                ioHelper,
+                stats,
+                logger));
+      }
+      for (int i = 0; i < numCheckers; i++) {
+        executor.execute(
+            new ParallelPartitionChecker(
+                partitionsAcquiredForChecking,
+                nextPartitionToCheck,
+                checkResult,
+                partitionsRead,
+                partitionsChecked,
+                lock,
+                ioHelper,
+                partitionNodes,
+                certificate,
+                inOtherPartition,
+                initPrec,
+                cpa.getStopOperator(),
+                cpa.getTransferRelation(),
+                shutdownNotifier,
+                logger));
+      }
+
+      partitionsChecked.acquire(numPartitions);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Override
   public void constructInternalProofRepresentation(UnmodifiableReachedSet pReached)
       throws InvalidConfigurationException, InterruptedException {
@@ -152,13 +253,41 @@ public class PartitionedReachedSetStrategy extends AbstractStrategy {
   @Override
   protected void writeProofToStream(ObjectOutputStream pOut, UnmodifiableReachedSet pReached) throws IOException,
       InvalidConfigurationException, InterruptedException {
-    ioHelper.writeProof(pOut, pReached);
+    // Only the metadata is part of the proof stream,
+    // every partition is written to its own entry such that it can be decoded independently.
+    ioHelper.constructInternalProofRepresentation(pReached);
+    ioHelper.writeMetadata(pOut, pReached.size(), ioHelper.getNumPartitions());
+    nextPartitionToWrite = 0;
+  }
+
+  @Override
+  protected boolean writeAdditionalProofStream(final ObjectOutputStream pOut) throws IOException {
+    if (nextPartitionToWrite < ioHelper.getNumPartitions()) {
+      ioHelper.writePartition(pOut, ioHelper.getPartition(nextPartitionToWrite));
+      nextPartitionToWrite++;
+    }
+    return nextPartitionToWrite < ioHelper.getNumPartitions();
   }
 
   @Override
   protected void readProofFromStream(ObjectInputStream pIn) throws ClassNotFoundException,
       InvalidConfigurationException, IOException {
-   ioHelper.readProof(pIn, stats);
+    if (readProofFormatVersion() < 2) {
+      // all partitions are stored in the proof stream
+      ioHelper.readProof(pIn, stats);
+      return;
+    }
+
+    ioHelper.readMetadata(pIn, true);
+    if (numThreads > 1) {
+      readPartitionsDuringCheck = true;
+    } else {
+      for (int i = 0; i < ioHelper.getNumPartitions(); i++) {
+        try (ObjectInputStream partitionIn = openAdditionalProofStream(i)) {
+          ioHelper.readPartition(partitionIn, stats);
+        }
+      }
+    }
   }
 
   @Override
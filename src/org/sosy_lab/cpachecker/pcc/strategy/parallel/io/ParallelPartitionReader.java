@@ -24,7 +24,6 @@
 package org.sosy_lab.cpachecker.pcc.strategy.parallel.io;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -32,13 +31,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
-import java.util.zip.ZipInputStream;
 
-import org.sosy_lab.cpachecker.util.Triple;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.pcc.strategy.AbstractStrategy;
 import org.sosy_lab.cpachecker.pcc.strategy.AbstractStrategy.PCStrategyStatistics;
 import org.sosy_lab.cpachecker.pcc.strategy.partitioning.PartitioningIOHelper;
+import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer.TimerWrapper;
 
 
 public class ParallelPartitionReader implements Runnable {
@@ -90,12 +88,15 @@ public class ParallelPartitionReader implements Runnable {
 
   @Override
   public void run() {
-    Triple<InputStream, ZipInputStream, ObjectInputStream> streams = null;
     int nextId;
-    while ((nextId = nextPartition.getAndIncrement()) < ioHelper.getNumPartitions()) {
-      try {
-        streams = strategy.openAdditionalProofStream(nextId);
-        ioHelper.readPartition(streams.getThird(), stats, lock);
+    // partitions may be decoded after the reading of the proof has finished,
+    // so the time is recorded separately
+    TimerWrapper decodeTimer = stats.getPartitionDecodeTimer().getNewTimer();
+    while ((nextId = nextPartition.getAndIncrement()) < ioHelper.getNumPartitions()
+        && success.get()) {
+      decodeTimer.start();
+      try (ObjectInputStream stream = strategy.openAdditionalProofStream(nextId)) {
+        ioHelper.readPartition(stream, stats, lock);
         waitRead.release();
       } catch (IOException | ClassNotFoundException e) {
         logger.logUserException(Level.SEVERE, e, "Partition reading failed. Stop checking");
@@ -104,14 +105,7 @@ public class ParallelPartitionReader implements Runnable {
         logger.logException(Level.SEVERE, e2, "Unexpected failure during proof reading");
         prepareAbortion();
       } finally {
-        if (streams != null) {
-          try {
-            streams.getThird().close();
-            streams.getSecond().close();
-            streams.getFirst().close();
-          } catch (IOException e) {
-          }
-        }
+        decodeTimer.stopIfRunning();
       }
     }
   }
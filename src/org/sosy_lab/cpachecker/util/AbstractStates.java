@@ -40,6 +40,7 @@ import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.defaults.AbstractSingleWrapperState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithCoverageFingerprint;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithLocation;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithLocations;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractWrapperState;
@@ -255,6 +256,20 @@ public final class AbstractStates {
     return from(pStates).transformAndConcat(AbstractStates::asIterable);
   }
 
+  /**
+   * Compute the combined coverage fingerprint of all component states of the given state that
+   * implement {@link AbstractStateWithCoverageFingerprint}. The result is monotone with respect to
+   * coverage if the fingerprints of all components are.
+   */
+  public static long getCoverageFingerprint(final AbstractState pState) {
+    long fingerprint = 0;
+    for (AbstractStateWithCoverageFingerprint state :
+        asIterable(pState).filter(AbstractStateWithCoverageFingerprint.class)) {
+      fingerprint |= state.getCoverageFingerprint();
+    }
+    return fingerprint;
+  }
+
   /**
    * Returns a predicate representing states represented by
    * the given abstract state, according to reported
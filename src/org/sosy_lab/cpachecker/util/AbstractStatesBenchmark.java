@@ -0,0 +1,95 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.cpa.composite.CompositeState;
+
+/**
+ * Micro-benchmark for {@link AbstractStates#extractStateByType(AbstractState, Class)} on the
+ * typical nesting of an {@link ARGState} wrapping a {@link CompositeState}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AbstractStatesBenchmark {
+
+  /** Number of component states in the composite state. */
+  @Param({"3", "10"})
+  int components;
+
+  private AbstractState state;
+
+  private static final class FirstState implements AbstractState {}
+
+  private static final class OtherState implements AbstractState {}
+
+  private static final class LastState implements AbstractState {}
+
+  private static final class MissingState implements AbstractState {}
+
+  @Setup
+  public void setUp() {
+    List<AbstractState> componentStates = new ArrayList<>();
+    componentStates.add(new FirstState());
+    for (int i = 2; i < components; i++) {
+      componentStates.add(new OtherState());
+    }
+    componentStates.add(new LastState());
+    state = new ARGState(new CompositeState(componentStates), null);
+  }
+
+  @Benchmark
+  public FirstState extractFirstComponent() {
+    return AbstractStates.extractStateByType(state, FirstState.class);
+  }
+
+  @Benchmark
+  public LastState extractLastComponent() {
+    return AbstractStates.extractStateByType(state, LastState.class);
+  }
+
+  @Benchmark
+  public MissingState extractMissingComponent() {
+    return AbstractStates.extractStateByType(state, MissingState.class);
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import java.util.Arrays;
+
+/**
+ * Array of numbers for {@link JavaOctagonManager}. Each value is stored both as integer and as
+ * floating-point number, such that it can be read in either representation like with the native
+ * library.
+ */
+final class JavaNumArray extends NumArray {
+
+  private final long[] ints;
+  private final double[] floats;
+  private final boolean[] infinite;
+
+  JavaNumArray(int size) {
+    ints = new long[size];
+    floats = new double[size];
+    infinite = new boolean[size];
+  }
+
+  int size() {
+    return ints.length;
+  }
+
+  void setInt(int pos, long value) {
+    ints[pos] = value;
+    floats[pos] = value;
+    infinite[pos] = false;
+  }
+
+  void setFloat(int pos, double value) {
+    ints[pos] = (long) value;
+    floats[pos] = value;
+    infinite[pos] = Double.isInfinite(value);
+  }
+
+  void setInfinite(int pos) {
+    ints[pos] = Long.MAX_VALUE;
+    floats[pos] = Double.POSITIVE_INFINITY;
+    infinite[pos] = true;
+  }
+
+  /**
+   * Set the value at pos to the (possibly negated) value of the other array at otherPos. Infinite
+   * values stay infinite.
+   */
+  void setFrom(int pos, JavaNumArray other, int otherPos, boolean negate) {
+    ints[pos] = negate ? -other.ints[otherPos] : other.ints[otherPos];
+    floats[pos] = negate ? -other.floats[otherPos] : other.floats[otherPos];
+    infinite[pos] = other.infinite[otherPos];
+  }
+
+  void set(JavaNumArray other) {
+    System.arraycopy(other.ints, 0, ints, 0, Math.min(size(), other.size()));
+    System.arraycopy(other.floats, 0, floats, 0, Math.min(size(), other.size()));
+    System.arraycopy(other.infinite, 0, infinite, 0, Math.min(size(), other.size()));
+  }
+
+  long getInt(int pos) {
+    return ints[pos];
+  }
+
+  double getFloat(int pos) {
+    return floats[pos];
+  }
+
+  boolean isInfinite(int pos) {
+    return infinite[pos];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder str = new StringBuilder("[");
+    for (int i = 0; i < size(); i++) {
+      if (i > 0) {
+        str.append(", ");
+      }
+      str.append(infinite[i] ? "INFINITY" : Double.toString(floats[i]));
+    }
+    return str.append("]").toString();
+  }
+
+  @Override
+  public boolean equals(Object pObj) {
+    if (!(pObj instanceof JavaNumArray)) {
+      return false;
+    }
+    JavaNumArray other = (JavaNumArray) pObj;
+    return Arrays.equals(ints, other.ints)
+        && Arrays.equals(floats, other.floats)
+        && Arrays.equals(infinite, other.infinite);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(floats);
+  }
+}
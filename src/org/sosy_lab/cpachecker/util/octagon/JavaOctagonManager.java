@@ -0,0 +1,380 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import com.google.common.collect.BiMap;
+import java.util.logging.Level;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonInterval;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+
+/**
+ * {@link OctagonManager} that is implemented in Java instead of using the native octagon library.
+ * This avoids the JNI overhead for every operation and the native memory that is only released by
+ * the garbage collector with phantom references, and the closure is computed incrementally where
+ * possible.
+ *
+ * <p>Constraints that are not octagonal are over-approximated, and so are substitutions with such
+ * expressions.
+ */
+public abstract class JavaOctagonManager extends OctagonManager {
+
+  private final LogManager logger;
+
+  JavaOctagonManager(LogManager pLogger) {
+    logger = pLogger;
+  }
+
+  /** Create the matrix of the universe octagon with the given number of variables. */
+  abstract OctagonMatrix newUniverse(int n);
+
+  /** Create the matrix of the empty octagon with the given number of variables. */
+  abstract OctagonMatrix newBottom(int n);
+
+  private Octagon wrap(OctagonMatrix matrix) {
+    return new JavaOctagon(matrix, this);
+  }
+
+  private static OctagonMatrix matrix(Octagon oct) {
+    return ((JavaOctagon) oct).getMatrix();
+  }
+
+  private static JavaNumArray array(NumArray array) {
+    return (JavaNumArray) array;
+  }
+
+  /* num handling function*/
+
+  @Override
+  public NumArray init_num_t(int n) {
+    return new JavaNumArray(n);
+  }
+
+  @Override
+  public void num_set(NumArray n1, NumArray n2) {
+    array(n1).set(array(n2));
+  }
+
+  @Override
+  public void num_set_int(NumArray n, int pos, long i) {
+    array(n).setInt(pos, i);
+  }
+
+  @Override
+  public void num_set_float(NumArray n, int pos, double d) {
+    array(n).setFloat(pos, d);
+  }
+
+  @Override
+  public void num_set_inf(NumArray n, int pos) {
+    array(n).setInfinite(pos);
+  }
+
+  @Override
+  public long num_get_int(NumArray n, int pos) {
+    return array(n).getInt(pos);
+  }
+
+  @Override
+  public double num_get_float(NumArray n, int pos) {
+    return array(n).getFloat(pos);
+  }
+
+  @Override
+  public boolean num_infty(NumArray n, int pos) {
+    return array(n).isInfinite(pos);
+  }
+
+  @Override
+  public void num_clear_n(NumArray n, int size) {
+    // memory is managed by the garbage collector
+  }
+
+  /* Octagon handling functions */
+
+  @Override
+  public Octagon empty(int n) {
+    return wrap(newBottom(n));
+  }
+
+  @Override
+  public Octagon universe(int n) {
+    return wrap(newUniverse(n));
+  }
+
+  @Override
+  public Octagon copy(Octagon oct) {
+    // matrices are immutable
+    return oct;
+  }
+
+  @Override
+  public Octagon full_copy(Octagon oct) {
+    return oct;
+  }
+
+  @Override
+  public Octagon set_bounds(Octagon oct, int pos, NumArray lower, NumArray upper) {
+    return wrap(matrix(oct).setBounds(pos, array(lower), array(upper)));
+  }
+
+  /* Query Functions */
+
+  @Override
+  public int dimension(Octagon oct) {
+    return matrix(oct).dimension();
+  }
+
+  @Override
+  public int nbconstraints(Octagon oct) {
+    return matrix(oct).numberOfConstraints();
+  }
+
+  /* Test Functions */
+
+  @Override
+  public boolean isEmpty(Octagon oct) {
+    return matrix(oct).isEmpty();
+  }
+
+  @Override
+  public int isEmptyLazy(Octagon oct) {
+    return matrix(oct).isEmptyLazy();
+  }
+
+  @Override
+  public boolean isUniverse(Octagon oct) {
+    return matrix(oct).isUniverse();
+  }
+
+  @Override
+  public boolean isIncludedIn(Octagon oct1, Octagon oct2) {
+    return matrix(oct1).isIncludedIn(matrix(oct2));
+  }
+
+  @Override
+  public int isIncludedInLazy(Octagon oct1, Octagon oct2) {
+    return matrix(oct1).isIncludedInLazy(matrix(oct2));
+  }
+
+  @Override
+  public boolean isEqual(Octagon oct1, Octagon oct2) {
+    return matrix(oct1).isEqual(matrix(oct2));
+  }
+
+  @Override
+  public int isEqualLazy(Octagon oct1, Octagon oct2) {
+    return isEqual(oct1, oct2) ? 1 : 2;
+  }
+
+  @Override
+  public boolean isIn(Octagon oct1, NumArray array) {
+    return matrix(oct1).contains(array(array));
+  }
+
+  /* Operators */
+
+  @Override
+  public Octagon intersection(Octagon oct1, Octagon oct2) {
+    return wrap(matrix(oct1).intersection(matrix(oct2)));
+  }
+
+  @Override
+  public Octagon union(Octagon oct1, Octagon oct2) {
+    return wrap(matrix(oct1).union(matrix(oct2)));
+  }
+
+  @Override
+  public Octagon widening(Octagon oct1, Octagon oct2) {
+    return wrap(matrix(oct1).widening(matrix(oct2)));
+  }
+
+  @Override
+  public Octagon narrowing(Octagon oct1, Octagon oct2) {
+    return wrap(matrix(oct1).narrowing(matrix(oct2)));
+  }
+
+  /* Transfer Functions */
+
+  @Override
+  public Octagon forget(Octagon oct, int k) {
+    return wrap(matrix(oct).forget(k));
+  }
+
+  @Override
+  public Octagon assingVar(Octagon oct, int k, NumArray array) {
+    return wrap(matrix(oct).assign(k, array(array)));
+  }
+
+  @Override
+  public Octagon addBinConstraint(Octagon oct, int noOfConstraints, NumArray array) {
+    return wrap(matrix(oct).addBinaryConstraints(noOfConstraints, array(array)));
+  }
+
+  @Override
+  public Octagon substituteVar(Octagon oct, int x, NumArray array) {
+    return wrap(substitute(matrix(oct), x, array(array), array(array)));
+  }
+
+  @Override
+  public Octagon addConstraint(Octagon oct, NumArray array) {
+    return wrap(matrix(oct).addLinearConstraint(array(array)));
+  }
+
+  @Override
+  public Octagon intervAssingVar(Octagon oct, int k, NumArray array) {
+    return wrap(matrix(oct).assignInterval(k, array(array)));
+  }
+
+  @Override
+  public Octagon intervSubstituteVar(Octagon oct, int x, NumArray array) {
+    JavaNumArray expression = array(array);
+    int n = dimension(oct);
+    JavaNumArray lower = new JavaNumArray(n + 1);
+    JavaNumArray upper = new JavaNumArray(n + 1);
+    for (int i = 0; i < n; i++) {
+      // only exact coefficients can be used in the constraints below
+      if (isExact(expression, 2 * i)) {
+        lower.setFrom(i, expression, 2 * i, false);
+        upper.setFrom(i, expression, 2 * i, false);
+      } else {
+        lower.setInfinite(i);
+        upper.setInfinite(i);
+      }
+    }
+    lower.setFrom(n, expression, 2 * n + 1, true);
+    upper.setFrom(n, expression, 2 * n, false);
+    return wrap(substitute(matrix(oct), x, lower, upper));
+  }
+
+  /**
+   * Substitute the variable x by an expression (backward assignment), i.e., compute the states
+   * that are mapped into the given octagon by the assignment of the expression to x.
+   *
+   * <p>The expression has one coefficient per variable and the constant, which is between the
+   * constants of the lower and of the upper expression. The value of x after the assignment is
+   * represented by a fresh variable t, which gets the constraints of x before x is forgotten. Then
+   * lower <= t <= upper is added and t is projected away. This is exact for octagonal expressions,
+   * including the invertible x := x + c. Otherwise the constraints on t are over-approximated,
+   * which results in a forget of x in the worst case. Infinite values in the expressions also
+   * result in an over-approximation.
+   */
+  private OctagonMatrix substitute(
+      OctagonMatrix m, int x, JavaNumArray lower, JavaNumArray upper) {
+    int n = m.dimension();
+    int t = n;
+
+    JavaNumArray equality = new JavaNumArray(8);
+    // t - x <= 0 and x - t <= 0
+    setIntValues(equality, 0, 3, t, x, 0);
+    setIntValues(equality, 4, 3, x, t, 0);
+    OctagonMatrix result = m.addDimensions(1, false).addBinaryConstraints(2, equality).forget(x);
+
+    // upper - t >= 0 and t - lower >= 0
+    JavaNumArray upperConstraint = new JavaNumArray(n + 2);
+    JavaNumArray lowerConstraint = new JavaNumArray(n + 2);
+    for (int i = 0; i <= n; i++) {
+      if (upper.isInfinite(i) || lower.isInfinite(i)) {
+        return result.removeDimensions(1);
+      }
+      int pos = i < n ? i : n + 1;
+      upperConstraint.setFrom(pos, upper, i, false);
+      lowerConstraint.setFrom(pos, lower, i, true);
+    }
+    upperConstraint.setInt(t, -1);
+    lowerConstraint.setInt(t, 1);
+
+    return result
+        .addLinearConstraint(upperConstraint)
+        .addLinearConstraint(lowerConstraint)
+        .removeDimensions(1);
+  }
+
+  private static void setIntValues(JavaNumArray array, int pos, long... values) {
+    for (int i = 0; i < values.length; i++) {
+      array.setInt(pos + i, values[i]);
+    }
+  }
+
+  /** Whether the interval coefficient at pos (upper bound, negated lower bound) is a number. */
+  private static boolean isExact(JavaNumArray expression, int pos) {
+    return !expression.isInfinite(pos)
+        && !expression.isInfinite(pos + 1)
+        && expression.getFloat(pos) == -expression.getFloat(pos + 1);
+  }
+
+  @Override
+  public Octagon intervAddConstraint(Octagon oct, NumArray array) {
+    // ignoring the constraint is a sound over-approximation
+    return oct;
+  }
+
+  /* change of dimensions */
+
+  @Override
+  public Octagon addDimensionAndEmbed(Octagon oct, int k) {
+    return wrap(matrix(oct).addDimensions(k, false));
+  }
+
+  @Override
+  public Octagon addDimensionAndProject(Octagon oct, int k) {
+    return wrap(matrix(oct).addDimensions(k, true));
+  }
+
+  @Override
+  public Octagon removeDimension(Octagon oct, int k) {
+    return wrap(matrix(oct).removeDimensions(k));
+  }
+
+  @Override
+  public void printNum(NumArray arr, int size) {
+    logger.log(Level.INFO, arr);
+  }
+
+  @Override
+  public void printOct(Octagon oct) {
+    logger.log(Level.INFO, oct);
+  }
+
+  @Override
+  public String print(Octagon oct, BiMap<Integer, MemoryLocation> map) {
+    StringBuilder str = new StringBuilder();
+    str.append("Octagon (dimension: " + dimension(oct) + ")\n");
+    if (isEmpty(oct)) {
+      str.append("[Empty]\n");
+      return str.toString();
+    }
+    for (int i = 0; i < map.size(); i++) {
+      str.append(" ").append(map.get(i)).append(" -> ").append(getVariableBounds(oct, i));
+      str.append("\n");
+    }
+    return str.toString();
+  }
+
+  @Override
+  public OctagonInterval getVariableBounds(Octagon oct, int id) {
+    assert id < dimension(oct);
+    return matrix(oct).getBounds(id);
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonInterval;
+
+@RunWith(Parameterized.class)
+public class JavaOctagonManagerTest {
+
+  @Parameters(name = "{0}")
+  public static Object[] getManagers() {
+    LogManager logger = LogManager.createTestLogManager();
+    return new Object[] {new JavaOctagonIntManager(logger), new JavaOctagonFloatManager(logger)};
+  }
+
+  @Parameter(0)
+  public JavaOctagonManager manager;
+
+  private static final int PX = 0;
+  private static final int MX = 1;
+  private static final int PXPY = 2;
+  private static final int PXMY = 3;
+  private static final int MXPY = 4;
+
+  private Octagon constrain(Octagon oct, int type, int x, int y, long c) {
+    NumArray array = manager.init_num_t(4);
+    manager.num_set_int(array, 0, type);
+    manager.num_set_int(array, 1, x);
+    manager.num_set_int(array, 2, y);
+    manager.num_set_int(array, 3, c);
+    return manager.addBinConstraint(oct, 1, array);
+  }
+
+  private Octagon withBounds(Octagon oct, int x, long low, long high) {
+    return constrain(constrain(oct, PX, x, 0, high), MX, x, 0, -low);
+  }
+
+  private double low(Octagon oct, int x) {
+    return manager.getVariableBounds(oct, x).getLow().getValue().doubleValue();
+  }
+
+  private double high(Octagon oct, int x) {
+    return manager.getVariableBounds(oct, x).getHigh().getValue().doubleValue();
+  }
+
+  @Test
+  public void testClosure() {
+    Octagon oct = withBounds(manager.universe(2), 0, 0, 10);
+    oct = constrain(oct, MXPY, 0, 1, 2); // y - x <= 2
+    oct = constrain(oct, PXMY, 0, 1, 0); // x - y <= 0
+
+    assertThat(low(oct, 1)).isEqualTo(0.0);
+    assertThat(high(oct, 1)).isEqualTo(12.0);
+    assertThat(manager.isEmpty(oct)).isFalse();
+  }
+
+  @Test
+  public void testEmpty() {
+    Octagon oct = withBounds(manager.universe(2), 0, 0, 10);
+    oct = constrain(oct, PXMY, 1, 0, -11); // y - x <= -11
+
+    assertThat(manager.isEmpty(withBounds(oct, 1, 0, 1))).isTrue();
+    assertThat(manager.isEmpty(manager.empty(2))).isTrue();
+    assertThat(manager.isEmpty(manager.universe(2))).isFalse();
+  }
+
+  @Test
+  public void testTightClosure() {
+    Octagon oct = constrain(manager.universe(2), PXPY, 0, 1, 3); // x + y <= 3
+    oct = constrain(oct, PXMY, 0, 1, 0); // x - y <= 0
+
+    // 2x <= 3, which is x <= 1 for integers
+    if (manager instanceof JavaOctagonIntManager) {
+      assertThat(high(oct, 0)).isEqualTo(1.0);
+    } else {
+      assertThat(high(oct, 0)).isEqualTo(1.5);
+    }
+  }
+
+  @Test
+  public void testUnionAndInclusion() {
+    Octagon oct1 = withBounds(manager.universe(1), 0, 0, 1);
+    Octagon oct2 = withBounds(manager.universe(1), 0, 2, 3);
+    Octagon union = manager.union(oct1, oct2);
+
+    assertThat(low(union, 0)).isEqualTo(0.0);
+    assertThat(high(union, 0)).isEqualTo(3.0);
+    assertThat(manager.isIncludedIn(oct1, union)).isTrue();
+    assertThat(manager.isIncludedIn(union, oct1)).isFalse();
+    assertThat(manager.isIncludedIn(manager.empty(1), oct1)).isTrue();
+    assertThat(manager.isIncludedIn(oct1, manager.empty(1))).isFalse();
+    assertThat(manager.isEqual(manager.union(oct1, manager.empty(1)), oct1)).isTrue();
+  }
+
+  @Test
+  public void testWidening() {
+    Octagon oct1 = withBounds(manager.universe(1), 0, 0, 1);
+    Octagon oct2 = withBounds(manager.universe(1), 0, 0, 2);
+    Octagon widened = manager.widening(oct1, oct2);
+
+    assertThat(low(widened, 0)).isEqualTo(0.0);
+    assertThat(manager.getVariableBounds(widened, 0).getHigh().isInfinite()).isTrue();
+    assertThat(manager.isEqual(manager.widening(oct2, oct1), oct2)).isTrue();
+  }
+
+  private Octagon withFloatBounds(Octagon oct, int x, double low, double high) {
+    NumArray negatedLower = manager.init_num_t(1);
+    NumArray upper = manager.init_num_t(1);
+    manager.num_set_float(negatedLower, 0, -low);
+    manager.num_set_float(upper, 0, high);
+    return manager.set_bounds(oct, x, negatedLower, upper);
+  }
+
+  /** Negative and fractional bounds need to keep their order in the encoding of the matrix. */
+  @Test
+  public void testNegativeFloatBounds() {
+    assume().that(manager).isInstanceOf(JavaOctagonFloatManager.class);
+    Octagon oct1 = withFloatBounds(manager.universe(1), 0, -2.5, -1.5);
+    Octagon oct2 = withFloatBounds(manager.universe(1), 0, -1.25, -0.5);
+
+    Octagon union = manager.union(oct1, oct2);
+    assertThat(low(union, 0)).isEqualTo(-2.5);
+    assertThat(high(union, 0)).isEqualTo(-0.5);
+    assertThat(manager.isEmpty(manager.intersection(oct1, oct2))).isTrue();
+    assertThat(manager.isIncludedIn(oct2, union)).isTrue();
+
+    Octagon widened = manager.widening(oct1, union);
+    assertThat(low(widened, 0)).isEqualTo(-2.5);
+    assertThat(high(widened, 0)).isEqualTo(0.0);
+  }
+
+  @Test
+  public void testAssignment() {
+    Octagon oct = withBounds(manager.universe(2), 1, 1, 2);
+
+    // x := y + 3
+    NumArray expr = manager.init_num_t(3);
+    manager.num_set_int(expr, 0, 0);
+    manager.num_set_int(expr, 1, 1);
+    manager.num_set_int(expr, 2, 3);
+    Octagon assigned = manager.assingVar(oct, 0, expr);
+    assertThat(low(assigned, 0)).isEqualTo(4.0);
+    assertThat(high(assigned, 0)).isEqualTo(5.0);
+    // the relation x - y = 3 is kept
+    assertThat(manager.isEmpty(constrain(assigned, PXMY, 0, 1, 2))).isTrue();
+
+    // x := x + 1
+    manager.num_set_int(expr, 0, 1);
+    manager.num_set_int(expr, 1, 0);
+    manager.num_set_int(expr, 2, 1);
+    Octagon incremented = manager.assingVar(assigned, 0, expr);
+    assertThat(low(incremented, 0)).isEqualTo(5.0);
+    assertThat(high(incremented, 0)).isEqualTo(6.0);
+
+    // x := 2 * y
+    manager.num_set_int(expr, 0, 0);
+    manager.num_set_int(expr, 1, 2);
+    manager.num_set_int(expr, 2, 0);
+    Octagon doubled = manager.assingVar(oct, 0, expr);
+    assertThat(low(doubled, 0)).isEqualTo(2.0);
+    assertThat(high(doubled, 0)).isEqualTo(4.0);
+  }
+
+  private NumArray numbers(long... values) {
+    NumArray array = manager.init_num_t(values.length);
+    for (int i = 0; i < values.length; i++) {
+      manager.num_set_int(array, i, values[i]);
+    }
+    return array;
+  }
+
+  @Test
+  public void testSubstitution() {
+    Octagon oct = withBounds(manager.universe(2), 0, 5, 10);
+
+    // x := y + 1
+    Octagon substituted = manager.substituteVar(oct, 0, numbers(0, 1, 1));
+    assertThat(low(substituted, 1)).isEqualTo(4.0);
+    assertThat(high(substituted, 1)).isEqualTo(9.0);
+    assertThat(manager.getVariableBounds(substituted, 0).isInfinite()).isTrue();
+
+    // x := x + 2
+    Octagon incremented = manager.substituteVar(oct, 0, numbers(1, 0, 2));
+    assertThat(low(incremented, 0)).isEqualTo(3.0);
+    assertThat(high(incremented, 0)).isEqualTo(8.0);
+    // substitution is the inverse of the assignment
+    assertThat(manager.isEqual(manager.assingVar(incremented, 0, numbers(1, 0, 2)), oct))
+        .isTrue();
+
+    // x := 2 * y is over-approximated
+    Octagon doubled = manager.substituteVar(oct, 0, numbers(0, 2, 0));
+    assertThat(manager.isIncludedIn(withBounds(manager.universe(2), 1, 3, 4), doubled)).isTrue();
+  }
+
+  @Test
+  public void testIntervalSubstitution() {
+    Octagon oct = withBounds(manager.universe(2), 0, 5, 10);
+
+    // x := y + [1, 2]
+    Octagon substituted =
+        manager.intervSubstituteVar(oct, 0, numbers(0, 0, 1, -1, 2, -1));
+    assertThat(low(substituted, 1)).isEqualTo(3.0);
+    assertThat(high(substituted, 1)).isEqualTo(9.0);
+  }
+
+  @Test
+  public void testDimensions() {
+    Octagon oct = withBounds(manager.universe(1), 0, 0, 1);
+    Octagon embedded = manager.addDimensionAndEmbed(oct, 2);
+    assertThat(manager.dimension(embedded)).isEqualTo(3);
+    assertThat(manager.getVariableBounds(embedded, 2).isInfinite()).isTrue();
+
+    Octagon projected = manager.addDimensionAndProject(oct, 1);
+    assertThat(manager.getVariableBounds(projected, 1))
+        .isEqualTo(new OctagonInterval(0.0, 0.0));
+
+    Octagon removed = manager.removeDimension(embedded, 2);
+    assertThat(manager.isEqual(removed, oct)).isTrue();
+  }
+
+  /** The incremental closure needs to give the same result as the full closure. */
+  @Test
+  public void testIncrementalClosure() {
+    Random random = new Random(0);
+    int n = 5;
+    for (int round = 0; round < 200; round++) {
+      Octagon incremental = manager.universe(n);
+      Octagon full = manager.universe(n);
+      for (int k = 0; k < 6; k++) {
+        int type = random.nextInt(6);
+        int x = random.nextInt(n);
+        int y = (x + 1 + random.nextInt(n - 1)) % n;
+        long c = random.nextInt(21) - 5;
+        incremental = constrain(incremental, type, x, y, c);
+        // the intersection is not closed, so the closure is computed at the end
+        full = manager.intersection(full, constrain(manager.universe(n), type, x, y, c));
+      }
+      assertThat(manager.isEmpty(incremental)).isEqualTo(manager.isEmpty(full));
+      assertThat(manager.isEqual(incremental, full)).isTrue();
+    }
+  }
+}
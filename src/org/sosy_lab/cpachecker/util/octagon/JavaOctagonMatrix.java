@@ -0,0 +1,767 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import java.util.Arrays;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonInterval;
+
+/**
+ * {@link OctagonMatrix} stored as half-matrix in a flat array. The bounds are encoded as long
+ * values by {@link OctagonBounds}, which also does the arithmetic for integer or floating-point
+ * bounds.
+ *
+ * <p>For n variables x_0, ..., x_(n-1), the matrix has 2n rows and columns for the values
+ * v_(2k) = x_k and v_(2k+1) = -x_k, and the entry (i, j) is an upper bound for v_j - v_i
+ * (cf. A. Mine: The Octagon Abstract Domain, 2006). The entries (i, j) and (j^1, i^1) describe
+ * the same constraint, so only the entries with j <= (i|1) are stored, row by row.
+ *
+ * <p>The matrix is kept as it was created (this is needed for the widening), and its strong
+ * closure is computed lazily when needed. Adding a constraint to a closed matrix closes the result
+ * incrementally in quadratic time (cf. A. Chawdhary, E. Robbins, A. King: Incrementally closing
+ * octagons, 2018). For integers, the closure is the tight closure.
+ *
+ * <p>Matrices are immutable because they are shared between abstract states. Binary operators
+ * therefore return one of their arguments instead of a new matrix if the result is equal to it.
+ */
+final class JavaOctagonMatrix implements OctagonMatrix {
+
+  private final OctagonBounds bounds;
+  private final long inf;
+
+  private final int n;
+  private final long[] m;
+
+  // the strong closure of m, null if it was not computed yet or if the octagon is empty
+  private long[] closed;
+  private boolean empty = false;
+
+  private JavaOctagonMatrix(OctagonBounds pBounds, int pN, long[] pMatrix, boolean pClosed) {
+    bounds = pBounds;
+    inf = pBounds.inf;
+    n = pN;
+    m = pMatrix;
+    if (pClosed) {
+      closed = pMatrix;
+    }
+  }
+
+  static JavaOctagonMatrix universe(OctagonBounds pBounds, int pN) {
+    return new JavaOctagonMatrix(pBounds, pN, universeMatrix(pBounds, pN), true);
+  }
+
+  static JavaOctagonMatrix bottom(OctagonBounds pBounds, int pN) {
+    JavaOctagonMatrix result =
+        new JavaOctagonMatrix(pBounds, pN, universeMatrix(pBounds, pN), false);
+    result.empty = true;
+    return result;
+  }
+
+  private JavaOctagonMatrix bottom(int pN) {
+    return bottom(bounds, pN);
+  }
+
+  private JavaOctagonMatrix newMatrix(int pN, long[] pMatrix, boolean pClosed) {
+    return new JavaOctagonMatrix(bounds, pN, pMatrix, pClosed);
+  }
+
+  private static long[] universeMatrix(OctagonBounds pBounds, int pN) {
+    long[] result = new long[size(pN)];
+    Arrays.fill(result, pBounds.inf);
+    for (int i = 0; i < 2 * pN; i++) {
+      result[pos(i, i)] = 0;
+    }
+    return result;
+  }
+
+  /** Number of stored entries for the given number of variables. */
+  private static int size(int pN) {
+    return 2 * pN * (pN + 1);
+  }
+
+  /** Position of the entry (i, j) in the flat array, requires j <= (i|1). */
+  private static int pos(int i, int j) {
+    return j + ((i + 1) * (i + 1)) / 2;
+  }
+
+  /** Position of the entry (i, j) or of its coherent counterpart. */
+  private static int cpos(int i, int j) {
+    return j <= (i | 1) ? pos(i, j) : pos(j ^ 1, i ^ 1);
+  }
+
+  private long value(JavaNumArray pArray, int pos) {
+    return bounds.value(pArray, pos);
+  }
+
+  /* Closure */
+
+  /** Return the strong closure of this matrix, or null if the octagon is empty. */
+  private long[] closed() {
+    if (closed == null && !empty) {
+      long[] c = m.clone();
+      if (close(c)) {
+        closed = c;
+      } else {
+        empty = true;
+      }
+    }
+    return closed;
+  }
+
+  /**
+   * Compute the strong closure of a matrix in place with a Floyd-Warshall-like algorithm that
+   * treats the two rows of each variable at once.
+   *
+   * @return false if the octagon is empty
+   */
+  private boolean close(long[] c) {
+    int dim = 2 * n;
+    for (int k = 0; k < dim; k += 2) {
+      int k1 = k + 1;
+      long kk1 = c[pos(k, k1)];
+      long k1k = c[pos(k1, k)];
+      for (int i = 0; i < dim; i++) {
+        long ik = c[cpos(i, k)];
+        long ik1 = c[cpos(i, k1)];
+        // shortest paths from i to k and to k1, possibly using the other one
+        long toK = Math.min(ik, bounds.add(ik1, k1k));
+        long toK1 = Math.min(ik1, bounds.add(ik, kk1));
+        if (toK == inf && toK1 == inf) {
+          continue;
+        }
+        int end = i | 1;
+        for (int j = 0; j <= end; j++) {
+          int p = pos(i, j);
+          c[p] =
+              Math.min(
+                  c[p],
+                  Math.min(bounds.add(toK, c[cpos(k, j)]), bounds.add(toK1, c[cpos(k1, j)])));
+        }
+      }
+    }
+    return checkAndStrengthen(c);
+  }
+
+  /**
+   * Check for negative cycles and strengthen a matrix in place whose entries are the shortest
+   * paths, which results in its strong closure.
+   *
+   * @return false if the octagon is empty
+   */
+  private boolean checkAndStrengthen(long[] c) {
+    int dim = 2 * n;
+    for (int i = 0; i < dim; i++) {
+      if (c[pos(i, i)] < 0) {
+        return false;
+      }
+      int p = pos(i, i ^ 1);
+      c[p] = bounds.tighten(c[p]);
+    }
+    for (int i = 0; i < dim; i += 2) {
+      if (bounds.add(c[pos(i, i + 1)], c[pos(i + 1, i)]) < 0) {
+        return false;
+      }
+    }
+
+    for (int i = 0; i < dim; i++) {
+      long ii = c[pos(i, i ^ 1)];
+      if (ii == inf) {
+        continue;
+      }
+      int end = i | 1;
+      for (int j = 0; j <= end; j++) {
+        int p = pos(i, j);
+        c[p] = Math.min(c[p], bounds.half(bounds.add(ii, c[pos(j ^ 1, j)])));
+      }
+    }
+    return true;
+  }
+
+  /** Add the constraint v_b - v_a <= c. */
+  private JavaOctagonMatrix addConstraint(int a, int b, long c) {
+    if (empty || c == inf) {
+      return this;
+    }
+    int p = cpos(a, b);
+    if (closed == null) {
+      if (m[p] <= c) {
+        return this;
+      }
+      long[] result = m.clone();
+      result[p] = c;
+      return newMatrix(n, result, false);
+    }
+    if (closed[p] <= c) {
+      return this;
+    }
+
+    // incremental closure: shortest paths that use the new edge (a, b) or its counterpart
+    // (b^1, a^1), and both of them at most once
+    long[] old = closed;
+    long[] result = old.clone();
+    int na = a ^ 1;
+    int nb = b ^ 1;
+    long naa = old[cpos(na, a)];
+    long bnb = old[cpos(b, nb)];
+    int dim = 2 * n;
+    for (int i = 0; i < dim; i++) {
+      long ia = old[cpos(i, a)];
+      long inb = old[cpos(i, nb)];
+      long toB =
+          Math.min(bounds.add(ia, c), bounds.add(bounds.add(inb, c), bounds.add(naa, c)));
+      long toNa =
+          Math.min(bounds.add(inb, c), bounds.add(bounds.add(ia, c), bounds.add(bnb, c)));
+      if (toB == inf && toNa == inf) {
+        continue;
+      }
+      int end = i | 1;
+      for (int j = 0; j <= end; j++) {
+        int q = pos(i, j);
+        result[q] =
+            Math.min(
+                result[q],
+                Math.min(bounds.add(toB, old[cpos(b, j)]), bounds.add(toNa, old[cpos(na, j)])));
+      }
+    }
+    if (!checkAndStrengthen(result)) {
+      return bottom(n);
+    }
+    return newMatrix(n, result, true);
+  }
+
+  /** Add the constraints x_var <= upper and -x_var <= negatedLower. */
+  private JavaOctagonMatrix addBounds(int var, long upper, long negatedLower) {
+    return addConstraint(2 * var + 1, 2 * var, bounds.twice(upper))
+        .addConstraint(2 * var, 2 * var + 1, bounds.twice(negatedLower));
+  }
+
+  /* Queries */
+
+  @Override
+  public int dimension() {
+    return n;
+  }
+
+  @Override
+  public int numberOfConstraints() {
+    long[] c = closed != null ? closed : m;
+    if (empty) {
+      return 0;
+    }
+    int count = 0;
+    for (int i = 0; i < 2 * n; i++) {
+      int end = i | 1;
+      for (int j = 0; j <= end; j++) {
+        if (i != j && c[pos(i, j)] != inf) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return closed() == null;
+  }
+
+  @Override
+  public int isEmptyLazy() {
+    if (empty) {
+      return 1;
+    }
+    return closed != null ? 2 : 3;
+  }
+
+  @Override
+  public boolean isUniverse() {
+    long[] c = closed();
+    if (c == null) {
+      return false;
+    }
+    for (int i = 0; i < 2 * n; i++) {
+      int end = i | 1;
+      for (int j = 0; j <= end; j++) {
+        if (i != j && c[pos(i, j)] != inf) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isIncludedIn(OctagonMatrix pOther) {
+    JavaOctagonMatrix other = (JavaOctagonMatrix) pOther;
+    long[] c = closed();
+    if (c == null) {
+      return true;
+    }
+    return !other.empty && lessOrEqual(c, other.m);
+  }
+
+  @Override
+  public int isIncludedInLazy(OctagonMatrix pOther) {
+    JavaOctagonMatrix other = (JavaOctagonMatrix) pOther;
+    if (empty) {
+      return 1;
+    } else if (closed != null) {
+      return isIncludedIn(other) ? 1 : 2;
+    }
+    // without closure, only inclusion can be shown
+    return !other.empty && lessOrEqual(m, other.m) ? 1 : 3;
+  }
+
+  private static boolean lessOrEqual(long[] c1, long[] c2) {
+    for (int i = 0; i < c1.length; i++) {
+      if (c1[i] > c2[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isEqual(OctagonMatrix pOther) {
+    long[] c1 = closed();
+    long[] c2 = ((JavaOctagonMatrix) pOther).closed();
+    if (c1 == null || c2 == null) {
+      return c1 == c2;
+    }
+    return Arrays.equals(c1, c2);
+  }
+
+  @Override
+  public boolean contains(JavaNumArray pPoint) {
+    if (isEmpty()) {
+      return false;
+    }
+    int dim = 2 * n;
+    for (int i = 0; i < dim; i++) {
+      long vi = value(pPoint, i / 2);
+      if (i % 2 == 1) {
+        vi = bounds.neg(vi);
+      }
+      int end = i | 1;
+      for (int j = 0; j <= end; j++) {
+        long vj = value(pPoint, j / 2);
+        if (j % 2 == 1) {
+          vj = bounds.neg(vj);
+        }
+        if (bounds.add(vj, bounds.neg(vi)) > m[pos(i, j)]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public OctagonInterval getBounds(int var) {
+    long[] c = isEmpty() ? m : closed;
+    return bounds.interval(
+        bounds.half(c[pos(2 * var + 1, 2 * var)]), bounds.half(c[pos(2 * var, 2 * var + 1)]));
+  }
+
+  /* Operators */
+
+  @Override
+  public JavaOctagonMatrix intersection(OctagonMatrix pOther) {
+    JavaOctagonMatrix other = (JavaOctagonMatrix) pOther;
+    if (empty || other.empty) {
+      return bottom(n);
+    }
+    long[] c1 = closed != null ? closed : m;
+    long[] c2 = other.closed != null ? other.closed : other.m;
+    if (lessOrEqual(c2, c1)) {
+      return other;
+    }
+    long[] result = null;
+    for (int i = 0; i < c1.length; i++) {
+      if (c2[i] < c1[i]) {
+        if (result == null) {
+          result = c1.clone();
+        }
+        result[i] = c2[i];
+      }
+    }
+    return result == null ? this : newMatrix(n, result, false);
+  }
+
+  @Override
+  public JavaOctagonMatrix union(OctagonMatrix pOther) {
+    JavaOctagonMatrix other = (JavaOctagonMatrix) pOther;
+    long[] c1 = closed();
+    long[] c2 = other.closed();
+    if (c1 == null) {
+      return other;
+    } else if (c2 == null) {
+      return this;
+    } else if (lessOrEqual(c1, c2)) {
+      return other;
+    }
+    // the pointwise maximum of strongly closed matrices is strongly closed
+    long[] result = null;
+    for (int i = 0; i < c1.length; i++) {
+      if (c1[i] < c2[i]) {
+        if (result == null) {
+          result = c1.clone();
+        }
+        result[i] = c2[i];
+      }
+    }
+    return result == null ? this : newMatrix(n, result, true);
+  }
+
+  /**
+   * Widening that first sets unstable bounds to zero if possible, and only then to infinity. In
+   * order to guarantee termination, the bounds of this matrix are used without closure.
+   */
+  @Override
+  public JavaOctagonMatrix widening(OctagonMatrix pOther) {
+    JavaOctagonMatrix other = (JavaOctagonMatrix) pOther;
+    if (isEmpty()) {
+      return other;
+    }
+    long[] c2 = other.closed();
+    if (c2 == null) {
+      return this;
+    }
+    long[] result = null;
+    for (int i = 0; i < m.length; i++) {
+      if (m[i] < c2[i]) {
+        if (result == null) {
+          result = m.clone();
+        }
+        result[i] = c2[i] <= 0 ? 0 : inf;
+      }
+    }
+    return result == null ? this : newMatrix(n, result, false);
+  }
+
+  @Override
+  public JavaOctagonMatrix narrowing(OctagonMatrix pOther) {
+    JavaOctagonMatrix other = (JavaOctagonMatrix) pOther;
+    long[] c1 = closed();
+    long[] c2 = other.closed();
+    if (c1 == null || c2 == null) {
+      return bottom(n);
+    }
+    long[] result = null;
+    for (int i = 0; i < c1.length; i++) {
+      if (c1[i] == inf && c2[i] != inf) {
+        if (result == null) {
+          result = c1.clone();
+        }
+        result[i] = c2[i];
+      }
+    }
+    return result == null ? this : newMatrix(n, result, false);
+  }
+
+  /* Transfer functions */
+
+  @Override
+  public JavaOctagonMatrix forget(int var) {
+    long[] c = closed();
+    if (c == null) {
+      return bottom(n);
+    }
+    long[] result = c.clone();
+    int row = 2 * var;
+    for (int j = 0; j <= row + 1; j++) {
+      result[pos(row, j)] = inf;
+      result[pos(row + 1, j)] = inf;
+    }
+    result[pos(row, row)] = 0;
+    result[pos(row + 1, row + 1)] = 0;
+    for (int i = row + 2; i < 2 * n; i++) {
+      result[pos(i, row)] = inf;
+      result[pos(i, row + 1)] = inf;
+    }
+    return newMatrix(n, result, true);
+  }
+
+  @Override
+  public JavaOctagonMatrix assign(int var, JavaNumArray pExpression) {
+    long[] c = closed();
+    if (c == null) {
+      return bottom(n);
+    }
+    long constant = value(pExpression, n);
+    int nonZero = 0;
+    int other = -1;
+    for (int i = 0; i < n; i++) {
+      long coefficient = value(pExpression, i);
+      if (coefficient == inf) {
+        return forget(var);
+      } else if (coefficient != 0) {
+        nonZero++;
+        other = i;
+      }
+    }
+    if (constant == inf) {
+      return forget(var);
+    }
+
+    if (nonZero == 0) {
+      // x := c
+      return forget(var).addBounds(var, constant, bounds.neg(constant));
+    }
+
+    long coefficient = value(pExpression, other);
+    long one = bounds.of(1);
+    long minusOne = bounds.of(-1);
+    if (nonZero == 1 && (coefficient == one || coefficient == minusOne)) {
+      if (other == var) {
+        // x := x + c or x := -x + c
+        return translate(c, var, coefficient == minusOne, constant);
+      }
+      // x := y + c or x := -y + c
+      int x = 2 * var;
+      int y = coefficient == one ? 2 * other : 2 * other + 1;
+      return forget(var)
+          .addConstraint(y, x, constant)
+          .addConstraint(x, y, bounds.neg(constant));
+    }
+
+    // other expressions are evaluated with intervals
+    long upper = constant;
+    long negatedLower = bounds.neg(constant);
+    for (int i = 0; i < n; i++) {
+      long coeff = value(pExpression, i);
+      if (coeff != 0) {
+        long varUpper = bounds.half(c[pos(2 * i + 1, 2 * i)]);
+        long varNegatedLower = bounds.half(c[pos(2 * i, 2 * i + 1)]);
+        upper = bounds.add(upper, termUpper(coeff, bounds.neg(coeff), varUpper, varNegatedLower));
+        negatedLower =
+            bounds.add(
+                negatedLower, termUpper(bounds.neg(coeff), coeff, varUpper, varNegatedLower));
+      }
+    }
+    return forget(var).addBounds(var, upper, negatedLower);
+  }
+
+  /**
+   * Upper bound of the product of a coefficient and a variable, both given by their upper bound and
+   * their negated lower bound.
+   */
+  private long termUpper(
+      long coeffUpper, long coeffNegatedLower, long varUpper, long varNegatedLower) {
+    return Math.max(
+        Math.max(
+            bounds.mul(coeffUpper, varUpper), bounds.neg(bounds.mul(coeffUpper, varNegatedLower))),
+        Math.max(
+            bounds.neg(bounds.mul(coeffNegatedLower, varUpper)),
+            bounds.mul(coeffNegatedLower, varNegatedLower)));
+  }
+
+  /** Apply x := x + c or x := -x + c to a closed matrix, which keeps it closed. */
+  private JavaOctagonMatrix translate(long[] c, int var, boolean negate, long constant) {
+    int row = 2 * var;
+    long negatedConstant = bounds.neg(constant);
+    long[] result = new long[c.length];
+    for (int i = 0; i < 2 * n; i++) {
+      int oldI = negate && (i >> 1) == var ? i ^ 1 : i;
+      long shiftI = i == row ? negatedConstant : i == row + 1 ? constant : 0;
+      int end = i | 1;
+      for (int j = 0; j <= end; j++) {
+        int oldJ = negate && (j >> 1) == var ? j ^ 1 : j;
+        long shiftJ = j == row ? constant : j == row + 1 ? negatedConstant : 0;
+        result[pos(i, j)] = bounds.add(c[cpos(oldI, oldJ)], bounds.add(shiftJ, shiftI));
+      }
+    }
+    for (int i = 0; i < 2 * n; i++) {
+      result[pos(i, i)] = 0;
+    }
+    return newMatrix(n, result, true);
+  }
+
+  @Override
+  public JavaOctagonMatrix assignInterval(int var, JavaNumArray pExpression) {
+    long[] c = closed();
+    if (c == null) {
+      return bottom(n);
+    }
+    long constantUpper = value(pExpression, 2 * n);
+    long constantNegatedLower = value(pExpression, 2 * n + 1);
+
+    int nonZero = 0;
+    int other = -1;
+    for (int i = 0; i < n; i++) {
+      if (value(pExpression, 2 * i) != 0 || value(pExpression, 2 * i + 1) != 0) {
+        nonZero++;
+        other = i;
+      }
+    }
+    if (nonZero == 1 && other != var) {
+      long coeffUpper = value(pExpression, 2 * other);
+      long coeffNegatedLower = value(pExpression, 2 * other + 1);
+      long one = bounds.of(1);
+      long minusOne = bounds.of(-1);
+      if ((coeffUpper == one && coeffNegatedLower == minusOne)
+          || (coeffUpper == minusOne && coeffNegatedLower == one)) {
+        // x := y + [a, b] or x := -y + [a, b]
+        int x = 2 * var;
+        int y = coeffUpper == one ? 2 * other : 2 * other + 1;
+        return forget(var)
+            .addConstraint(y, x, constantUpper)
+            .addConstraint(x, y, constantNegatedLower);
+      }
+    }
+
+    long upper = constantUpper;
+    long negatedLower = constantNegatedLower;
+    for (int i = 0; i < n; i++) {
+      long coeffUpper = value(pExpression, 2 * i);
+      long coeffNegatedLower = value(pExpression, 2 * i + 1);
+      if (coeffUpper != 0 || coeffNegatedLower != 0) {
+        long varUpper = bounds.half(c[pos(2 * i + 1, 2 * i)]);
+        long varNegatedLower = bounds.half(c[pos(2 * i, 2 * i + 1)]);
+        upper =
+            bounds.add(
+                upper, termUpper(coeffUpper, coeffNegatedLower, varUpper, varNegatedLower));
+        negatedLower =
+            bounds.add(
+                negatedLower,
+                termUpper(coeffNegatedLower, coeffUpper, varUpper, varNegatedLower));
+      }
+    }
+    return forget(var).addBounds(var, upper, negatedLower);
+  }
+
+  @Override
+  public JavaOctagonMatrix addBinaryConstraints(int count, JavaNumArray pConstraints) {
+    JavaOctagonMatrix result = this;
+    for (int k = 0; k < count; k++) {
+      int type = (int) pConstraints.getInt(4 * k);
+      int x = (int) pConstraints.getInt(4 * k + 1);
+      int y = (int) pConstraints.getInt(4 * k + 2);
+      long constant = value(pConstraints, 4 * k + 3);
+      switch (type) {
+        case 0: // x <= c
+          result = result.addConstraint(2 * x + 1, 2 * x, bounds.twice(constant));
+          break;
+        case 1: // -x <= c
+          result = result.addConstraint(2 * x, 2 * x + 1, bounds.twice(constant));
+          break;
+        case 2: // x + y <= c
+          result = result.addConstraint(2 * y + 1, 2 * x, constant);
+          break;
+        case 3: // x - y <= c
+          result = result.addConstraint(2 * y, 2 * x, constant);
+          break;
+        case 4: // -x + y <= c
+          result = result.addConstraint(2 * y + 1, 2 * x + 1, constant);
+          break;
+        case 5: // -x - y <= c
+          result = result.addConstraint(2 * y, 2 * x + 1, constant);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown type of octagon constraint " + type);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public JavaOctagonMatrix addLinearConstraint(JavaNumArray pExpression) {
+    // sum(coeff_i * x_i) + c >= 0  <=>  -sum(coeff_i * x_i) <= c
+    long constant = value(pExpression, n);
+    long one = bounds.of(1);
+    long minusOne = bounds.of(-1);
+    int first = -1;
+    int second = -1;
+    for (int i = 0; i < n; i++) {
+      long coefficient = value(pExpression, i);
+      if (coefficient == 0) {
+        continue;
+      } else if (coefficient != one && coefficient != minusOne) {
+        return this; // not octagonal, over-approximate by ignoring it
+      } else if (first == -1) {
+        first = i;
+      } else if (second == -1) {
+        second = i;
+      } else {
+        return this;
+      }
+    }
+
+    if (first == -1) {
+      return constant < 0 ? bottom(n) : this;
+    }
+    // the value -coeff_x * x is v_(2x) if coeff_x == -1, and v_(2x+1) otherwise
+    int j = value(pExpression, first) == one ? 2 * first + 1 : 2 * first;
+    if (second == -1) {
+      return addConstraint(j ^ 1, j, bounds.twice(constant));
+    }
+    int i = value(pExpression, second) == one ? 2 * second : 2 * second + 1;
+    return addConstraint(i, j, constant);
+  }
+
+  @Override
+  public JavaOctagonMatrix setBounds(int var, JavaNumArray pNegatedLower, JavaNumArray pUpper) {
+    return forget(var).addBounds(var, value(pUpper, 0), value(pNegatedLower, 0));
+  }
+
+  /* Change of dimensions */
+
+  @Override
+  public JavaOctagonMatrix addDimensions(int count, boolean project) {
+    if (empty) {
+      return bottom(n + count);
+    }
+    boolean isClosed = closed != null;
+    long[] result = universeMatrix(bounds, n + count);
+    // the entries of the existing variables keep their positions
+    System.arraycopy(isClosed ? closed : m, 0, result, 0, m.length);
+    JavaOctagonMatrix embedded = newMatrix(n + count, result, isClosed);
+    if (project) {
+      for (int var = n; var < n + count; var++) {
+        embedded = embedded.addBounds(var, 0, 0);
+      }
+    }
+    return embedded;
+  }
+
+  @Override
+  public JavaOctagonMatrix removeDimensions(int count) {
+    long[] c = closed();
+    if (c == null) {
+      return bottom(n - count);
+    }
+    return newMatrix(n - count, Arrays.copyOf(c, size(n - count)), true);
+  }
+
+  @Override
+  public String toString() {
+    if (isEmpty()) {
+      return "empty octagon of dimension " + n;
+    }
+    StringBuilder str = new StringBuilder("octagon of dimension " + n + ":");
+    for (int var = 0; var < n; var++) {
+      str.append(" x").append(var).append(" in ").append(getBounds(var));
+    }
+    return str.toString();
+  }
+}
@@ -31,6 +31,11 @@ public class NumArray {
     array = l;
   }
 
+  /** Constructor for arrays that are not stored in native memory. */
+  NumArray() {
+    this(0);
+  }
+
   long getArray() {
     return array;
   }
@@ -42,6 +42,12 @@ public class Octagon {
     registerPhantomReference(this);
   }
 
+  /** Constructor for octagons that are not stored in native memory. */
+  Octagon(OctagonManager manager) {
+    octId = 0;
+    this.manager = manager;
+  }
+
   private static void registerPhantomReference(Octagon oct) {
     phantomReferences.add(new OctagonPhantomReference(oct, referenceQueue));
   }
@@ -0,0 +1,230 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonDoubleValue;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonIntValue;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonInterval;
+
+/**
+ * Arithmetic on the bounds of a {@link JavaOctagonMatrix}. Bounds are encoded as long values
+ * whose order is the order of the numbers, so the matrix can compare bounds and compute their
+ * minimum and maximum without decoding them. Zero is encoded as 0, so the sign of an encoded bound
+ * is the sign of the number.
+ */
+enum OctagonBounds {
+
+  /**
+   * Integer bounds, which encode themselves. Bounds that overflow are replaced by weaker bounds,
+   * and unary bounds are tightened.
+   */
+  INTEGER(Long.MAX_VALUE, Long.MIN_VALUE) {
+
+    @Override
+    long of(long pValue) {
+      return pValue;
+    }
+
+    @Override
+    long value(JavaNumArray pArray, int pos) {
+      return pArray.isInfinite(pos) ? inf : pArray.getInt(pos);
+    }
+
+    @Override
+    long add(long a, long b) {
+      if (a == inf || b == inf) {
+        return inf;
+      }
+      if (a == negInf || b == negInf) {
+        return negInf;
+      }
+      long result = a + b;
+      if (((a ^ result) & (b ^ result)) < 0) {
+        return a > 0 ? inf : MIN_BOUND;
+      }
+      return result == negInf ? MIN_BOUND : result;
+    }
+
+    @Override
+    long mul(long a, long b) {
+      if (a == 0 || b == 0) {
+        return 0;
+      }
+      boolean negative = (a < 0) != (b < 0);
+      if (a == inf || a == negInf || b == inf || b == negInf) {
+        return negative ? negInf : inf;
+      }
+      try {
+        long result = Math.multiplyExact(a, b);
+        return result == negInf ? MIN_BOUND : result;
+      } catch (ArithmeticException e) {
+        return negative ? MIN_BOUND : inf;
+      }
+    }
+
+    @Override
+    long neg(long a) {
+      if (a == inf) {
+        return negInf;
+      } else if (a == negInf) {
+        return inf;
+      }
+      return -a;
+    }
+
+    /** Half of a bound, rounded down (which is exact after tightening). */
+    @Override
+    long half(long a) {
+      return a == inf ? inf : Math.floorDiv(a, 2);
+    }
+
+    /** Unary bounds on integers are even. */
+    @Override
+    long tighten(long a) {
+      if (a == inf) {
+        return inf;
+      }
+      long result = a - Math.floorMod(a, 2);
+      return result < MIN_BOUND ? inf : result;
+    }
+
+    @Override
+    OctagonInterval interval(long upper, long negatedLower) {
+      if (upper == inf && negatedLower == inf) {
+        return new OctagonInterval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+      } else if (negatedLower == inf) {
+        return new OctagonInterval(
+            new OctagonDoubleValue(Double.NEGATIVE_INFINITY), OctagonIntValue.of(upper));
+      } else if (upper == inf) {
+        return new OctagonInterval(
+            OctagonIntValue.of(-negatedLower), new OctagonDoubleValue(Double.POSITIVE_INFINITY));
+      }
+      return new OctagonInterval(-negatedLower, upper);
+    }
+  },
+
+  /** Floating-point bounds, encoded as their bit pattern with the order of the numbers. */
+  FLOAT(encode(Double.POSITIVE_INFINITY), encode(Double.NEGATIVE_INFINITY)) {
+
+    @Override
+    long of(long pValue) {
+      return encode(pValue);
+    }
+
+    @Override
+    long value(JavaNumArray pArray, int pos) {
+      return pArray.isInfinite(pos) ? inf : encode(pArray.getFloat(pos));
+    }
+
+    @Override
+    long add(long a, long b) {
+      if (a == inf || b == inf) {
+        return inf;
+      }
+      return encode(decode(a) + decode(b));
+    }
+
+    @Override
+    long mul(long a, long b) {
+      if (a == 0 || b == 0) {
+        return 0;
+      }
+      return encode(decode(a) * decode(b));
+    }
+
+    @Override
+    long neg(long a) {
+      return encode(-decode(a));
+    }
+
+    @Override
+    long half(long a) {
+      return encode(decode(a) / 2);
+    }
+
+    @Override
+    long tighten(long a) {
+      return a;
+    }
+
+    @Override
+    OctagonInterval interval(long upper, long negatedLower) {
+      return new OctagonInterval(decode(neg(negatedLower)), decode(upper));
+    }
+  };
+
+  /** Replacement for integer bounds that overflow in the negative direction. */
+  private static final long MIN_BOUND = Long.MIN_VALUE + 1;
+
+  /** The encoding of positive infinity, which is the largest encoded bound. */
+  final long inf;
+
+  /** The encoding of negative infinity, only used for intervals and never stored in a matrix. */
+  final long negInf;
+
+  OctagonBounds(long pInf, long pNegInf) {
+    inf = pInf;
+    negInf = pNegInf;
+  }
+
+  /** Encoding of an integer. */
+  abstract long of(long value);
+
+  /** Encoding of a value of an array, positive infinity if it is infinite. */
+  abstract long value(JavaNumArray array, int pos);
+
+  abstract long add(long a, long b);
+
+  abstract long mul(long a, long b);
+
+  abstract long neg(long a);
+
+  abstract long half(long a);
+
+  long twice(long a) {
+    return add(a, a);
+  }
+
+  /** Tighten a bound for twice a variable, i.e., for x + x. */
+  abstract long tighten(long a);
+
+  /** The interval of a variable with the given upper bound and negated lower bound. */
+  abstract OctagonInterval interval(long upper, long negatedLower);
+
+  /**
+   * Encode a floating-point number such that the encodings are ordered like the numbers. Negative
+   * zero is encoded like zero.
+   */
+  private static long encode(double d) {
+    if (d == 0) {
+      return 0;
+    }
+    long bits = Double.doubleToLongBits(d);
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+
+  private static double decode(long a) {
+    return Double.longBitsToDouble(a ^ ((a >> 63) & Long.MAX_VALUE));
+  }
+}
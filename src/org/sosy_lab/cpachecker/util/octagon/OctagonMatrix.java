@@ -0,0 +1,103 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonInterval;
+
+/**
+ * Difference-bound matrix of an octagon, as used by {@link JavaOctagonManager}. All operations
+ * are side-effect free and return new matrices. The arguments of binary operations always have
+ * the same implementation class and dimension as the receiver.
+ *
+ * <p>The encoding of the {@link JavaNumArray} arguments is the same as for the native octagon
+ * library.
+ */
+interface OctagonMatrix {
+
+  int dimension();
+
+  int numberOfConstraints();
+
+  boolean isEmpty();
+
+  /** Returns 1 if the octagon is empty, 2 if not, and 3 if this is not yet known. */
+  int isEmptyLazy();
+
+  boolean isUniverse();
+
+  boolean isIncludedIn(OctagonMatrix other);
+
+  /** Returns 1 if this octagon is included in the other, 2 if not, and 3 if not yet known. */
+  int isIncludedInLazy(OctagonMatrix other);
+
+  boolean isEqual(OctagonMatrix other);
+
+  /** Check whether a point (one value per variable) is in the octagon. */
+  boolean contains(JavaNumArray point);
+
+  OctagonMatrix intersection(OctagonMatrix other);
+
+  OctagonMatrix union(OctagonMatrix other);
+
+  /** Widening of this octagon with the other one (the newer one). */
+  OctagonMatrix widening(OctagonMatrix other);
+
+  OctagonMatrix narrowing(OctagonMatrix other);
+
+  OctagonMatrix forget(int var);
+
+  /** Assign a linear expression (one coefficient per variable and a constant) to a variable. */
+  OctagonMatrix assign(int var, JavaNumArray expression);
+
+  /**
+   * Assign a linear expression with interval coefficients (upper bound and negated lower bound for
+   * each variable and for the constant) to a variable.
+   */
+  OctagonMatrix assignInterval(int var, JavaNumArray expression);
+
+  /**
+   * Add octagonal constraints, each encoded as four values (type, first variable, second variable,
+   * constant).
+   */
+  OctagonMatrix addBinaryConstraints(int count, JavaNumArray constraints);
+
+  /**
+   * Add the constraint that a linear expression (one coefficient per variable and a constant) is
+   * non-negative. Constraints that are not octagonal are over-approximated.
+   */
+  OctagonMatrix addLinearConstraint(JavaNumArray expression);
+
+  /** Set the bounds of a variable, the lower bound is negated. */
+  OctagonMatrix setBounds(int var, JavaNumArray negatedLower, JavaNumArray upper);
+
+  OctagonInterval getBounds(int var);
+
+  /**
+   * Add new variables at the end, which are either unconstrained or (if project is true) zero.
+   */
+  OctagonMatrix addDimensions(int count, boolean project);
+
+  /** Remove the given number of variables at the end. */
+  OctagonMatrix removeDimensions(int count);
+}
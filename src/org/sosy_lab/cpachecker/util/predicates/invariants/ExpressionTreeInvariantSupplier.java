@@ -35,6 +35,7 @@ import org.sosy_lab.cpachecker.core.algorithm.invariants.ExpressionTreeSupplier;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.LazyLocationMapping;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.ReachedSetBasedExpressionTreeSupplier;
 import org.sosy_lab.cpachecker.core.reachedset.AggregatedReachedSets;
+import org.sosy_lab.cpachecker.core.reachedset.InvariantChannel.Publisher;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.util.expressions.And;
 import org.sosy_lab.cpachecker.util.expressions.ExpressionTree;
@@ -57,9 +58,13 @@ public class ExpressionTreeInvariantSupplier implements ExpressionTreeSupplier {
   private final Map<UnmodifiableReachedSet, ExpressionTreeSupplier> singleInvariantSuppliers =
       new HashMap<>();
 
+  private final PublishedLocationMappings publishedStates;
+  private Set<Publisher> lastUsedPublishers = Collections.emptySet();
+
   public ExpressionTreeInvariantSupplier(AggregatedReachedSets pAggregated, CFA pCFA) {
     aggregatedReached = pAggregated;
     cfa = pCFA;
+    publishedStates = new PublishedLocationMappings(pAggregated);
     updateInvariants(); // at initialization we want to update the invariants the first time
   }
 
@@ -69,8 +74,13 @@ public class ExpressionTreeInvariantSupplier implements ExpressionTreeSupplier {
   }
 
   public void updateInvariants() {
+    // the suppliers for published states are live views, so they only need to be recreated
+    // if the set of publishers changes
+    publishedStates.update();
+    Set<Publisher> newPublishers = ImmutableSet.copyOf(publishedStates.getMappings().keySet());
+
     Set<UnmodifiableReachedSet> newReached = aggregatedReached.snapShot();
-    if (!newReached.equals(lastUsedReachedSets)) {
+    if (!newReached.equals(lastUsedReachedSets) || !newPublishers.equals(lastUsedPublishers)) {
       // if we have a former aggregated supplier we do only replace the changed parts
       Set<UnmodifiableReachedSet> oldElements = Sets.difference(lastUsedReachedSets, newReached);
       Set<UnmodifiableReachedSet> newElements = Sets.difference(newReached, lastUsedReachedSets);
@@ -82,9 +92,13 @@ public class ExpressionTreeInvariantSupplier implements ExpressionTreeSupplier {
                   r, new ReachedSetBasedExpressionTreeSupplier(new LazyLocationMapping(r), cfa)));
 
       lastUsedReachedSets = newReached;
-      lastInvariantSupplier =
-          new AggregatedExpressionTreeSupplier(
-              ImmutableSet.copyOf(singleInvariantSuppliers.values()));
+      lastUsedPublishers = newPublishers;
+      ImmutableSet.Builder<ExpressionTreeSupplier> suppliers = ImmutableSet.builder();
+      suppliers.addAll(singleInvariantSuppliers.values());
+      for (LazyLocationMapping mapping : publishedStates.getMappings().values()) {
+        suppliers.add(new ReachedSetBasedExpressionTreeSupplier(mapping, cfa));
+      }
+      lastInvariantSupplier = new AggregatedExpressionTreeSupplier(suppliers.build());
     }
   }
 
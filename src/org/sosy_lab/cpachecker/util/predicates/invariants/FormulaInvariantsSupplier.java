@@ -48,6 +48,7 @@ import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantSupplier;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.LazyLocationMapping;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.reachedset.AggregatedReachedSets;
+import org.sosy_lab.cpachecker.core.reachedset.InvariantChannel.Publisher;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.cpa.callstack.CallstackStateEqualsWrapper;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
@@ -69,8 +70,12 @@ public class FormulaInvariantsSupplier implements InvariantSupplier {
   private final Map<UnmodifiableReachedSet, ReachedSetBasedFormulaSupplier>
       singleInvariantSuppliers = new HashMap<>();
 
+  private final PublishedLocationMappings publishedStates;
+  private Set<Publisher> lastUsedPublishers = Collections.emptySet();
+
   public FormulaInvariantsSupplier(AggregatedReachedSets pAggregated) {
     aggregatedReached = pAggregated;
+    publishedStates = new PublishedLocationMappings(pAggregated);
     updateInvariants(); // at initialization we want to update the invariants the first time
   }
 
@@ -86,8 +91,11 @@ public class FormulaInvariantsSupplier implements InvariantSupplier {
   }
 
   public void updateInvariants() {
+    Set<CFANode> changedLocations = publishedStates.update();
+    Set<Publisher> newPublishers = ImmutableSet.copyOf(publishedStates.getMappings().keySet());
+
     Set<UnmodifiableReachedSet> tmp = aggregatedReached.snapShot();
-    if (!tmp.equals(lastUsedReachedSets)) {
+    if (!tmp.equals(lastUsedReachedSets) || !newPublishers.equals(lastUsedPublishers)) {
       // if we have a former aggregated supplier we do only replace the changed parts
       Set<UnmodifiableReachedSet> oldElements = Sets.difference(lastUsedReachedSets, tmp);
       Set<UnmodifiableReachedSet> newElements = Sets.difference(tmp, lastUsedReachedSets);
@@ -99,8 +107,18 @@ public class FormulaInvariantsSupplier implements InvariantSupplier {
                   r, new ReachedSetBasedFormulaSupplier(new LazyLocationMapping(r))));
 
       lastUsedReachedSets = tmp;
-      lastInvariantSupplier =
-          new AggregatedInvariantSupplier(ImmutableSet.copyOf(singleInvariantSuppliers.values()));
+      lastUsedPublishers = newPublishers;
+      ImmutableSet.Builder<ReachedSetBasedFormulaSupplier> suppliers = ImmutableSet.builder();
+      suppliers.addAll(singleInvariantSuppliers.values());
+      for (LazyLocationMapping mapping : publishedStates.getMappings().values()) {
+        suppliers.add(new ReachedSetBasedFormulaSupplier(mapping));
+      }
+      lastInvariantSupplier = new AggregatedInvariantSupplier(suppliers.build());
+
+    } else if (!changedLocations.isEmpty()
+        && lastInvariantSupplier instanceof AggregatedInvariantSupplier) {
+      // the published states are live views, only the cached invariants need to be updated
+      ((AggregatedInvariantSupplier) lastInvariantSupplier).invalidate(changedLocations);
     }
   }
 
@@ -183,6 +201,10 @@ public class FormulaInvariantsSupplier implements InvariantSupplier {
       invariantSuppliers = checkNotNull(pInvariantSuppliers);
     }
 
+    private void invalidate(Set<CFANode> pLocations) {
+      cache.keySet().removeIf(key -> pLocations.contains(key.node));
+    }
+
     @Override
     public BooleanFormula getInvariantFor(
         CFANode pNode,
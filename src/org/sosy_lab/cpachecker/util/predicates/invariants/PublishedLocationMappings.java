@@ -0,0 +1,96 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates.invariants;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.algorithm.invariants.LazyLocationMapping;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.reachedset.AggregatedReachedSets;
+import org.sosy_lab.cpachecker.core.reachedset.InvariantChannel.Publisher;
+import org.sosy_lab.cpachecker.core.reachedset.InvariantChannel.Subscription;
+import org.sosy_lab.cpachecker.core.reachedset.InvariantChannel.Update;
+
+/**
+ * Local copy of the states that other analyses published over the {@link
+ * org.sosy_lab.cpachecker.core.reachedset.InvariantChannel} of some {@link AggregatedReachedSets},
+ * with one {@link LazyLocationMapping} per publisher. The mappings are live views and reflect
+ * each {@link #update()}.
+ */
+class PublishedLocationMappings {
+
+  private final Subscription subscription;
+
+  private final Map<Publisher, ListMultimap<CFANode, AbstractState>> statesByPublisher =
+      new LinkedHashMap<>();
+  private final Map<Publisher, LazyLocationMapping> mappings = new LinkedHashMap<>();
+
+  PublishedLocationMappings(AggregatedReachedSets pAggregated) {
+    subscription = pAggregated.getInvariantChannel().subscribe();
+  }
+
+  /**
+   * Apply all updates that were published since the last call.
+   *
+   * @return the locations whose states have changed
+   */
+  Set<CFANode> update() {
+    Set<CFANode> changedLocations = new HashSet<>();
+    for (Update update : subscription.poll()) {
+      Publisher publisher = update.getSource();
+      ImmutableList<AbstractState> states = update.getStates();
+
+      ListMultimap<CFANode, AbstractState> publishedStates = statesByPublisher.get(publisher);
+      if (publishedStates == null) {
+        if (states.isEmpty()) {
+          continue;
+        }
+        publishedStates = ArrayListMultimap.create();
+        statesByPublisher.put(publisher, publishedStates);
+        mappings.put(publisher, new LazyLocationMapping(publishedStates));
+      }
+
+      publishedStates.replaceValues(update.getLocation(), states);
+      changedLocations.add(update.getLocation());
+
+      if (publishedStates.isEmpty()) {
+        // the publisher retracted all of its states, so it does not constrain anything anymore
+        statesByPublisher.remove(publisher);
+        mappings.remove(publisher);
+      }
+    }
+    return changedLocations;
+  }
+
+  /** The current location mappings, one for each publisher that provides states. */
+  Map<Publisher, LazyLocationMapping> getMappings() {
+    return mappings;
+  }
+}
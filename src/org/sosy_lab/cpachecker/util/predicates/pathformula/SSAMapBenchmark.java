@@ -0,0 +1,102 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates.pathformula;
+
+import static org.sosy_lab.common.collect.MapsDifference.collectMapsDifferenceTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sosy_lab.common.collect.MapsDifference;
+import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.SSAMap.SSAMapBuilder;
+
+/**
+ * Micro-benchmark for {@link SSAMap#merge(SSAMap, SSAMap, MapsDifference.Visitor)}, as it happens
+ * at the join point of two branches that modified some variables of a common predecessor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SSAMapBenchmark {
+
+  /** Number of variables in the SSAMaps. */
+  @Param({"10", "100", "10000"})
+  int size;
+
+  /** Number of variables that were modified in each branch. */
+  @Param({"1", "10"})
+  int modified;
+
+  private SSAMap left;
+  private SSAMap right;
+
+  @Setup
+  public void setUp() {
+    SSAMapBuilder base = SSAMap.emptySSAMap().builder();
+    for (int i = 0; i < size; i++) {
+      base.setIndex(variable(i), CNumericTypes.INT, 1);
+    }
+    SSAMap common = base.build();
+
+    SSAMapBuilder leftBuilder = common.builder();
+    SSAMapBuilder rightBuilder = common.builder();
+    for (int i = 0; i < modified; i++) {
+      leftBuilder.setIndex(variable((2 * i) % size), CNumericTypes.INT, 2);
+      rightBuilder.setIndex(variable((2 * i + 1) % size), CNumericTypes.INT, 3);
+    }
+    left = leftBuilder.build();
+    right = rightBuilder.build();
+  }
+
+  private static String variable(int i) {
+    return "main::x" + i;
+  }
+
+  @Benchmark
+  public SSAMap merge() {
+    return SSAMap.merge(left, right, MapsDifference.ignoreMapsDifference());
+  }
+
+  @Benchmark
+  public List<MapsDifference.Entry<String, Integer>> mergeCollectingDifferences() {
+    List<MapsDifference.Entry<String, Integer>> differences = new ArrayList<>();
+    SSAMap.merge(left, right, collectMapsDifferenceTo(differences));
+    return differences;
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates.pathformula.pointeraliasing;
+
+import static com.google.common.collect.FluentIterable.from;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import javax.annotation.concurrent.Immutable;
+import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
+import org.sosy_lab.common.collect.PersistentLinkedList;
+import org.sosy_lab.common.collect.PersistentList;
+import org.sosy_lab.common.collect.PersistentSortedMap;
+
+/**
+ * Persistent index of the pointer targets of one memory region by base and offset. It answers
+ * queries with {@link PointerTargetPattern}s that specify a base in logarithmic time instead of
+ * iterating over all targets of the region.
+ *
+ * <p>An index belongs to one list of targets. Because {@link PointerTargetSetManager} adds targets
+ * to the front of these lists, an index can be updated to a newer list by adding only the new
+ * targets, sharing everything else with the previous index.
+ */
+@Immutable
+final class PointerTargetIndex {
+
+  private static final PointerTargetIndex EMPTY_INDEX =
+      new PointerTargetIndex(PersistentLinkedList.of(), PathCopyingPersistentTreeMap.of(), 0);
+
+  private final PersistentList<PointerTarget> targets;
+
+  // base -> offset of the target (container offset + proper offset) -> targets,
+  // the latter in the same order as in the list of all targets
+  private final PersistentSortedMap<String, PersistentSortedMap<Long, PersistentList<PointerTarget>>>
+      targetsByBaseAndOffset;
+
+  private final int size;
+
+  private PointerTargetIndex(
+      PersistentList<PointerTarget> pTargets,
+      PersistentSortedMap<String, PersistentSortedMap<Long, PersistentList<PointerTarget>>>
+          pTargetsByBaseAndOffset,
+      int pSize) {
+    targets = pTargets;
+    targetsByBaseAndOffset = pTargetsByBaseAndOffset;
+    size = pSize;
+  }
+
+  /** Creates an index for the given list of targets. */
+  static PointerTargetIndex of(PersistentList<PointerTarget> pTargets) {
+    return EMPTY_INDEX.add(pTargets, Lists.reverse(new ArrayList<>(pTargets)));
+  }
+
+  /**
+   * Returns an index for the given list of targets. If the list was created by adding targets to
+   * the front of the list of this index, only the new targets are indexed.
+   */
+  PointerTargetIndex updateTo(PersistentList<PointerTarget> pTargets) {
+    if (pTargets == targets) {
+      return this;
+    }
+    if (pTargets instanceof PersistentLinkedList) {
+      List<PointerTarget> newTargets = new ArrayList<>();
+      PersistentLinkedList<PointerTarget> rest = (PersistentLinkedList<PointerTarget>) pTargets;
+      while (rest != targets && !rest.isEmpty()) {
+        newTargets.add(rest.head());
+        rest = rest.tail();
+      }
+      if (rest == targets || (rest.isEmpty() && targets.isEmpty())) {
+        return add(pTargets, Lists.reverse(newTargets));
+      }
+    }
+    return of(pTargets);
+  }
+
+  /** Adds the given targets (oldest first) to this index. */
+  private PointerTargetIndex add(
+      PersistentList<PointerTarget> pAllTargets, Iterable<PointerTarget> pNewTargets) {
+    PersistentSortedMap<String, PersistentSortedMap<Long, PersistentList<PointerTarget>>> index =
+        targetsByBaseAndOffset;
+    int newSize = size;
+    for (PointerTarget target : pNewTargets) {
+      PersistentSortedMap<Long, PersistentList<PointerTarget>> targetsOfBase =
+          index.getOrDefault(target.getBase(), PathCopyingPersistentTreeMap.of());
+      long offset = target.getOffset();
+      PersistentList<PointerTarget> targetsAtOffset =
+          targetsOfBase.getOrDefault(offset, PersistentLinkedList.of());
+      index =
+          index.putAndCopy(
+              target.getBase(), targetsOfBase.putAndCopy(offset, targetsAtOffset.with(target)));
+      newSize++;
+    }
+    return new PointerTargetIndex(pAllTargets, index, newSize);
+  }
+
+  /** Returns the list of targets this index belongs to. */
+  PersistentList<PointerTarget> getTargets() {
+    return targets;
+  }
+
+  /** Returns the number of indexed targets. */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Gets all targets that match the given pattern. Patterns that specify a base are answered by
+   * index lookups, all other patterns by iterating over all targets.
+   *
+   * @param pPattern the pattern.
+   * @return the matching targets.
+   */
+  Iterable<PointerTarget> getMatchingTargets(final Predicate<PointerTarget> pPattern) {
+    if (pPattern instanceof PointerTargetPattern) {
+      PointerTargetPattern pattern = (PointerTargetPattern) pPattern;
+      String base = pattern.getBase();
+      if (base != null) {
+        NavigableMap<Long, PersistentList<PointerTarget>> targetsOfBase = getTargetsOfBase(base);
+        Iterable<PointerTarget> candidates;
+        if (pattern.isSemiExact()) {
+          candidates =
+              targetsOfBase.getOrDefault(pattern.getStartOffset(), PersistentLinkedList.of());
+        } else {
+          candidates = Iterables.concat(targetsOfBase.values());
+        }
+        return from(candidates).filter(pattern::matches);
+      }
+
+    } else if (pPattern instanceof PointerTargetPattern.RangePointerTargetPattern) {
+      PointerTargetPattern.RangePointerTargetPattern pattern =
+          (PointerTargetPattern.RangePointerTargetPattern) pPattern;
+      String base = pattern.getBase();
+      if (base != null) {
+        return Iterables.concat(
+            getTargetsOfBase(base)
+                .subMap(pattern.getStartOffset(), pattern.getEndOffset())
+                .values());
+      }
+    }
+    return from(targets).filter(pPattern);
+  }
+
+  private NavigableMap<Long, PersistentList<PointerTarget>> getTargetsOfBase(String pBase) {
+    NavigableMap<Long, PersistentList<PointerTarget>> targetsOfBase =
+        targetsByBaseAndOffset.get(pBase);
+    return targetsOfBase != null ? targetsOfBase : Collections.emptyNavigableMap();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates.pathformula.pointeraliasing;
+
+import static com.google.common.collect.FluentIterable.from;
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.collect.PersistentLinkedList;
+import org.sosy_lab.common.collect.PersistentList;
+import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
+
+public class PointerTargetIndexTest {
+
+  private static final ImmutableList<String> BASES = ImmutableList.of("a", "b", "c", "d");
+
+  private PersistentList<PointerTarget> targets;
+
+  @Before
+  public void setUp() {
+    Random random = new Random(0);
+    targets = PersistentLinkedList.of();
+    for (int i = 0; i < 200; i++) {
+      targets = targets.with(randomTarget(random));
+    }
+  }
+
+  private static PointerTarget randomTarget(Random pRandom) {
+    String base = BASES.get(pRandom.nextInt(BASES.size()));
+    long containerOffset = 4 * pRandom.nextInt(8);
+    long properOffset = 4 * pRandom.nextInt(2);
+    return new PointerTarget(base, CNumericTypes.INT, properOffset, containerOffset);
+  }
+
+  private static ImmutableList<Predicate<PointerTarget>> patterns() {
+    ImmutableList.Builder<Predicate<PointerTarget>> patterns = ImmutableList.builder();
+    patterns.add(PointerTargetPattern.any());
+    for (String base : BASES) {
+      patterns.add(PointerTargetPattern.forBase(base));
+      patterns.add(PointerTargetPattern.forRange(base, 0, 1));
+      patterns.add(PointerTargetPattern.forRange(base, 4, 12));
+      patterns.add(PointerTargetPattern.forRange(base, 30, 100));
+    }
+    patterns.add(PointerTargetPattern.forBase("unknown"));
+    return patterns.build();
+  }
+
+  private static void assertIndexMatches(
+      PointerTargetIndex pIndex, PersistentList<PointerTarget> pTargets) {
+    assertThat(pIndex.size()).isEqualTo(pTargets.size());
+    for (Predicate<PointerTarget> pattern : patterns()) {
+      assertThat(pIndex.getMatchingTargets(pattern))
+          .containsExactlyElementsIn(from(pTargets).filter(pattern));
+    }
+  }
+
+  @Test
+  public void testEmpty() {
+    PersistentList<PointerTarget> empty = PersistentLinkedList.of();
+    assertIndexMatches(PointerTargetIndex.of(empty), empty);
+  }
+
+  @Test
+  public void testLookup() {
+    assertIndexMatches(PointerTargetIndex.of(targets), targets);
+  }
+
+  @Test
+  public void testIncrementalUpdate() {
+    PointerTargetIndex index = PointerTargetIndex.of(PersistentLinkedList.of());
+    Random random = new Random(1);
+    PersistentList<PointerTarget> current = PersistentLinkedList.of();
+    for (int i = 0; i < 50; i++) {
+      current = current.with(randomTarget(random)).with(randomTarget(random));
+      index = index.updateTo(current);
+      assertThat(index.getTargets()).isSameAs(current);
+      assertIndexMatches(index, current);
+    }
+  }
+
+  @Test
+  public void testUpdateToUnrelatedList() {
+    PointerTargetIndex index = PointerTargetIndex.of(targets);
+    PersistentList<PointerTarget> other =
+        PersistentLinkedList.copyOf(ImmutableList.copyOf(targets).subList(0, 10));
+    assertIndexMatches(index.updateTo(other), other);
+    assertThat(index.updateTo(targets)).isSameAs(index);
+  }
+
+  @Test
+  public void testOrderWithinOffset() {
+    PointerTarget first = new PointerTarget("a", CNumericTypes.INT, 0, 0);
+    PointerTarget second = new PointerTarget("a", CNumericTypes.LONG_INT, 0, 0);
+    PersistentList<PointerTarget> list = PersistentLinkedList.of(first, second);
+    assertThat(PointerTargetIndex.of(list).getMatchingTargets(PointerTargetPattern.forBase("a")))
+        .containsExactly(first, second)
+        .inOrder();
+  }
+}
@@ -119,6 +119,17 @@ class PointerTargetPattern implements Serializable, Predicate<PointerTarget> {
     return containerOffset != null && properOffset != null;
   }
 
+  @Nullable
+  String getBase() {
+    return base;
+  }
+
+  /** Returns the offset of the matched targets from their base, only for semi-exact patterns. */
+  long getStartOffset() {
+    checkArgument(isSemiExact());
+    return containerOffset + properOffset;
+  }
+
   PointerTarget asPointerTarget() {
     checkArgument(isExact());
     return new PointerTarget(base, containerType, properOffset, containerOffset);
@@ -131,7 +142,7 @@ class PointerTargetPattern implements Serializable, Predicate<PointerTarget> {
 
   private static final long serialVersionUID = -2918663736813010025L;
 
-  private static class RangePointerTargetPattern implements Predicate<PointerTarget> {
+  static final class RangePointerTargetPattern implements Predicate<PointerTarget> {
 
     private final String base;
     private final long startOffset;
@@ -143,6 +154,19 @@ class PointerTargetPattern implements Serializable, Predicate<PointerTarget> {
       endOffset = pStartOffset + pSize;
     }
 
+    @Nullable
+    String getBase() {
+      return base;
+    }
+
+    long getStartOffset() {
+      return startOffset;
+    }
+
+    long getEndOffset() {
+      return endOffset;
+    }
+
     @Override
     public boolean apply(final PointerTarget target) {
       final long offset = target.containerOffset + target.properOffset;
@@ -34,6 +34,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.concurrent.Immutable;
 import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentLinkedList;
@@ -65,6 +66,14 @@ public final class PointerTargetSet implements Serializable {
     return targets.getOrDefault(regionName, PersistentLinkedList.of());
   }
 
+  /**
+   * Returns the cache of indices for the targets of each region. The indices are not part of the
+   * state, they only serve as a starting point for the indices of successor sets.
+   */
+  Map<String, PointerTargetIndex> getTargetIndices() {
+    return targetIndices;
+  }
+
   public static PointerTargetSet emptyPointerTargetSet() {
     return EMPTY_INSTANCE;
   }
@@ -206,6 +215,11 @@ public final class PointerTargetSet implements Serializable {
   // its value is not tracked and might get lost.
   private final PersistentSortedMap<String, PersistentList<PointerTarget>> targets;
 
+  // Indices of the targets per region (possibly for an older list of targets), see
+  // PointerTargetIndex. This is only a cache that does not affect equality.
+  private final transient Map<String, PointerTargetIndex> targetIndices =
+      new ConcurrentHashMap<>();
+
   private final PersistentList<Formula> highestAllocatedAddresses;
 
   private final int allocationCount;
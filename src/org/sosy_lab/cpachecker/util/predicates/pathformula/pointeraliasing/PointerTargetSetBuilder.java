@@ -35,8 +35,10 @@ import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -142,6 +144,9 @@ public interface PointerTargetSetBuilder {
     private PersistentList<Formula> highestAllocatedAddresses;
     private int allocationCount;
 
+    // Indices for the targets of each region, updated lazily when targets are looked up
+    private final Map<String, PointerTargetIndex> targetIndices;
+
     /**
      * Creates a new RealPointerTargetSetBuilder.
      *
@@ -163,6 +168,7 @@ public interface PointerTargetSetBuilder {
       targets = pointerTargetSet.getTargets();
       highestAllocatedAddresses = pointerTargetSet.getHighestAllocatedAddresses();
       allocationCount = pointerTargetSet.getAllocationCount();
+      targetIndices = new HashMap<>(pointerTargetSet.getTargetIndices());
       formulaManager = pFormulaManager;
       typeHandler = pTypeHandler;
       ptsMgr = pPtsMgr;
@@ -735,7 +741,17 @@ public interface PointerTargetSetBuilder {
     @Override
     public Iterable<PointerTarget> getMatchingTargets(
         final MemoryRegion region, final Predicate<PointerTarget> pattern) {
-      return from(getAllTargets(region)).filter(pattern);
+      return getTargetIndex(region).getMatchingTargets(pattern);
+    }
+
+    private PointerTargetIndex getTargetIndex(final MemoryRegion region) {
+      final String regionName = regionMgr.getPointerAccessName(region);
+      final PersistentList<PointerTarget> regionTargets =
+          targets.getOrDefault(regionName, PersistentLinkedList.of());
+      PointerTargetIndex index = targetIndices.get(regionName);
+      index = index == null ? PointerTargetIndex.of(regionTargets) : index.updateTo(regionTargets);
+      targetIndices.put(regionName, index);
+      return index;
     }
 
     /**
@@ -764,6 +780,7 @@ public interface PointerTargetSetBuilder {
       if (result.isEmpty()) {
         return PointerTargetSet.emptyPointerTargetSet();
       } else {
+        result.getTargetIndices().putAll(targetIndices);
         return result;
       }
     }
@@ -358,6 +358,17 @@ class PointerTargetSetManager {
             highestAllocatedAddresses,
             allocationCount);
 
+    // Start with the indices for the bigger lists of targets,
+    // because mergeLists() adds the missing targets to the bigger list.
+    final Map<String, PointerTargetIndex> mergedTargetIndices = resultPTS.getTargetIndices();
+    for (PointerTargetSet pts : ImmutableList.of(pts1, pts2)) {
+      pts.getTargetIndices()
+          .forEach(
+              (regionName, index) ->
+                  mergedTargetIndices.merge(
+                      regionName, index, (i1, i2) -> i1.size() >= i2.size() ? i1 : i2));
+    }
+
     final List<CompositeField> sharedFields = new ArrayList<>();
     final BooleanFormula mergeFormula2 =
         makeValueImportConstraints(basesOnlyPts1.getSnapshot(), sharedFields, ssa);
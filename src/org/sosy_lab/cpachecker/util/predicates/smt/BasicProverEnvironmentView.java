@@ -26,9 +26,13 @@ package org.sosy_lab.cpachecker.util.predicates.smt;
 import static com.google.common.collect.FluentIterable.from;
 
 import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents.Event;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents.Phase;
 import org.sosy_lab.java_smt.api.BasicProverEnvironment;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Model;
@@ -40,6 +44,12 @@ public class BasicProverEnvironmentView<E> implements BasicProverEnvironment<E>
   private final BasicProverEnvironment<E> delegate;
   private final FormulaWrappingHandler wrappingHandler;
 
+  /** Number of constraints on the stack, and the same number for each level below, for events. */
+  private int constraints = 0;
+  // plain int stack, such that push and pop do not box the numbers
+  private int[] constraintsPerLevel = new int[16];
+  private int levels = 0;
+
   public BasicProverEnvironmentView(
       BasicProverEnvironment<E> pDelegate, FormulaWrappingHandler pWrappingHandler) {
     delegate = pDelegate;
@@ -48,27 +58,46 @@ public class BasicProverEnvironmentView<E> implements BasicProverEnvironment<E>
 
   @Override
   public E push(BooleanFormula f) throws InterruptedException {
+    pushLevel();
+    constraints++;
     return delegate.push(f);
   }
 
   @Override
   public void pop() {
     delegate.pop();
+    levels--;
+    constraints = constraintsPerLevel[levels];
   }
 
   @Override
   public E addConstraint(BooleanFormula constraint) throws InterruptedException {
+    constraints++;
     return delegate.addConstraint(constraint);
   }
 
   @Override
   public void push() {
+    pushLevel();
     delegate.push();
   }
 
+  private void pushLevel() {
+    if (levels == constraintsPerLevel.length) {
+      constraintsPerLevel = Arrays.copyOf(constraintsPerLevel, 2 * levels);
+    }
+    constraintsPerLevel[levels] = constraints;
+    levels++;
+  }
+
   @Override
   public boolean isUnsat() throws SolverException, InterruptedException {
-    return delegate.isUnsat();
+    Event event = FlightRecorderEvents.begin(Phase.PROVER);
+    try {
+      return delegate.isUnsat();
+    } finally {
+      event.setCount(constraints).commit();
+    }
   }
 
   @Override
@@ -98,7 +127,12 @@ public class BasicProverEnvironmentView<E> implements BasicProverEnvironment<E>
   @Override
   public boolean isUnsatWithAssumptions(Collection<BooleanFormula> assumptions)
       throws SolverException, InterruptedException {
-    return delegate.isUnsatWithAssumptions(assumptions);
+    Event event = FlightRecorderEvents.begin(Phase.PROVER);
+    try {
+      return delegate.isUnsatWithAssumptions(assumptions);
+    } finally {
+      event.setCount(constraints + assumptions.size()).commit();
+    }
   }
 
   @Override
@@ -34,6 +34,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
@@ -162,10 +163,32 @@ public class FormulaManagerView {
       + " This can be used for solvers that do not support floating-point arithmetic, or for increased performance.")
   private Theory encodeFloatAs = Theory.FLOAT;
 
+  @Option(
+    secure = true,
+    description =
+        "Maximum size of each memoization table for formula transformations like instantiation"
+            + " and extraction of atoms (weighted by the size of the cached results)."
+            + " Use 0 to disable these tables."
+  )
+  private long transformationCacheSize = 100000;
+
   @VisibleForTesting
   public FormulaManagerView(FormulaManager pFormulaManager, Configuration config, LogManager pLogger) throws InvalidConfigurationException {
     config.inject(this, FormulaManagerView.class);
     logger = pLogger;
+    instantiateCache =
+        new FormulaTransformationCache<>("instantiate", transformationCacheSize, f -> 1);
+    uninstantiateCache =
+        new FormulaTransformationCache<>(
+            "uninstantiate (per node)", transformationCacheSize, f -> 1);
+    extractAtomsCache =
+        new FormulaTransformationCache<>(
+            "extractAtoms", transformationCacheSize, ImmutableSet::size);
+    splitNumeralEqualityCache =
+        new FormulaTransformationCache<>(
+            "splitNumeralEqualityIfPossible", transformationCacheSize, List::size);
+    arithCache =
+        new FormulaTransformationCache<>("isPurelyArithmetic", transformationCacheSize, b -> 1);
     manager = checkNotNull(pFormulaManager);
     wrappingHandler = new FormulaWrappingHandler(manager, encodeBitvectorAs, encodeFloatAs);
     booleanFormulaManager = new BooleanFormulaManagerView(wrappingHandler, manager.getBooleanFormulaManager());
@@ -967,11 +990,18 @@ public class FormulaManagerView {
    * are not allowed in the formula.
    */
   public <F extends Formula> F instantiate(F pF, final SSAMap pSsa) {
+    @SuppressWarnings("unchecked")
+    F result = (F) instantiateCache.get(Pair.of(pF, pSsa), key -> instantiate0(pF, pSsa));
+    return result;
+  }
+
+  private <F extends Formula> F instantiate0(F pF, final SSAMap pSsa) {
     return wrap(
         getFormulaType(pF),
         myFreeVariableNodeTransformer(
             unwrap(pF),
             new HashMap<>(),
+            null,
             pFullSymbolName -> {
               int sepPos = pFullSymbolName.indexOf(INDEX_SEPARATOR);
               if (sepPos == pFullSymbolName.length() - 1) {
@@ -996,8 +1026,11 @@ public class FormulaManagerView {
   // various caches for speeding up expensive tasks
   //
 
+  // cache for instantiating formulas with an SSA map (see instantiate() above)
+  private final FormulaTransformationCache<Pair<Formula, SSAMap>, Formula> instantiateCache;
+
   // cache for uninstantiating terms (see uninstantiate() below)
-  private final Map<Formula, Formula> uninstantiateCache = new HashMap<>();
+  private final FormulaTransformationCache<Formula, Formula> uninstantiateCache;
 
   /**
    * Only use inside this package and for solver-specific classes
@@ -1042,6 +1075,7 @@ public class FormulaManagerView {
         getFormulaType(f),
         myFreeVariableNodeTransformer(
             unwrap(f),
+            new HashMap<>(),
             uninstantiateCache,
             pArg0 ->
                 pArg0.charAt(pArg0.length() - 1) == INDEX_SEPARATOR
@@ -1060,12 +1094,20 @@ public class FormulaManagerView {
 
     return wrap(getFormulaType(pFormula),
         myFreeVariableNodeTransformer(unwrap(pFormula),
-            new HashMap<>(), pRenameFunction));
+            new HashMap<>(), null, pRenameFunction));
   }
 
+  /**
+   * Rename all free variables and UFs in a formula.
+   *
+   * @param pCache The cache for the transformed nodes of the formula during this transformation.
+   * @param pSharedCache An optional cache for the transformed nodes that is shared between all
+   *     calls with the same rename function.
+   */
   private <T extends Formula> T myFreeVariableNodeTransformer(
       final T pFormula,
       final Map<Formula, Formula> pCache,
+      final @Nullable FormulaTransformationCache<Formula, Formula> pSharedCache,
       final Function<String, String> pRenameFunction) {
 
     Preconditions.checkNotNull(pCache);
@@ -1174,11 +1216,23 @@ public class FormulaManagerView {
         toProcess.pop();
         continue;
       }
+      if (pSharedCache != null) {
+        Formula cached = pSharedCache.getIfPresent(tt);
+        if (cached != null) {
+          pCache.put(tt, cached);
+          toProcess.pop();
+          continue;
+        }
+      }
 
       //noinspection ResultOfMethodCallIgnored
       visit(tt, process);
     }
 
+    if (pSharedCache != null) {
+      pCache.forEach(pSharedCache::put);
+    }
+
     @SuppressWarnings("unchecked")
     T result = (T)pCache.get(pFormula);
     assert result != null;
@@ -1192,6 +1246,18 @@ public class FormulaManagerView {
   public ImmutableSet<BooleanFormula> extractAtoms(
       BooleanFormula pFormula,
       final boolean splitArithEqualities) {
+    return extractAtomsCache.get(
+        Pair.of(pFormula, splitArithEqualities),
+        key -> extractAtoms0(pFormula, splitArithEqualities));
+  }
+
+  private final FormulaTransformationCache<
+          Pair<BooleanFormula, Boolean>, ImmutableSet<BooleanFormula>>
+      extractAtomsCache;
+
+  private ImmutableSet<BooleanFormula> extractAtoms0(
+      BooleanFormula pFormula,
+      final boolean splitArithEqualities) {
     final ImmutableSet.Builder<BooleanFormula> result = ImmutableSet.builder();
     booleanFormulaManager.visitRecursively(pFormula, new DefaultBooleanFormulaVisitor<TraversalProcess>(){
       @Override
@@ -1255,6 +1321,13 @@ public class FormulaManagerView {
    *  2) Conjunction over the returned list is equivalent to the input formula.
    */
   public List<BooleanFormula> splitNumeralEqualityIfPossible(BooleanFormula formula) {
+    return splitNumeralEqualityCache.get(formula, this::splitNumeralEqualityIfPossible0);
+  }
+
+  private final FormulaTransformationCache<BooleanFormula, List<BooleanFormula>>
+      splitNumeralEqualityCache;
+
+  private List<BooleanFormula> splitNumeralEqualityIfPossible0(BooleanFormula formula) {
     return visit(formula, new DefaultFormulaVisitor<List<BooleanFormula>>() {
       @Override
       protected List<BooleanFormula> visitDefault(Formula f) {
@@ -1291,15 +1364,16 @@ public class FormulaManagerView {
   /**
    * Cache for splitting arithmetic equalities in extractAtoms.
    */
-  private final Map<Formula, Boolean> arithCache = new HashMap<>();
+  private final FormulaTransformationCache<Formula, Boolean> arithCache;
 
   /**
    * Returns true if the given term is a pure arithmetic term.
    */
   private boolean myIsPurelyArithmetic(Formula f) {
-    Boolean result = arithCache.get(f);
-    if (result != null) { return result; }
+    return arithCache.get(f, this::myIsPurelyArithmetic0);
+  }
 
+  private boolean myIsPurelyArithmetic0(Formula f) {
     final AtomicBoolean isPurelyAtomic = new AtomicBoolean(true);
     visitRecursively(f, new DefaultFormulaVisitor<TraversalProcess>() {
       @Override
@@ -1319,9 +1393,16 @@ public class FormulaManagerView {
         return TraversalProcess.CONTINUE;
       }
     });
-    result = isPurelyAtomic.get();
-    arithCache.put(f, result);
-    return result;
+    return isPurelyAtomic.get();
+  }
+
+  /** Print statistics about the memoization tables for formula transformations. */
+  public void printTransformationCacheStatistics(PrintStream out) {
+    instantiateCache.printStatistics(out);
+    uninstantiateCache.printStatistics(out);
+    extractAtomsCache.printStatistics(out);
+    splitNumeralEqualityCache.printStatistics(out);
+    arithCache.printStatistics(out);
   }
 
   /**
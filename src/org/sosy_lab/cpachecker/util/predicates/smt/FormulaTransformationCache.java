@@ -0,0 +1,98 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates.smt;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.io.PrintStream;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsUtils;
+
+/**
+ * Thread-safe and bounded memoization table for the results of a formula transformation of
+ * {@link FormulaManagerView}. The key contains the input formula and everything else the result
+ * depends on (e.g., the SSA map for instantiation). Entries are evicted when the sum of the
+ * weights of all cached results exceeds the maximum size, such that large results are evicted
+ * earlier than with a limit on the number of entries.
+ */
+final class FormulaTransformationCache<K, V> {
+
+  private final String name;
+  private final boolean enabled;
+  private final Cache<K, V> cache;
+
+  FormulaTransformationCache(String pName, long pMaximumSize, ToIntFunction<V> pWeigher) {
+    name = pName;
+    enabled = pMaximumSize > 0;
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(Math.max(pMaximumSize, 0))
+            .<K, V>weigher((key, value) -> Math.max(1, pWeigher.applyAsInt(value)))
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Return the cached result for the given key, or compute and cache it. The computation may use
+   * this cache recursively.
+   */
+  V get(K pKey, Function<? super K, ? extends V> pTransformation) {
+    V result = getIfPresent(pKey);
+    if (result == null) {
+      result = pTransformation.apply(pKey);
+      put(pKey, result);
+    }
+    return result;
+  }
+
+  /** Return the cached result for the given key, or null if it is not cached. */
+  @Nullable
+  V getIfPresent(K pKey) {
+    return enabled ? cache.getIfPresent(pKey) : null;
+  }
+
+  void put(K pKey, V pResult) {
+    if (enabled) {
+      cache.put(pKey, pResult);
+    }
+  }
+
+  void printStatistics(PrintStream pOut) {
+    CacheStats stats = cache.stats();
+    if (stats.requestCount() == 0) {
+      return;
+    }
+    pOut.println(
+        String.format(
+            "  %-29s %d hits (%s) of %d lookups, %d evictions",
+            name + ":",
+            stats.hitCount(),
+            StatisticsUtils.toPercent(stats.hitCount(), stats.requestCount()),
+            stats.requestCount(),
+            stats.evictionCount()));
+  }
+}
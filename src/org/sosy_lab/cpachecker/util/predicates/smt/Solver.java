@@ -32,6 +32,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.PrintStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,9 @@ import org.sosy_lab.cpachecker.util.predicates.interpolation.SeparateInterpolati
 import org.sosy_lab.cpachecker.util.predicates.ufCheckingProver.UFCheckingBasicProverEnvironment.UFCheckingProverOptions;
 import org.sosy_lab.cpachecker.util.predicates.ufCheckingProver.UFCheckingInterpolatingProverEnvironment;
 import org.sosy_lab.cpachecker.util.predicates.ufCheckingProver.UFCheckingProverEnvironment;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents.Event;
+import org.sosy_lab.cpachecker.util.statistics.FlightRecorderEvents.Phase;
 import org.sosy_lab.java_smt.SolverContextFactory;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 import org.sosy_lab.java_smt.api.BooleanFormula;
@@ -60,6 +64,8 @@ import org.sosy_lab.java_smt.api.ProverEnvironment;
 import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.api.visitors.DefaultFormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
 
 /**
  * Encapsulation of an SMT solver.
@@ -335,6 +341,7 @@ public final class Solver implements AutoCloseable {
       return result;
     }
 
+    Event event = FlightRecorderEvents.begin(Phase.SOLVER);
     solverTime.start();
     try {
       result = isUnsatUncached(f);
@@ -344,9 +351,27 @@ public final class Solver implements AutoCloseable {
 
     } finally {
       solverTime.stop();
+      if (FlightRecorderEvents.isEnabled()) {
+        event.setSize(getDagSize(f)).commit();
+      }
     }
   }
 
+  /** Count the nodes of the DAG of a formula, used as its size in events. */
+  private long getDagSize(BooleanFormula f) {
+    final long[] size = {0};
+    fmgr.visitRecursively(
+        f,
+        new DefaultFormulaVisitor<TraversalProcess>() {
+          @Override
+          protected TraversalProcess visitDefault(Formula pF) {
+            size[0]++;
+            return TraversalProcess.CONTINUE;
+          }
+        });
+    return size[0];
+  }
+
   /**
    * Unsatisfiability check with more complex cache look up,
    * optionally based on unsat core.
@@ -480,6 +505,15 @@ public final class Solver implements AutoCloseable {
     return isUnsat(f);
   }
 
+  /**
+   * Print statistics about the hit rates of the memoization tables
+   * for formula transformations (e.g., instantiation) of this solver's formula manager.
+   */
+  public void printFormulaCacheStatistics(PrintStream out) {
+    out.println("Memoization of formula transformations:");
+    fmgr.printTransformationCacheStatistics(out);
+  }
+
   /**
    * Close this solver instance and all underlying formula managers.
    * This instance and any instance retrieved from it (including all {@link Formula}s)
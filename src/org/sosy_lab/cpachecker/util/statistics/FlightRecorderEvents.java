@@ -0,0 +1,276 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.statistics;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+
+/**
+ * Custom events for the Java Flight Recorder (JFR) that show when and why the analysis spends its
+ * time in which phase, in contrast to the aggregated timers in the statistics.
+ *
+ * <p>CPAchecker is compiled for Java 8, where the JFR API (package jdk.jfr) does not exist.
+ * Thus the event types are created reflectively with jdk.jfr.EventFactory, which works if
+ * CPAchecker runs on Java 11 or newer and a flight recording is already active when this class is
+ * loaded (e.g., if started with <code>scripts/cpa.sh -jfr</code>). Otherwise, all events are
+ * disabled and creating and committing them costs only a check of a static field.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * Event event = FlightRecorderEvents.begin(Phase.TRANSFER);
+ * ... // the operation to measure
+ * event.setLocation(state).setCount(successors.size()).commit();
+ * </pre>
+ */
+public final class FlightRecorderEvents {
+
+  /** The phases of the analysis for which events are emitted, each is an own event type. */
+  public enum Phase {
+    TRANSFER("Transfer Relation", "Computation of the abstract successors of a state"),
+    PRECISION_ADJUSTMENT("Precision Adjustment", "Precision adjustment of an abstract successor"),
+    MERGE("Merge", "Merge of an abstract successor with the states from the reached set"),
+    STOP("Stop", "Coverage check of an abstract successor against the reached set"),
+    REFINEMENT("Refinement", "Refinement of an abstract counterexample in CEGAR"),
+    SOLVER("Solver Query", "Satisfiability check of a formula via the Solver"),
+    PROVER("Prover Check", "Satisfiability check of the constraints on the stack of a prover");
+
+    private final String label;
+    private final String description;
+
+    Phase(String pLabel, String pDescription) {
+      label = pLabel;
+      description = pDescription;
+    }
+  }
+
+  private static final int LOCATION_FIELD = 0;
+  private static final int COUNT_FIELD = 1;
+  private static final int SIZE_FIELD = 2;
+
+  private static final @Nullable JfrSupport JFR = JfrSupport.createIfRecording();
+
+  private static final Event DISABLED_EVENT = new Event(null);
+
+  private FlightRecorderEvents() {}
+
+  /** Whether events are recorded, can be used to skip expensive computations of event values. */
+  public static boolean isEnabled() {
+    return JFR != null;
+  }
+
+  /**
+   * Start a new event for the given phase. The event is recorded (with the time since this call as
+   * duration) as soon as {@link Event#commit()} is called.
+   */
+  public static Event begin(Phase pPhase) {
+    if (JFR == null) {
+      return DISABLED_EVENT;
+    }
+    return new Event(JFR.begin(pPhase));
+  }
+
+  /** A running event. All setters do nothing if events are disabled. */
+  public static final class Event {
+
+    private final @Nullable Object jfrEvent;
+
+    private Event(@Nullable Object pJfrEvent) {
+      jfrEvent = pJfrEvent;
+    }
+
+    /** Set the program location of the event to the location of the given state (if any). */
+    public Event setLocation(@Nullable AbstractState pState) {
+      if (jfrEvent != null && pState != null) {
+        CFANode location = AbstractStates.extractLocation(pState);
+        if (location != null) {
+          JFR.set(jfrEvent, LOCATION_FIELD, location.describeFileLocation());
+        }
+      }
+      return this;
+    }
+
+    /** Set the number of states or constraints that were involved in the operation. */
+    public Event setCount(long pCount) {
+      if (jfrEvent != null) {
+        JFR.set(jfrEvent, COUNT_FIELD, pCount);
+      }
+      return this;
+    }
+
+    /** Set the size of the formula that was handled by the operation. */
+    public Event setSize(long pSize) {
+      if (jfrEvent != null) {
+        JFR.set(jfrEvent, SIZE_FIELD, pSize);
+      }
+      return this;
+    }
+
+    /** End the event and record it. */
+    public void commit() {
+      if (jfrEvent != null) {
+        JFR.commit(jfrEvent);
+      }
+    }
+  }
+
+  /** Reflective access to the JFR API of Java 11 and newer. */
+  private static final class JfrSupport {
+
+    private final Map<Phase, MethodHandle> newEvent;
+    private final MethodHandle begin;
+    private final MethodHandle set;
+    private final MethodHandle commit;
+
+    private JfrSupport(
+        Map<Phase, MethodHandle> pNewEvent,
+        MethodHandle pBegin,
+        MethodHandle pSet,
+        MethodHandle pCommit) {
+      newEvent = pNewEvent;
+      begin = pBegin;
+      set = pSet;
+      commit = pCommit;
+    }
+
+    static @Nullable JfrSupport createIfRecording() {
+      try {
+        Class<?> recorderClass = Class.forName("jdk.jfr.FlightRecorder");
+        if (!(Boolean) recorderClass.getMethod("isInitialized").invoke(null)) {
+          return null;
+        }
+        Object recorder = recorderClass.getMethod("getFlightRecorder").invoke(null);
+        if (((List<?>) recorderClass.getMethod("getRecordings").invoke(recorder)).isEmpty()) {
+          return null;
+        }
+        return create();
+      } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+        // JFR not available (Java 8) or not usable, events stay disabled
+        return null;
+      }
+    }
+
+    private static JfrSupport create() throws ReflectiveOperationException {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      Class<?> eventClass = Class.forName("jdk.jfr.Event");
+      Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+      Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+      Constructor<?> valueDescriptor =
+          valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+
+      List<Object> fields =
+          ImmutableList.of(
+              valueDescriptor.newInstance(
+                  String.class, "location", ImmutableList.of(annotation("Label", "Location"))),
+              valueDescriptor.newInstance(
+                  long.class, "count", ImmutableList.of(annotation("Label", "Count"))),
+              valueDescriptor.newInstance(
+                  long.class, "size", ImmutableList.of(annotation("Label", "Formula Size"))));
+
+      Map<Phase, MethodHandle> newEvent = new EnumMap<>(Phase.class);
+      for (Phase phase : Phase.values()) {
+        List<Object> annotations =
+            ImmutableList.of(
+                annotation("Name", "org.sosy_lab.cpachecker." + phase.name()),
+                annotation("Label", phase.label),
+                annotation("Description", phase.description),
+                annotation("Category", new String[] {"CPAchecker"}));
+        Object factory =
+            factoryClass.getMethod("create", List.class, List.class).invoke(null, annotations, fields);
+        newEvent.put(
+            phase,
+            lookup
+                .findVirtual(factoryClass, "newEvent", MethodType.methodType(eventClass))
+                .bindTo(factory)
+                .asType(MethodType.methodType(Object.class)));
+      }
+
+      return new JfrSupport(
+          newEvent,
+          lookup
+              .findVirtual(eventClass, "begin", MethodType.methodType(void.class))
+              .asType(MethodType.methodType(void.class, Object.class)),
+          lookup
+              .findVirtual(
+                  eventClass, "set", MethodType.methodType(void.class, int.class, Object.class))
+              .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class)),
+          lookup
+              .findVirtual(eventClass, "commit", MethodType.methodType(void.class))
+              .asType(MethodType.methodType(void.class, Object.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object annotation(String pName, Object pValue)
+        throws ReflectiveOperationException {
+      Class<? extends Annotation> annotationClass =
+          (Class<? extends Annotation>) Class.forName("jdk.jfr." + pName);
+      return Class.forName("jdk.jfr.AnnotationElement")
+          .getConstructor(Class.class, Object.class)
+          .newInstance(annotationClass, pValue);
+    }
+
+    Object begin(Phase pPhase) {
+      try {
+        Object event = newEvent.get(pPhase).invokeExact();
+        begin.invokeExact(event);
+        return event;
+      } catch (Throwable e) {
+        throw propagate(e);
+      }
+    }
+
+    void set(Object pEvent, int pField, Object pValue) {
+      try {
+        set.invokeExact(pEvent, pField, pValue);
+      } catch (Throwable e) {
+        throw propagate(e);
+      }
+    }
+
+    void commit(Object pEvent) {
+      try {
+        commit.invokeExact(pEvent);
+      } catch (Throwable e) {
+        throw propagate(e);
+      }
+    }
+
+    private static RuntimeException propagate(Throwable e) {
+      Throwables.throwIfUnchecked(e);
+      throw new AssertionError(e);
+    }
+  }
+}
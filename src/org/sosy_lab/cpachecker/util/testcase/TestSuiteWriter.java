@@ -0,0 +1,242 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.testcase;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Level;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.io.IO;
+import org.sosy_lab.common.log.LogManager;
+
+/**
+ * Writes the files of a test suite on a background thread, such that test generation does not
+ * wait for the file system.
+ *
+ * <p>The files are either written individually or appended to a zip archive. The archive is
+ * written as a stream and flushed after each test file, so memory consumption does not grow with
+ * the number of tests and the tests written so far are on disk even if the process is killed (such
+ * an archive lacks its central directory, but can be read sequentially or repaired with standard
+ * tools). At most a bounded number of files wait for being written, callers of {@link #write} block
+ * if the background thread falls behind.
+ */
+public final class TestSuiteWriter implements AutoCloseable {
+
+  private static final TestFile END_OF_QUEUE = new TestFile(null, "");
+
+  private final LogManager logger;
+  private final Charset charset;
+  private final BlockingQueue<TestFile> queue;
+  private final Thread thread;
+
+  private final @Nullable ZipOutputStream zip;
+  private final Set<String> zipEntries = new HashSet<>();
+
+  private boolean closed = false;
+
+  private TestSuiteWriter(
+      @Nullable ZipOutputStream pZip, int pQueueSize, Charset pCharset, LogManager pLogger) {
+    zip = pZip;
+    queue = new ArrayBlockingQueue<>(pQueueSize);
+    charset = pCharset;
+    logger = pLogger;
+    thread = new Thread(this::writeQueuedFiles, "Test-case writer");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Creates a writer that writes each test file to its own path.
+   *
+   * @param pQueueSize the maximal number of files waiting for being written.
+   * @param pCharset the charset of the files.
+   * @param pLogger the logger for reporting problems while writing.
+   */
+  public static TestSuiteWriter forFiles(int pQueueSize, Charset pCharset, LogManager pLogger) {
+    return new TestSuiteWriter(null, pQueueSize, pCharset, pLogger);
+  }
+
+  /**
+   * Creates a writer that appends all test files to the given zip archive. If the archive exists
+   * already, its entries are kept.
+   *
+   * @param pZipFile the zip archive.
+   * @param pQueueSize the maximal number of files waiting for being written.
+   * @param pCharset the charset of the files.
+   * @param pLogger the logger for reporting problems while writing.
+   * @throws IOException if the archive cannot be created.
+   */
+  public static TestSuiteWriter forZipFile(
+      Path pZipFile, int pQueueSize, Charset pCharset, LogManager pLogger) throws IOException {
+    Path parent = pZipFile.getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    // ZipOutputStream cannot append to an archive, so copy the existing entries
+    Path previousZipFile = null;
+    if (Files.exists(pZipFile)) {
+      previousZipFile = pZipFile.resolveSibling(pZipFile.getFileName() + ".previous");
+      Files.move(pZipFile, previousZipFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    ZipOutputStream zip =
+        new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(pZipFile)));
+    TestSuiteWriter writer;
+    try {
+      writer = new TestSuiteWriter(zip, pQueueSize, pCharset, pLogger);
+    } catch (RuntimeException e) {
+      zip.close();
+      throw e;
+    }
+
+    if (previousZipFile != null) {
+      try (InputStream in = Files.newInputStream(previousZipFile);
+          ZipInputStream previousZip = new ZipInputStream(in)) {
+        for (ZipEntry entry = previousZip.getNextEntry();
+            entry != null;
+            entry = previousZip.getNextEntry()) {
+          writer.copyEntry(entry.getName(), previousZip);
+        }
+      } catch (IOException e) {
+        writer.close();
+        throw e;
+      }
+      Files.delete(previousZipFile);
+    }
+    return writer;
+  }
+
+  private void copyEntry(String pName, InputStream pContent) throws IOException {
+    // the background thread has not received any file yet, but may already be waiting for one
+    synchronized (zip) {
+      zipEntries.add(pName);
+      zip.putNextEntry(new ZipEntry(pName));
+      ByteStreams.copy(pContent, zip);
+      zip.closeEntry();
+    }
+  }
+
+  /**
+   * Queues a test file for writing. Blocks if too many files are queued already.
+   *
+   * @param pFile the path of the file. If the files are written to a zip archive, only the file
+   *     name is used as name of the archive entry.
+   * @param pContent the content of the file.
+   * @throws InterruptedException if interrupted while waiting for space in the queue.
+   */
+  public void write(Path pFile, String pContent) throws InterruptedException {
+    checkState(!closed, "writer already closed");
+    queue.put(new TestFile(pFile, pContent));
+  }
+
+  private void writeQueuedFiles() {
+    try {
+      while (true) {
+        TestFile file = Uninterruptibles.takeUninterruptibly(queue);
+        if (file == END_OF_QUEUE) {
+          return;
+        }
+        try {
+          if (zip != null) {
+            writeToZip(file);
+          } else {
+            IO.writeFile(file.path, charset, file.content);
+          }
+        } catch (IOException e) {
+          logger.logUserException(Level.WARNING, e, "Could not write test case to file");
+        }
+      }
+    } finally {
+      if (zip != null) {
+        try {
+          synchronized (zip) {
+            zip.close();
+          }
+        } catch (IOException e) {
+          logger.logUserException(Level.WARNING, e, "Could not write zip file with test cases");
+        }
+      }
+    }
+  }
+
+  private void writeToZip(TestFile pFile) throws IOException {
+    Path fileName = pFile.path.getFileName();
+    String name = fileName != null ? fileName.toString() : pFile.path.toString();
+    synchronized (zip) {
+      if (!zipEntries.add(name)) {
+        logger.log(Level.WARNING, "Test file", name, "exists already in zip file, not writing it");
+        return;
+      }
+      zip.putNextEntry(new ZipEntry(name));
+      OutputStream out = zip;
+      out.write(pFile.content.getBytes(charset));
+      zip.closeEntry();
+      // make the test available even if the process is killed before the archive is closed
+      zip.flush();
+    }
+  }
+
+  /**
+   * Writes all queued files and closes the writer. Waits for the background thread even if the
+   * current thread is interrupted, because otherwise the queued tests would be lost.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    Uninterruptibles.putUninterruptibly(queue, END_OF_QUEUE);
+    Uninterruptibles.joinUninterruptibly(thread);
+  }
+
+  private static final class TestFile {
+
+    private final Path path;
+    private final String content;
+
+    private TestFile(Path pPath, String pContent) {
+      path = pPath;
+      content = pContent;
+    }
+  }
+}
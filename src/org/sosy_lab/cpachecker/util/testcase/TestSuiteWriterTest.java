@@ -0,0 +1,104 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2018  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.testcase;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sosy_lab.common.log.LogManager;
+
+public class TestSuiteWriterTest {
+
+  private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final LogManager logger = LogManager.createTestLogManager();
+
+  /** Read the entries of a zip archive sequentially, as the archive may lack its directory. */
+  private static Map<String, String> readZip(Path pZipFile) throws IOException {
+    Map<String, String> entries = new LinkedHashMap<>();
+    try (InputStream in = Files.newInputStream(pZipFile);
+        ZipInputStream zip = new ZipInputStream(in)) {
+      for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+        entries.put(entry.getName(), new String(ByteStreams.toByteArray(zip), CHARSET));
+      }
+    }
+    return entries;
+  }
+
+  @Test
+  public void testWriteFiles() throws IOException, InterruptedException {
+    Path dir = tempFolder.newFolder().toPath();
+    // more files than fit into the queue, such that writing blocks
+    try (TestSuiteWriter writer = TestSuiteWriter.forFiles(1, CHARSET, logger)) {
+      for (int i = 0; i < 5; i++) {
+        writer.write(dir.resolve("test" + i + ".txt"), "value " + i);
+      }
+    }
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(new String(Files.readAllBytes(dir.resolve("test" + i + ".txt")), CHARSET))
+          .isEqualTo("value " + i);
+    }
+  }
+
+  @Test
+  public void testWriteZip() throws IOException, InterruptedException {
+    Path dir = tempFolder.newFolder().toPath();
+    Path zipFile = dir.resolve("tests.zip");
+    try (TestSuiteWriter writer = TestSuiteWriter.forZipFile(zipFile, 1, CHARSET, logger)) {
+      writer.write(dir.resolve("test1.txt"), "first");
+      writer.write(dir.resolve("test2.txt"), "second");
+      // entries are identified by the file name, so this duplicate is skipped
+      writer.write(dir.resolve("other").resolve("test1.txt"), "duplicate");
+    }
+    assertThat(readZip(zipFile))
+        .containsExactly("test1.txt", "first", "test2.txt", "second")
+        .inOrder();
+
+    // entries of an existing archive are kept, and they are still detected as duplicates
+    try (TestSuiteWriter writer = TestSuiteWriter.forZipFile(zipFile, 1, CHARSET, logger)) {
+      writer.write(dir.resolve("test2.txt"), "duplicate");
+      writer.write(dir.resolve("test3.txt"), "third");
+    }
+    assertThat(readZip(zipFile))
+        .containsExactly("test1.txt", "first", "test2.txt", "second", "test3.txt", "third")
+        .inOrder();
+    assertThat(Files.exists(dir.resolve("tests.zip.previous"))).isFalse();
+  }
+}